@@ -76,6 +76,7 @@ import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceId;
 import org.onosproject.net.resource.ResourceListener;
 import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.topology.LinkWeigher;
 import org.onosproject.net.topology.Topology;
 import org.onosproject.net.topology.TopologyServiceAdapter;
@@ -875,6 +876,11 @@ public class OpticalPathProvisionerTest {
         public boolean isAvailable(Resource resource) {
             return true;
         }
+
+        @Override
+        public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+            return ResourceSnapshot.builder().build();
+        }
     }
 
     private static class MockAtomicCounter implements AtomicCounter {
@@ -22,6 +22,7 @@ import org.onosproject.net.resource.ResourceId;
 import org.onosproject.net.resource.ResourceListener;
 import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.ResourceSnapshot;
 
 import java.util.Collection;
 import java.util.List;
@@ -107,4 +108,9 @@ public class ResourceServiceAdapter implements ResourceService {
         // TODO Auto-generated method stub
         return false;
     }
+
+    @Override
+    public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+        return ResourceSnapshot.builder().build();
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.onosproject.cluster;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Interface for administratively manipulating leadership assignments.
  */
@@ -29,6 +32,14 @@ public interface LeadershipAdminService {
      */
     boolean transferLeadership(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to assign leadership for several topics at once.
+     * @param leaders topic to identifier of the node to be made leader mapping
+     * @return topics whose leadership was transferred. A topic is left out if its node is not
+     * one of the candidates for the topic.
+     */
+    Set<String> transferLeadership(Map<String, NodeId> leaders);
+
     /**
      * Make a node to be the next leader by promoting it to top of candidate list.
      * @param topic leadership topic
@@ -38,6 +49,15 @@ public interface LeadershipAdminService {
      */
     boolean promoteToTopOfCandidateList(String topic, NodeId nodeId);
 
+    /**
+     * Makes nodes the next leaders of several topics at once by promoting them to top of the
+     * candidate lists.
+     * @param candidates topic to identifier of node to be next leader mapping
+     * @return topics whose node is now the top candidate. A topic is left out if its node is not
+     * one of the candidates for the topic.
+     */
+    Set<String> promoteToTopOfCandidateList(Map<String, NodeId> candidates);
+
     /**
      * Removes all active leadership registrations for a given node.
      * <p>
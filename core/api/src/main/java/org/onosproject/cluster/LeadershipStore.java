@@ -16,6 +16,7 @@
 package org.onosproject.cluster;
 
 import java.util.Map;
+import java.util.Set;
 import org.onosproject.store.Store;
 
 /**
@@ -55,6 +56,16 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     boolean moveLeadership(String topic, NodeId toNodeId);
 
+    /**
+     * Updates state so that given nodes are leaders for several topics, in as few operations as
+     * the underlying elector allows.
+     *
+     * @param leaders topic to desired leader mapping
+     * @return topics whose leadership was transferred. A topic is left out if its node is not
+     * registered for it
+     */
+    Set<String> moveLeadership(Map<String, NodeId> leaders);
+
     /**
      * Attempts to make a node the top candidate.
      *
@@ -65,6 +76,16 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     boolean makeTopCandidate(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to make nodes the top candidates of several topics, in as few operations as
+     * the underlying elector allows.
+     *
+     * @param candidates topic to node mapping
+     * @return topics whose node is now the top candidate. A topic is left out if its node is not
+     * registered for it
+     */
+    Set<String> makeTopCandidate(Map<String, NodeId> candidates);
+
     /**
      * Returns the current leadership for topic.
      *
@@ -15,9 +15,13 @@
  */
 package org.onosproject.mastership;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import org.onlab.util.Tools;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.RoleInfo;
 import org.onosproject.net.DeviceId;
@@ -83,6 +87,22 @@ public interface MastershipStore extends Store<MastershipEvent, MastershipStoreD
      */
     CompletableFuture<MastershipEvent> setMaster(NodeId nodeId, DeviceId deviceId);
 
+    /**
+     * Sets the masters of several devices as a batch, which stores backed
+     * by a distributed primitive apply in as few operations as possible.
+     * <p>
+     * The default implementation sets the master of each device in turn.
+     * </p>
+     *
+     * @param masters device identifier to controller instance identifier mapping
+     * @return mastership events of the devices, which may include nulls
+     */
+    default CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+        return Tools.allOf(masters.entrySet().stream()
+                                   .map(entry -> setMaster(entry.getValue(), entry.getKey()))
+                                   .collect(Collectors.toList()));
+    }
+
     /**
      * Returns the current master and number of past mastership hand-offs
      * (terms) for a device.
@@ -16,7 +16,10 @@
 package org.onosproject.net.flow;
 
 import java.util.List;
+import java.util.Set;
 
+import com.google.common.collect.Iterables;
+import org.onosproject.core.ApplicationId;
 import org.onosproject.net.DeviceId;
 import org.onosproject.store.Store;
 
@@ -48,6 +51,49 @@ public interface FlowRuleStore extends Store<FlowRuleBatchEvent, FlowRuleStoreDe
      */
     Iterable<FlowEntry> getFlowEntries(DeviceId deviceId);
 
+    /**
+     * Returns the digest of the flow entries associated with a device.
+     *
+     * @param deviceId the device ID
+     * @return the flow table digest
+     */
+    default FlowTableDigest getFlowTableDigest(DeviceId deviceId) {
+        return FlowTableDigest.of(getFlowEntries(deviceId));
+    }
+
+    /**
+     * Returns the flow entries associated with a device whose flow IDs
+     * fall into the specified digest buckets.
+     *
+     * @param deviceId the device ID
+     * @param buckets indexes of the digest buckets
+     * @return the flow entries
+     * @see FlowTableDigest#bucket(FlowId)
+     */
+    default Iterable<FlowEntry> getFlowEntries(DeviceId deviceId, Set<Integer> buckets) {
+        return Iterables.filter(getFlowEntries(deviceId),
+                                entry -> buckets.contains(FlowTableDigest.bucket(entry.id())));
+    }
+
+    /**
+     * Returns the flow entries, across all devices, that were
+     * installed by the specified application.
+     *
+     * @param appId the application ID
+     * @return the flow entries
+     */
+    Iterable<FlowEntry> getFlowEntriesByAppId(ApplicationId appId);
+
+    /**
+     * Returns the flow entries, across all devices, that were installed
+     * by the specified application as part of the specified group.
+     *
+     * @param appId the application ID
+     * @param groupId the group ID
+     * @return the flow entries
+     */
+    Iterable<FlowEntry> getFlowEntriesByGroupId(ApplicationId appId, short groupId);
+
     /**
      * // TODO: Better description of method behavior.
      * Stores a new flow rule without generating events.
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flow;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Order-independent digest of the flow rules of a device, split into a fixed
+ * number of buckets by flow ID.
+ * <p>
+ * Two sets of flow rules with the same identity, priority and treatment
+ * produce the same bucket digests, so comparing the digest of the stored
+ * rules with the digest of the rules reported by a device tells which
+ * buckets have to be reconciled rule by rule.
+ * </p>
+ */
+public final class FlowTableDigest {
+
+    /**
+     * Number of buckets each digest is split into.
+     */
+    public static final int NUM_BUCKETS = 256;
+
+    private final long[] digests;
+
+    private FlowTableDigest(long[] digests) {
+        this.digests = digests;
+    }
+
+    /**
+     * Creates a digest from raw per-bucket digest values.
+     *
+     * @param digests bucket digest values; one per bucket
+     * @return flow table digest
+     */
+    public static FlowTableDigest of(long[] digests) {
+        checkNotNull(digests);
+        checkArgument(digests.length == NUM_BUCKETS,
+                      "Expected %s bucket digests, got %s", NUM_BUCKETS, digests.length);
+        return new FlowTableDigest(Arrays.copyOf(digests, NUM_BUCKETS));
+    }
+
+    /**
+     * Computes the digest of the given flow rules.
+     *
+     * @param rules flow rules
+     * @return flow table digest
+     */
+    public static FlowTableDigest of(Iterable<? extends FlowRule> rules) {
+        long[] digests = new long[NUM_BUCKETS];
+        for (FlowRule rule : rules) {
+            digests[bucket(rule.id())] += hash(rule);
+        }
+        return new FlowTableDigest(digests);
+    }
+
+    /**
+     * Returns the bucket a flow rule with the given ID falls into.
+     *
+     * @param flowId flow ID
+     * @return bucket index
+     */
+    public static int bucket(FlowId flowId) {
+        return Long.hashCode(flowId.value()) & (NUM_BUCKETS - 1);
+    }
+
+    /**
+     * Returns the contribution of a flow rule to the digest of its bucket.
+     * Bucket digests are the sum of the contributions of their rules, so
+     * they can be maintained incrementally as rules are added and removed.
+     *
+     * @param rule flow rule
+     * @return rule hash
+     */
+    public static long hash(FlowRule rule) {
+        long h = rule.id().value();
+        h = 31 * h + rule.hashCode();
+        h = 31 * h + rule.priority();
+        h = 31 * h + Objects.hashCode(rule.treatment());
+        // spread the bits so that sums of similar rules do not cancel out
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Returns the digest of the specified bucket.
+     *
+     * @param bucket bucket index
+     * @return bucket digest
+     */
+    public long digest(int bucket) {
+        return digests[bucket];
+    }
+
+    /**
+     * Returns the buckets whose digests differ from the other digest.
+     *
+     * @param other other flow table digest
+     * @return set of bucket indexes
+     */
+    public Set<Integer> differingBuckets(FlowTableDigest other) {
+        ImmutableSet.Builder<Integer> buckets = ImmutableSet.builder();
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            if (digests[i] != other.digests[i]) {
+                buckets.add(i);
+            }
+        }
+        return buckets.build();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(digests);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof FlowTableDigest) {
+            return Arrays.equals(digests, ((FlowTableDigest) obj).digests);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("nonEmptyBuckets", Arrays.stream(digests).filter(d -> d != 0).count())
+                .toString();
+    }
+}
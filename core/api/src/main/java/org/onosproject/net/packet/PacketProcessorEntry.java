@@ -55,4 +55,23 @@ public interface PacketProcessorEntry {
      * @return average time in nanos
      */
     long averageNanos();
+
+    /**
+     * Returns the number of packets handed to the processor.
+     *
+     * @return number of packets dispatched to the processor
+     */
+    default long hits() {
+        return invocations();
+    }
+
+    /**
+     * Returns the number of packets not handed to the processor because
+     * they did not match the selector it was registered with.
+     *
+     * @return number of skipped packets
+     */
+    default long skips() {
+        return 0;
+    }
 }
@@ -42,7 +42,24 @@ public interface PacketService {
      */
     void addProcessor(PacketProcessor processor, int priority);
 
-    // TODO allow processors to register for particular types of packets
+    /**
+     * Adds the specified processor to the list of packet processors, handing
+     * it only packets that may match the given selector.
+     * <p>
+     * The selector serves as a dispatch hint: only its Ethernet type, IP
+     * protocol and TCP/UDP destination port criteria are considered, so the
+     * processor may still receive packets which do not match it entirely.
+     * </p>
+     *
+     * @param processor processor to be added
+     * @param priority  priority in the reverse natural order
+     * @param selector  selector of the packets the processor is interested in
+     * @throws java.lang.IllegalArgumentException if a processor with the
+     *                                            given priority already exists
+     */
+    default void addProcessor(PacketProcessor processor, int priority, TrafficSelector selector) {
+        addProcessor(processor, priority);
+    }
 
     /**
      * Removes the specified processor from the processing pipeline.
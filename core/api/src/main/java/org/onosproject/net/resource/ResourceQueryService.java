@@ -96,4 +96,14 @@ public interface ResourceQueryService {
      * @return true if available, otherwise false
      */
     boolean isAvailable(Resource resource);
+
+    /**
+     * Returns a read-only snapshot of the availability of the specified
+     * resources, fetched at once. Resources found available in it must still
+     * be validated when allocated.
+     *
+     * @param ids IDs of the resources to be covered by the snapshot
+     * @return snapshot of the availability of the resources
+     */
+    ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids);
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.resource;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Read-only view of the availability of a set of resources, taken at once.
+ * The view is not updated by later allocations and releases, so resources
+ * found available in it must still be validated when allocated.
+ */
+@Beta
+public final class ResourceSnapshot {
+
+    private final ImmutableSet<DiscreteResourceId> availableDiscrete;
+    private final ImmutableMap<ContinuousResourceId, Double> availableContinuous;
+    private final ImmutableSet<ResourceId> unavailable;
+
+    private ResourceSnapshot(Set<DiscreteResourceId> availableDiscrete,
+                             Map<ContinuousResourceId, Double> availableContinuous,
+                             Set<ResourceId> unavailable) {
+        this.availableDiscrete = ImmutableSet.copyOf(availableDiscrete);
+        this.availableContinuous = ImmutableMap.copyOf(availableContinuous);
+        this.unavailable = ImmutableSet.copyOf(unavailable);
+    }
+
+    /**
+     * Indicates whether the snapshot holds the availability of the resource
+     * with the specified ID.
+     *
+     * @param id resource ID
+     * @return true if the snapshot covers the resource
+     */
+    public boolean contains(ResourceId id) {
+        return availableDiscrete.contains(id) || availableContinuous.containsKey(id) ||
+                unavailable.contains(id);
+    }
+
+    /**
+     * Returns the availability of the specified resource at the time the
+     * snapshot was taken.
+     *
+     * @param resource resource to check the availability
+     * @return true if available, otherwise false
+     * @throws IllegalArgumentException if the snapshot does not cover the resource
+     */
+    public boolean isAvailable(Resource resource) {
+        checkNotNull(resource);
+        checkArgument(contains(resource.id()), "Resource %s is not in the snapshot", resource.id());
+
+        if (resource instanceof ContinuousResource) {
+            Double available = availableContinuous.get(resource.id());
+            return available != null && ((ContinuousResource) resource).value() <= available;
+        }
+        return availableDiscrete.contains(resource.id());
+    }
+
+    /**
+     * Returns a new builder.
+     *
+     * @return new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("availableDiscrete", availableDiscrete.size())
+                .add("availableContinuous", availableContinuous.size())
+                .add("unavailable", unavailable.size())
+                .toString();
+    }
+
+    /**
+     * A builder for constructing resource snapshots.
+     */
+    public static final class Builder {
+
+        private final Set<DiscreteResourceId> availableDiscrete = new HashSet<>();
+        private final Map<ContinuousResourceId, Double> availableContinuous = new HashMap<>();
+        private final Set<ResourceId> unavailable = new HashSet<>();
+
+        // prevent use of the default constructor outside of this file; use the above method
+        private Builder() {}
+
+        /**
+         * Records the specified discrete resource as available.
+         *
+         * @param id discrete resource ID
+         * @return this
+         */
+        public Builder available(DiscreteResourceId id) {
+            availableDiscrete.add(checkNotNull(id));
+            return this;
+        }
+
+        /**
+         * Records the amount left of the specified continuous resource.
+         *
+         * @param id     continuous resource ID
+         * @param amount amount which can still be allocated
+         * @return this
+         */
+        public Builder available(ContinuousResourceId id, double amount) {
+            availableContinuous.put(checkNotNull(id), amount);
+            return this;
+        }
+
+        /**
+         * Records the specified resource as unavailable, either because it
+         * is allocated or because it is not registered.
+         *
+         * @param id resource ID
+         * @return this
+         */
+        public Builder unavailable(ResourceId id) {
+            unavailable.add(checkNotNull(id));
+            return this;
+        }
+
+        /**
+         * Builds the snapshot.
+         *
+         * @return resource snapshot
+         */
+        public ResourceSnapshot build() {
+            return new ResourceSnapshot(availableDiscrete, availableContinuous, unavailable);
+        }
+    }
+}
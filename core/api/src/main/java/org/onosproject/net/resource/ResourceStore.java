@@ -94,6 +94,14 @@ public interface ResourceStore extends Store<ResourceEvent, ResourceStoreDelegat
      */
     boolean isAvailable(Resource resource);
 
+    /**
+     * Returns a snapshot of the availability of the specified resources.
+     *
+     * @param ids IDs of the resources to be covered by the snapshot
+     * @return snapshot of the availability of the resources
+     */
+    ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids);
+
     /**
      * Returns a collection of the resources allocated to the specified consumer.
      *
@@ -15,8 +15,10 @@
  */
 package org.onosproject.net.topology;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.onlab.graph.Weight;
 import org.onosproject.net.ConnectPoint;
@@ -36,9 +38,11 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.host.HostService;
 import org.onosproject.net.provider.ProviderId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -105,6 +109,97 @@ public abstract class AbstractPathService
         return edgeToEdgePaths(srcEdge, dstEdge, paths, internalWeigher);
     }
 
+    @Override
+    public Map<ElementId, Set<Path>> getPathsTo(Collection<? extends ElementId> srcs,
+                                                ElementId dst, LinkWeigher weigher) {
+        checkNotNull(srcs, ELEMENT_ID_NULL);
+        checkNotNull(dst, ELEMENT_ID_NULL);
+
+        LinkWeigher internalWeigher = weigher != null ? weigher : DEFAULT_WEIGHER;
+        Map<ElementId, Set<Path>> paths = Maps.newHashMap();
+
+        // If the destination edge is null, bail with no paths.
+        EdgeLink dstEdge = getEdgeLink(dst, false);
+        if (dstEdge == null) {
+            srcs.forEach(src -> paths.put(src, ImmutableSet.of()));
+            return paths;
+        }
+        DeviceId dstDevice = dstEdge != NOT_HOST ? dstEdge.src().deviceId() : (DeviceId) dst;
+
+        Map<ElementId, EdgeLink> srcEdges = edgeLinks(srcs, true);
+        Set<DeviceId> srcDevices = srcEdges.entrySet().stream()
+                .filter(e -> e.getValue() != null)
+                .map(e -> e.getValue() != NOT_HOST ? e.getValue().dst().deviceId() : (DeviceId) e.getKey())
+                .filter(device -> !device.equals(dstDevice))
+                .collect(Collectors.toSet());
+
+        // Get the paths from all source edge devices to the destination edge
+        // device at once.
+        Map<DeviceId, Set<Path>> devicePaths = srcDevices.isEmpty() ? ImmutableMap.of() :
+                topologyService.getPathsTo(topologyService.currentTopology(),
+                                           srcDevices, dstDevice, internalWeigher);
+
+        srcEdges.forEach((src, srcEdge) -> {
+            if (srcEdge == null) {
+                paths.put(src, ImmutableSet.of());
+                return;
+            }
+            DeviceId srcDevice = srcEdge != NOT_HOST ? srcEdge.dst().deviceId() : (DeviceId) src;
+            paths.put(src, srcDevice.equals(dstDevice) ?
+                    edgeToEdgePaths(srcEdge, dstEdge, internalWeigher) :
+                    edgeToEdgePaths(srcEdge, dstEdge,
+                                    devicePaths.getOrDefault(srcDevice, ImmutableSet.of()),
+                                    internalWeigher));
+        });
+        return paths;
+    }
+
+    @Override
+    public Map<ElementId, Set<Path>> getPathsFrom(ElementId src,
+                                                  Collection<? extends ElementId> dsts,
+                                                  LinkWeigher weigher) {
+        checkNotNull(src, ELEMENT_ID_NULL);
+        checkNotNull(dsts, ELEMENT_ID_NULL);
+
+        LinkWeigher internalWeigher = weigher != null ? weigher : DEFAULT_WEIGHER;
+        Map<ElementId, Set<Path>> paths = Maps.newHashMap();
+
+        // If the source edge is null, bail with no paths.
+        EdgeLink srcEdge = getEdgeLink(src, true);
+        if (srcEdge == null) {
+            dsts.forEach(dst -> paths.put(dst, ImmutableSet.of()));
+            return paths;
+        }
+        DeviceId srcDevice = srcEdge != NOT_HOST ? srcEdge.dst().deviceId() : (DeviceId) src;
+
+        Map<ElementId, EdgeLink> dstEdges = edgeLinks(dsts, false);
+        Set<DeviceId> dstDevices = dstEdges.entrySet().stream()
+                .filter(e -> e.getValue() != null)
+                .map(e -> e.getValue() != NOT_HOST ? e.getValue().src().deviceId() : (DeviceId) e.getKey())
+                .filter(device -> !device.equals(srcDevice))
+                .collect(Collectors.toSet());
+
+        // Get the paths from the source edge device to all destination edge
+        // devices at once.
+        Map<DeviceId, Set<Path>> devicePaths = dstDevices.isEmpty() ? ImmutableMap.of() :
+                topologyService.getPathsFrom(topologyService.currentTopology(),
+                                             srcDevice, dstDevices, internalWeigher);
+
+        dstEdges.forEach((dst, dstEdge) -> {
+            if (dstEdge == null) {
+                paths.put(dst, ImmutableSet.of());
+                return;
+            }
+            DeviceId dstDevice = dstEdge != NOT_HOST ? dstEdge.src().deviceId() : (DeviceId) dst;
+            paths.put(dst, srcDevice.equals(dstDevice) ?
+                    edgeToEdgePaths(srcEdge, dstEdge, internalWeigher) :
+                    edgeToEdgePaths(srcEdge, dstEdge,
+                                    devicePaths.getOrDefault(dstDevice, ImmutableSet.of()),
+                                    internalWeigher));
+        });
+        return paths;
+    }
+
     @Override
     public Stream<Path> getKShortestPaths(ElementId src, ElementId dst,
                                           LinkWeigher weigher) {
@@ -235,6 +330,16 @@ public abstract class AbstractPathService
         return NOT_HOST;
     }
 
+    // Finds the host edge links of the given elements, as getEdgeLink does.
+    private Map<ElementId, EdgeLink> edgeLinks(Collection<? extends ElementId> elementIds,
+                                               boolean isIngress) {
+        Map<ElementId, EdgeLink> edgeLinks = Maps.newHashMap();
+        for (ElementId elementId : elementIds) {
+            edgeLinks.put(checkNotNull(elementId, ELEMENT_ID_NULL), getEdgeLink(elementId, isIngress));
+        }
+        return edgeLinks;
+    }
+
     // Produces a set of edge-to-edge paths using the set of infrastructure
     // paths and the given edge links.
     private Set<Path> edgeToEdgePaths(EdgeLink srcLink, EdgeLink dstLink, LinkWeigher weigher) {
@@ -22,8 +22,11 @@ import org.onosproject.net.Path;
 
 import static org.onosproject.net.topology.HopCountLinkWeigher.DEFAULT_HOP_COUNT_WEIGHER;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -96,6 +99,43 @@ public interface PathService {
         return getPaths(src, dst, weigher).stream();
     }
 
+    /**
+     * Returns the set of all shortest paths from each of the specified
+     * source elements to the destination element. The paths are computed
+     * using the supplied edge-weight function; implementations may find
+     * all of them with a single search rooted at the destination.
+     *
+     * @param srcs    source elements
+     * @param dst     destination element
+     * @param weigher edge-weight entity
+     * @return map of each source element to its shortest paths; empty sets
+     * for the sources which cannot reach the destination
+     */
+    default Map<ElementId, Set<Path>> getPathsTo(Collection<? extends ElementId> srcs,
+                                                 ElementId dst, LinkWeigher weigher) {
+        return srcs.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), src -> getPaths(src, dst, weigher)));
+    }
+
+    /**
+     * Returns the set of all shortest paths from the source element to each
+     * of the specified destination elements. The paths are computed using
+     * the supplied edge-weight function; implementations may find all of
+     * them with a single search rooted at the source.
+     *
+     * @param src     source element
+     * @param dsts    destination elements
+     * @param weigher edge-weight entity
+     * @return map of each destination element to its shortest paths; empty
+     * sets for the destinations which cannot be reached
+     */
+    default Map<ElementId, Set<Path>> getPathsFrom(ElementId src,
+                                                   Collection<? extends ElementId> dsts,
+                                                   LinkWeigher weigher) {
+        return dsts.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), dst -> getPaths(src, dst, weigher)));
+    }
+
 
     /**
      * Returns the set of all disjoint shortest path pairs between the
@@ -25,8 +25,11 @@ import org.onosproject.net.Path;
 
 import static org.onosproject.net.topology.HopCountLinkWeigher.DEFAULT_HOP_COUNT_WEIGHER;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -186,6 +189,48 @@ public interface TopologyService
          return getPaths(topology, src, dst, weigher).stream();
      }
 
+    /**
+     * Returns the shortest paths, computed using the supplied edge-weight
+     * entity, from each of the specified source devices to the destination
+     * device. Implementations may find all of them with a single
+     * search of the shortest path tree rooted at the destination.
+     *
+     * @param topology topology descriptor
+     * @param srcs     source devices
+     * @param dst      destination device
+     * @param weigher  edge-weight entity
+     * @return map of each source device to its shortest paths; empty sets
+     * for the sources which cannot reach the destination
+     */
+    default Map<DeviceId, Set<Path>> getPathsTo(Topology topology,
+                                                Collection<DeviceId> srcs,
+                                                DeviceId dst,
+                                                LinkWeigher weigher) {
+        return srcs.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), src -> getPaths(topology, src, dst, weigher)));
+    }
+
+    /**
+     * Returns the shortest paths, computed using the supplied edge-weight
+     * entity, from the source device to each of the specified destination
+     * devices. Implementations may find all of them with a single
+     * search of the shortest path tree rooted at the source.
+     *
+     * @param topology topology descriptor
+     * @param src      source device
+     * @param dsts     destination devices
+     * @param weigher  edge-weight entity
+     * @return map of each destination device to its shortest paths; empty
+     * sets for the destinations which cannot be reached
+     */
+    default Map<DeviceId, Set<Path>> getPathsFrom(Topology topology,
+                                                  DeviceId src,
+                                                  Collection<DeviceId> dsts,
+                                                  LinkWeigher weigher) {
+        return dsts.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), dst -> getPaths(topology, src, dst, weigher)));
+    }
+
     /**
      * Returns the set of all disjoint shortest path pairs, precomputed in terms of hop-count,
      * between the specified source and destination devices.
@@ -25,8 +25,11 @@ import org.onosproject.net.DisjointPath;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Store;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.Map;
 
@@ -169,6 +172,46 @@ public interface TopologyStore extends Store<TopologyEvent, TopologyStoreDelegat
         return getPaths(topology, src, dst, weigher).stream();
     }
 
+    /**
+     * Computes and returns the shortest paths from each of the specified
+     * source devices to the destination device. Implementations may find all of them with a single
+     * search of the shortest path tree rooted at the destination.
+     *
+     * @param topology topology descriptor
+     * @param srcs     source devices
+     * @param dst      destination device
+     * @param weigher  link weight function
+     * @return map of each source device to its shortest paths; empty sets
+     * for the sources which cannot reach the destination
+     */
+    default Map<DeviceId, Set<Path>> getPathsTo(Topology topology,
+                                                Collection<DeviceId> srcs,
+                                                DeviceId dst,
+                                                LinkWeigher weigher) {
+        return srcs.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), src -> getPaths(topology, src, dst, weigher)));
+    }
+
+    /**
+     * Computes and returns the shortest paths from the source device to
+     * each of the specified destination devices. Implementations may find all of them with a single
+     * search of the shortest path tree rooted at the source.
+     *
+     * @param topology topology descriptor
+     * @param src      source device
+     * @param dsts     destination devices
+     * @param weigher  link weight function
+     * @return map of each destination device to its shortest paths; empty
+     * sets for the destinations which cannot be reached
+     */
+    default Map<DeviceId, Set<Path>> getPathsFrom(Topology topology,
+                                                  DeviceId src,
+                                                  Collection<DeviceId> dsts,
+                                                  LinkWeigher weigher) {
+        return dsts.stream().distinct().collect(Collectors.toMap(
+                Function.identity(), dst -> getPaths(topology, src, dst, weigher)));
+    }
+
     /**
      * Computes and returns the set of disjoint shortest path pairs
      * between src and dst.
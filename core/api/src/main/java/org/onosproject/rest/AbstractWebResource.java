@@ -15,14 +15,20 @@
  */
 package org.onosproject.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Iterables;
 import org.onlab.rest.BaseResource;
 import org.onosproject.codec.CodecContext;
 import org.onosproject.codec.CodecService;
 import org.onosproject.codec.JsonCodec;
 
+import javax.ws.rs.core.StreamingOutput;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * Abstract REST resource.
  */
@@ -63,6 +69,55 @@ public class AbstractWebResource extends BaseResource implements CodecContext {
         return result;
     }
 
+    /**
+     * Returns a response entity which streams the JSON object wrapping the
+     * array encoding of the specified items. Unlike with
+     * {@link #encodeArray(Class, String, Iterable)}, the items are encoded
+     * one at a time while the response is written, so the JSON tree of the
+     * whole collection is never held in memory.
+     *
+     * @param codecClass codec item class
+     * @param field      field holding the array
+     * @param items      items to be encoded into array; iterated only when
+     *                   the response is written
+     * @param <T>        item type
+     * @return streaming JSON response entity
+     */
+    protected <T> StreamingOutput streamArray(Class<T> codecClass, String field,
+                                              Iterable<T> items) {
+        JsonCodec<T> codec = codec(codecClass);
+        return output -> {
+            JsonGenerator generator = mapper.getFactory().createGenerator(output);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(field);
+            for (T item : items) {
+                mapper.writeTree(generator, codec.encode(item, this));
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+        };
+    }
+
+    /**
+     * Returns a view of the specified items which skips the given number of
+     * items and holds at most the given number of the remaining ones. The
+     * items are skipped lazily, as the view is iterated.
+     *
+     * @param items  items to be paged through
+     * @param offset number of items to skip; null to skip none
+     * @param limit  maximum number of items; null for no limit
+     * @param <T>    item type
+     * @return page of the items
+     * @throws IllegalArgumentException if the offset or limit is negative
+     */
+    protected static <T> Iterable<T> page(Iterable<T> items, Integer offset, Integer limit) {
+        checkArgument(offset == null || offset >= 0, "Offset cannot be negative");
+        checkArgument(limit == null || limit >= 0, "Limit cannot be negative");
+        Iterable<T> page = offset != null ? Iterables.skip(items, offset) : items;
+        return limit != null ? Iterables.limit(page, limit) : page;
+    }
+
     @Override
     public <T> T getService(Class<T> serviceClass) {
         return get(serviceClass);
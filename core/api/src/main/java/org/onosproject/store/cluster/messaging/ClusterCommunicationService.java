@@ -15,10 +15,14 @@
  */
 package org.onosproject.store.cluster.messaging;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -111,6 +115,99 @@ public interface ClusterCommunicationService {
                                                Function<byte[], R> decoder,
                                                NodeId toNodeId);
 
+    /**
+     * Sends a message to the specified controller node, serializing it
+     * directly into the outbound buffer.
+     * <p>
+     * Unlike {@link #unicast(Object, MessageSubject, Function, NodeId)}, the
+     * message is neither copied into an intermediate byte array nor wrapped
+     * in a {@link ClusterMessage} envelope, so it must be received by a
+     * subscriber added through {@code addStreamSubscriber}.
+     * </p>
+     *
+     * @param message message to send
+     * @param subject message subject
+     * @param encoder function for encoding message to a stream
+     * @param toNodeId destination node identifier
+     * @param <M> message type
+     * @return future that is completed when the message is sent
+     */
+    default <M> CompletableFuture<Void> unicastStream(M message,
+                                                      MessageSubject subject,
+                                                      BiConsumer<M, OutputStream> encoder,
+                                                      NodeId toNodeId) {
+        return unicast(message, subject, m -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encoder.accept(m, out);
+            return out.toByteArray();
+        }, toNodeId);
+    }
+
+    /**
+     * Sends a message serialized directly into the outbound buffer and
+     * expects a reply.
+     *
+     * @param message message to send
+     * @param subject message subject
+     * @param encoder function for encoding request to a stream
+     * @param decoder function for decoding response from byte[]
+     * @param toNodeId recipient node identifier
+     * @param <M> request type
+     * @param <R> reply type
+     * @return reply future
+     * @see #unicastStream(Object, MessageSubject, BiConsumer, NodeId)
+     */
+    default <M, R> CompletableFuture<R> sendAndReceiveStream(M message,
+                                                             MessageSubject subject,
+                                                             BiConsumer<M, OutputStream> encoder,
+                                                             Function<byte[], R> decoder,
+                                                             NodeId toNodeId) {
+        return sendAndReceive(message, subject, m -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            encoder.accept(m, out);
+            return out.toByteArray();
+        }, decoder, toNodeId);
+    }
+
+    /**
+     * Adds a new subscriber for the specified message subject, which decodes
+     * messages sent through {@code unicastStream} directly from the inbound
+     * buffer. The buffer is only valid until the decoder returns.
+     *
+     * @param subject message subject
+     * @param decoder decoder to resurrecting incoming message
+     * @param handler handler for handling message
+     * @param executor executor to run this handler on
+     * @param <M> incoming message type
+     */
+    default <M> void addStreamSubscriber(MessageSubject subject,
+                                         Function<ByteBuffer, M> decoder,
+                                         Consumer<M> handler,
+                                         Executor executor) {
+        addSubscriber(subject, bytes -> decoder.apply(ByteBuffer.wrap(bytes)), handler, executor);
+    }
+
+    /**
+     * Adds a new subscriber for the specified message subject, which decodes
+     * requests sent through {@code sendAndReceiveStream} directly from the
+     * inbound buffer. The buffer is only valid until the decoder returns.
+     *
+     * @param subject message subject
+     * @param decoder decoder for resurrecting incoming message
+     * @param handler handler function that processes the incoming message and produces a reply
+     * @param encoder encoder for serializing reply
+     * @param executor executor to run this handler on
+     * @param <M> incoming message type
+     * @param <R> reply message type
+     */
+    default <M, R> void addStreamSubscriber(MessageSubject subject,
+                                            Function<ByteBuffer, M> decoder,
+                                            Function<M, R> handler,
+                                            Function<R, byte[]> encoder,
+                                            Executor executor) {
+        addSubscriber(subject, bytes -> decoder.apply(ByteBuffer.wrap(bytes)), handler, encoder, executor);
+    }
+
     /**
      * Adds a new subscriber for the specified message subject.
      *
@@ -15,10 +15,14 @@
  */
 package org.onosproject.store.cluster.messaging;
 
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /**
  * Interface for low level messaging primitives.
@@ -54,6 +58,39 @@ public interface MessagingService {
      */
     CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Executor executor);
 
+    /**
+     * Sends a message asynchronously to the specified communication end point,
+     * with the payload written by the given writer. Implementations may hand
+     * the writer a stream over a pooled outbound buffer, so that the payload
+     * is serialized without intermediate byte arrays.
+     * @param ep end point to send the message to.
+     * @param type type of message.
+     * @param payloadWriter writes the message payload to the given stream.
+     * @return future that is completed when the message is sent
+     */
+    default CompletableFuture<Void> sendAsync(Endpoint ep, String type, Consumer<OutputStream> payloadWriter) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payloadWriter.accept(payload);
+        return sendAsync(ep, type, payload.toByteArray());
+    }
+
+    /**
+     * Sends a message asynchronously and expects a response, with the payload
+     * written by the given writer.
+     * @param ep end point to send the message to.
+     * @param type type of message.
+     * @param payloadWriter writes the message payload to the given stream.
+     * @param executor executor over which any follow up actions after completion will be executed.
+     * @return a response future
+     * @see #sendAsync(Endpoint, String, Consumer)
+     */
+    default CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, Consumer<OutputStream> payloadWriter,
+                                                     Executor executor) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payloadWriter.accept(payload);
+        return sendAndReceive(ep, type, payload.toByteArray(), executor);
+    }
+
     /**
      * Registers a new message handler for message type.
      * @param type message type.
@@ -62,6 +99,33 @@ public interface MessagingService {
      */
     void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor);
 
+    /**
+     * Registers a new message handler for message type, which reads the payload
+     * directly from the inbound buffer. The payload buffer is only valid until
+     * the handler returns and must not be retained.
+     * @param type message type.
+     * @param handler message handler
+     * @param executor executor to use for running message handler logic.
+     */
+    default void registerStreamHandler(String type, BiConsumer<Endpoint, ByteBuffer> handler, Executor executor) {
+        registerHandler(type, (BiConsumer<Endpoint, byte[]>) (ep, payload) ->
+                handler.accept(ep, ByteBuffer.wrap(payload)), executor);
+    }
+
+    /**
+     * Registers a new message handler for message type, which reads the payload
+     * directly from the inbound buffer and produces a reply. The payload buffer
+     * is only valid until the handler returns and must not be retained.
+     * @param type message type.
+     * @param handler message handler
+     * @param executor executor to use for running message handler logic.
+     */
+    default void registerStreamHandler(String type, BiFunction<Endpoint, ByteBuffer, byte[]> handler,
+                                       Executor executor) {
+        registerHandler(type, (BiFunction<Endpoint, byte[], byte[]>) (ep, payload) ->
+                handler.apply(ep, ByteBuffer.wrap(payload)), executor);
+    }
+
     /**
      * Registers a new message handler for message type.
      * @param type message type.
@@ -17,6 +17,7 @@ package org.onosproject.store.primitives;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -60,11 +61,21 @@ public class DefaultLeaderElector extends Synchronous<AsyncLeaderElector> implem
         return complete(asyncElector.anoint(topic, nodeId));
     }
 
+    @Override
+    public Set<String> anoint(Map<String, NodeId> leaders) {
+        return complete(asyncElector.anoint(leaders));
+    }
+
     @Override
     public boolean promote(String topic, NodeId nodeId) {
         return complete(asyncElector.promote(topic, nodeId));
     }
 
+    @Override
+    public Set<String> promote(Map<String, NodeId> candidates) {
+        return complete(asyncElector.promote(candidates));
+    }
+
     @Override
     public void evict(NodeId nodeId) {
         complete(asyncElector.evict(nodeId));
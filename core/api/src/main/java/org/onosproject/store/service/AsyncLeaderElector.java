@@ -16,6 +16,7 @@
 package org.onosproject.store.service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -75,6 +76,18 @@ public interface AsyncLeaderElector extends DistributedPrimitive {
      */
     CompletableFuture<Boolean> anoint(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to promote nodes to leadership of several topics at once, displacing their current leaders.
+     * <p>
+     * Topics sharing a partition are transferred in a single operation, with the term of each topic
+     * advanced as by {@link #anoint(String, NodeId)}.
+     *
+     * @param leaders topic to new leader mapping
+     * @return CompletableFuture that is completed with the topics whose leadership was transferred when the
+     * operation is done. A topic is left out if its new leader is not registering to run for election for it.
+     */
+    CompletableFuture<Set<String>> anoint(Map<String, NodeId> leaders);
+
     /**
      * Attempts to evict a node from all leadership elections it is registered for.
      * <p>
@@ -97,6 +110,18 @@ public interface AsyncLeaderElector extends DistributedPrimitive {
      */
     CompletableFuture<Boolean> promote(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to promote nodes to top of the candidate lists of several topics at once, without displacing
+     * their current leaders.
+     * <p>
+     * Topics sharing a partition are updated in a single operation.
+     *
+     * @param candidates topic to new top candidate mapping
+     * @return CompletableFuture that is completed with the topics whose node is now the top candidate when the
+     * operation is done. A topic is left out if its node is not registered to run for election for it.
+     */
+    CompletableFuture<Set<String>> promote(Map<String, NodeId> candidates);
+
     /**
      * Returns the {@link Leadership} for the specified topic.
      * @param topic leadership topic
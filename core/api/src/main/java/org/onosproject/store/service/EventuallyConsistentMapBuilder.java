@@ -180,6 +180,19 @@ public interface EventuallyConsistentMapBuilder<K, V> {
      */
     EventuallyConsistentMapBuilder<K, V> withFasterConvergence();
 
+    /**
+     * Configures anti-entropy to advertise a hash per bucket of map entries
+     * first and to exchange entry digests only for the buckets that differ.
+     * Suited to large maps, where advertising a digest for every entry in
+     * each anti-entropy cycle is costly even when the replicas are in sync.
+     * <p>
+     * The default behavior is to advertise a digest for every entry.
+     * </p>
+     *
+     * @return this EventuallyConsistentMapBuilder
+     */
+    EventuallyConsistentMapBuilder<K, V> withBucketedAntiEntropy();
+
     /**
      * Configure the map to persist data to disk.
      * <p>
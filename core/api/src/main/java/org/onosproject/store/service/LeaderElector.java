@@ -16,6 +16,7 @@
 package org.onosproject.store.service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.onosproject.cluster.Leadership;
@@ -57,6 +58,14 @@ public interface LeaderElector extends DistributedPrimitive {
      */
     boolean anoint(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to promote nodes to leadership of several topics at once, displacing their current leaders.
+     * @param leaders topic to new leader mapping
+     * @return topics whose leadership was transferred. A topic is left out if its new leader is not
+     * registered to run for election for it.
+     */
+    Set<String> anoint(Map<String, NodeId> leaders);
+
     /**
      * Attempts to promote a node to top of candidate list.
      *
@@ -67,6 +76,15 @@ public interface LeaderElector extends DistributedPrimitive {
      */
     boolean promote(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to promote nodes to top of the candidate lists of several topics at once.
+     *
+     * @param candidates topic to new top candidate mapping
+     * @return topics whose node is now the top candidate. A topic is left out if its node is not
+     * registered to run for election for it.
+     */
+    Set<String> promote(Map<String, NodeId> candidates);
+
     /**
      * Attempts to evict a node from all leadership elections it is registered for.
      * <p>
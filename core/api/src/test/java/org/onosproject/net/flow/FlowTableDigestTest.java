@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.flow;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.testing.EqualsTester;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.onlab.junit.ImmutableClassChecker.assertThatClassIsImmutable;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.net.NetTestTools.emptyTreatment;
+import static org.onosproject.net.NetTestTools.macDstTreatment;
+import static org.onosproject.net.NetTestTools.vlanSelector;
+
+/**
+ * Unit tests for the flow table digest class.
+ */
+public class FlowTableDigestTest {
+
+    private static FlowRule flowRule(String vlanId, TrafficTreatment treatment) {
+        return DefaultFlowRule.builder()
+                .forDevice(did("d1"))
+                .withSelector(vlanSelector(vlanId))
+                .withTreatment(treatment)
+                .withPriority(10)
+                .makePermanent()
+                .fromApp(APP_ID)
+                .build();
+    }
+
+    final FlowRule rule1 = flowRule("1", emptyTreatment());
+    final FlowRule rule2 = flowRule("2", emptyTreatment());
+    final FlowRule rule3 = flowRule("3", emptyTreatment());
+    final FlowRule rule3Modified = flowRule("3", macDstTreatment("00:00:00:00:00:01"));
+
+    /**
+     * Checks that the FlowTableDigest class is immutable.
+     */
+    @Test
+    public void testImmutability() {
+        assertThatClassIsImmutable(FlowTableDigest.class);
+    }
+
+    /**
+     * Checks the operation of equals() and hashCode() methods.
+     */
+    @Test
+    public void testEquals() {
+        new EqualsTester()
+                .addEqualityGroup(FlowTableDigest.of(ImmutableList.of(rule1, rule2)),
+                                  FlowTableDigest.of(ImmutableList.of(rule2, rule1)))
+                .addEqualityGroup(FlowTableDigest.of(ImmutableList.of(rule1)))
+                .addEqualityGroup(FlowTableDigest.of(ImmutableList.of()),
+                                  FlowTableDigest.of(new long[FlowTableDigest.NUM_BUCKETS]))
+                .testEquals();
+    }
+
+    /**
+     * Checks that bucket digests can be maintained incrementally.
+     */
+    @Test
+    public void testIncrementalDigest() {
+        long[] digests = new long[FlowTableDigest.NUM_BUCKETS];
+        for (FlowRule rule : ImmutableList.of(rule1, rule2, rule3)) {
+            digests[FlowTableDigest.bucket(rule.id())] += FlowTableDigest.hash(rule);
+        }
+        digests[FlowTableDigest.bucket(rule2.id())] -= FlowTableDigest.hash(rule2);
+
+        assertThat(FlowTableDigest.of(digests), is(FlowTableDigest.of(ImmutableList.of(rule1, rule3))));
+    }
+
+    /**
+     * Checks that only the buckets of changed rules are reported as differing.
+     */
+    @Test
+    public void testDifferingBuckets() {
+        FlowTableDigest stored = FlowTableDigest.of(ImmutableList.of(rule1, rule2, rule3));
+
+        assertThat(stored.differingBuckets(FlowTableDigest.of(ImmutableList.of(rule1, rule2, rule3))),
+                   is(empty()));
+        assertThat(stored.differingBuckets(FlowTableDigest.of(ImmutableList.of(rule1, rule3))),
+                   is(ImmutableSet.of(FlowTableDigest.bucket(rule2.id()))));
+        assertThat(stored.differingBuckets(FlowTableDigest.of(ImmutableList.of(rule1, rule2, rule3Modified))),
+                   is(ImmutableSet.of(FlowTableDigest.bucket(rule3.id()))));
+    }
+}
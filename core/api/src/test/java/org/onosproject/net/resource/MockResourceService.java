@@ -202,6 +202,21 @@ public class MockResourceService implements ResourceService {
         return true;
     }
 
+    @Override
+    public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+        ResourceSnapshot.Builder snapshot = ResourceSnapshot.builder();
+        // mirrors the availability reported above
+        for (ResourceId id : ids) {
+            if (id instanceof ContinuousResourceId) {
+                boolean isBandwidth = id.equals(id.parent().get().child(Bandwidth.class));
+                snapshot.available((ContinuousResourceId) id, isBandwidth ? bandwidth : Double.MAX_VALUE);
+            } else {
+                snapshot.available((DiscreteResourceId) id);
+            }
+        }
+        return snapshot.build();
+    }
+
     @Override
     public void addListener(ResourceListener listener) {}
 
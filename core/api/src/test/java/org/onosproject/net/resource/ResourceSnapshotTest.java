@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.resource;
+
+import org.junit.Test;
+import org.onlab.packet.VlanId;
+import org.onlab.util.Bandwidth;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for ResourceSnapshot.
+ */
+public class ResourceSnapshotTest {
+
+    private static final DeviceId D1 = DeviceId.deviceId("of:001");
+    private static final PortNumber P1 = PortNumber.portNumber(1);
+    private static final PortNumber P2 = PortNumber.portNumber(2);
+    private static final VlanId VLAN1 = VlanId.vlanId((short) 100);
+    private static final VlanId VLAN2 = VlanId.vlanId((short) 200);
+
+    private final ContinuousFactory bw1 = Resources.continuous(D1, P1, Bandwidth.class);
+    private final ContinuousFactory bw2 = Resources.continuous(D1, P2, Bandwidth.class);
+    private final DiscreteFactory vlan1 = Resources.discrete(D1, P1, VLAN1);
+    private final DiscreteFactory vlan2 = Resources.discrete(D1, P1, VLAN2);
+
+    private final ResourceSnapshot sut = ResourceSnapshot.builder()
+            .available(bw1.id(), Bandwidth.mbps(500).bps())
+            .unavailable(bw2.id())
+            .available(vlan1.id())
+            .unavailable(vlan2.id())
+            .build();
+
+    @Test
+    public void testContains() {
+        assertThat(sut.contains(bw1.id()), is(true));
+        assertThat(sut.contains(bw2.id()), is(true));
+        assertThat(sut.contains(vlan1.id()), is(true));
+        assertThat(sut.contains(vlan2.id()), is(true));
+        assertThat(sut.contains(Resources.continuous(D1, P1, Integer.class).id()), is(false));
+        assertThat(sut.contains(Resources.discrete(D1, P2, VLAN1).id()), is(false));
+    }
+
+    @Test
+    public void testContinuousAvailability() {
+        assertThat(sut.isAvailable(bw1.resource(Bandwidth.mbps(200).bps())), is(true));
+        assertThat(sut.isAvailable(bw1.resource(Bandwidth.mbps(500).bps())), is(true));
+        assertThat(sut.isAvailable(bw1.resource(Bandwidth.mbps(600).bps())), is(false));
+        assertThat(sut.isAvailable(bw2.resource(Bandwidth.mbps(1).bps())), is(false));
+    }
+
+    @Test
+    public void testDiscreteAvailability() {
+        assertThat(sut.isAvailable(vlan1.resource()), is(true));
+        assertThat(sut.isAvailable(vlan2.resource()), is(false));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testResourceOutsideSnapshot() {
+        sut.isAvailable(Resources.discrete(D1, P2, VLAN1).resource());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.util.AbstractAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Timer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmarks of adding items to an accumulator which triggers on batch
+ * size, batch age and idle time, as the core stores and managers do.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AccumulatorBenchmark {
+
+    @Param({"100", "1000"})
+    public int maxItems;
+
+    private Timer timer;
+    private TestAccumulator accumulator;
+
+    @Setup
+    public void setUp() {
+        timer = new Timer("accumulator-benchmark", true);
+        accumulator = new TestAccumulator(timer, maxItems);
+    }
+
+    @TearDown
+    public void tearDown() {
+        timer.cancel();
+    }
+
+    @Benchmark
+    public void add() {
+        accumulator.add(1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void addContended() {
+        accumulator.add(1);
+    }
+
+    private static final class TestAccumulator extends AbstractAccumulator<Integer> {
+        private final LongAdder processed = new LongAdder();
+
+        private TestAccumulator(Timer timer, int maxItems) {
+            super(timer, maxItems, 100, 10);
+        }
+
+        @Override
+        public void processItems(List<Integer> items) {
+            processed.add(items.size());
+        }
+    }
+}
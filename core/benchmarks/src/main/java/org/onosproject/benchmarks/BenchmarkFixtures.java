@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.ChassisId;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.common.DefaultTopology;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultDevice;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.topology.DefaultGraphDescription;
+
+import static org.onosproject.net.DeviceId.deviceId;
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Model objects shared by the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final ProviderId PID = new ProviderId("of", "org.onosproject.benchmarks");
+    static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.benchmarks");
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Returns the identifier of the n-th device.
+     *
+     * @param n device number
+     * @return device identifier
+     */
+    static DeviceId device(int n) {
+        return deviceId(String.format("of:%016x", n));
+    }
+
+    /**
+     * Returns a selector matching IPv4 traffic to the given prefix arriving
+     * on the given port.
+     *
+     * @param port   input port number
+     * @param prefix destination prefix
+     * @return traffic selector
+     */
+    static TrafficSelector selector(int port, IpPrefix prefix) {
+        return DefaultTrafficSelector.builder()
+                .matchInPort(portNumber(port))
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .matchIPDst(prefix)
+                .build();
+    }
+
+    /**
+     * Returns a permanent flow rule forwarding IPv4 traffic arriving on the
+     * given port.
+     *
+     * @param device device number
+     * @param port   input port number
+     * @return flow rule
+     */
+    static FlowRule flowRule(int device, int port) {
+        return DefaultFlowRule.builder()
+                .forDevice(device(device))
+                .withSelector(selector(port, IpPrefix.valueOf(0x0a000000 + (port << 8), 24)))
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(portNumber(port + 1)).build())
+                .withPriority(40000)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+    }
+
+    /**
+     * Returns a topology of a rows by columns grid of devices, with
+     * bidirectional links between horizontal and vertical neighbours.
+     *
+     * @param rows    number of rows
+     * @param columns number of columns
+     * @return grid topology
+     */
+    static DefaultTopology gridTopology(int rows, int columns) {
+        ImmutableSet.Builder<Device> devices = ImmutableSet.builder();
+        ImmutableSet.Builder<Link> links = ImmutableSet.builder();
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int n = r * columns + c + 1;
+                devices.add(new DefaultDevice(PID, device(n), Device.Type.SWITCH,
+                                              "", "", "", "", new ChassisId(n)));
+                if (c + 1 < columns) {
+                    addLinks(links, n, n + 1, 1, 2);
+                }
+                if (r + 1 < rows) {
+                    addLinks(links, n, n + columns, 3, 4);
+                }
+            }
+        }
+        long now = System.currentTimeMillis();
+        return new DefaultTopology(PID, new DefaultGraphDescription(
+                System.nanoTime(), now, devices.build(), links.build()));
+    }
+
+    private static void addLinks(ImmutableSet.Builder<Link> links,
+                                 int a, int b, int portA, int portB) {
+        links.add(link(a, portA, b, portB));
+        links.add(link(b, portB, a, portA));
+    }
+
+    private static Link link(int src, int srcPort, int dst, int dstPort) {
+        return DefaultLink.builder()
+                .providerId(PID)
+                .src(new ConnectPoint(device(src), portNumber(srcPort)))
+                .dst(new ConnectPoint(device(dst), portNumber(dstPort)))
+                .type(Link.Type.DIRECT)
+                .state(Link.State.ACTIVE)
+                .build();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.graph.DefaultEdgeWeigher;
+import org.onlab.graph.DijkstraGraphSearch;
+import org.onlab.graph.EdgeWeigher;
+import org.onlab.graph.GraphPathSearch;
+import org.onlab.graph.IndexedDijkstraGraphSearch;
+import org.onlab.graph.PathTree;
+import org.onosproject.net.topology.DefaultTopologyVertex;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
+import static org.onosproject.benchmarks.BenchmarkFixtures.device;
+import static org.onosproject.benchmarks.BenchmarkFixtures.gridTopology;
+
+/**
+ * Benchmarks of the Dijkstra search over the graph of a grid topology,
+ * comparing the search over the graph itself with the search over its
+ * indexed copy, both between the two ends of the first row and from a
+ * corner to all the vertexes.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DijkstraBenchmark {
+
+    @Param({"10", "50"})
+    public int size;
+
+    private final EdgeWeigher<TopologyVertex, TopologyEdge> weigher = new DefaultEdgeWeigher<>();
+    private final DijkstraGraphSearch<TopologyVertex, TopologyEdge> dijkstra =
+            new DijkstraGraphSearch<>();
+    private final IndexedDijkstraGraphSearch<TopologyVertex, TopologyEdge> indexedDijkstra =
+            new IndexedDijkstraGraphSearch<>();
+
+    private TopologyGraph graph;
+    private TopologyVertex src;
+    private TopologyVertex dst;
+
+    @Setup
+    public void setUp() {
+        graph = gridTopology(size, size).getGraph();
+        src = new DefaultTopologyVertex(device(1));
+        dst = new DefaultTopologyVertex(device(size));
+    }
+
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> dijkstra() {
+        return dijkstra.search(graph, src, dst, weigher, ALL_PATHS);
+    }
+
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> indexedDijkstra() {
+        return indexedDijkstra.search(graph, src, dst, weigher, ALL_PATHS);
+    }
+
+    @Benchmark
+    public PathTree<TopologyVertex, TopologyEdge> dijkstraTree() {
+        return dijkstra.searchTree(graph, src, weigher);
+    }
+
+    @Benchmark
+    public PathTree<TopologyVertex, TopologyEdge> indexedDijkstraTree() {
+        return indexedDijkstra.searchTree(graph, src, weigher);
+    }
+}
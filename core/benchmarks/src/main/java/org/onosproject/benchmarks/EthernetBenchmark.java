@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.ARP;
+import org.onlab.packet.Data;
+import org.onlab.packet.DeserializationException;
+import org.onlab.packet.Deserializer;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.TCP;
+import org.onlab.packet.UDP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of parsing the frames received in packet-ins.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EthernetBenchmark {
+
+    private static final MacAddress SRC_MAC = MacAddress.valueOf("00:00:00:00:00:01");
+    private static final MacAddress DST_MAC = MacAddress.valueOf("00:00:00:00:00:02");
+    private static final Ip4Address SRC_IP = Ip4Address.valueOf("10.0.0.1");
+    private static final Ip4Address DST_IP = Ip4Address.valueOf("10.0.0.2");
+    private static final int PAYLOAD_LENGTH = 64;
+
+    @Param({"arp", "udp", "tcp"})
+    public String frame;
+
+    private final Deserializer<Ethernet> deserializer = Ethernet.deserializer();
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        Ethernet eth;
+        if ("arp".equals(frame)) {
+            eth = ARP.buildArpRequest(SRC_MAC.toBytes(), SRC_IP.toOctets(),
+                                      DST_IP.toOctets(), Ethernet.VLAN_UNTAGGED);
+        } else {
+            IPv4 ip = new IPv4();
+            ip.setSourceAddress(SRC_IP.toInt());
+            ip.setDestinationAddress(DST_IP.toInt());
+            ip.setTtl((byte) 64);
+            if ("udp".equals(frame)) {
+                UDP udp = new UDP();
+                udp.setSourcePort(49152);
+                udp.setDestinationPort(53);
+                udp.setPayload(new Data(new byte[PAYLOAD_LENGTH]));
+                ip.setProtocol(IPv4.PROTOCOL_UDP);
+                ip.setPayload(udp);
+            } else {
+                TCP tcp = new TCP();
+                tcp.setSourcePort(49152);
+                tcp.setDestinationPort(80);
+                tcp.setPayload(new Data(new byte[PAYLOAD_LENGTH]));
+                ip.setProtocol(IPv4.PROTOCOL_TCP);
+                ip.setPayload(tcp);
+            }
+            eth = new Ethernet();
+            eth.setSourceMACAddress(SRC_MAC);
+            eth.setDestinationMACAddress(DST_MAC);
+            eth.setEtherType(Ethernet.TYPE_IPV4);
+            eth.setPayload(ip);
+        }
+        bytes = eth.serialize();
+    }
+
+    @Benchmark
+    public Ethernet deserialize() throws DeserializationException {
+        return deserializer.deserialize(bytes, 0, bytes.length);
+    }
+}
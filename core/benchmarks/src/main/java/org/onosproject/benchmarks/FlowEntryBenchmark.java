@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.FlowEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.benchmarks.BenchmarkFixtures.flowRule;
+
+/**
+ * Benchmarks of flow entry equality and hashing, as used by the flow
+ * rule stores to look up and compare entries.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FlowEntryBenchmark {
+
+    private final FlowEntry entry = new DefaultFlowEntry(flowRule(1, 42));
+    private final FlowEntry equalEntry = new DefaultFlowEntry(flowRule(1, 42));
+    private final FlowEntry otherEntry = new DefaultFlowEntry(flowRule(1, 43));
+
+    @Benchmark
+    public int hash() {
+        return entry.hashCode();
+    }
+
+    @Benchmark
+    public boolean equal() {
+        return entry.equals(equalEntry);
+    }
+
+    @Benchmark
+    public boolean notEqual() {
+        return entry.equals(otherEntry);
+    }
+
+    @Benchmark
+    public boolean exactMatch() {
+        return entry.exactMatch(equalEntry);
+    }
+}
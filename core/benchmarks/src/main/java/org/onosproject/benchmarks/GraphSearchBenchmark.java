@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onosproject.common.DefaultTopology;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.DisjointPath;
+import org.onosproject.net.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+
+import static org.onosproject.benchmarks.BenchmarkFixtures.device;
+import static org.onosproject.benchmarks.BenchmarkFixtures.gridTopology;
+
+/**
+ * Benchmarks of path computation between the two ends of the first row of
+ * a grid topology, using Dijkstra for shortest paths and Suurballe for
+ * disjoint paths. The ends are chosen so that there is a single shortest
+ * path; between opposite corners the number of equal cost paths grows
+ * exponentially with the grid size.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GraphSearchBenchmark {
+
+    @Param({"5", "10"})
+    public int size;
+
+    private DefaultTopology topology;
+    private DeviceId src;
+    private DeviceId dst;
+
+    @Setup
+    public void setUp() {
+        topology = gridTopology(size, size);
+        src = device(1);
+        dst = device(size);
+    }
+
+    @Benchmark
+    public Set<Path> dijkstra() {
+        return topology.getPaths(src, dst);
+    }
+
+    @Benchmark
+    public Set<DisjointPath> suurballe() {
+        return topology.getDisjointPaths(src, dst);
+    }
+}
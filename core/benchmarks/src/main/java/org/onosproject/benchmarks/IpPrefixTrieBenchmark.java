@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onlab.util.IpPrefixTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Benchmarks of longest prefix match, updates, inserts and removals of an
+ * IPv4 prefix trie at routing table scale.
+ * <p>
+ * Inserts and removals change the size of the trie, so they run in single
+ * shot batches of {@value #BATCH} operations and the trie is restored to
+ * its initial content before every iteration.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IpPrefixTrieBenchmark {
+
+    private static final int ADDRESSES = 1 << 16;
+    private static final int BATCH = 10000;
+
+    @Param({"100000", "800000"})
+    public int routes;
+
+    private IpPrefixTrie<IpPrefix> trie;
+    private IpPrefix[] prefixes;
+    private IpPrefix[] absentPrefixes;
+    private IpAddress[] addresses;
+    private int next;
+    private int inserted;
+    private int removed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(routes);
+        trie = new IpPrefixTrie<>(IpAddress.Version.INET);
+        Set<IpPrefix> unique = new HashSet<>();
+        prefixes = new IpPrefix[routes];
+        for (int i = 0; i < routes; i++) {
+            prefixes[i] = randomPrefix(random, unique);
+            trie.put(prefixes[i], prefixes[i]);
+        }
+        absentPrefixes = new IpPrefix[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            absentPrefixes[i] = randomPrefix(random, unique);
+        }
+        addresses = new IpAddress[ADDRESSES];
+        for (int i = 0; i < ADDRESSES; i++) {
+            addresses[i] = IpAddress.valueOf(random.nextInt());
+        }
+    }
+
+    private static IpPrefix randomPrefix(Random random, Set<IpPrefix> unique) {
+        IpPrefix prefix;
+        do {
+            // prefix lengths roughly as distributed in the Internet table
+            prefix = IpPrefix.valueOf(random.nextInt(), 16 + random.nextInt(9));
+        } while (!unique.add(prefix));
+        return prefix;
+    }
+
+    @Setup(Level.Iteration)
+    public void restore() {
+        for (int i = 0; i < inserted; i++) {
+            trie.remove(absentPrefixes[i]);
+        }
+        for (int i = 0; i < removed; i++) {
+            trie.put(prefixes[i], prefixes[i]);
+        }
+        inserted = 0;
+        removed = 0;
+    }
+
+    @Benchmark
+    public IpPrefix longestPrefixMatch() {
+        next = (next + 1) & (ADDRESSES - 1);
+        return trie.longestPrefixMatch(addresses[next]);
+    }
+
+    @Benchmark
+    public IpPrefix update() {
+        next = (next + 1) % routes;
+        return trie.put(prefixes[next], prefixes[next]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = BATCH)
+    @Measurement(iterations = 5, batchSize = BATCH)
+    public IpPrefix insert() {
+        IpPrefix prefix = absentPrefixes[inserted++];
+        return trie.put(prefix, prefix);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 3, batchSize = BATCH)
+    @Measurement(iterations = 5, batchSize = BATCH)
+    public IpPrefix remove() {
+        return trie.remove(prefixes[removed++]);
+    }
+}
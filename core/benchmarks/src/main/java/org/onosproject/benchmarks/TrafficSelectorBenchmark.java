@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.IpPrefix;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.TpPort;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.TrafficSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Benchmarks of building traffic selectors.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrafficSelectorBenchmark {
+
+    private static final MacAddress MAC = MacAddress.valueOf("00:00:00:00:00:01");
+    private static final IpPrefix SRC = IpPrefix.valueOf("10.0.0.0/24");
+    private static final IpPrefix DST = IpPrefix.valueOf("10.0.1.0/24");
+
+    @Benchmark
+    public TrafficSelector ethType() {
+        return DefaultTrafficSelector.builder()
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .build();
+    }
+
+    @Benchmark
+    public TrafficSelector fiveTuple() {
+        return DefaultTrafficSelector.builder()
+                .matchInPort(portNumber(1))
+                .matchEthSrc(MAC)
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .matchIPSrc(SRC)
+                .matchIPDst(DST)
+                .matchIPProtocol(IPv4.PROTOCOL_TCP)
+                .matchTcpSrc(TpPort.tpPort(49152))
+                .matchTcpDst(TpPort.tpPort(80))
+                .build();
+    }
+}
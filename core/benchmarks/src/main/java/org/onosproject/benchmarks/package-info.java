@@ -0,0 +1,26 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH micro-benchmarks of core hot paths.
+ * <p>
+ * The benchmarks are packaged into an executable jar; run them with
+ * {@code java -jar target/onos-benchmarks.jar -rf json -rff jmh-result.json}
+ * to record the results as JSON for comparison across builds, or pass a
+ * regular expression to select a subset of the benchmarks.
+ * </p>
+ */
+package org.onosproject.benchmarks;
@@ -0,0 +1,333 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import org.onlab.graph.EdgeWeigher;
+import org.onlab.graph.TarjanGraphSearch;
+import org.onlab.graph.TarjanGraphSearch.SccResult;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.onosproject.common.GraphDelta.isViable;
+
+/**
+ * Vertexes and edges of the strongly connected clusters of a topology graph;
+ * the lists form pairs along the cluster index.
+ * <p>
+ * The clusters of a graph may be derived from those of the graph it
+ * succeeds, searching again only the clusters which the changes to the
+ * graph may have split or merged.
+ * </p>
+ */
+final class ClusterSets {
+
+    private static final TarjanGraphSearch<TopologyVertex, TopologyEdge> TARJAN =
+            new TarjanGraphSearch<>();
+
+    private static final int NONE = -1;
+
+    private final List<Set<TopologyVertex>> clusterVertexes;
+    private final List<Set<TopologyEdge>> clusterEdges;
+    private final int[] sameVertexes;
+    private final int[] sameEdges;
+    private Map<TopologyVertex, Integer> indexes;
+
+    private ClusterSets(List<Set<TopologyVertex>> clusterVertexes,
+                        List<Set<TopologyEdge>> clusterEdges,
+                        int[] sameVertexes, int[] sameEdges) {
+        this.clusterVertexes = Collections.unmodifiableList(clusterVertexes);
+        this.clusterEdges = Collections.unmodifiableList(clusterEdges);
+        this.sameVertexes = sameVertexes;
+        this.sameEdges = sameEdges;
+    }
+
+    /**
+     * Returns the clusters found by a search of the whole graph.
+     *
+     * @param result SCC search result
+     * @return cluster sets
+     */
+    static ClusterSets of(SccResult<TopologyVertex, TopologyEdge> result) {
+        int[] none = new int[result.clusterCount()];
+        Arrays.fill(none, NONE);
+        return new ClusterSets(result.clusterVertexes(), result.clusterEdges(), none, none);
+    }
+
+    /**
+     * Derives the clusters of a graph from those of the graph it succeeds.
+     *
+     * @param previous clusters of the previous graph
+     * @param graph    successor graph
+     * @param delta    differences between the two graphs
+     * @param weigher  edge weigher telling the viable edges apart
+     * @return cluster sets of the successor graph
+     */
+    static ClusterSets derive(ClusterSets previous, TopologyGraph graph, GraphDelta delta,
+                              EdgeWeigher<TopologyVertex, TopologyEdge> weigher) {
+        Map<TopologyVertex, Integer> previousIndexes = previous.indexes();
+
+        // Clusters which lost vertexes, or edges without which they are no
+        // longer strongly connected, may have split.
+        Set<Integer> split = new HashSet<>();
+        for (TopologyVertex vertex : delta.removedVertexes()) {
+            split.add(previousIndexes.get(vertex));
+        }
+        for (TopologyEdge edge : delta.lostEdges()) {
+            Integer index = previousIndexes.get(edge.src());
+            if (index != null && !split.contains(index) && index.equals(previousIndexes.get(edge.dst())) &&
+                    !reaches(graph, edge.src(), edge.dst(), previous.clusterVertexes.get(index), weigher)) {
+                split.add(index);
+            }
+        }
+
+        // Clusters lying on a cycle closed by a gained edge may have merged;
+        // gained edges within a cluster which has not split close no cycle
+        // which another gained edge does not close as well.
+        Set<Integer> dirty = new HashSet<>(split);
+        Set<TopologyVertex> region = new HashSet<>(delta.addedVertexes());
+        for (TopologyEdge edge : delta.gainedEdges()) {
+            Integer index = previousIndexes.get(edge.src());
+            if (index != null && !split.contains(index) && index.equals(previousIndexes.get(edge.dst()))) {
+                continue;
+            }
+            Set<TopologyVertex> forward = search(graph, edge.dst(), null, true, weigher);
+            if (forward.contains(edge.src())) {
+                for (TopologyVertex vertex : search(graph, edge.src(), forward, false, weigher)) {
+                    Integer merged = previousIndexes.get(vertex);
+                    if (merged != null) {
+                        dirty.add(merged);
+                    }
+                }
+            }
+        }
+
+        // Search again the vertexes of the dirty clusters, which the
+        // clusters of the successor graph contain or do not reach.
+        for (Integer index : dirty) {
+            for (TopologyVertex vertex : previous.clusterVertexes.get(index)) {
+                if (!delta.removedVertexes().contains(vertex)) {
+                    region.add(vertex);
+                }
+            }
+        }
+        SccResult<TopologyVertex, TopologyEdge> result = TARJAN.search(subgraph(graph, region), weigher);
+
+        // Clusters which the changes left alone keep their vertexes, and
+        // their edges unless any of their vertexes changed.
+        Set<Integer> changed = new HashSet<>();
+        for (TopologyVertex vertex : delta.changedVertexes()) {
+            Integer index = previousIndexes.get(vertex);
+            if (index != null) {
+                changed.add(index);
+            }
+        }
+
+        // Keep clean clusters at their index as long as the indexes remain
+        // dense, and fill the freed indexes with the new clusters.
+        int count = previous.clusterCount() - dirty.size() + result.clusterCount();
+        List<Set<TopologyVertex>> vertexes = new ArrayList<>(Collections.nCopies(count, null));
+        List<Set<TopologyEdge>> edges = new ArrayList<>(Collections.nCopies(count, null));
+        int[] sameVertexes = new int[count];
+        int[] sameEdges = new int[count];
+        Arrays.fill(sameVertexes, NONE);
+        Arrays.fill(sameEdges, NONE);
+
+        Deque<Integer> moved = new ArrayDeque<>();
+        for (int i = 0, n = previous.clusterCount(); i < n; i++) {
+            if (!dirty.contains(i)) {
+                if (i < count) {
+                    keep(previous, i, i, changed.contains(i), graph, vertexes, edges, sameVertexes, sameEdges);
+                } else {
+                    moved.add(i);
+                }
+            }
+        }
+        int next = 0;
+        for (int j = 0; j < count; j++) {
+            if (vertexes.get(j) != null) {
+                continue;
+            }
+            if (next < result.clusterCount()) {
+                vertexes.set(j, result.clusterVertexes().get(next));
+                edges.set(j, result.clusterEdges().get(next));
+                next++;
+            } else {
+                int i = moved.remove();
+                keep(previous, i, j, changed.contains(i), graph, vertexes, edges, sameVertexes, sameEdges);
+            }
+        }
+        return new ClusterSets(vertexes, edges, sameVertexes, sameEdges);
+    }
+
+    /**
+     * Returns the number of clusters.
+     *
+     * @return number of clusters
+     */
+    int clusterCount() {
+        return clusterVertexes.size();
+    }
+
+    /**
+     * Returns the list of cluster vertex sets.
+     *
+     * @return list of cluster vertexes
+     */
+    List<Set<TopologyVertex>> clusterVertexes() {
+        return clusterVertexes;
+    }
+
+    /**
+     * Returns the list of cluster edge sets.
+     *
+     * @return list of cluster edges
+     */
+    List<Set<TopologyEdge>> clusterEdges() {
+        return clusterEdges;
+    }
+
+    /**
+     * Returns the index of the cluster comprising the given vertex.
+     *
+     * @param vertex graph vertex
+     * @return cluster index, or null if the vertex is not in the graph
+     */
+    Integer clusterIndex(TopologyVertex vertex) {
+        return indexes().get(vertex);
+    }
+
+    /**
+     * Returns the index which the given cluster had among the clusters this
+     * one was derived from, if the cluster comprises the same vertexes.
+     *
+     * @param index cluster index
+     * @return previous cluster index, or -1 if the cluster is new or derived
+     * from a full search
+     */
+    int previousIndex(int index) {
+        return sameVertexes[index];
+    }
+
+    /**
+     * Indicates whether the given cluster comprises the same vertexes and
+     * edges as it did among the clusters this one was derived from.
+     *
+     * @param index cluster index
+     * @return true if the cluster is unchanged
+     */
+    boolean isUnchanged(int index) {
+        return sameEdges[index] != NONE;
+    }
+
+    // Returns the cluster index of each vertex, building it on first use.
+    private synchronized Map<TopologyVertex, Integer> indexes() {
+        if (indexes == null) {
+            Map<TopologyVertex, Integer> map = new HashMap<>();
+            for (int i = 0; i < clusterVertexes.size(); i++) {
+                for (TopologyVertex vertex : clusterVertexes.get(i)) {
+                    map.put(vertex, i);
+                }
+            }
+            indexes = map;
+        }
+        return indexes;
+    }
+
+    // Places a clean cluster of the previous graph at the given index.
+    private static void keep(ClusterSets previous, int i, int j, boolean changed,
+                             TopologyGraph graph,
+                             List<Set<TopologyVertex>> vertexes,
+                             List<Set<TopologyEdge>> edges,
+                             int[] sameVertexes, int[] sameEdges) {
+        Set<TopologyVertex> clusterVertexes = previous.clusterVertexes.get(i);
+        vertexes.set(j, clusterVertexes);
+        sameVertexes[j] = i;
+        if (changed) {
+            edges.set(j, findClusterEdges(graph, clusterVertexes));
+        } else {
+            edges.set(j, previous.clusterEdges.get(i));
+            sameEdges[j] = i;
+        }
+    }
+
+    // Finds the edges of any state linking the given cluster vertexes.
+    private static Set<TopologyEdge> findClusterEdges(TopologyGraph graph, Set<TopologyVertex> vertexes) {
+        Set<TopologyEdge> edges = new HashSet<>();
+        for (TopologyVertex vertex : vertexes) {
+            for (TopologyEdge edge : graph.getEdgesFrom(vertex)) {
+                if (vertexes.contains(edge.dst())) {
+                    edges.add(edge);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(edges);
+    }
+
+    // Indicates whether the destination is reachable from the source over
+    // viable edges between the given vertexes.
+    private static boolean reaches(TopologyGraph graph, TopologyVertex src, TopologyVertex dst,
+                                   Set<TopologyVertex> within,
+                                   EdgeWeigher<TopologyVertex, TopologyEdge> weigher) {
+        return search(graph, src, within, true, weigher).contains(dst);
+    }
+
+    // Returns the vertexes reachable from, or reaching, the given vertex
+    // over viable edges, optionally limited to the given vertexes.
+    private static Set<TopologyVertex> search(TopologyGraph graph, TopologyVertex start,
+                                              Set<TopologyVertex> within, boolean forward,
+                                              EdgeWeigher<TopologyVertex, TopologyEdge> weigher) {
+        Set<TopologyVertex> visited = new HashSet<>();
+        Deque<TopologyVertex> pending = new ArrayDeque<>();
+        visited.add(start);
+        pending.add(start);
+        while (!pending.isEmpty()) {
+            TopologyVertex vertex = pending.remove();
+            for (TopologyEdge edge : forward ? graph.getEdgesFrom(vertex) : graph.getEdgesTo(vertex)) {
+                TopologyVertex next = forward ? edge.dst() : edge.src();
+                if ((within == null || within.contains(next)) &&
+                        isViable(edge, weigher) && visited.add(next)) {
+                    pending.add(next);
+                }
+            }
+        }
+        return visited;
+    }
+
+    // Returns the subgraph induced by the given vertexes.
+    private static TopologyGraph subgraph(TopologyGraph graph, Set<TopologyVertex> vertexes) {
+        Set<TopologyEdge> edges = new HashSet<>();
+        for (TopologyVertex vertex : vertexes) {
+            for (TopologyEdge edge : graph.getEdgesFrom(vertex)) {
+                if (vertexes.contains(edge.dst())) {
+                    edges.add(edge);
+                }
+            }
+        }
+        return new DefaultTopologyGraph(vertexes, edges);
+    }
+}
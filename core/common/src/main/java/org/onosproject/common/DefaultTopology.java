@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ImmutableSetMultimap.Builder;
+import com.google.common.collect.Lists;
 import org.onlab.graph.DefaultEdgeWeigher;
 import org.onlab.graph.DijkstraGraphSearch;
 import org.onlab.graph.DisjointPathPair;
@@ -29,11 +30,11 @@ import org.onlab.graph.GraphPathSearch;
 import org.onlab.graph.GraphPathSearch.Result;
 import org.onlab.graph.KShortestPathsSearch;
 import org.onlab.graph.LazyKShortestPathsSearch;
+import org.onlab.graph.PathTree;
 import org.onlab.graph.ScalarWeight;
 import org.onlab.graph.SrlgGraphSearch;
 import org.onlab.graph.SuurballeGraphSearch;
 import org.onlab.graph.TarjanGraphSearch;
-import org.onlab.graph.TarjanGraphSearch.SccResult;
 import org.onlab.graph.Weight;
 import org.onosproject.net.AbstractModel;
 import org.onosproject.net.ConnectPoint;
@@ -47,6 +48,7 @@ import org.onosproject.net.Path;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.topology.ClusterId;
 import org.onosproject.net.topology.DefaultTopologyCluster;
+import org.onosproject.net.topology.DefaultTopologyEdge;
 import org.onosproject.net.topology.DefaultTopologyVertex;
 import org.onosproject.net.topology.GraphDescription;
 import org.onosproject.net.topology.HopCountLinkWeight;
@@ -59,7 +61,9 @@ import org.onosproject.net.topology.TopologyVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -97,20 +101,24 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     private static LinkWeigher defaultLinkWeigher = null;
     private static GraphPathSearch<TopologyVertex, TopologyEdge> defaultGraphPathSearch = null;
+    private static volatile int pathCacheSize = 0;
+    private static volatile int pathTreeCacheSize = 0;
 
     private final long time;
     private final long creationTime;
     private final long computeCost;
-    private final TopologyGraph graph;
+    private final DefaultTopologyGraph graph;
+    private final Supplier<ReverseGraph> reverseGraph;
 
     private final LinkWeigher hopCountWeigher;
 
-    private final Supplier<SccResult<TopologyVertex, TopologyEdge>> clusterResults;
+    private final Supplier<ClusterSets> clusterResults;
     private final Supplier<ImmutableMap<ClusterId, TopologyCluster>> clusters;
     private final Supplier<ImmutableSet<ConnectPoint>> infrastructurePoints;
     private final Supplier<ImmutableSetMultimap<ClusterId, ConnectPoint>> broadcastSets;
     private final Function<ConnectPoint, Boolean> broadcastFunction;
     private final Supplier<ClusterIndexes> clusterIndexes;
+    private final PathCache pathCache;
 
     /**
      * Sets the default link-weight to be used when computing paths. If null is
@@ -136,6 +144,43 @@ public class DefaultTopology extends AbstractModel implements Topology {
         defaultGraphPathSearch = graphPathSearch;
     }
 
+    /**
+     * Sets the bounds of the path caches of the topologies created
+     * afterwards. Shortest path sets are cached by source, destination, link
+     * weigher and path search algorithm, the weigher going by equality and
+     * the algorithm by identity; shortest path trees are cached by source, weigher and
+     * algorithm, and serve the Dijkstra searches towards all destinations.
+     * A size of 0 disables the respective cache.
+     *
+     * @param pathSets  maximum number of cached path sets per topology
+     * @param pathTrees maximum number of cached shortest path trees per topology
+     */
+    public static void setPathCacheSize(int pathSets, int pathTrees) {
+        log.info("Setting path cache sizes to {} path sets and {} path trees", pathSets, pathTrees);
+        pathCacheSize = pathSets;
+        pathTreeCacheSize = pathTrees;
+    }
+
+    /**
+     * Returns the number of path computations served by the path caches of
+     * all topologies without searching the topology graph.
+     *
+     * @return number of path cache hits
+     */
+    public static long pathCacheHits() {
+        return PathCache.hits();
+    }
+
+    /**
+     * Returns the number of path computations for which the path caches of
+     * all topologies had to search the topology graph.
+     *
+     * @return number of path cache misses
+     */
+    public static long pathCacheMisses() {
+        return PathCache.misses();
+    }
+
 
     /**
      * Creates a topology descriptor attributed to the specified provider.
@@ -163,6 +208,52 @@ public class DefaultTopology extends AbstractModel implements Topology {
         this.hopCountWeigher = adapt(new HopCountLinkWeight(graph.getVertexes().size()));
         this.broadcastSets = Suppliers.memoize(this::buildBroadcastSets);
         this.infrastructurePoints = Suppliers.memoize(this::findInfrastructurePoints);
+        this.reverseGraph = Suppliers.memoize(this::buildReverseGraph);
+        this.pathCache = createPathCache();
+        this.computeCost = Math.max(0, System.nanoTime() - time);
+    }
+
+    /**
+     * Creates a topology descriptor attributed to the specified provider,
+     * deriving the topology graph and clusters from those of the previous
+     * topology. Only the clusters which the changes from the previous graph
+     * may have split or merged are searched again; the other clusters, and
+     * their broadcast sets, carry over. Unlike with a full computation, the
+     * clusters and broadcast sets are computed eagerly, so the compute cost
+     * accounts for them and no reference to the previous topology is kept.
+     *
+     * @param providerId        identity of the provider
+     * @param description       data describing the new topology
+     * @param broadcastFunction broadcast point function
+     * @param previous          previous topology
+     */
+    public DefaultTopology(ProviderId providerId, GraphDescription description,
+                           Function<ConnectPoint, Boolean> broadcastFunction,
+                           DefaultTopology previous) {
+        super(providerId);
+        this.broadcastFunction = broadcastFunction;
+        this.time = description.timestamp();
+        this.creationTime = description.creationTime();
+
+        // Derive the graph, sharing the adjacency lists of unchanged vertexes
+        NoIndirectLinksWeigher weigher = new NoIndirectLinksWeigher();
+        GraphDelta delta = new GraphDelta(previous.graph, description.vertexes(),
+                                          description.edges(), weigher);
+        this.graph = new DefaultTopologyGraph(previous.graph, description.vertexes(),
+                                              description.edges(), delta.changedVertexes());
+
+        ClusterSets sets = ClusterSets.derive(previous.clusterResults.get(), graph, delta, weigher);
+        ImmutableMap<ClusterId, TopologyCluster> clusterMap = deriveTopologyClusters(sets, previous);
+        this.clusterResults = Suppliers.ofInstance(sets);
+        this.clusters = Suppliers.ofInstance(clusterMap);
+
+        this.clusterIndexes = Suppliers.memoize(this::buildIndexes);
+
+        this.hopCountWeigher = adapt(new HopCountLinkWeight(graph.getVertexes().size()));
+        this.broadcastSets = Suppliers.ofInstance(deriveBroadcastSets(sets, delta, previous));
+        this.infrastructurePoints = Suppliers.memoize(this::findInfrastructurePoints);
+        this.reverseGraph = Suppliers.memoize(this::buildReverseGraph);
+        this.pathCache = createPathCache();
         this.computeCost = Math.max(0, System.nanoTime() - time);
     }
 
@@ -368,6 +459,8 @@ public class DefaultTopology extends AbstractModel implements Topology {
      * {@code maxPaths} a subset of paths of that length will be returned,
      * which paths will be returned depends on the currently specified
      * {@code GraphPathSearch}. See {@link #setDefaultGraphPathSearch}.
+     * The paths may come from the path caches of the topology, see
+     * {@link #setPathCacheSize}.
      *
      * @param src    source device
      * @param dst    destination device
@@ -385,6 +478,10 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
+        if (pathCache != null) {
+            return pathCache.getPaths(srcV, dstV, weigher, graphPathSearch(), maxPaths);
+        }
+
         GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
                 graphPathSearch().search(graph, srcV, dstV, weigher, maxPaths);
         ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
@@ -394,6 +491,73 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return builder.build();
     }
 
+    /**
+     * Computes on-demand the shortest paths from each of the source devices
+     * to the destination device. If the topology searches paths with the
+     * Dijkstra algorithm, all of them come from a single shortest path tree
+     * rooted at the destination in the reversed topology graph, whose edges
+     * carry the links of the topology in the opposite direction.
+     *
+     * @param srcs    source devices
+     * @param dst     destination device
+     * @param weigher link weight function
+     * @return map of each source device to its set of shortest paths
+     */
+    public Map<DeviceId, Set<Path>> getPathsTo(Collection<DeviceId> srcs, DeviceId dst,
+                                               LinkWeigher weigher) {
+        DefaultTopologyVertex dstV = new DefaultTopologyVertex(dst);
+        if (!(graphPathSearch() instanceof DijkstraGraphSearch) ||
+                !graph.getVertexes().contains(dstV)) {
+            return srcs.stream().distinct().collect(Collectors.toMap(
+                    src -> src, src -> getPaths(src, dst, weigher)));
+        }
+
+        ReverseGraph reverse = reverseGraph.get();
+        PathTree<TopologyVertex, TopologyEdge> tree =
+                ((DijkstraGraphSearch<TopologyVertex, TopologyEdge>) graphPathSearch())
+                        .searchTree(reverse.graph, dstV, reverse.weigher(weigher));
+        Map<DeviceId, Set<Path>> paths = new HashMap<>();
+        for (DeviceId src : srcs) {
+            paths.put(src, tree.paths(new DefaultTopologyVertex(src), ALL_PATHS).stream()
+                    .map(this::reverseNetworkPath)
+                    .collect(ImmutableSet.toImmutableSet()));
+        }
+        return paths;
+    }
+
+    /**
+     * Computes on-demand the shortest paths from the source device to each
+     * of the destination devices. If the topology searches paths with the
+     * Dijkstra algorithm, all of them come from a single shortest path tree
+     * rooted at the source.
+     *
+     * @param src     source device
+     * @param dsts    destination devices
+     * @param weigher link weight function
+     * @return map of each destination device to its set of shortest paths
+     */
+    public Map<DeviceId, Set<Path>> getPathsFrom(DeviceId src, Collection<DeviceId> dsts,
+                                                 LinkWeigher weigher) {
+        DefaultTopologyVertex srcV = new DefaultTopologyVertex(src);
+        if (pathCache != null || !(graphPathSearch() instanceof DijkstraGraphSearch) ||
+                !graph.getVertexes().contains(srcV)) {
+            // The path cache, if any, keeps the tree rooted at the source.
+            return dsts.stream().distinct().collect(Collectors.toMap(
+                    dst -> dst, dst -> getPaths(src, dst, weigher)));
+        }
+
+        PathTree<TopologyVertex, TopologyEdge> tree =
+                ((DijkstraGraphSearch<TopologyVertex, TopologyEdge>) graphPathSearch())
+                        .searchTree(graph, srcV, weigher);
+        Map<DeviceId, Set<Path>> paths = new HashMap<>();
+        for (DeviceId dst : dsts) {
+            paths.put(dst, tree.paths(new DefaultTopologyVertex(dst), ALL_PATHS).stream()
+                    .map(this::networkPath)
+                    .collect(ImmutableSet.toImmutableSet()));
+        }
+        return paths;
+    }
+
     /**
      * Computes on-demand the k-shortest paths between source and
      * destination devices.
@@ -615,6 +779,14 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return new DefaultPath(CORE_PROVIDER_ID, links, path.cost());
     }
 
+    // Converts a path of the reversed graph to the network path it traverses
+    // in the opposite direction, with the same cost.
+    private Path reverseNetworkPath(org.onlab.graph.Path<TopologyVertex, TopologyEdge> path) {
+        List<Link> links = Lists.reverse(path.edges()).stream().map(TopologyEdge::link)
+                .collect(Collectors.toList());
+        return new DefaultPath(CORE_PROVIDER_ID, links, path.cost());
+    }
+
     private DisjointPath networkDisjointPath(
             DisjointPathPair<TopologyVertex, TopologyEdge> path) {
         if (!path.hasBackup()) {
@@ -630,15 +802,15 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     // Searches for SCC clusters in the network topology graph using Tarjan
     // algorithm.
-    private SccResult<TopologyVertex, TopologyEdge> searchForClusters() {
-        return TARJAN.search(graph, new NoIndirectLinksWeigher());
+    private ClusterSets searchForClusters() {
+        return ClusterSets.of(TARJAN.search(graph, new NoIndirectLinksWeigher()));
     }
 
     // Builds the topology clusters and returns the id-cluster bindings.
     private ImmutableMap<ClusterId, TopologyCluster> buildTopologyClusters() {
         ImmutableMap.Builder<ClusterId, TopologyCluster> clusterBuilder =
                 ImmutableMap.builder();
-        SccResult<TopologyVertex, TopologyEdge> results = clusterResults.get();
+        ClusterSets results = clusterResults.get();
 
         // Extract both vertexes and edges from the results; the lists form
         // pairs along the same index.
@@ -660,6 +832,30 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return clusterBuilder.build();
     }
 
+    // Builds the topology clusters, reusing those of the previous topology
+    // which are unchanged and kept their index.
+    private ImmutableMap<ClusterId, TopologyCluster> deriveTopologyClusters(ClusterSets results,
+                                                                          DefaultTopology previous) {
+        ImmutableMap.Builder<ClusterId, TopologyCluster> clusterBuilder =
+                ImmutableMap.builder();
+        for (int i = 0, n = results.clusterCount(); i < n; i++) {
+            Set<TopologyVertex> vertexSet = results.clusterVertexes().get(i);
+            Set<TopologyEdge> edgeSet = results.clusterEdges().get(i);
+            int p = results.previousIndex(i);
+
+            ClusterId cid = ClusterId.clusterId(i);
+            if (p == i && results.isUnchanged(i)) {
+                clusterBuilder.put(cid, previous.getCluster(cid));
+                continue;
+            }
+            TopologyVertex root = p >= 0 ?
+                    previous.getCluster(ClusterId.clusterId(p)).root() : findRoot(vertexSet);
+            clusterBuilder.put(cid, new DefaultTopologyCluster(cid, vertexSet.size(),
+                                                               edgeSet.size(), root));
+        }
+        return clusterBuilder.build();
+    }
+
     // Finds the vertex whose device id is the lexicographical minimum in the
     // specified set.
     private TopologyVertex findRoot(Set<TopologyVertex> vertexSet) {
@@ -682,11 +878,54 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return builder.build();
     }
 
+    // Processes a map of broadcast sets for each cluster, reusing those of
+    // the previous topology which remain shortest path trees. As shortest
+    // paths between the devices of a cluster stay within the cluster, these
+    // are the sets of clusters comprising the same devices, which gained no
+    // inner links and lost none of their tree links.
+    private ImmutableSetMultimap<ClusterId, ConnectPoint> deriveBroadcastSets(ClusterSets results,
+                                                                            GraphDelta delta,
+                                                                            DefaultTopology previous) {
+        Set<Integer> stale = new HashSet<>();
+        for (TopologyEdge edge : delta.gainedEdges()) {
+            Integer index = results.clusterIndex(edge.src());
+            if (index != null && index.equals(results.clusterIndex(edge.dst()))) {
+                stale.add(index);
+            }
+        }
+        for (TopologyEdge edge : delta.lostEdges()) {
+            Integer index = results.clusterIndex(edge.src());
+            if (index != null && index.equals(results.clusterIndex(edge.dst())) &&
+                    results.previousIndex(index) >= 0) {
+                Set<ConnectPoint> points =
+                        previous.broadcastPoints(ClusterId.clusterId(results.previousIndex(index)));
+                if (points.contains(edge.link().src()) && points.contains(edge.link().dst())) {
+                    stale.add(index);
+                }
+            }
+        }
+
+        Builder<ClusterId, ConnectPoint> builder = ImmutableSetMultimap.builder();
+        for (TopologyCluster cluster : clusters.get().values()) {
+            int i = cluster.id().index();
+            int p = results.previousIndex(i);
+            if (p >= 0 && !stale.contains(i)) {
+                builder.putAll(cluster.id(), previous.broadcastPoints(ClusterId.clusterId(p)));
+            } else {
+                addClusterBroadcastSet(cluster, builder);
+            }
+        }
+        return builder.build();
+    }
+
     // Finds all broadcast points for the cluster. These are those connection
     // points which lie along the shortest paths between the cluster root and
     // all other devices within the cluster.
     private void addClusterBroadcastSet(TopologyCluster cluster,
                                         Builder<ClusterId, ConnectPoint> builder) {
+        Set<TopologyVertex> clusterVertexes =
+                clusterResults.get().clusterVertexes().get(cluster.id().index());
+
         // Use the graph root search results to build the broadcast set.
         Result<TopologyVertex, TopologyEdge> result =
                 DIJKSTRA.search(graph, cluster.root(), null, hopCountWeigher, 1);
@@ -695,7 +934,7 @@ public class DefaultTopology extends AbstractModel implements Topology {
             TopologyVertex vertex = entry.getKey();
 
             // Ignore any parents that lead outside the cluster.
-            if (clustersByDevice().get(vertex.deviceId()) != cluster) {
+            if (!clusterVertexes.contains(vertex)) {
                 continue;
             }
 
@@ -761,6 +1000,59 @@ public class DefaultTopology extends AbstractModel implements Topology {
                 linksBuilder.build());
     }
 
+    // Builds the graph with the edges of the topology graph reversed, for
+    // searching the paths towards a destination.
+    private ReverseGraph buildReverseGraph() {
+        Map<TopologyEdge, TopologyEdge> forwardEdges = new HashMap<>();
+        graph.getEdges().forEach(edge -> forwardEdges.put(
+                new DefaultTopologyEdge(edge.dst(), edge.src(), edge.link()), edge));
+        return new ReverseGraph(new DefaultTopologyGraph(graph.getVertexes(), forwardEdges.keySet()),
+                                forwardEdges);
+    }
+
+    // Topology graph with its edges reversed, along with the forward edge
+    // of each reversed one.
+    private static final class ReverseGraph {
+        private final DefaultTopologyGraph graph;
+        private final Map<TopologyEdge, TopologyEdge> forwardEdges;
+
+        private ReverseGraph(DefaultTopologyGraph graph, Map<TopologyEdge, TopologyEdge> forwardEdges) {
+            this.graph = graph;
+            this.forwardEdges = forwardEdges;
+        }
+
+        // Returns a weigher weighing each reversed edge as its forward edge,
+        // so that the paths found do not depend on the search direction.
+        private LinkWeigher weigher(LinkWeigher weigher) {
+            if (weigher == null) {
+                return null;
+            }
+            return new LinkWeigher() {
+                @Override
+                public Weight weight(TopologyEdge edge) {
+                    return weigher.weight(forwardEdges.get(edge));
+                }
+
+                @Override
+                public Weight getInitialWeight() {
+                    return weigher.getInitialWeight();
+                }
+
+                @Override
+                public Weight getNonViableWeight() {
+                    return weigher.getNonViableWeight();
+                }
+            };
+        }
+    }
+
+    private PathCache createPathCache() {
+        int pathSets = pathCacheSize;
+        int pathTrees = pathTreeCacheSize;
+        return pathSets > 0 || pathTrees > 0 ?
+                new PathCache(graph, this::networkPath, pathSets, pathTrees) : null;
+    }
+
     private GraphPathSearch<TopologyVertex, TopologyEdge> graphPathSearch() {
         return defaultGraphPathSearch != null ? defaultGraphPathSearch : DIJKSTRA;
     }
@@ -40,4 +40,19 @@ public class DefaultTopologyGraph
         super(vertexes, edges);
     }
 
+    /**
+     * Creates a topology graph comprising of the specified vertexes and edges,
+     * sharing the adjacency lists of the given graph for the unchanged vertexes.
+     *
+     * @param graph    previous topology graph
+     * @param vertexes set of graph vertexes
+     * @param edges    set of graph edges
+     * @param changed  vertexes whose ingress or egress edges differ from
+     *                 those they have in the previous graph
+     */
+    public DefaultTopologyGraph(DefaultTopologyGraph graph, Set<TopologyVertex> vertexes,
+                                Set<TopologyEdge> edges, Set<TopologyVertex> changed) {
+        super(graph, vertexes, edges, changed);
+    }
+
 }
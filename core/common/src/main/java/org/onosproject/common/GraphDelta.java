@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import org.onlab.graph.EdgeWeigher;
+import org.onosproject.net.Link;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Differences between a topology graph and the vertexes and edges of the
+ * graph which succeeds it.
+ */
+final class GraphDelta {
+
+    private final Set<TopologyVertex> addedVertexes = new HashSet<>();
+    private final Set<TopologyVertex> removedVertexes = new HashSet<>();
+    private final Set<TopologyVertex> changedVertexes = new HashSet<>();
+    private final Set<TopologyEdge> lostEdges = new HashSet<>();
+    private final Set<TopologyEdge> gainedEdges = new HashSet<>();
+
+    /**
+     * Computes the differences between the given graph and its successor.
+     *
+     * @param graph    previous graph
+     * @param vertexes vertexes of the successor graph
+     * @param edges    edges of the successor graph
+     * @param weigher  edge weigher telling the viable edges apart
+     */
+    GraphDelta(TopologyGraph graph, Set<TopologyVertex> vertexes, Set<TopologyEdge> edges,
+               EdgeWeigher<TopologyVertex, TopologyEdge> weigher) {
+        Set<TopologyVertex> previousVertexes = graph.getVertexes();
+        for (TopologyVertex vertex : vertexes) {
+            if (!previousVertexes.contains(vertex)) {
+                addedVertexes.add(vertex);
+            }
+        }
+
+        for (TopologyEdge edge : edges) {
+            if (!previousVertexes.contains(edge.src())) {
+                addedVertexes.add(edge.src());
+            }
+            if (!previousVertexes.contains(edge.dst())) {
+                addedVertexes.add(edge.dst());
+            }
+            TopologyEdge previous = find(graph.getEdgesFrom(edge.src()), edge);
+            if (previous == null || !sameLink(previous.link(), edge.link())) {
+                changedVertexes.add(edge.src());
+                changedVertexes.add(edge.dst());
+            }
+            boolean viable = isViable(edge, weigher);
+            if (previous != null && isViable(previous, weigher) && !viable) {
+                lostEdges.add(previous);
+            } else if ((previous == null || !isViable(previous, weigher)) && viable) {
+                gainedEdges.add(edge);
+            }
+        }
+
+        for (TopologyVertex vertex : previousVertexes) {
+            if (!vertexes.contains(vertex)) {
+                removedVertexes.add(vertex);
+            }
+        }
+
+        for (TopologyEdge edge : graph.getEdges()) {
+            if (!edges.contains(edge)) {
+                changedVertexes.add(edge.src());
+                changedVertexes.add(edge.dst());
+                if (isViable(edge, weigher)) {
+                    lostEdges.add(edge);
+                }
+            }
+        }
+        changedVertexes.addAll(addedVertexes);
+        changedVertexes.removeAll(removedVertexes);
+    }
+
+    /**
+     * Returns the vertexes of the successor graph missing in the previous one.
+     *
+     * @return added vertexes
+     */
+    Set<TopologyVertex> addedVertexes() {
+        return addedVertexes;
+    }
+
+    /**
+     * Returns the vertexes of the previous graph missing in the successor.
+     *
+     * @return removed vertexes
+     */
+    Set<TopologyVertex> removedVertexes() {
+        return removedVertexes;
+    }
+
+    /**
+     * Returns the vertexes of the successor graph whose ingress or egress
+     * edges differ from those of the previous graph, including the added
+     * vertexes.
+     *
+     * @return changed vertexes
+     */
+    Set<TopologyVertex> changedVertexes() {
+        return changedVertexes;
+    }
+
+    /**
+     * Returns the viable edges of the previous graph which are missing or no
+     * longer viable in the successor.
+     *
+     * @return lost edges
+     */
+    Set<TopologyEdge> lostEdges() {
+        return lostEdges;
+    }
+
+    /**
+     * Returns the viable edges of the successor graph which are missing or
+     * not viable in the previous one.
+     *
+     * @return gained edges
+     */
+    Set<TopologyEdge> gainedEdges() {
+        return gainedEdges;
+    }
+
+    /**
+     * Indicates whether the given edge may be traversed.
+     *
+     * @param edge    topology edge
+     * @param weigher edge weigher
+     * @return true if the edge is viable
+     */
+    static boolean isViable(TopologyEdge edge, EdgeWeigher<TopologyVertex, TopologyEdge> weigher) {
+        return weigher.weight(edge).isViable();
+    }
+
+    // Finds the edge equal to the given one among a vertex adjacency list.
+    private static TopologyEdge find(Set<TopologyEdge> edges, TopologyEdge edge) {
+        for (TopologyEdge candidate : edges) {
+            if (candidate.equals(edge)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // Link equality is limited to the link end-points and type, so compare
+    // the remaining attributes as well.
+    private static boolean sameLink(Link a, Link b) {
+        return a == b || (a.state() == b.state() &&
+                Objects.equals(a.providerId(), b.providerId()) &&
+                Objects.equals(a.annotations(), b.annotations()));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import org.onlab.graph.DijkstraGraphSearch;
+import org.onlab.graph.GraphPathSearch;
+import org.onlab.graph.PathTree;
+import org.onosproject.net.Path;
+import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded caches of the shortest paths found in a topology graph, and of
+ * the shortest path trees of the Dijkstra searches they were found with.
+ * <p>
+ * As topologies are immutable, each topology has caches of its own which go
+ * away with it. Link weighers and search algorithms are told apart by their
+ * identity, so the paths found with a weigher are cached under the
+ * assumption that the weights it assigns to the links of the topology do
+ * not change.
+ * </p>
+ */
+final class PathCache {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private final TopologyGraph graph;
+    private final Function<org.onlab.graph.Path<TopologyVertex, TopologyEdge>, Path> converter;
+    private final Cache<PathKey, Set<Path>> paths;
+    private final Cache<TreeKey, PathTree<TopologyVertex, TopologyEdge>> trees;
+
+    /**
+     * Creates the path caches of a topology graph.
+     *
+     * @param graph     topology graph
+     * @param converter converter of graph paths to network paths
+     * @param pathSets  maximum number of cached path sets; 0 to cache none
+     * @param pathTrees maximum number of cached shortest path trees; 0 to
+     *                  cache none
+     */
+    PathCache(TopologyGraph graph,
+              Function<org.onlab.graph.Path<TopologyVertex, TopologyEdge>, Path> converter,
+              int pathSets, int pathTrees) {
+        this.graph = graph;
+        this.converter = converter;
+        this.paths = pathSets > 0 ? CacheBuilder.newBuilder().maximumSize(pathSets).build() : null;
+        this.trees = pathTrees > 0 ? CacheBuilder.newBuilder().maximumSize(pathTrees).build() : null;
+    }
+
+    /**
+     * Returns the number of path requests served without searching the graph,
+     * across the caches of all topologies.
+     *
+     * @return number of cache hits
+     */
+    static long hits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of path requests which required a graph search,
+     * across the caches of all topologies.
+     *
+     * @return number of cache misses
+     */
+    static long misses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Returns the shortest paths between the given vertexes, from the cache
+     * if possible.
+     *
+     * @param src      source vertex
+     * @param dst      destination vertex
+     * @param weigher  link weigher
+     * @param search   graph path search algorithm
+     * @param maxPaths maximum number of paths
+     * @return set of shortest paths
+     */
+    Set<Path> getPaths(TopologyVertex src, TopologyVertex dst, LinkWeigher weigher,
+                       GraphPathSearch<TopologyVertex, TopologyEdge> search, int maxPaths) {
+        PathKey key = new PathKey(src, dst, weigher, search, maxPaths);
+        Set<Path> cached = paths != null ? paths.getIfPresent(key) : null;
+        if (cached != null) {
+            HITS.increment();
+            return cached;
+        }
+
+        Set<org.onlab.graph.Path<TopologyVertex, TopologyEdge>> found;
+        if (trees != null && search instanceof DijkstraGraphSearch) {
+            // A tree rooted at the source serves all destinations.
+            TreeKey treeKey = new TreeKey(src, weigher, search);
+            PathTree<TopologyVertex, TopologyEdge> tree = trees.getIfPresent(treeKey);
+            if (tree != null) {
+                HITS.increment();
+            } else {
+                MISSES.increment();
+                tree = ((DijkstraGraphSearch<TopologyVertex, TopologyEdge>) search)
+                        .searchTree(graph, src, weigher);
+                trees.put(treeKey, tree);
+            }
+            found = tree.paths(dst, maxPaths);
+        } else {
+            MISSES.increment();
+            found = search.search(graph, src, dst, weigher, maxPaths).paths();
+        }
+
+        Set<Path> result = found.stream().map(converter).collect(ImmutableSet.toImmutableSet());
+        if (paths != null) {
+            paths.put(key, result);
+        }
+        return result;
+    }
+
+    // Key of the shortest path trees; weighers go by equality, searches by identity.
+    private static class TreeKey {
+        private final TopologyVertex src;
+        private final LinkWeigher weigher;
+        private final GraphPathSearch<TopologyVertex, TopologyEdge> search;
+
+        TreeKey(TopologyVertex src, LinkWeigher weigher,
+                GraphPathSearch<TopologyVertex, TopologyEdge> search) {
+            this.src = src;
+            this.weigher = weigher;
+            this.search = search;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(src, weigher, System.identityHashCode(search));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            TreeKey that = (TreeKey) obj;
+            return Objects.equals(src, that.src) && Objects.equals(weigher, that.weigher) && search == that.search;
+        }
+    }
+
+    // Key of the path sets, adding the destination and path limit.
+    private static final class PathKey extends TreeKey {
+        private final TopologyVertex dst;
+        private final int maxPaths;
+
+        PathKey(TopologyVertex src, TopologyVertex dst, LinkWeigher weigher,
+                GraphPathSearch<TopologyVertex, TopologyEdge> search, int maxPaths) {
+            super(src, weigher, search);
+            this.dst = dst;
+            this.maxPaths = maxPaths;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * super.hashCode() + dst.hashCode()) + maxPaths;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return super.equals(obj) && Objects.equals(dst, ((PathKey) obj).dst) &&
+                    maxPaths == ((PathKey) obj).maxPaths;
+        }
+    }
+}
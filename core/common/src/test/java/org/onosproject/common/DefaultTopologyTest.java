@@ -34,16 +34,21 @@ import org.onosproject.net.topology.ClusterId;
 import org.onosproject.net.topology.DefaultGraphDescription;
 import org.onosproject.net.topology.DefaultTopologyVertex;
 import org.onosproject.net.topology.GraphDescription;
+import org.onosproject.net.topology.HopCountLinkWeight;
 import org.onosproject.net.topology.LinkWeigher;
 import org.onosproject.net.topology.TopologyCluster;
 import org.onosproject.net.topology.TopologyEdge;
 import org.onosproject.net.topology.TopologyVertex;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import static com.google.common.collect.ImmutableSet.of;
 import static org.junit.Assert.*;
 import static org.onosproject.net.DeviceId.deviceId;
 import static org.onosproject.net.PortNumber.portNumber;
+import static org.onosproject.net.topology.AdapterLinkWeigher.adapt;
 
 /**
  * Test of the default topology implementation.
@@ -77,8 +82,23 @@ public class DefaultTopologyTest {
     }
     public static final LinkWeigher WEIGHER = new TestLinkWeigher();
 
+    // Weighs the link from 1 to 4 higher than the one from 4 to 1.
+    public static final class DirectionalLinkWeigher
+            extends DefaultEdgeWeigher<TopologyVertex, TopologyEdge>
+            implements LinkWeigher {
+        @Override
+        public Weight weight(TopologyEdge edge) {
+            double value = edge.src().deviceId().equals(D1) &&
+                    edge.dst().deviceId().equals(D4)
+                    ? 10.0 : HOP_WEIGHT_VALUE;
+            return new ScalarWeight(value);
+        }
+    }
+
 
     private DefaultTopology dt;
+    private Set<Device> devices;
+    private Set<Link> links;
 
     public static final ClusterId C0 = ClusterId.clusterId(0);
     public static final ClusterId C1 = ClusterId.clusterId(1);
@@ -86,13 +106,13 @@ public class DefaultTopologyTest {
     @Before
     public void setUp() {
         long now = System.currentTimeMillis();
-        Set<Device> devices = of(device("1"), device("2"),
-                                 device("3"), device("4"),
-                                 device("5"));
-        Set<Link> links = of(link("1", 1, "2", 1), link("2", 1, "1", 1),
-                             link("3", 2, "2", 2), link("2", 2, "3", 2),
-                             link("1", 3, "4", 3), link("4", 3, "1", 3),
-                             link("3", 4, "4", 4), link("4", 4, "3", 4));
+        devices = of(device("1"), device("2"),
+                     device("3"), device("4"),
+                     device("5"));
+        links = of(link("1", 1, "2", 1), link("2", 1, "1", 1),
+                   link("3", 2, "2", 2), link("2", 2, "3", 2),
+                   link("1", 3, "4", 3), link("4", 3, "1", 3),
+                   link("3", 4, "4", 4), link("4", 4, "3", 4));
         GraphDescription graphDescription =
                 new DefaultGraphDescription(now, System.currentTimeMillis(), devices, links);
 
@@ -128,6 +148,36 @@ public class DefaultTopologyTest {
 
     }
 
+    @Test
+    public void pathTrees() {
+        Set<DeviceId> others = of(D1, D2, D3, D4, D5);
+        Map<DeviceId, Set<Path>> to = dt.getPathsTo(others, D3, WEIGHER);
+        Map<DeviceId, Set<Path>> from = dt.getPathsFrom(D3, others, WEIGHER);
+        assertEquals("incorrect source count", others.size(), to.size());
+        assertEquals("incorrect destination count", others.size(), from.size());
+        for (DeviceId device : others) {
+            assertEquals("incorrect paths to", dt.getPaths(device, D3, WEIGHER), to.get(device));
+            assertEquals("incorrect paths from", dt.getPaths(D3, device, WEIGHER), from.get(device));
+        }
+        assertTrue("no paths expected", to.get(D5).isEmpty());
+        assertTrue("no paths expected", from.get(D3).isEmpty());
+
+        LinkWeigher hops = adapt(new HopCountLinkWeight());
+        assertEquals("incorrect path count", 2, dt.getPathsTo(of(D1), D3, hops).get(D1).size());
+        assertEquals("incorrect path count", 2, dt.getPathsFrom(D1, of(D3), hops).get(D3).size());
+    }
+
+    @Test
+    public void pathTreesWithDirectionalWeigher() {
+        LinkWeigher weigher = new DirectionalLinkWeigher();
+        Set<DeviceId> others = of(D1, D2, D3, D4);
+        Map<DeviceId, Set<Path>> to = dt.getPathsTo(others, D3, weigher);
+        for (DeviceId device : others) {
+            assertEquals("incorrect paths to", dt.getPaths(device, D3, weigher), to.get(device));
+        }
+        assertEquals("incorrect path count", 1, to.get(D1).size());
+    }
+
     @Test
     public void pointRelated() {
         assertTrue("should be infrastructure point",
@@ -148,6 +198,163 @@ public class DefaultTopologyTest {
         assertFalse("cluster should not contain D5", devs.contains(D5));
     }
 
+    @Test
+    public void cachedPaths() {
+        DefaultTopology.setPathCacheSize(10, 10);
+        try {
+            GraphDescription description =
+                    new DefaultGraphDescription(System.nanoTime(), System.currentTimeMillis(), devices, links);
+            DefaultTopology t = new DefaultTopology(PID, description);
+            long hits = DefaultTopology.pathCacheHits();
+            long misses = DefaultTopology.pathCacheMisses();
+
+            Set<Path> paths = t.getPaths(D1, D3);
+            assertEquals("incorrect path count", 2, paths.size());
+            assertEquals("incorrect paths", dt.getPaths(D1, D3), paths);
+            assertEquals("incorrect miss count", misses + 1, DefaultTopology.pathCacheMisses());
+            assertSame("paths should be cached", paths, t.getPaths(D1, D3));
+
+            // The tree rooted at the source serves other destinations.
+            assertEquals("incorrect paths", dt.getPaths(D1, D2), t.getPaths(D1, D2));
+            assertEquals("incorrect path count", 1, t.getPaths(D1, D4, WEIGHER, 1).size());
+            assertTrue("no paths expected", t.getPaths(D1, D5).isEmpty());
+            assertEquals("incorrect hit count", hits + 3, DefaultTopology.pathCacheHits());
+            assertEquals("incorrect miss count", misses + 2, DefaultTopology.pathCacheMisses());
+        } finally {
+            DefaultTopology.setPathCacheSize(0, 0);
+        }
+    }
+
+    @Test
+    public void incrementalClusters() {
+        Set<Device> devs = new HashSet<>(devices);
+        Set<Link> lnks = new HashSet<>(links);
+
+        // Adding an isolated device leaves the existing clusters alone.
+        devs.add(device("6"));
+        DefaultTopology t = assertIncremental(dt, devs, lnks, 3);
+        assertSame("cluster should be reused", dt.getCluster(C0), t.getCluster(C0));
+        assertSame("cluster should be reused", dt.getCluster(C1), t.getCluster(C1));
+
+        // Losing a link of a cycle keeps the cluster together.
+        lnks.remove(link("2", 1, "1", 1));
+        DefaultTopology t2 = assertIncremental(t, devs, lnks, 3);
+        assertEquals("incorrect cluster link count", 7, t2.getCluster(D1).linkCount());
+        assertSame("cluster should be reused", t.getCluster(D5), t2.getCluster(D5));
+
+        // Losing the links to a device splits it off its cluster.
+        lnks.remove(link("1", 1, "2", 1));
+        lnks.remove(link("3", 2, "2", 2));
+        lnks.remove(link("2", 2, "3", 2));
+        t = assertIncremental(t2, devs, lnks, 4);
+
+        // Linking clusters in both directions merges them.
+        lnks.add(link("2", 3, "5", 3));
+        t = assertIncremental(t, devs, lnks, 4);
+        lnks.add(link("5", 3, "2", 3));
+        lnks.add(link("4", 5, "5", 5));
+        lnks.add(link("5", 5, "4", 5));
+        t = assertIncremental(t, devs, lnks, 2);
+
+        // Inactive links no longer hold clusters together.
+        lnks.remove(link("4", 5, "5", 5));
+        lnks.add(inactive(link("4", 5, "5", 5)));
+        t = assertIncremental(t, devs, lnks, 3);
+        lnks.remove(link("4", 5, "5", 5));
+        lnks.add(link("4", 5, "5", 5));
+        t = assertIncremental(t, devs, lnks, 2);
+
+        // Removing a device splits its cluster.
+        devs.remove(device("4"));
+        lnks.removeIf(l -> l.src().deviceId().equals(D4) || l.dst().deviceId().equals(D4));
+        t = assertIncremental(t, devs, lnks, 4);
+
+        // Adding a device linked both ways to other clusters merges them.
+        devs.add(device("4"));
+        lnks.addAll(links);
+        lnks.add(link("4", 5, "5", 5));
+        t = assertIncremental(t, devs, lnks, 2);
+    }
+
+    @Test
+    public void incrementalClustersRandomUpdates() {
+        Random random = new Random(42);
+        Set<Device> devs = new HashSet<>();
+        Set<Link> lnks = new HashSet<>();
+        DefaultTopology t = dt;
+        for (int i = 0; i < 300; i++) {
+            for (int j = random.nextInt(3); j >= 0; j--) {
+                String src = String.valueOf(random.nextInt(12));
+                String dst = String.valueOf(random.nextInt(12));
+                int action = random.nextInt(10);
+                if (action == 0) {
+                    devs.remove(device(src));
+                    lnks.removeIf(l -> l.src().deviceId().equals(did(src)) ||
+                            l.dst().deviceId().equals(did(src)));
+                } else if (action < 3) {
+                    lnks.remove(link(src, 1, dst, 1));
+                } else if (!src.equals(dst)) {
+                    devs.add(device(src));
+                    devs.add(device(dst));
+                    lnks.remove(link(src, 1, dst, 1));
+                    lnks.add(action < 5 ? inactive(link(src, 1, dst, 1)) : link(src, 1, dst, 1));
+                }
+            }
+            t = assertIncremental(t, devs, lnks);
+        }
+    }
+
+    // Derives a topology from the given one and verifies it against a
+    // topology built from scratch.
+    private static DefaultTopology assertIncremental(DefaultTopology previous, Set<Device> devices,
+                                                     Set<Link> links, int clusterCount) {
+        DefaultTopology actual = assertIncremental(previous, devices, links);
+        assertEquals("incorrect cluster count", clusterCount, actual.clusterCount());
+        return actual;
+    }
+
+    // Derives a topology from the given one and verifies it against a
+    // topology built from scratch.
+    private static DefaultTopology assertIncremental(DefaultTopology previous, Set<Device> devices,
+                                                     Set<Link> links) {
+        long now = System.currentTimeMillis();
+        GraphDescription description =
+                new DefaultGraphDescription(System.nanoTime(), now, devices, links);
+        DefaultTopology expected = new DefaultTopology(PID, description);
+        DefaultTopology actual = new DefaultTopology(PID, description, null, previous);
+
+        assertEquals("incorrect graph", expected.getGraph(), actual.getGraph());
+        for (TopologyVertex vertex : expected.getGraph().getVertexes()) {
+            assertEquals("incorrect egress edges", expected.getGraph().getEdgesFrom(vertex),
+                         actual.getGraph().getEdgesFrom(vertex));
+            assertEquals("incorrect ingress edges", expected.getGraph().getEdgesTo(vertex),
+                         actual.getGraph().getEdgesTo(vertex));
+        }
+        assertEquals("incorrect cluster count", expected.clusterCount(), actual.clusterCount());
+        for (Device device : devices) {
+            TopologyCluster e = expected.getCluster(device.id());
+            TopologyCluster a = actual.getCluster(device.id());
+            assertEquals("incorrect cluster", a, actual.getCluster(a.id()));
+            assertEquals("incorrect cluster devices",
+                         expected.getClusterDevices(e), actual.getClusterDevices(a));
+            assertEquals("incorrect cluster links",
+                         expected.getClusterLinks(e), actual.getClusterLinks(a));
+            assertEquals("incorrect root node", e.root(), a.root());
+            assertEquals("incorrect cluster link count", e.linkCount(), a.linkCount());
+            assertEquals("incorrect broadcast set size",
+                         expected.broadcastSetSize(e.id()), actual.broadcastSetSize(a.id()));
+        }
+        return actual;
+    }
+
+    // Short-hand for creating an inactive copy of a link.
+    private static Link inactive(Link link) {
+        return DefaultLink.builder().providerId(PID)
+                .src(link.src()).dst(link.dst())
+                .type(link.type()).state(Link.State.INACTIVE)
+                .build();
+    }
+
     // Short-hand for creating a link.
     public static Link link(String src, int sp, String dst, int dp) {
         return DefaultLink.builder().providerId(PID)
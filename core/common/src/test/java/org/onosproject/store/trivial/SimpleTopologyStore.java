@@ -40,6 +40,7 @@ import org.onosproject.net.topology.TopologyStoreDelegate;
 import org.onosproject.store.AbstractStore;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -123,6 +124,18 @@ public class SimpleTopologyStore
         return defaultTopology(topology).getPaths(src, dst, weigher);
     }
 
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsTo(Topology topology, Collection<DeviceId> srcs,
+                                               DeviceId dst, LinkWeigher weigher) {
+        return defaultTopology(topology).getPathsTo(srcs, dst, weigher);
+    }
+
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsFrom(Topology topology, DeviceId src,
+                                                 Collection<DeviceId> dsts, LinkWeigher weigher) {
+        return defaultTopology(topology).getPathsFrom(src, dsts, weigher);
+    }
+
     @Override
     public Set<DisjointPath> getDisjointPaths(Topology topology, DeviceId src, DeviceId dst) {
         return defaultTopology(topology).getDisjointPaths(src, dst);
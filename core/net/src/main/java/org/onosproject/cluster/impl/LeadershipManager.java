@@ -18,6 +18,7 @@ package org.onosproject.cluster.impl;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -103,6 +104,11 @@ public class LeadershipManager
         return store.moveLeadership(topic, to);
     }
 
+    @Override
+    public Set<String> transferLeadership(Map<String, NodeId> leaders) {
+        return store.moveLeadership(leaders);
+    }
+
     @Override
     public void unregister(NodeId nodeId) {
         store.removeRegistration(nodeId);
@@ -112,4 +118,9 @@ public class LeadershipManager
     public boolean promoteToTopOfCandidateList(String topic, NodeId nodeId) {
         return store.makeTopCandidate(topic, nodeId);
     }
+
+    @Override
+    public Set<String> promoteToTopOfCandidateList(Map<String, NodeId> candidates) {
+        return store.makeTopCandidate(candidates);
+    }
 }
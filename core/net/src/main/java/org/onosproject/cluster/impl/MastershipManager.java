@@ -17,7 +17,6 @@ package org.onosproject.cluster.impl;
 
 import com.codahale.metrics.Timer;
 import com.codahale.metrics.Timer.Context;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import org.apache.felix.scr.annotations.Activate;
@@ -66,7 +65,6 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.Lists.newArrayList;
 import static org.onlab.metrics.MetricsUtil.startTimer;
 import static org.onlab.metrics.MetricsUtil.stopTimer;
-import static org.onosproject.net.MastershipRole.MASTER;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.CLUSTER_READ;
 import static org.onosproject.security.AppPermission.Type.CLUSTER_WRITE;
@@ -246,17 +244,18 @@ public class MastershipManager
             }
         }
 
-        if (useRegionForBalanceRoles && balanceRolesUsingRegions(controllerDevices)) {
-            return;
+        // Collect the new masters of the "moved" devices, and hand them off as a single batch.
+        Map<DeviceId, NodeId> masters = new HashMap<>();
+        if (!useRegionForBalanceRoles || !balanceRolesUsingRegions(controllerDevices, masters)) {
+            // Now re-balance the buckets until they are roughly even.
+            balanceControllerNodes(controllerDevices, deviceCount, masters);
         }
 
-        // Now re-balance the buckets until they are roughly even.
-        List<CompletableFuture<Void>> balanceBucketsFutures = balanceControllerNodes(controllerDevices, deviceCount);
-
-        CompletableFuture<Void> balanceRolesFuture = CompletableFuture.allOf(
-                balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-        Futures.getUnchecked(balanceRolesFuture);
+        if (!masters.isEmpty()) {
+            log.info("Setting the masters of {} devices", masters.size());
+            Futures.getUnchecked(store.setMasters(masters)
+                                         .thenAccept(events -> events.forEach(this::post)));
+        }
     }
 
     /**
@@ -264,20 +263,18 @@ public class MastershipManager
      *
      * @param controllerDevices controller nodes to devices map
      * @param deviceCount number of devices mastered by controller nodes
-     * @return list of setRole futures for "moved" devices
+     * @param masters new masters of the "moved" devices
      */
-    private List<CompletableFuture<Void>> balanceControllerNodes(
-            Map<ControllerNode, Set<DeviceId>> controllerDevices, int deviceCount) {
+    private void balanceControllerNodes(Map<ControllerNode, Set<DeviceId>> controllerDevices, int deviceCount,
+                                        Map<DeviceId, NodeId> masters) {
         // Now re-balance the buckets until they are roughly even.
-        List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newLinkedList();
         int rounds = controllerDevices.keySet().size();
         for (int i = 0; i < rounds; i++) {
             // Iterate over the buckets and find the smallest and the largest.
             ControllerNode smallest = findBucket(true, controllerDevices);
             ControllerNode largest = findBucket(false, controllerDevices);
-            balanceBucketsFutures.add(balanceBuckets(smallest, largest, controllerDevices, deviceCount));
+            balanceBuckets(smallest, largest, controllerDevices, deviceCount, masters);
         }
-        return balanceBucketsFutures;
     }
 
     /**
@@ -308,11 +305,11 @@ public class MastershipManager
      * @param largest node that is master of the largest number of devices
      * @param controllerDevices controller nodes to devices map
      * @param deviceCount number of devices mastered by controller nodes
-     * @return list of setRole futures for "moved" devices
+     * @param masters new masters of the "moved" devices
      */
-    private CompletableFuture<Void> balanceBuckets(ControllerNode smallest, ControllerNode largest,
+    private void balanceBuckets(ControllerNode smallest, ControllerNode largest,
                                 Map<ControllerNode, Set<DeviceId>>  controllerDevices,
-                                int deviceCount) {
+                                int deviceCount, Map<DeviceId, NodeId> masters) {
         Collection<DeviceId> minBucket = controllerDevices.get(smallest);
         Collection<DeviceId> maxBucket = controllerDevices.get(largest);
         int bucketCount = controllerDevices.keySet().size();
@@ -320,8 +317,6 @@ public class MastershipManager
         int delta = (maxBucket.size() - minBucket.size()) / 2;
         delta = Math.min(deviceCount / bucketCount, delta);
 
-        List<CompletableFuture<Void>> setRoleFutures = Lists.newLinkedList();
-
         if (delta > 0) {
             log.info("Attempting to move {} nodes from {} to {}...", delta,
                      largest.id(), smallest.id());
@@ -331,23 +326,23 @@ public class MastershipManager
             while (it.hasNext() && i < delta) {
                 DeviceId deviceId = it.next();
                 log.info("Setting {} as the master for {}", smallest.id(), deviceId);
-                setRoleFutures.add(setRole(smallest.id(), deviceId, MASTER));
+                masters.put(deviceId, smallest.id());
                 controllerDevices.get(smallest).add(deviceId);
                 it.remove();
                 i++;
             }
         }
-
-        return CompletableFuture.allOf(setRoleFutures.toArray(new CompletableFuture[setRoleFutures.size()]));
     }
 
     /**
      * Balances the nodes considering Region information.
      *
      * @param allControllerDevices controller nodes to devices map
+     * @param masters new masters of the "moved" devices
      * @return true: nodes balanced; false: nodes not balanced
      */
-    private boolean balanceRolesUsingRegions(Map<ControllerNode, Set<DeviceId>> allControllerDevices) {
+    private boolean balanceRolesUsingRegions(Map<ControllerNode, Set<DeviceId>> allControllerDevices,
+                                             Map<DeviceId, NodeId> masters) {
         Set<Region> regions = regionService.getRegions();
         if (regions.isEmpty()) {
             return false; // no balancing was done using regions.
@@ -357,7 +352,7 @@ public class MastershipManager
         Set<ControllerNode> nodesInRegions = Sets.newHashSet();
         for (Region region : regions) {
             Map<ControllerNode, Set<DeviceId>> activeRegionControllers =
-                    balanceRolesInRegion(region, allControllerDevices);
+                    balanceRolesInRegion(region, allControllerDevices, masters);
             nodesInRegions.addAll(activeRegionControllers.keySet());
         }
 
@@ -371,13 +366,7 @@ public class MastershipManager
                 deviceCount += allControllerDevices.get(controllerNode).size();
             }
             // Now re-balance the buckets until they are roughly even.
-            List<CompletableFuture<Void>> balanceBucketsFutures =
-                    balanceControllerNodes(controllerDevicesNotInRegions, deviceCount);
-
-            CompletableFuture<Void> balanceRolesFuture = CompletableFuture.allOf(
-                    balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-            Futures.getUnchecked(balanceRolesFuture);
+            balanceControllerNodes(controllerDevicesNotInRegions, deviceCount, masters);
         }
         return true; // balancing was done using regions.
     }
@@ -387,10 +376,11 @@ public class MastershipManager
      *
      * @param region region in which nodes are to be balanced
      * @param allControllerDevices controller nodes to devices map
+     * @param masters new masters of the "moved" devices
      * @return controller nodes that were balanced
      */
     private Map<ControllerNode, Set<DeviceId>> balanceRolesInRegion(Region region,
-         Map<ControllerNode, Set<DeviceId>> allControllerDevices) {
+         Map<ControllerNode, Set<DeviceId>> allControllerDevices, Map<DeviceId, NodeId> masters) {
 
         // retrieve all devices associated with specified region
         Set<DeviceId> devicesInRegion = regionService.getRegionDevices(region.id());
@@ -412,8 +402,7 @@ public class MastershipManager
                 getRegionsPreferredMasters(region, devicesInMasters, allControllerDevices);
 
         // Now re-balance the buckets until they are roughly even.
-        List<CompletableFuture<Void>> balanceBucketsFutures =
-                balanceControllerNodes(regionalControllerDevices, devicesInMasters.size());
+        balanceControllerNodes(regionalControllerDevices, devicesInMasters.size(), masters);
 
         // handle devices that are not currently mastered by the master node set
         Set<DeviceId> devicesNotMasteredWithControllers = Sets.difference(devicesInRegion, devicesInMasters);
@@ -427,22 +416,12 @@ public class MastershipManager
             int deviceIndex = 0;
             for (DeviceId deviceId : devicesNotMasteredWithControllers) {
                 ControllerNode cnode = sorted.get(deviceIndex % sorted.size());
-                balanceBucketsFutures.add(setRole(cnode.id(), deviceId, MASTER));
+                masters.put(deviceId, cnode.id());
                 regionalControllerDevices.get(cnode).add(deviceId);
                 deviceIndex++;
             }
         }
 
-        CompletableFuture<Void> balanceRolesFuture = CompletableFuture.allOf(
-                balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-        Futures.getUnchecked(balanceRolesFuture);
-
-        // update the map before returning
-        regionalControllerDevices.forEach((controllerNode, deviceIds) -> {
-            regionalControllerDevices.put(controllerNode, new HashSet<>(getDevicesOf(controllerNode.id())));
-        });
-
         return regionalControllerDevices;
     }
 
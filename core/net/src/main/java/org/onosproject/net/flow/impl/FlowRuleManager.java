@@ -35,7 +35,6 @@ import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreService;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.mastership.MastershipService;
-import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceListener;
@@ -60,6 +59,7 @@ import org.onosproject.net.flow.FlowRuleProviderService;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flow.FlowRuleStore;
 import org.onosproject.net.flow.FlowRuleStoreDelegate;
+import org.onosproject.net.flow.FlowTableDigest;
 import org.onosproject.net.flow.TableStatisticsEntry;
 import org.onosproject.net.provider.AbstractListenerProviderRegistry;
 import org.onosproject.net.provider.AbstractProviderService;
@@ -114,6 +114,11 @@ public class FlowRuleManager
             label = "Purge entries associated with a device when the device goes offline")
     private boolean purgeOnDisconnection = false;
 
+    @Property(name = "reconcileByDigest", boolValue = false,
+            label = "Reconcile flow statistics against per-bucket digests of the stored flow table, " +
+                    "diffing only the buckets that changed")
+    private boolean reconcileByDigest = false;
+
     private static final int DEFAULT_POLL_FREQUENCY = 30;
     @Property(name = "fallbackFlowPollFrequency", intValue = DEFAULT_POLL_FREQUENCY,
             label = "Frequency (in seconds) for polling flow statistics via fallback provider")
@@ -217,6 +222,16 @@ public class FlowRuleManager
                     purgeOnDisconnection ? "enabled" : "disabled");
         }
 
+        flag = Tools.isPropertyEnabled(properties, "reconcileByDigest");
+        if (flag == null) {
+            log.info("ReconcileByDigest is not configured, " +
+                    "using current value of {}", reconcileByDigest);
+        } else {
+            reconcileByDigest = flag;
+            log.info("Configured. ReconcileByDigest is {}",
+                    reconcileByDigest ? "enabled" : "disabled");
+        }
+
         String s = get(properties, "fallbackFlowPollFrequency");
         try {
             fallbackFlowPollFrequency = isNullOrEmpty(s) ? DEFAULT_POLL_FREQUENCY : Integer.parseInt(s);
@@ -275,47 +290,19 @@ public class FlowRuleManager
     @Override
     public Iterable<FlowRule> getFlowRulesById(ApplicationId id) {
         checkPermission(FLOWRULE_READ);
-
-        Set<FlowRule> flowEntries = Sets.newHashSet();
-        for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if (flowEntry.appId() == id.id()) {
-                    flowEntries.add(flowEntry);
-                }
-            }
-        }
-        return flowEntries;
+        return Sets.<FlowRule>newHashSet(store.getFlowEntriesByAppId(id));
     }
 
     @Override
     public Iterable<FlowEntry> getFlowEntriesById(ApplicationId id) {
         checkPermission(FLOWRULE_READ);
-
-        Set<FlowEntry> flowEntries = Sets.newHashSet();
-        for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if (flowEntry.appId() == id.id()) {
-                    flowEntries.add(flowEntry);
-                }
-            }
-        }
-        return flowEntries;
+        return Sets.newHashSet(store.getFlowEntriesByAppId(id));
     }
 
     @Override
     public Iterable<FlowRule> getFlowRulesByGroupId(ApplicationId appId, short groupId) {
         checkPermission(FLOWRULE_READ);
-
-        Set<FlowRule> matches = Sets.newHashSet();
-        long toLookUp = ((long) appId.id() << 16) | groupId;
-        for (Device d : deviceService.getDevices()) {
-            for (FlowEntry flowEntry : store.getFlowEntries(d.id())) {
-                if ((flowEntry.id().value() >>> 32) == toLookUp) {
-                    matches.add(flowEntry);
-                }
-            }
-        }
-        return matches;
+        return Sets.<FlowRule>newHashSet(store.getFlowEntriesByGroupId(appId, groupId));
     }
 
     @Override
@@ -511,9 +498,45 @@ public class FlowRuleManager
 
         private void pushFlowMetricsInternal(DeviceId deviceId, Iterable<FlowEntry> flowEntries,
                                              boolean useMissingFlow) {
+            if (reconcileByDigest) {
+                pushFlowMetricsByDigest(deviceId, flowEntries, useMissingFlow);
+                return;
+            }
             Map<FlowEntry, FlowEntry> storedRules = Maps.newHashMap();
             store.getFlowEntries(deviceId).forEach(f -> storedRules.put(f, f));
+            reconcileFlows(storedRules, flowEntries, useMissingFlow);
+        }
+
+        private void pushFlowMetricsByDigest(DeviceId deviceId, Iterable<FlowEntry> flowEntries,
+                                             boolean useMissingFlow) {
+            Set<Integer> changedBuckets = store.getFlowTableDigest(deviceId)
+                    .differingBuckets(FlowTableDigest.of(flowEntries));
+
+            // rules in buckets with matching digests are known to the store as they are,
+            // only their statistics need to be updated
+            List<FlowEntry> changedRules = Lists.newArrayList();
+            for (FlowEntry rule : flowEntries) {
+                if (changedBuckets.contains(FlowTableDigest.bucket(rule.id()))) {
+                    changedRules.add(rule);
+                } else {
+                    try {
+                        flowAdded(rule);
+                    } catch (Exception e) {
+                        log.warn("Can't process added rule {}", e);
+                    }
+                }
+            }
+            if (changedBuckets.isEmpty()) {
+                return;
+            }
+
+            Map<FlowEntry, FlowEntry> storedRules = Maps.newHashMap();
+            store.getFlowEntries(deviceId, changedBuckets).forEach(f -> storedRules.put(f, f));
+            reconcileFlows(storedRules, changedRules, useMissingFlow);
+        }
 
+        private void reconcileFlows(Map<FlowEntry, FlowEntry> storedRules, Iterable<FlowEntry> flowEntries,
+                                    boolean useMissingFlow) {
             for (FlowEntry rule : flowEntries) {
                 try {
                     FlowEntry storedRule = storedRules.remove(rule);
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.intent.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.onosproject.net.intent.Key;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent index of the intents tracking each resource.
+ * <p>
+ * Updates lock only the hash bin of the resource they touch, so tracker
+ * updates for unrelated resources and lookups do not contend with each
+ * other.
+ * </p>
+ *
+ * @param <R> type of the indexed resources
+ */
+final class InvertedIndex<R> {
+
+    private final ConcurrentMap<R, Set<Key>> intents = new ConcurrentHashMap<>();
+
+    /**
+     * Records that the given intent tracks the given resource.
+     *
+     * @param resource tracked resource
+     * @param key      intent key
+     */
+    void put(R resource, Key key) {
+        // add within the mapping function so a concurrent removal of the
+        // last key cannot drop the set being added to
+        intents.compute(resource, (r, keys) -> {
+            Set<Key> set = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            set.add(key);
+            return set;
+        });
+    }
+
+    /**
+     * Records that the given intent no longer tracks the given resource.
+     *
+     * @param resource tracked resource
+     * @param key      intent key
+     */
+    void remove(R resource, Key key) {
+        intents.computeIfPresent(resource, (r, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    /**
+     * Returns a snapshot of the intents tracking the given resource.
+     *
+     * @param resource tracked resource
+     * @return intent keys
+     */
+    Set<Key> get(R resource) {
+        Set<Key> keys = intents.get(resource);
+        return keys != null ? ImmutableSet.copyOf(keys) : ImmutableSet.of();
+    }
+
+    /**
+     * Adds the intents tracking the given resource to the given collection.
+     *
+     * @param resource tracked resource
+     * @param into     collection of intent keys
+     */
+    void addTo(R resource, Collection<Key> into) {
+        Set<Key> keys = intents.get(resource);
+        if (keys != null) {
+            into.addAll(keys);
+        }
+    }
+
+    /**
+     * Indicates whether the given intent tracks any resource; this scans the
+     * whole index.
+     *
+     * @param key intent key
+     * @return true if the intent is indexed
+     */
+    boolean contains(Key key) {
+        return intents.values().stream().anyMatch(keys -> keys.contains(key));
+    }
+}
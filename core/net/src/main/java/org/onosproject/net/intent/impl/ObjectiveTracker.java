@@ -15,16 +15,17 @@
  */
 package org.onosproject.net.intent.impl;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.ReferencePolicy;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.event.Event;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.ElementId;
@@ -55,6 +56,7 @@ import org.onosproject.net.resource.ResourceService;
 import org.onosproject.net.topology.TopologyEvent;
 import org.onosproject.net.topology.TopologyListener;
 import org.onosproject.net.topology.TopologyService;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import java.util.Collection;
@@ -69,7 +71,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Multimaps.synchronizedSetMultimap;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
@@ -91,12 +92,25 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     private final Logger log = getLogger(getClass());
 
-    private final SetMultimap<LinkKey, Key> intentsByLink =
-            //TODO this could be slow as a point of synchronization
-            synchronizedSetMultimap(HashMultimap.<LinkKey, Key>create());
+    private static final int DEFAULT_REROUTE_BATCH_WINDOW_MS = 0;
+    @Property(name = "rerouteBatchWindowMs", intValue = DEFAULT_REROUTE_BATCH_WINDOW_MS,
+            label = "Milliseconds over which the intents affected by topology changes are " +
+                    "accumulated before being submitted for recompilation as one batch; " +
+                    "0 to submit them on each change")
+    private int rerouteBatchWindowMs = DEFAULT_REROUTE_BATCH_WINDOW_MS;
 
-    private final SetMultimap<ElementId, Key> intentsByDevice =
-            synchronizedSetMultimap(HashMultimap.<ElementId, Key>create());
+    private final InvertedIndex<LinkKey> intentsByLink = new InvertedIndex<>();
+
+    private final InvertedIndex<ElementId> intentsByDevice = new InvertedIndex<>();
+
+    // Intents accumulated for recompilation over the batch window
+    private final Object rerouteLock = new Object();
+    private Set<Key> pendingReroutes = new HashSet<>();
+    private boolean pendingCompileAllFailed;
+    private boolean rerouteScheduled;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected TopologyService topologyService;
@@ -132,7 +146,9 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
     protected final AtomicBoolean updateScheduled = new AtomicBoolean(false);
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
         topologyService.addListener(listener);
         resourceService.addListener(resourceListener);
         deviceService.addListener(deviceListener);
@@ -143,6 +159,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
         topologyService.removeListener(listener);
         resourceService.removeListener(resourceListener);
         deviceService.removeListener(deviceListener);
@@ -151,6 +168,17 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            log.info("Default config: rerouteBatchWindowMs={}", rerouteBatchWindowMs);
+            return;
+        }
+        rerouteBatchWindowMs = Tools.getIntegerProperty(context.getProperties(), "rerouteBatchWindowMs",
+                                                        DEFAULT_REROUTE_BATCH_WINDOW_MS);
+        log.info("Settings: rerouteBatchWindowMs={}", rerouteBatchWindowMs);
+    }
+
     protected void bindIntentService(IntentService service) {
         if (intentService == null) {
             intentService = service;
@@ -196,7 +224,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
             if (resource instanceof Link) {
                 intentsByLink.remove(linkKey((Link) resource), intentKey);
             } else if (resource instanceof ElementId) {
-                intentsByDevice.remove(resource, intentKey);
+                intentsByDevice.remove((ElementId) resource, intentKey);
             }
         }
     }
@@ -217,7 +245,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         if (log.isTraceEnabled()) {
             log.trace("intent {}, old: {}, new: {}, installableCount: {}, resourceCount: {}",
                       key,
-                      intentsByDevice.values().contains(key),
+                      intentsByDevice.contains(key),
                       isLocal && isInstalled,
                       installables.size(),
                       intent.resources().size() +
@@ -270,7 +298,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
             }
 
             if (event.reasons() == null || event.reasons().isEmpty()) {
-                delegate.triggerCompile(Collections.emptySet(), true);
+                triggerCompile(Collections.emptySet(), true);
 
             } else {
                 Set<Key> intentsToRecompile = new HashSet<>();
@@ -282,19 +310,18 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                     if (reason instanceof LinkEvent) {
                         LinkEvent linkEvent = (LinkEvent) reason;
                         final LinkKey linkKey = linkKey(linkEvent.subject());
-                        synchronized (intentsByLink) {
-                            Set<Key> intentKeys = intentsByLink.get(linkKey);
+                        if (log.isDebugEnabled()) {
                             log.debug("recompile triggered by LinkEvent {} ({}) for {}",
-                                    linkKey, linkEvent.type(), intentKeys);
-                            intentsToRecompile.addAll(intentKeys);
+                                    linkKey, linkEvent.type(), intentsByLink.get(linkKey));
                         }
+                        intentsByLink.addTo(linkKey, intentsToRecompile);
                         dontRecompileAllFailedIntents = dontRecompileAllFailedIntents &&
                                 (linkEvent.type() == LINK_REMOVED ||
                                 (linkEvent.type() == LINK_UPDATED &&
                                 linkEvent.subject().isExpected()));
                     }
                 }
-                delegate.triggerCompile(intentsToRecompile, !dontRecompileAllFailedIntents);
+                triggerCompile(intentsToRecompile, !dontRecompileAllFailedIntents);
             }
         }
     }
@@ -308,7 +335,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                         return;
                     }
 
-                    delegate.triggerCompile(Collections.emptySet(), true);
+                    triggerCompile(Collections.emptySet(), true);
                 });
             }
         }
@@ -338,11 +365,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
             // TODO should we recompile on available==true?
 
-            final ImmutableSet<Key> snapshot;
-            synchronized (intentsByDevice) {
-                snapshot = ImmutableSet.copyOf(intentsByDevice.get(id));
-            }
-            delegate.triggerCompile(snapshot, available);
+            triggerCompile(intentsByDevice.get(id), available);
         }
     }
 
@@ -393,6 +416,51 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         }
     }
 
+    /**
+     * Submits the given intents for recompilation, either at once or along
+     * with those accumulated over the batch window.
+     *
+     * @param intentKeys       keys of the intents to recompile
+     * @param compileAllFailed true if all failed intents should be recompiled
+     */
+    private void triggerCompile(Set<Key> intentKeys, boolean compileAllFailed) {
+        int window = rerouteBatchWindowMs;
+        if (window <= 0) {
+            TopologyChangeDelegate current = delegate;
+            if (current != null) {
+                current.triggerCompile(intentKeys, compileAllFailed);
+            }
+            return;
+        }
+        synchronized (rerouteLock) {
+            pendingReroutes.addAll(intentKeys);
+            pendingCompileAllFailed |= compileAllFailed;
+            if (!rerouteScheduled) {
+                rerouteScheduled = true;
+                executor.schedule(() -> executorService.execute(this::flushReroutes),
+                                  window, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    // Submits the intents accumulated over the batch window as one batch.
+    private void flushReroutes() {
+        Set<Key> intentKeys;
+        boolean compileAllFailed;
+        synchronized (rerouteLock) {
+            intentKeys = pendingReroutes;
+            compileAllFailed = pendingCompileAllFailed;
+            pendingReroutes = new HashSet<>();
+            pendingCompileAllFailed = false;
+            rerouteScheduled = false;
+        }
+        TopologyChangeDelegate current = delegate;
+        if (current != null) {
+            log.debug("recompiling {} intents accumulated over {} ms", intentKeys.size(), rerouteBatchWindowMs);
+            current.triggerCompile(intentKeys, compileAllFailed);
+        }
+    }
+
     private void doIntentUpdate() {
         updateScheduled.set(false);
         if (intentService == null) {
@@ -15,8 +15,11 @@
  */
 package org.onosproject.net.intent.impl.compiler;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Reference;
@@ -26,19 +29,28 @@ import org.onlab.graph.ScalarWeight;
 import org.onlab.graph.Weight;
 import org.onlab.util.Bandwidth;
 import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.DisjointPath;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.Path;
+import org.onosproject.net.Port;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.intent.ConnectivityIntent;
 import org.onosproject.net.intent.Constraint;
 import org.onosproject.net.intent.IntentCompiler;
 import org.onosproject.net.intent.IntentExtensionService;
+import org.onosproject.net.intent.ResourceContext;
+import org.onosproject.net.intent.constraint.AnnotationConstraint;
 import org.onosproject.net.intent.constraint.BandwidthConstraint;
+import org.onosproject.net.intent.constraint.EncapsulationConstraint;
 import org.onosproject.net.intent.constraint.HashedPathSelectionConstraint;
+import org.onosproject.net.intent.constraint.LatencyConstraint;
+import org.onosproject.net.intent.constraint.LinkTypeConstraint;
 import org.onosproject.net.intent.constraint.MarkerConstraint;
+import org.onosproject.net.intent.constraint.ObstacleConstraint;
 import org.onosproject.net.intent.constraint.PathViabilityConstraint;
+import org.onosproject.net.intent.constraint.ProtectedConstraint;
 import org.onosproject.net.intent.impl.PathNotFoundException;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.resource.Resource;
@@ -46,6 +58,7 @@ import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceId;
 import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.resource.Resources;
 import org.onosproject.net.topology.LinkWeigher;
 import org.onosproject.net.topology.PathService;
@@ -56,10 +69,14 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -74,6 +91,15 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
 
     private static final Logger log = LoggerFactory.getLogger(ConnectivityIntentCompiler.class);
 
+    // constraints weighing links on their attributes alone
+    private static final Set<Class<? extends Constraint>> TOPOLOGY_ONLY_CONSTRAINTS =
+            ImmutableSet.of(AnnotationConstraint.class, EncapsulationConstraint.class,
+                            LatencyConstraint.class, LinkTypeConstraint.class,
+                            ObstacleConstraint.class, ProtectedConstraint.class);
+
+    // maximum age of the bandwidth snapshot shared by compilations
+    private static final long BANDWIDTH_SNAPSHOT_MAX_AGE_MS = 100;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected DeviceService deviceService;
 
@@ -86,6 +112,12 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ResourceService resourceService;
 
+    // Bandwidth availability shared by the compilations started together,
+    // as those of an intent batch, rather than read by each of them; it is
+    // taken again once bandwidth is allocated or once it gets too old.
+    private final AtomicReference<Supplier<ResourceSnapshot>> bandwidthSnapshot =
+            new AtomicReference<>(newBandwidthSnapshot());
+
     /**
      * Returns an edge-weight capable of evaluating links on the basis of the
      * specified constraints.
@@ -147,6 +179,55 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
     protected Path getPath(ConnectivityIntent intent,
                            ElementId one, ElementId two) {
         Set<Path> paths = pathService.getPaths(one, two, weigher(intent.constraints()));
+        return selectPath(intent, paths);
+    }
+
+    /**
+     * Computes the paths from each of the given elements to a common end,
+     * searching the paths of all of them at once.
+     *
+     * @param intent intent on which behalf paths are being computed
+     * @param ones   starts of the paths
+     * @param two    end of the paths
+     * @return map of each start to its path; starts from which no path can
+     * be found are left out
+     */
+    protected Map<ElementId, Path> getPathsTo(ConnectivityIntent intent,
+                                              Collection<? extends ElementId> ones,
+                                              ElementId two) {
+        return selectPaths(intent, pathService.getPathsTo(ones, two, weigher(intent.constraints())));
+    }
+
+    /**
+     * Computes the paths from a common start to each of the given elements,
+     * searching the paths of all of them at once.
+     *
+     * @param intent intent on which behalf paths are being computed
+     * @param one    start of the paths
+     * @param twos   ends of the paths
+     * @return map of each end to its path; ends to which no path can be
+     * found are left out
+     */
+    protected Map<ElementId, Path> getPathsFrom(ConnectivityIntent intent, ElementId one,
+                                                Collection<? extends ElementId> twos) {
+        return selectPaths(intent, pathService.getPathsFrom(one, twos, weigher(intent.constraints())));
+    }
+
+    // Selects the path of each element among its candidate paths.
+    private Map<ElementId, Path> selectPaths(ConnectivityIntent intent,
+                                             Map<ElementId, Set<Path>> paths) {
+        Map<ElementId, Path> selected = new HashMap<>();
+        paths.forEach((element, candidates) -> {
+            Path path = selectPath(intent, candidates);
+            if (path != null) {
+                selected.put(element, path);
+            }
+        });
+        return selected;
+    }
+
+    // Selects a path which passes the constraints of the intent, if any.
+    private Path selectPath(ConnectivityIntent intent, Set<Path> paths) {
         final List<Constraint> constraints = intent.constraints();
         ImmutableList<Path> filtered = FluentIterable.from(paths)
                 .filter(path -> checkPath(path, constraints))
@@ -289,6 +370,7 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
         log.debug("Allocating bandwidth for intent {}: {} bps", newResourceConsumer, resourcesToAdd);
         List<ResourceAllocation> allocations =
                 resourceService.allocate(newResourceConsumer, resourcesToAdd);
+        bandwidthSnapshot.set(newBandwidthSnapshot());
 
         if (allocations.isEmpty()) {
             log.debug("No resources allocated for intent {}", newResourceConsumer);
@@ -339,6 +421,32 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
                         .collect(Collectors.toList());
     }
 
+    /**
+     * Returns a supplier of the bandwidth availability of all the device
+     * ports, which reads it on first use and keeps it for a short while.
+     *
+     * @return bandwidth snapshot supplier
+     */
+    private Supplier<ResourceSnapshot> newBandwidthSnapshot() {
+        return Suppliers.memoizeWithExpiration(() -> resourceService.getSnapshot(bandwidthResourceIds()),
+                                               BANDWIDTH_SNAPSHOT_MAX_AGE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the IDs of the bandwidth resources of all the device ports.
+     *
+     * @return bandwidth resource IDs
+     */
+    private List<ResourceId> bandwidthResourceIds() {
+        List<ResourceId> ids = Lists.newArrayList();
+        for (Device device : deviceService.getDevices()) {
+            for (Port port : deviceService.getPorts(device.id())) {
+                ids.add(Resources.continuous(device.id(), port.number(), Bandwidth.class).id());
+            }
+        }
+        return ids;
+    }
+
     /**
      * Edge-weight capable of evaluating link cost using a set of constraints.
      */
@@ -346,6 +454,7 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             implements LinkWeigher {
 
         private final List<Constraint> constraints;
+        private ResourceContext resourceContext;
 
         /**
          * Creates a new edge-weight function capable of evaluating links
@@ -361,6 +470,23 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             }
         }
 
+        // Returns the context in which the constraints evaluate the links;
+        // bandwidth is read at once for all the ports, and shared with the
+        // compilations running alongside, rather than read once per link
+        // relaxed by the path search.
+        private ResourceContext resourceContext() {
+            if (resourceContext == null) {
+                if (constraints.stream().anyMatch(c -> c instanceof BandwidthConstraint)) {
+                    ResourceSnapshot snapshot = bandwidthSnapshot.get().get();
+                    resourceContext = r -> snapshot.contains(r.id()) ?
+                            snapshot.isAvailable(r) : resourceService.isAvailable(r);
+                } else {
+                    resourceContext = resourceService::isAvailable;
+                }
+            }
+            return resourceContext;
+        }
+
         @Override
         public Weight weight(TopologyEdge edge) {
 
@@ -375,9 +501,10 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
                 return DEFAULT_HOP_WEIGHT;
             }
 
-            double cost = it.next().cost(edge.link(), resourceService::isAvailable);
+            ResourceContext context = resourceContext();
+            double cost = it.next().cost(edge.link(), context);
             while (it.hasNext() && cost > 0) {
-                if (it.next().cost(edge.link(), resourceService::isAvailable) < 0) {
+                if (it.next().cost(edge.link(), context) < 0) {
                     // TODO shouldn't this be non-viable?
                     cost = -1;
                 }
@@ -385,6 +512,35 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             return ScalarWeight.toWeight(cost);
 
         }
+
+        // Weighers of the same constraints are equal, so that the paths cached
+        // by the topology are reused across compilations, unless the weights
+        // also depend on resource availability, which changes independently
+        // of the topology.
+        private boolean isTopologyOnly() {
+            return constraints.stream()
+                    .filter(c -> !(c instanceof MarkerConstraint))
+                    .filter(c -> !(c instanceof PathViabilityConstraint))
+                    .allMatch(c -> TOPOLOGY_ONLY_CONSTRAINTS.contains(c.getClass()));
+        }
+
+        @Override
+        public int hashCode() {
+            return constraints.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConnectivityIntentCompiler<?>.ConstraintBasedLinkWeigher)) {
+                return false;
+            }
+            ConnectivityIntentCompiler<?>.ConstraintBasedLinkWeigher that =
+                    (ConnectivityIntentCompiler<?>.ConstraintBasedLinkWeigher) obj;
+            return isTopologyOnly() && that.isTopologyOnly() && constraints.equals(that.constraints);
+        }
     }
 
 }
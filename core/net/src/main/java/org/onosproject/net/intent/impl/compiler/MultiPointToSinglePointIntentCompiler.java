@@ -24,6 +24,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
 import org.onosproject.net.Path;
 import org.onosproject.net.device.DeviceService;
@@ -37,6 +38,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -76,6 +78,14 @@ public class MultiPointToSinglePointIntentCompiler
         boolean hasPaths = false;
         boolean missingSomePaths = false;
 
+        // Find the paths from all ingress devices with a single search.
+        Set<DeviceId> ingressDevices = intent.ingressPoints().stream()
+                .map(ConnectPoint::deviceId)
+                .filter(deviceId -> !deviceId.equals(egressPoint.deviceId()))
+                .collect(Collectors.toSet());
+        Map<ElementId, Path> paths = ingressDevices.isEmpty() ? Collections.emptyMap() :
+                getPathsTo(intent, ingressDevices, egressPoint.deviceId());
+
         for (ConnectPoint ingressPoint : intent.ingressPoints()) {
             if (ingressPoint.deviceId().equals(egressPoint.deviceId())) {
                 if (deviceService.isAvailable(ingressPoint.deviceId())) {
@@ -86,7 +96,7 @@ public class MultiPointToSinglePointIntentCompiler
                 continue;
             }
 
-            Path path = getPath(intent, ingressPoint.deviceId(), egressPoint.deviceId());
+            Path path = paths.get(ingressPoint.deviceId());
 
             if (path != null) {
                 hasPaths = true;
@@ -22,6 +22,8 @@ import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
 import org.onosproject.net.Path;
 import org.onosproject.net.device.DeviceService;
@@ -33,6 +35,7 @@ import org.onosproject.net.intent.SinglePointToMultiPointIntent;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -65,6 +68,15 @@ public class SinglePointToMultiPointIntentCompiler
         boolean hasPaths = false;
         boolean missingSomePaths = false;
 
+        // Find the paths to all egress devices with a single search.
+        DeviceId ingressDevice = intent.ingressPoint().deviceId();
+        Set<DeviceId> egressDevices = intent.egressPoints().stream()
+                .map(ConnectPoint::deviceId)
+                .filter(deviceId -> !deviceId.equals(ingressDevice))
+                .collect(Collectors.toSet());
+        Map<ElementId, Path> paths = egressDevices.isEmpty() ? Collections.emptyMap() :
+                getPathsFrom(intent, ingressDevice, egressDevices);
+
         for (ConnectPoint egressPoint : intent.egressPoints()) {
             if (egressPoint.deviceId().equals(intent.ingressPoint().deviceId())) {
                 // Do not need to look for paths, since ingress and egress
@@ -77,7 +89,7 @@ public class SinglePointToMultiPointIntentCompiler
                 continue;
             }
 
-            Path path = getPath(intent, intent.ingressPoint().deviceId(), egressPoint.deviceId());
+            Path path = paths.get(egressPoint.deviceId());
 
             if (path != null) {
                 hasPaths = true;
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPacket;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.IPv6;
+import org.onlab.packet.TCP;
+import org.onlab.packet.UDP;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.criteria.Criterion;
+import org.onosproject.net.flow.criteria.EthTypeCriterion;
+import org.onosproject.net.flow.criteria.IPProtocolCriterion;
+import org.onosproject.net.flow.criteria.TcpPortCriterion;
+import org.onosproject.net.flow.criteria.UdpPortCriterion;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable index of packet processor entries by the Ethernet type,
+ * IP protocol and L4 destination port of the packets they are interested in.
+ * <p>
+ * The lists returned by the index are sub-lists of the entries the index
+ * was compiled from and retain their order. Lookups err on the side of
+ * delivery: entries whose selector constrains none of the indexed fields
+ * see every packet, and packets that cannot be classified go to all entries.
+ * </p>
+ *
+ * @param <E> type of the indexed entries
+ */
+final class PacketDispatchIndex<E> {
+
+    private static final short PROTO_TCP = IPv4.PROTOCOL_TCP;
+    private static final short PROTO_UDP = IPv4.PROTOCOL_UDP;
+
+    private final List<E> entries;
+    private final List<E> unconstrained;
+    private final Map<Short, EthTypeNode<E>> byEthType = Maps.newHashMap();
+
+    /**
+     * Compiles the index of the given entries.
+     *
+     * @param entries    entries in dispatch order
+     * @param selectorOf function returning the selector of an entry; null
+     *                   when the entry wants to see all packets
+     */
+    PacketDispatchIndex(List<E> entries, Function<E, TrafficSelector> selectorOf) {
+        this.entries = ImmutableList.copyOf(entries);
+        Map<E, Hint> hints = Maps.newIdentityHashMap();
+        this.entries.forEach(e -> hints.put(e, Hint.of(selectorOf.apply(e))));
+
+        this.unconstrained = select(hints, null, null, null);
+        hints.values().stream().filter(h -> h.ethType != null).forEach(hint -> {
+            EthTypeNode<E> ethNode = byEthType.computeIfAbsent(hint.ethType,
+                    t -> new EthTypeNode<>(select(hints, t, null, null)));
+            if (hint.proto != null) {
+                ProtoNode<E> protoNode = ethNode.byProto.computeIfAbsent(hint.proto,
+                        p -> new ProtoNode<>(select(hints, hint.ethType, p, null)));
+                if (hint.port != null) {
+                    protoNode.byPort.computeIfAbsent(hint.port,
+                            p -> select(hints, hint.ethType, hint.proto, p));
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns all entries of the index, in dispatch order.
+     *
+     * @return list of entries
+     */
+    List<E> entries() {
+        return entries;
+    }
+
+    /**
+     * Returns the entries which should be handed the given frame, in
+     * dispatch order.
+     *
+     * @param frame parsed frame; may be null
+     * @return list of entries
+     */
+    List<E> lookup(Ethernet frame) {
+        if (frame == null || byEthType.isEmpty()) {
+            return entries;
+        }
+        EthTypeNode<E> ethNode = byEthType.get(frame.getEtherType());
+        if (ethNode == null) {
+            return unconstrained;
+        }
+
+        IPacket l4 = null;
+        ProtoNode<E> protoNode = null;
+        IPacket payload = frame.getPayload();
+        if (payload instanceof IPv4) {
+            protoNode = ethNode.byProto.get((short) (((IPv4) payload).getProtocol() & 0xff));
+            l4 = payload.getPayload();
+        } else if (payload instanceof IPv6) {
+            protoNode = ethNode.byProto.get((short) (((IPv6) payload).getNextHeader() & 0xff));
+            l4 = payload.getPayload();
+        }
+        if (protoNode == null) {
+            return ethNode.entries;
+        }
+
+        List<E> portEntries = null;
+        if (l4 instanceof TCP) {
+            portEntries = protoNode.byPort.get(((TCP) l4).getDestinationPort());
+        } else if (l4 instanceof UDP) {
+            portEntries = protoNode.byPort.get(((UDP) l4).getDestinationPort());
+        }
+        return portEntries != null ? portEntries : protoNode.entries;
+    }
+
+    // Entries whose hint accepts the given values; a null value only
+    // accepts hints which leave that field unconstrained.
+    private List<E> select(Map<E, Hint> hints, Short ethType, Short proto, Integer port) {
+        return entries.stream()
+                .filter(e -> hints.get(e).accepts(ethType, proto, port))
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    }
+
+    private static final class EthTypeNode<E> {
+        private final List<E> entries;
+        private final Map<Short, ProtoNode<E>> byProto = Maps.newHashMap();
+
+        private EthTypeNode(List<E> entries) {
+            this.entries = entries;
+        }
+    }
+
+    private static final class ProtoNode<E> {
+        private final List<E> entries;
+        private final Map<Integer, List<E>> byPort = Maps.newHashMap();
+
+        private ProtoNode(List<E> entries) {
+            this.entries = entries;
+        }
+    }
+
+    /**
+     * Indexed fields of a selector. The fields are hierarchical: the IP
+     * protocol is only used along with an Ethernet type and the port only
+     * along with an IP protocol it belongs to.
+     */
+    private static final class Hint {
+        private static final Hint ANY = new Hint(null, null, null);
+
+        private final Short ethType;
+        private final Short proto;
+        private final Integer port;
+
+        private Hint(Short ethType, Short proto, Integer port) {
+            this.ethType = ethType;
+            this.proto = proto;
+            this.port = port;
+        }
+
+        private static Hint of(TrafficSelector selector) {
+            if (selector == null) {
+                return ANY;
+            }
+            Criterion ethCriterion = selector.getCriterion(Criterion.Type.ETH_TYPE);
+            if (ethCriterion == null) {
+                return ANY;
+            }
+            short ethType = ((EthTypeCriterion) ethCriterion).ethType().toShort();
+
+            Criterion protoCriterion = selector.getCriterion(Criterion.Type.IP_PROTO);
+            if (protoCriterion == null) {
+                return new Hint(ethType, null, null);
+            }
+            short proto = ((IPProtocolCriterion) protoCriterion).protocol();
+
+            Integer port = null;
+            if (proto == PROTO_TCP) {
+                Criterion portCriterion = selector.getCriterion(Criterion.Type.TCP_DST);
+                port = portCriterion != null ? ((TcpPortCriterion) portCriterion).tcpPort().toInt() : null;
+            } else if (proto == PROTO_UDP) {
+                Criterion portCriterion = selector.getCriterion(Criterion.Type.UDP_DST);
+                port = portCriterion != null ? ((UdpPortCriterion) portCriterion).udpPort().toInt() : null;
+            }
+            return new Hint(ethType, proto, port);
+        }
+
+        private boolean accepts(Short ethType, Short proto, Integer port) {
+            return (this.ethType == null || Objects.equals(this.ethType, ethType)) &&
+                    (this.proto == null || Objects.equals(this.proto, proto)) &&
+                    (this.port == null || Objects.equals(this.port, port));
+        }
+    }
+}
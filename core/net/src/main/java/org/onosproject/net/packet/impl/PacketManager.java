@@ -112,6 +112,8 @@ public class PacketManager
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
     private final List<ProcessorEntry> processors = Lists.newCopyOnWriteArrayList();
+    private volatile PacketDispatchIndex<ProcessorEntry> dispatchIndex =
+            new PacketDispatchIndex<>(ImmutableList.of(), ProcessorEntry::selector);
 
     private final  PacketDriverProvider defaultProvider = new PacketDriverProvider();
 
@@ -148,7 +150,19 @@ public class PacketManager
     public void addProcessor(PacketProcessor processor, int priority) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, ERROR_NULL_PROCESSOR);
-        ProcessorEntry entry = new ProcessorEntry(processor, priority);
+        addProcessorEntry(new ProcessorEntry(processor, priority, null));
+    }
+
+    @Override
+    public void addProcessor(PacketProcessor processor, int priority, TrafficSelector selector) {
+        checkPermission(PACKET_EVENT);
+        checkNotNull(processor, ERROR_NULL_PROCESSOR);
+        checkNotNull(selector, ERROR_NULL_SELECTOR);
+        addProcessorEntry(new ProcessorEntry(processor, priority, selector));
+    }
+
+    private void addProcessorEntry(ProcessorEntry entry) {
+        int priority = entry.priority();
 
         // Insert the new processor according to its priority.
         int i = 0;
@@ -158,6 +172,7 @@ public class PacketManager
             }
         }
         processors.add(i, entry);
+        updateDispatchIndex();
     }
 
     @Override
@@ -172,6 +187,12 @@ public class PacketManager
                 break;
             }
         }
+        updateDispatchIndex();
+    }
+
+    // Recompiles the dispatch index from the current list of processors.
+    private synchronized void updateDispatchIndex() {
+        dispatchIndex = new PacketDispatchIndex<>(processors, ProcessorEntry::selector);
     }
 
     @Override
@@ -382,9 +403,19 @@ public class PacketManager
 
         @Override
         public void processPacket(PacketContext context) {
-            // TODO filter packets sent to processors based on registrations
-            for (ProcessorEntry entry : processors) {
+            PacketDispatchIndex<ProcessorEntry> index = dispatchIndex;
+            List<ProcessorEntry> matching = index.lookup(context.inPacket().parsed());
+
+            // matching entries are a sub-list of all entries, in the same order
+            int next = 0;
+            for (ProcessorEntry entry : index.entries()) {
+                if (next == matching.size() || matching.get(next) != entry) {
+                    entry.addSkip();
+                    continue;
+                }
+                next++;
                 try {
+                    entry.addHit();
                     long start = System.nanoTime();
                     entry.processor().process(context);
                     entry.addNanos(System.nanoTime() - start);
@@ -469,12 +500,25 @@ public class PacketManager
     private class ProcessorEntry implements PacketProcessorEntry {
         private final PacketProcessor processor;
         private final int priority;
+        private final TrafficSelector selector;
         private long invocations = 0;
         private long nanos = 0;
+        private long hits = 0;
+        private long skips = 0;
 
-        public ProcessorEntry(PacketProcessor processor, int priority) {
+        public ProcessorEntry(PacketProcessor processor, int priority, TrafficSelector selector) {
             this.processor = processor;
             this.priority = priority;
+            this.selector = selector;
+        }
+
+        /**
+         * Returns the selector hint of the processor.
+         *
+         * @return traffic selector; null if the processor sees all packets
+         */
+        TrafficSelector selector() {
+            return selector;
         }
 
         @Override
@@ -502,9 +546,27 @@ public class PacketManager
             return invocations > 0 ? nanos / invocations : 0;
         }
 
+        @Override
+        public long hits() {
+            return hits;
+        }
+
+        @Override
+        public long skips() {
+            return skips;
+        }
+
         void addNanos(long nanos) {
             this.nanos += nanos;
             this.invocations++;
         }
+
+        void addHit() {
+            this.hits++;
+        }
+
+        void addSkip() {
+            this.skips++;
+        }
     }
 }
@@ -34,6 +34,7 @@ import org.onosproject.net.resource.ResourceId;
 import org.onosproject.net.resource.ResourceListener;
 import org.onosproject.net.resource.ResourceService;
 import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.resource.ResourceStore;
 import org.onosproject.net.resource.ResourceStoreDelegate;
 import org.slf4j.Logger;
@@ -200,6 +201,14 @@ public final class ResourceManager extends AbstractListenerManager<ResourceEvent
         return store.isAvailable(resource);
     }
 
+    @Override
+    public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+        checkPermission(RESOURCE_READ);
+        checkNotNull(ids);
+
+        return store.getSnapshot(ids);
+    }
+
     @Override
     public boolean register(List<? extends Resource> resources) {
         checkNotNull(resources);
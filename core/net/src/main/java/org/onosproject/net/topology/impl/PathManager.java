@@ -33,6 +33,7 @@ import org.onosproject.net.topology.TopologyService;
 import org.onosproject.net.topology.AbstractPathService;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.stream.Stream;
 import java.util.Map;
@@ -91,6 +92,21 @@ public class PathManager extends AbstractPathService implements PathService {
         return super.getPaths(src, dst, weigher);
     }
 
+    @Override
+    public Map<ElementId, Set<Path>> getPathsTo(Collection<? extends ElementId> srcs,
+                                                ElementId dst, LinkWeigher weigher) {
+        checkPermission(TOPOLOGY_READ);
+        return super.getPathsTo(srcs, dst, weigher);
+    }
+
+    @Override
+    public Map<ElementId, Set<Path>> getPathsFrom(ElementId src,
+                                                  Collection<? extends ElementId> dsts,
+                                                  LinkWeigher weigher) {
+        checkPermission(TOPOLOGY_READ);
+        return super.getPathsFrom(src, dsts, weigher);
+    }
+
     @Override
     public Stream<Path> getKShortestPaths(ElementId src, ElementId dst,
                                           LinkWeigher weigher) {
@@ -46,6 +46,7 @@ import org.onosproject.net.topology.TopologyStore;
 import org.onosproject.net.topology.TopologyStoreDelegate;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -174,6 +175,32 @@ public class TopologyManager
         return store.getPaths(topology, src, dst, weigher);
     }
 
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsTo(Topology topology,
+                                               Collection<DeviceId> srcs,
+                                               DeviceId dst, LinkWeigher weigher) {
+        checkPermission(TOPOLOGY_READ);
+
+        checkNotNull(topology, TOPOLOGY_NULL);
+        checkNotNull(srcs, DEVICE_ID_NULL);
+        checkNotNull(dst, DEVICE_ID_NULL);
+        checkNotNull(weigher, LINK_WEIGHT_NULL);
+        return store.getPathsTo(topology, srcs, dst, weigher);
+    }
+
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsFrom(Topology topology, DeviceId src,
+                                                 Collection<DeviceId> dsts,
+                                                 LinkWeigher weigher) {
+        checkPermission(TOPOLOGY_READ);
+
+        checkNotNull(topology, TOPOLOGY_NULL);
+        checkNotNull(src, DEVICE_ID_NULL);
+        checkNotNull(dsts, DEVICE_ID_NULL);
+        checkNotNull(weigher, LINK_WEIGHT_NULL);
+        return store.getPathsFrom(topology, src, dsts, weigher);
+    }
+
     @Override
     public Set<Path> getKShortestPaths(Topology topology, DeviceId src,
                                        DeviceId dst, LinkWeigher weigher,
@@ -16,7 +16,9 @@
 package org.onosproject.cluster.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import com.google.common.collect.ImmutableList;
@@ -33,6 +35,7 @@ import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.common.event.impl.TestEventDispatcher;
+import org.onosproject.mastership.MastershipEvent;
 import org.onosproject.mastership.MastershipService;
 import org.onosproject.mastership.MastershipStore;
 import org.onosproject.mastership.MastershipTermService;
@@ -244,6 +247,7 @@ public class MastershipManagerTest {
         mgr.balanceRoles();
         assertEquals("wrong master:", NID1, mgr.getMasterFor(DID1));
         assertEquals("wrong master:", NID1, mgr.getMasterFor(DID2));
+        assertEquals("masters not set as a batch", 1, ((TestSimpleMastershipStore) mgr.store).batches);
 
         // make N1 inactive
         testClusterService.put(CNODE1, ControllerNode.State.INACTIVE);
@@ -367,9 +371,17 @@ public class MastershipManagerTest {
     private final class TestSimpleMastershipStore extends SimpleMastershipStore
             implements MastershipStore {
 
+        private int batches;
+
         public TestSimpleMastershipStore(ClusterService clusterService) {
             super.clusterService = clusterService;
         }
+
+        @Override
+        public CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+            batches++;
+            return super.setMasters(masters);
+        }
     }
 
     private class TestRegionManager extends RegionManager {
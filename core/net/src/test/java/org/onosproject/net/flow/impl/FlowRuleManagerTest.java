@@ -25,6 +25,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestTools;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.ApplicationId;
@@ -73,8 +74,10 @@ import org.onosproject.store.trivial.SimpleFlowRuleStore;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -384,6 +387,45 @@ public class FlowRuleManagerTest {
 
     }
 
+    @Test
+    public void flowMetricsByDigest() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("reconcileByDigest", "true");
+                return props;
+            }
+        });
+
+        FlowRule f1 = flowRule(1, 1);
+        FlowRule f2 = flowRule(2, 2);
+        FlowRule f3 = flowRule(3, 3);
+        FlowRule f4 = flowRule(4, 4);
+        mgr.applyFlowRules(f1, f2, f3);
+        mgr.removeFlowRules(f3);
+
+        FlowEntry fe1 = new DefaultFlowEntry(f1);
+        FlowEntry fe2 = new DefaultFlowEntry(f2);
+        FlowEntry fe4 = new DefaultFlowEntry(f4);
+
+        // f3 is missing from the switch and f4 is extraneous
+        providerService.pushFlowMetrics(DID, Lists.newArrayList(fe1, fe2, fe4));
+
+        assertTrue("Entries should be added.",
+                   validateState(ImmutableMap.of(
+                           f1, FlowEntryState.ADDED,
+                           f2, FlowEntryState.ADDED)));
+        assertFalse("Extraneous rule should not be stored.",
+                    Sets.newHashSet(service.getFlowEntries(DID)).contains(fe4));
+        validateEvents(RULE_ADD_REQUESTED, RULE_ADD_REQUESTED, RULE_ADD_REQUESTED,
+                       RULE_REMOVE_REQUESTED, RULE_ADDED, RULE_ADDED, RULE_REMOVED);
+
+        // nothing changed since the last poll; digests match and only statistics are updated
+        providerService.pushFlowMetrics(DID, Lists.newArrayList(fe1, fe2));
+        validateEvents(RULE_UPDATED, RULE_UPDATED);
+    }
+
     /*
      * Tests whether a rule that was marked for removal but no flowRemoved was received
      * is indeed removed at the next stats update.
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.junit.After;
@@ -22,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
 import org.onlab.junit.TestUtils.TestUtilsException;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onosproject.event.Event;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
@@ -42,10 +44,13 @@ import org.onosproject.net.topology.TopologyEvent;
 import org.onosproject.net.topology.TopologyListener;
 
 import java.util.Collection;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.easymock.EasyMock.createMock;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -101,12 +106,14 @@ public class ObjectiveTrackerTest extends AbstractIntentTest {
     static class TestTopologyChangeDelegate implements TopologyChangeDelegate {
 
         CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger compileCount = new AtomicInteger();
         List<Key> intentIdsFromEvent;
         boolean compileAllFailedFromEvent;
 
         @Override
         public void triggerCompile(Iterable<Key> intentKeys,
                                    boolean compileAllFailed) {
+            compileCount.incrementAndGet();
             intentIdsFromEvent = Lists.newArrayList(intentKeys);
             compileAllFailedFromEvent = compileAllFailed;
             latch.countDown();
@@ -317,4 +324,92 @@ public class ObjectiveTrackerTest extends AbstractIntentTest {
     }
 
 
+    /**
+     * Tests that an intent no longer tracking a link is not recompiled when
+     * the link goes down.
+     *
+     * @throws InterruptedException if the latch wait fails.
+     */
+    @Test
+    public void testEventLinkDownUntracked() throws Exception {
+        final Link link = link("src", 1, "dst", 2);
+        reasons.add(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link));
+
+        final Key key = Key.of(0x333L, APP_ID);
+        Collection<NetworkResource> resources = ImmutableSet.of(link);
+        tracker.addTrackedResources(key, resources);
+        tracker.removeTrackedResources(key, resources);
+
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology, reasons));
+        assertThat(
+                delegate.latch.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                is(true));
+
+        assertThat(delegate.intentIdsFromEvent, hasSize(0));
+    }
+
+    /**
+     * Tests that the intents affected by changes within the batch window
+     * are recompiled as one batch.
+     *
+     * @throws InterruptedException if the latch wait fails.
+     */
+    @Test
+    public void testBatchedReroute() throws Exception {
+        tracker.modified(context("rerouteBatchWindowMs", " 100 "));
+
+        final Link link1 = link("src", 1, "dst", 2);
+        final Link link2 = link("src", 3, "dst", 4);
+        final Key key1 = Key.of(0x333L, APP_ID);
+        final Key key2 = Key.of(0x444L, APP_ID);
+        tracker.addTrackedResources(key1, ImmutableSet.of(link1));
+        tracker.addTrackedResources(key2, ImmutableSet.of(link2));
+
+        List<Event> reasons1 = ImmutableList.of(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link1));
+        List<Event> reasons2 = ImmutableList.of(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link2));
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology, reasons1));
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology, reasons2));
+        assertThat(
+                delegate.latch.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                is(true));
+
+        assertThat(delegate.intentIdsFromEvent, containsInAnyOrder(key1, key2));
+        assertThat(delegate.compileAllFailedFromEvent, is(false));
+        assertThat(delegate.compileCount.get(), is(1));
+    }
+
+    /**
+     * Tests that a malformed batch window leaves reroutes unbatched.
+     *
+     * @throws InterruptedException if the latch wait fails.
+     */
+    @Test
+    public void testMalformedRerouteBatchWindow() throws Exception {
+        tracker.modified(context("rerouteBatchWindowMs", "100ms"));
+
+        final Link link = link("src", 1, "dst", 2);
+        final Key key = Key.of(0x333L, APP_ID);
+        tracker.addTrackedResources(key, ImmutableSet.of(link));
+
+        List<Event> reasons = ImmutableList.of(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link));
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology, reasons));
+        assertThat(
+                delegate.latch.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                is(true));
+
+        assertThat(TestUtils.getField(tracker, "rerouteBatchWindowMs"), is(0));
+        assertThat(delegate.compileCount.get(), is(1));
+        assertThat(delegate.intentIdsFromEvent, contains(key));
+    }
+
+    private static ComponentContextAdapter context(String name, String value) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Dictionary<String, String> properties = new Hashtable<>();
+                properties.put(name, value);
+                return properties;
+            }
+        };
+    }
 }
@@ -176,6 +176,7 @@ public class HostToHostIntentCompilerTest extends AbstractIntentTest {
         HostToHostIntentCompiler compiler =
                 new HostToHostIntentCompiler();
         compiler.pathService = new IntentTestsMocks.MockPathService(hops);
+        compiler.deviceService = new IntentTestsMocks.MockDeviceService();
         compiler.hostService = mockHostService;
 
         if (resourceService == null) {
@@ -20,11 +20,14 @@ import org.hamcrest.Matchers;
 import org.junit.Test;
 import org.onlab.util.Bandwidth;
 import org.onosproject.TestApplicationId;
+import org.onosproject.common.DefaultTopology;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.FilteredConnectPoint;
+import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
+import org.onosproject.net.Path;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.ResourceGroup;
 import org.onosproject.net.flow.TrafficSelector;
@@ -38,15 +41,23 @@ import org.onosproject.net.intent.LinkCollectionIntent;
 import org.onosproject.net.intent.PointToPointIntent;
 import org.onosproject.net.intent.constraint.BandwidthConstraint;
 import org.onosproject.net.intent.impl.PathNotFoundException;
+import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.resource.ContinuousResource;
 import org.onosproject.net.resource.MockResourceService;
 import org.onosproject.net.resource.ResourceAllocation;
+import org.onosproject.net.resource.ResourceId;
 import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.resource.Resources;
+import org.onosproject.net.topology.DefaultGraphDescription;
+import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.PathServiceAdapter;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
@@ -54,6 +65,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.onosproject.net.NetTestTools.device;
+import static org.onosproject.net.NetTestTools.link;
 import static org.onosproject.net.intent.LinksHaveEntryWithSourceDestinationPairMatcher.linksHasPath;
 
 /**
@@ -220,6 +233,7 @@ public class PointToPointIntentCompilerTest extends AbstractIntentTest {
                                                     ResourceService resourceService) {
         final PointToPointIntentCompiler compiler = new PointToPointIntentCompiler();
         compiler.pathService = new IntentTestsMocks.MockPathService(hops);
+        ((ConnectivityIntentCompiler<?>) compiler).deviceService = new IntentTestsMocks.MockDeviceService();
 
         if (resourceService == null) {
             compiler.resourceService = new MockResourceService();
@@ -230,6 +244,42 @@ public class PointToPointIntentCompilerTest extends AbstractIntentTest {
         return compiler;
     }
 
+    /**
+     * Tests that compiling the same intent twice reuses the paths cached by
+     * the topology.
+     */
+    @Test
+    public void testPathCacheHitAcrossCompilations() {
+        DefaultTopology.setPathCacheSize(10, 0);
+        try {
+            DefaultTopology topology = new DefaultTopology(new ProviderId("of", "foo"),
+                    new DefaultGraphDescription(System.nanoTime(), System.currentTimeMillis(),
+                            ImmutableSet.of(device(S1), device(S2), device(S3)),
+                            ImmutableSet.of(link(S1, 2, S2, 1), link(S2, 1, S1, 2),
+                                            link(S2, 2, S3, 1), link(S3, 1, S2, 2))));
+
+            PointToPointIntentCompiler compiler = makeCompiler(new String[]{S1, S2, S3});
+            compiler.pathService = new PathServiceAdapter() {
+                @Override
+                public Set<Path> getPaths(ElementId src, ElementId dst, LinkWeigher weigher) {
+                    return topology.getPaths((DeviceId) src, (DeviceId) dst, weigher);
+                }
+            };
+
+            PointToPointIntent intent = makeIntent(new ConnectPoint(DID_1, PORT_1),
+                                                   new ConnectPoint(DID_3, PORT_2));
+            compiler.compile(intent, null);
+            long hits = DefaultTopology.pathCacheHits();
+            List<Intent> result = compiler.compile(intent, null);
+
+            assertThat(DefaultTopology.pathCacheHits(), is(hits + 1));
+            assertThat(result, hasSize(1));
+            assertThat(((LinkCollectionIntent) result.get(0)).links(), hasSize(2));
+        } finally {
+            DefaultTopology.setPathCacheSize(0, 0);
+        }
+    }
+
     /**
      * Tests a pair of devices in an 8 hop path, forward direction.
      */
@@ -368,6 +418,38 @@ public class PointToPointIntentCompilerTest extends AbstractIntentTest {
 
     }
 
+    /**
+     * Tests that compilations share the bandwidth availability read by the
+     * path search until bandwidth is allocated.
+     */
+    @Test
+    public void testBandwidthSnapshotSharedAcrossCompilations() {
+        final AtomicInteger snapshots = new AtomicInteger();
+        final ResourceService resourceService = new MockResourceService() {
+            @Override
+            public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+                snapshots.incrementAndGet();
+                return super.getSnapshot(ids);
+            }
+        };
+        final List<Constraint> constraints =
+                Collections.singletonList(new BandwidthConstraint(Bandwidth.bps(BPS_TO_RESERVE)));
+        final PointToPointIntent intent = makeIntent(new ConnectPoint(DID_1, PORT_1),
+                                                     new ConnectPoint(DID_3, PORT_2),
+                                                     constraints);
+        final PointToPointIntentCompiler compiler = makeCompiler(new String[]{S1, S2, S3},
+                                                                 resourceService);
+
+        // the first compilation allocates bandwidth, so the second reads it again
+        compiler.compile(intent, null);
+        compiler.compile(intent, null);
+        assertThat(snapshots.get(), is(2));
+
+        // nothing is allocated by the second one, so the third shares its snapshot
+        compiler.compile(intent, null);
+        assertThat(snapshots.get(), is(2));
+    }
+
     /**
      * Tests that requests with insufficient available bandwidth fail.
      */
@@ -174,6 +174,7 @@ public class SinglePointToMultiPointIntentCompilerTest extends AbstractIntentTes
         SinglePointToMultiPointIntentCompiler compiler =
                 new SinglePointToMultiPointIntentCompiler();
         compiler.deviceService = new IntentTestsMocks.MockDeviceService();
+        ((ConnectivityIntentCompiler<?>) compiler).deviceService = compiler.deviceService;
 
         if (pathService == null) {
             compiler.pathService = new IntentTestsMocks.Mp2MpMockPathService(hops);
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.onlab.packet.ARP;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.TCP;
+import org.onlab.packet.TpPort;
+import org.onlab.packet.UDP;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.TrafficSelector;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests for the packet processor dispatch index.
+ */
+public class PacketDispatchIndexTest {
+
+    private static final TrafficSelector ARP_SELECTOR = DefaultTrafficSelector.builder()
+            .matchEthType(Ethernet.TYPE_ARP).build();
+    private static final TrafficSelector IPV4_SELECTOR = DefaultTrafficSelector.builder()
+            .matchEthType(Ethernet.TYPE_IPV4).build();
+    private static final TrafficSelector UDP_SELECTOR = DefaultTrafficSelector.builder()
+            .matchEthType(Ethernet.TYPE_IPV4).matchIPProtocol(IPv4.PROTOCOL_UDP).build();
+    private static final TrafficSelector DHCP_SELECTOR = DefaultTrafficSelector.builder()
+            .matchEthType(Ethernet.TYPE_IPV4).matchIPProtocol(IPv4.PROTOCOL_UDP)
+            .matchUdpDst(TpPort.tpPort(67)).build();
+
+    // entries in dispatch order, with their selector hints; "all" has none
+    private final Map<String, TrafficSelector> selectors = ImmutableMap.of(
+            "arp", ARP_SELECTOR,
+            "dhcp", DHCP_SELECTOR,
+            "all", DefaultTrafficSelector.emptySelector(),
+            "udp", UDP_SELECTOR,
+            "ipv4", IPV4_SELECTOR);
+
+    private final PacketDispatchIndex<String> index =
+            new PacketDispatchIndex<>(ImmutableList.copyOf(selectors.keySet()), selectors::get);
+
+    private static Ethernet frame(short ethType) {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(ethType);
+        return eth;
+    }
+
+    private static Ethernet ipv4Frame(IPv4 ip) {
+        Ethernet eth = frame(Ethernet.TYPE_IPV4);
+        eth.setPayload(ip);
+        return eth;
+    }
+
+    private static Ethernet udpFrame(int dstPort) {
+        UDP udp = new UDP();
+        udp.setDestinationPort(dstPort);
+        IPv4 ip = new IPv4();
+        ip.setProtocol(IPv4.PROTOCOL_UDP);
+        ip.setPayload(udp);
+        return ipv4Frame(ip);
+    }
+
+    /**
+     * Tests that unclassified packets are delivered to all processors.
+     */
+    @Test
+    public void testUnparsedPacket() {
+        assertThat(index.lookup(null), is(index.entries()));
+        assertThat(index.entries(), contains("arp", "dhcp", "all", "udp", "ipv4"));
+    }
+
+    /**
+     * Tests dispatching by Ethernet type.
+     */
+    @Test
+    public void testEthType() {
+        Ethernet arp = frame(Ethernet.TYPE_ARP);
+        arp.setPayload(new ARP());
+        assertThat(index.lookup(arp), contains("arp", "all"));
+        assertThat(index.lookup(frame(Ethernet.TYPE_LLDP)), contains("all"));
+    }
+
+    /**
+     * Tests dispatching by IP protocol and L4 destination port.
+     */
+    @Test
+    public void testIpProtocolAndPort() {
+        IPv4 tcp = new IPv4();
+        tcp.setProtocol(IPv4.PROTOCOL_TCP);
+        tcp.setPayload(new TCP());
+        assertThat(index.lookup(ipv4Frame(tcp)), contains("all", "ipv4"));
+        assertThat(index.lookup(udpFrame(53)), contains("all", "udp", "ipv4"));
+        assertThat(index.lookup(udpFrame(67)), contains("dhcp", "all", "udp", "ipv4"));
+    }
+
+    /**
+     * Tests that an index without any selector hints delivers everything.
+     */
+    @Test
+    public void testNoHints() {
+        PacketDispatchIndex<String> plain =
+                new PacketDispatchIndex<>(ImmutableList.of("a", "b"), e -> null);
+        assertThat(plain.lookup(frame(Ethernet.TYPE_ARP)), contains("a", "b"));
+    }
+}
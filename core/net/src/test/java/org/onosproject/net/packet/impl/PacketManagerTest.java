@@ -20,32 +20,47 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
+import org.onlab.packet.Ethernet;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.CoreServiceAdapter;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.TestListener;
 import org.onosproject.net.AnnotationKeys;
+import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceServiceAdapter;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
 import org.onosproject.net.driver.DefaultDriver;
 import org.onosproject.net.driver.DriverRegistry;
 import org.onosproject.net.driver.impl.DriverManager;
 import org.onosproject.net.driver.impl.DriverRegistryManager;
+import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.packet.DefaultInboundPacket;
 import org.onosproject.net.packet.DefaultOutboundPacket;
+import org.onosproject.net.packet.InboundPacket;
 import org.onosproject.net.packet.OutboundPacket;
+import org.onosproject.net.packet.PacketContext;
+import org.onosproject.net.packet.PacketContextAdapter;
+import org.onosproject.net.packet.PacketProcessor;
+import org.onosproject.net.packet.PacketProcessorEntry;
 import org.onosproject.net.packet.PacketProgrammable;
+import org.onosproject.net.packet.PacketProvider;
 import org.onosproject.net.packet.PacketProviderRegistry;
+import org.onosproject.net.packet.PacketProviderService;
+import org.onosproject.net.provider.AbstractProvider;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.provider.TestProvider;
 import org.onosproject.store.trivial.SimplePacketStore;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
@@ -106,6 +121,57 @@ public class PacketManagerTest {
         assertEquals("Packet not emitted correctly", packet, emittedPacket);
     }
 
+    /**
+     * Tests that processors registered for a type of packets are skipped,
+     * and counted as such, for packets of other types.
+     */
+    @Test
+    public void packetDispatchBySelector() {
+        List<Short> seen = new ArrayList<>();
+        PacketProcessor arp = context -> seen.add(context.inPacket().parsed().getEtherType());
+        PacketProcessor all = context -> { };
+        mgr.addProcessor(arp, PacketProcessor.director(1),
+                         DefaultTrafficSelector.builder().matchEthType(Ethernet.TYPE_ARP).build());
+        mgr.addProcessor(all, PacketProcessor.director(2));
+
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+        providerService.processPacket(packetContext(Ethernet.TYPE_ARP));
+        providerService.processPacket(packetContext(Ethernet.TYPE_IPV4));
+        providerService.processPacket(packetContext(Ethernet.TYPE_IPV4));
+
+        assertEquals("incorrect packets processed", ImmutableList.of(Ethernet.TYPE_ARP), seen);
+        PacketProcessorEntry arpEntry = entry(arp);
+        assertEquals("incorrect hit count", 1, arpEntry.hits());
+        assertEquals("incorrect skip count", 2, arpEntry.skips());
+        PacketProcessorEntry allEntry = entry(all);
+        assertEquals("incorrect hit count", 3, allEntry.hits());
+        assertEquals("incorrect skip count", 0, allEntry.skips());
+    }
+
+    private PacketProcessorEntry entry(PacketProcessor processor) {
+        return mgr.getProcessors().stream()
+                .filter(e -> e.processor() == processor)
+                .findFirst().orElseThrow(AssertionError::new);
+    }
+
+    private static PacketContext packetContext(short etherType) {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(etherType);
+        InboundPacket inPacket = new DefaultInboundPacket(new ConnectPoint(FOO_DID, PortNumber.portNumber(1)),
+                                                          eth, ByteBuffer.allocate(0));
+        return new PacketContextAdapter(0, inPacket, null, false);
+    }
+
+    private static class TestPacketProvider extends AbstractProvider implements PacketProvider {
+        TestPacketProvider() {
+            super(FOO_PID);
+        }
+
+        @Override
+        public void emit(OutboundPacket packet) {
+        }
+    }
+
     private static class TestDeviceService extends DeviceServiceAdapter {
         @Override
         public int getDeviceCount() {
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.topology.impl;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -130,6 +131,27 @@ public class PathManagerTest {
                   1, 2, src, dst);
     }
 
+    @Test
+    public void edgesToEdge() {
+        HostId src1 = hid("12:34:56:78:90:ab/1");
+        HostId src2 = hid("12:34:56:78:90:cd/1");
+        HostId src3 = hid("12:34:56:78:90:12/1");
+        HostId dst = hid("12:34:56:78:90:ef/1");
+        fakeTopoMgr.paths.add(createPath("srcEdge", "middle", "dstEdge"));
+        fakeHostMgr.hosts.put(src1, host("12:34:56:78:90:ab/1", "srcEdge"));
+        fakeHostMgr.hosts.put(src2, host("12:34:56:78:90:cd/1", "dstEdge"));
+        fakeHostMgr.hosts.put(dst, host("12:34:56:78:90:ef/1", "dstEdge"));
+        Map<ElementId, Set<Path>> paths = service.getPathsTo(ImmutableSet.of(src1, src2, src3), dst, null);
+        assertEquals("incorrect source count", 3, paths.size());
+        validatePaths(paths.get(src1), 1, 4, src1, dst);
+        validatePaths(paths.get(src2), 1, 2, src2, dst);
+        assertTrue("there should be no paths", paths.get(src3).isEmpty());
+
+        paths = service.getPathsFrom(dst, ImmutableSet.of(src1, src3), null);
+        assertEquals("incorrect destination count", 2, paths.size());
+        assertTrue("there should be no paths", paths.get(src3).isEmpty());
+    }
+
     @Test
     public void noEdge() {
         Set<Path> paths = service.getPaths(hid("12:34:56:78:90:ab/1"),
@@ -20,6 +20,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
@@ -155,11 +156,21 @@ public class DistributedLeadershipStore
         return leaderElector.anoint(topic, toNodeId);
     }
 
+    @Override
+    public Set<String> moveLeadership(Map<String, NodeId> leaders) {
+        return leaderElector.anoint(leaders);
+    }
+
     @Override
     public boolean makeTopCandidate(String topic, NodeId nodeId) {
         return leaderElector.promote(topic, nodeId);
     }
 
+    @Override
+    public Set<String> makeTopCandidate(Map<String, NodeId> candidates) {
+        return leaderElector.promote(candidates);
+    }
+
     @Override
     public Leadership getLeadership(String topic) {
         return leaderElector.getLeadership(topic);
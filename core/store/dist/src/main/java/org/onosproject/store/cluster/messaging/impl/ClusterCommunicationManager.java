@@ -16,6 +16,7 @@
 package org.onosproject.store.cluster.messaging.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -38,6 +39,8 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Objects;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -173,18 +176,74 @@ public class ClusterCommunicationManager
         }
     }
 
+    @Override
+    public <M> CompletableFuture<Void> unicastStream(M message,
+                                                     MessageSubject subject,
+                                                     BiConsumer<M, OutputStream> encoder,
+                                                     NodeId toNodeId) {
+        checkPermission(CLUSTER_WRITE);
+        try {
+            Endpoint nodeEp = endpoint(toNodeId);
+            MeteringAgent.Context context = subjectMeteringAgent.startTimer(subject.toString() + ONE_WAY_SUFFIX);
+            return messagingService.sendAsync(nodeEp, subject.value(), timeWriter(message, encoder))
+                    .whenComplete((r, e) -> context.stop(e));
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
+    @Override
+    public <M, R> CompletableFuture<R> sendAndReceiveStream(M message,
+                                                            MessageSubject subject,
+                                                            BiConsumer<M, OutputStream> encoder,
+                                                            Function<byte[], R> decoder,
+                                                            NodeId toNodeId) {
+        checkPermission(CLUSTER_WRITE);
+        try {
+            Endpoint nodeEp = endpoint(toNodeId);
+            MeteringAgent.Context epContext = endpointMeteringAgent.
+                    startTimer(NODE_PREFIX + toNodeId.toString() + ROUND_TRIP_SUFFIX);
+            MeteringAgent.Context subjectContext = subjectMeteringAgent.
+                    startTimer(subject.toString() + ROUND_TRIP_SUFFIX);
+            return messagingService.sendAndReceive(nodeEp, subject.value(), timeWriter(message, encoder),
+                                                   MoreExecutors.directExecutor())
+                    .whenComplete((bytes, throwable) -> {
+                        subjectContext.stop(throwable);
+                        epContext.stop(throwable);
+                    })
+                    .thenApply(bytes -> timeFunction(decoder, subjectMeteringAgent, DESERIALIZING).apply(bytes));
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
+    private Endpoint endpoint(NodeId nodeId) {
+        ControllerNode node = clusterService.getNode(nodeId);
+        checkArgument(node != null, "Unknown nodeId: %s", nodeId);
+        return new Endpoint(node.ip(), node.tcpPort());
+    }
+
+    private <M> Consumer<OutputStream> timeWriter(M message, BiConsumer<M, OutputStream> encoder) {
+        return out -> {
+            MeteringAgent.Context context = subjectMeteringAgent.startTimer(SERIALIZING);
+            try {
+                encoder.accept(message, out);
+                context.stop(null);
+            } catch (RuntimeException e) {
+                context.stop(e);
+                throw e;
+            }
+        };
+    }
+
     private CompletableFuture<Void> doUnicast(MessageSubject subject, byte[] payload, NodeId toNodeId) {
-        ControllerNode node = clusterService.getNode(toNodeId);
-        checkArgument(node != null, "Unknown nodeId: %s", toNodeId);
-        Endpoint nodeEp = new Endpoint(node.ip(), node.tcpPort());
+        Endpoint nodeEp = endpoint(toNodeId);
         MeteringAgent.Context context = subjectMeteringAgent.startTimer(subject.toString() + ONE_WAY_SUFFIX);
         return messagingService.sendAsync(nodeEp, subject.value(), payload).whenComplete((r, e) -> context.stop(e));
     }
 
     private CompletableFuture<byte[]> sendAndReceive(MessageSubject subject, byte[] payload, NodeId toNodeId) {
-        ControllerNode node = clusterService.getNode(toNodeId);
-        checkArgument(node != null, "Unknown nodeId: %s", toNodeId);
-        Endpoint nodeEp = new Endpoint(node.ip(), node.tcpPort());
+        Endpoint nodeEp = endpoint(toNodeId);
         MeteringAgent.Context epContext = endpointMeteringAgent.
                 startTimer(NODE_PREFIX + toNodeId.toString() + ROUND_TRIP_SUFFIX);
         MeteringAgent.Context subjectContext = subjectMeteringAgent.
@@ -254,6 +313,33 @@ public class ClusterCommunicationManager
                 executor);
     }
 
+    @Override
+    public <M> void addStreamSubscriber(MessageSubject subject,
+                                        Function<ByteBuffer, M> decoder,
+                                        Consumer<M> handler,
+                                        Executor executor) {
+        checkPermission(CLUSTER_WRITE);
+        messagingService.registerStreamHandler(subject.value(),
+                (BiConsumer<Endpoint, ByteBuffer>) (sender, buffer) -> handler.accept(
+                        timeFunction(decoder, subjectMeteringAgent, DESERIALIZING).apply(buffer)),
+                executor);
+    }
+
+    @Override
+    public <M, R> void addStreamSubscriber(MessageSubject subject,
+                                           Function<ByteBuffer, M> decoder,
+                                           Function<M, R> handler,
+                                           Function<R, byte[]> encoder,
+                                           Executor executor) {
+        checkPermission(CLUSTER_WRITE);
+        messagingService.registerStreamHandler(subject.value(),
+                (BiFunction<Endpoint, ByteBuffer, byte[]>) (sender, buffer) -> {
+                    M request = timeFunction(decoder, subjectMeteringAgent, DESERIALIZING).apply(buffer);
+                    return timeFunction(encoder, subjectMeteringAgent, SERIALIZING).apply(handler.apply(request));
+                },
+                executor);
+    }
+
     /**
      * Performs the timed function, returning the value it would while timing the operation.
      *
@@ -17,15 +17,26 @@ package org.onosproject.store.cluster.messaging.impl;
 
 import com.google.common.base.MoreObjects;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
 import org.onlab.util.ByteArraySizeHashPrinter;
 import org.onosproject.core.HybridLogicalTime;
 import org.onosproject.store.cluster.messaging.Endpoint;
 
+import java.nio.ByteBuffer;
+
 /**
  * Internal message representation with additional attributes
  * for supporting, synchronous request/reply behavior.
+ * <p>
+ * The payload is either a byte array or a slice of a pooled buffer, as
+ * written by a payload writer or read off the wire. Buffer backed messages
+ * hold a reference to the buffer, which is released once the message has
+ * been encoded or dispatched; its payload must be accessed before then.
+ * </p>
  */
-public final class InternalMessage {
+public final class InternalMessage implements ReferenceCounted {
 
     /**
      * Message status.
@@ -96,7 +107,8 @@ public final class InternalMessage {
     private final long id;
     private final Endpoint sender;
     private final String type;
-    private final byte[] payload;
+    private final ByteBuf content;
+    private byte[] payload;
     private final Status status;
 
     public InternalMessage(int preamble,
@@ -129,10 +141,39 @@ public final class InternalMessage {
         this.id = id;
         this.sender = sender;
         this.type = type;
+        this.content = null;
         this.payload = payload;
         this.status = status;
     }
 
+    /**
+     * Creates a message whose payload is the readable content of a buffer.
+     * The message takes over the reference to the buffer held by the caller.
+     *
+     * @param preamble cluster preamble
+     * @param time     message time
+     * @param id       message identifier
+     * @param sender   sender endpoint
+     * @param type     message type
+     * @param content  payload buffer
+     * @param status   reply status, or null for requests
+     */
+    InternalMessage(int preamble,
+                    HybridLogicalTime time,
+                    long id,
+                    Endpoint sender,
+                    String type,
+                    ByteBuf content,
+                    Status status) {
+        this.preamble = preamble;
+        this.time = time;
+        this.id = id;
+        this.sender = sender;
+        this.type = type;
+        this.content = content;
+        this.status = status;
+    }
+
     public boolean isRequest() {
         return status == null;
     }
@@ -161,14 +202,101 @@ public final class InternalMessage {
         return sender;
     }
 
+    /**
+     * Returns the payload, copying it out of the payload buffer on first
+     * access if the message is buffer backed.
+     *
+     * @return payload bytes
+     */
     public byte[] payload() {
+        if (payload == null) {
+            payload = ByteBufUtil.getBytes(content);
+        }
         return payload;
     }
 
+    /**
+     * Returns a view of the payload, without copying a buffer backed payload.
+     *
+     * @return payload buffer
+     */
+    public ByteBuffer payloadBuffer() {
+        return content != null ? content.nioBuffer() : ByteBuffer.wrap(payload);
+    }
+
+    /**
+     * Returns the length of the payload.
+     *
+     * @return payload length in bytes
+     */
+    public int payloadLength() {
+        return content != null ? content.readableBytes() : payload.length;
+    }
+
+    /**
+     * Writes the payload to a buffer.
+     *
+     * @param out buffer to write to
+     */
+    void writePayload(ByteBuf out) {
+        if (content != null) {
+            out.writeBytes(content, content.readerIndex(), content.readableBytes());
+        } else {
+            out.writeBytes(payload);
+        }
+    }
+
     public Status status() {
         return status;
     }
 
+    @Override
+    public int refCnt() {
+        return content != null ? content.refCnt() : 1;
+    }
+
+    @Override
+    public InternalMessage retain() {
+        if (content != null) {
+            content.retain();
+        }
+        return this;
+    }
+
+    @Override
+    public InternalMessage retain(int increment) {
+        if (content != null) {
+            content.retain(increment);
+        }
+        return this;
+    }
+
+    @Override
+    public InternalMessage touch() {
+        if (content != null) {
+            content.touch();
+        }
+        return this;
+    }
+
+    @Override
+    public InternalMessage touch(Object hint) {
+        if (content != null) {
+            content.touch(hint);
+        }
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return content != null && content.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return content != null && content.release(decrement);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -177,7 +305,7 @@ public final class InternalMessage {
                 .add("type", type)
                 .add("sender", sender)
                 .add("status", status)
-                .add("payload", ByteArraySizeHashPrinter.of(payload))
+                .add("payload", payload != null ? ByteArraySizeHashPrinter.of(payload) : content)
                 .toString();
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.messaging.impl;
+
+import com.codahale.metrics.Histogram;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Coalesces the messages written to a channel into batches which are
+ * flushed together.
+ * <p>
+ * Messages are written to the channel as they are sent, but the channel is
+ * only flushed once the batch window of the first pending message has
+ * elapsed or the pending payloads exceed the byte budget, so that a burst
+ * of small messages leaves in a few large socket writes. All batch state
+ * is confined to the event loop of the channel.
+ * </p>
+ */
+final class MessageBatcher {
+
+    private final Channel channel;
+    private final IntSupplier windowMicros;
+    private final IntSupplier maxBytes;
+    private final Histogram batchMessages;
+    private final Histogram batchBytes;
+
+    private int pendingMessages;
+    private int pendingBytes;
+    private ScheduledFuture<?> flushFuture;
+
+    /**
+     * Creates a batcher for the given channel.
+     *
+     * @param channel       channel to write to
+     * @param windowMicros  maximum time a message waits for its batch to be
+     *                      flushed, in microseconds
+     * @param maxBytes      payload bytes after which a batch is flushed
+     *                      immediately
+     * @param batchMessages histogram of the number of messages per batch
+     * @param batchBytes    histogram of the number of payload bytes per batch
+     */
+    MessageBatcher(Channel channel, IntSupplier windowMicros, IntSupplier maxBytes,
+                   Histogram batchMessages, Histogram batchBytes) {
+        this.channel = channel;
+        this.windowMicros = windowMicros;
+        this.maxBytes = maxBytes;
+        this.batchMessages = batchMessages;
+        this.batchBytes = batchBytes;
+    }
+
+    /**
+     * Adds a message to the current batch of the channel.
+     *
+     * @param message message to write
+     * @return future completed once the message has been written out
+     */
+    ChannelFuture write(InternalMessage message) {
+        ChannelPromise promise = channel.newPromise();
+        EventLoop eventLoop = channel.eventLoop();
+        if (eventLoop.inEventLoop()) {
+            add(message, promise);
+        } else {
+            try {
+                eventLoop.execute(() -> add(message, promise));
+            } catch (RejectedExecutionException e) {
+                message.release();
+                promise.setFailure(e);
+            }
+        }
+        return promise;
+    }
+
+    private void add(InternalMessage message, ChannelPromise promise) {
+        // the message is released once encoded
+        pendingBytes += message.payloadLength();
+        pendingMessages++;
+        channel.write(message, promise);
+        if (pendingBytes >= maxBytes.getAsInt()) {
+            flush();
+        } else if (flushFuture == null) {
+            flushFuture = channel.eventLoop().schedule(this::flush, windowMicros.getAsInt(), TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private void flush() {
+        if (flushFuture != null) {
+            flushFuture.cancel(false);
+            flushFuture = null;
+        }
+        if (pendingMessages > 0) {
+            batchMessages.update(pendingMessages);
+            batchBytes.update(pendingBytes);
+            pendingMessages = 0;
+            pendingBytes = 0;
+            channel.flush();
+        }
+    }
+}
@@ -29,15 +29,20 @@ import org.onosproject.store.cluster.messaging.impl.InternalMessage.Status;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
+import static org.onosproject.store.cluster.messaging.impl.MessageEncoder.MAX_INTERNED_TYPES;
 
 /**
  * Decoder for inbound messages.
  */
 public class MessageDecoder extends ReplayingDecoder<DecoderState> {
 
+    // payloads up to this length are copied out of the inbound buffer
+    static final int MAX_COPIED_CONTENT_LENGTH = 8 * 1024;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private long logicalTime;
@@ -49,6 +54,8 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
     private int senderPort;
     private int messageTypeLength;
     private String messageType;
+    private int internedTypeId;
+    private final List<String> internedTypes = new ArrayList<>();
     private Status status;
     private int contentLength;
 
@@ -88,12 +95,32 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
             senderPort = buffer.readInt();
             checkpoint(DecoderState.READ_MESSAGE_TYPE_LENGTH);
         case READ_MESSAGE_TYPE_LENGTH:
-            messageTypeLength = buffer.readShort();
+            // negative lengths refer to or define types interned by the sender
+            int typeLength = buffer.readShort();
+            internedTypeId = -1;
+            if (typeLength >= 0) {
+                messageTypeLength = typeLength;
+            } else if (typeLength >= -MAX_INTERNED_TYPES) {
+                int typeId = -typeLength - 1;
+                checkState(typeId < internedTypes.size(), "Unknown message type ID %s", typeId);
+                messageType = internedTypes.get(typeId);
+                messageTypeLength = -1;
+            } else {
+                internedTypeId = -typeLength - 1 - MAX_INTERNED_TYPES;
+                messageTypeLength = buffer.readShort();
+            }
             checkpoint(DecoderState.READ_MESSAGE_TYPE);
         case READ_MESSAGE_TYPE:
-            byte[] messageTypeBytes = new byte[messageTypeLength];
-            buffer.readBytes(messageTypeBytes);
-            messageType = new String(messageTypeBytes, Charsets.UTF_8);
+            if (messageTypeLength >= 0) {
+                byte[] messageTypeBytes = new byte[messageTypeLength];
+                buffer.readBytes(messageTypeBytes);
+                messageType = new String(messageTypeBytes, Charsets.UTF_8);
+                if (internedTypeId >= 0) {
+                    checkState(internedTypeId == internedTypes.size(),
+                               "Unexpected message type ID %s", internedTypeId);
+                    internedTypes.add(messageType);
+                }
+            }
             checkpoint(DecoderState.READ_MESSAGE_STATUS);
         case READ_MESSAGE_STATUS:
             int statusId = buffer.readByte();
@@ -107,20 +134,21 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
             contentLength = buffer.readInt();
             checkpoint(DecoderState.READ_CONTENT);
         case READ_CONTENT:
-            byte[] payload;
-            if (contentLength > 0) {
-                //TODO Perform a sanity check on the size before allocating
-                payload = new byte[contentLength];
-                buffer.readBytes(payload);
+            // Small payloads are copied, so that messages queued to handlers do not keep
+            // the whole inbound buffer alive. Large payloads are handed on as a slice of
+            // the inbound buffer to avoid the copy, and are released once dispatched.
+            ByteBuf content;
+            if (contentLength <= MAX_COPIED_CONTENT_LENGTH) {
+                content = buffer.readBytes(contentLength);
             } else {
-                payload = new byte[0];
+                content = buffer.readRetainedSlice(contentLength);
             }
             InternalMessage message = new InternalMessage(preamble,
                                                           new HybridLogicalTime(logicalTime, logicalCounter),
                                                           messageId,
                                                           new Endpoint(senderIp, senderPort),
                                                           messageType,
-                                                          payload,
+                                                          content,
                                                           status);
             out.add(message);
             checkpoint(DecoderState.READ_MESSAGE_PREAMBLE);
@@ -17,7 +17,6 @@ package org.onosproject.store.cluster.messaging.impl;
 
 import com.google.common.base.Charsets;
 import io.netty.buffer.ByteBuf;
-import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import org.onlab.packet.IpAddress;
@@ -27,25 +26,53 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
 
 /**
  * Encode InternalMessage out into a byte buffer.
+ * <p>
+ * When type interning is enabled, the encoder assigns each message type
+ * sent over its connection a small integer ID. The first message of a type
+ * carries the type string along with its new ID, and later messages of
+ * the type carry only the ID, encoded as a negative type length so that
+ * the {@link MessageDecoder} can tell both forms apart. Since IDs are
+ * scoped to a connection, an encoder must not be shared between channels.
+ * </p>
  */
-@Sharable
 public class MessageEncoder extends MessageToByteEncoder<Object> {
 // Effectively MessageToByteEncoder<InternalMessage>,
 // had to specify <Object> to avoid Class Loader not being able to find some classes.
 
+    /**
+     * Maximum number of message types interned per connection; types sent
+     * after the table is full are written as strings.
+     */
+    static final int MAX_INTERNED_TYPES = 1 << 14;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private final int preamble;
+    private final BooleanSupplier internTypes;
+    private final Map<String, Integer> typeIds = new HashMap<>();
 
     public MessageEncoder(int preamble) {
+        this(preamble, () -> false);
+    }
+
+    /**
+     * Creates a message encoder for a single channel.
+     *
+     * @param preamble    cluster preamble
+     * @param internTypes whether new message types should be interned
+     */
+    public MessageEncoder(int preamble, BooleanSupplier internTypes) {
         super();
         this.preamble = preamble;
+        this.internTypes = internTypes;
     }
 
-
     @Override
     protected void encode(
             ChannelHandlerContext context,
@@ -76,13 +103,8 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
         // write sender port
         out.writeInt(sender.port());
 
-        byte[] messageTypeBytes = message.type().getBytes(Charsets.UTF_8);
-
-        // write length of message type
-        out.writeShort(messageTypeBytes.length);
-
-        // write message type bytes
-        out.writeBytes(messageTypeBytes);
+        // write message type
+        writeType(message.type(), out);
 
         // write message status value
         InternalMessage.Status status = message.status();
@@ -92,13 +114,34 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
             out.writeByte(status.id());
         }
 
-        byte[] payload = message.payload();
-
         // write payload length
-        out.writeInt(payload.length);
+        out.writeInt(message.payloadLength());
 
         // write payload.
-        out.writeBytes(payload);
+        message.writePayload(out);
+    }
+
+    private void writeType(String type, ByteBuf out) {
+        Integer typeId = typeIds.get(type);
+        if (typeId != null) {
+            // reference to a type interned earlier on this connection
+            out.writeShort(-typeId - 1);
+            return;
+        }
+
+        byte[] messageTypeBytes = type.getBytes(Charsets.UTF_8);
+        if (internTypes.getAsBoolean() && typeIds.size() < MAX_INTERNED_TYPES) {
+            // definition of a new interned type, followed by the type itself
+            typeId = typeIds.size();
+            typeIds.put(type, typeId);
+            out.writeShort(-typeId - 1 - MAX_INTERNED_TYPES);
+        }
+
+        // write length of message type
+        out.writeShort(messageTypeBytes.length);
+
+        // write message type bytes
+        out.writeBytes(messageTypeBytes);
     }
 
     @Override
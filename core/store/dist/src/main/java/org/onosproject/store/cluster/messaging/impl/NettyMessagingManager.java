@@ -22,7 +22,9 @@ import javax.net.ssl.TrustManagerFactory;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.OutputStream;
 import java.net.ConnectException;
+import java.nio.ByteBuffer;
 import java.security.Key;
 import java.security.KeyStore;
 import java.security.MessageDigest;
@@ -32,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Dictionary;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
@@ -49,8 +52,11 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Histogram;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
@@ -58,6 +64,8 @@ import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
@@ -81,9 +89,17 @@ import org.apache.commons.math3.stat.descriptive.SynchronizedDescriptiveStatisti
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
+import org.apache.felix.scr.annotations.ReferencePolicy;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterMetadataService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.core.HybridLogicalClockService;
@@ -91,9 +107,13 @@ import org.onosproject.store.cluster.messaging.Endpoint;
 import org.onosproject.store.cluster.messaging.MessagingException;
 import org.onosproject.store.cluster.messaging.MessagingService;
 import org.onosproject.store.cluster.messaging.impl.InternalMessage.Status;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.CLUSTER_WRITE;
@@ -113,6 +133,27 @@ public class NettyMessagingManager implements MessagingService {
     private static final double TIMEOUT_MULTIPLIER = 2.5;
     private static final int CHANNEL_POOL_SIZE = 8;
 
+    private static final boolean DEFAULT_BATCHING_ENABLED = false;
+    @Property(name = "batchingEnabled", boolValue = DEFAULT_BATCHING_ENABLED,
+            label = "Coalesce messages sent over the same connection into batches and intern "
+                    + "their message types; all nodes of the cluster must run a release which supports it")
+    protected volatile boolean batchingEnabled = DEFAULT_BATCHING_ENABLED;
+
+    private static final int DEFAULT_BATCH_WINDOW_MICROS = 200;
+    @Property(name = "batchWindowMicros", intValue = DEFAULT_BATCH_WINDOW_MICROS,
+            label = "Maximum time a message waits for its batch to be flushed (microseconds)")
+    protected volatile int batchWindowMicros = DEFAULT_BATCH_WINDOW_MICROS;
+
+    private static final int DEFAULT_BATCH_MAX_BYTES = 64 * 1024;
+    @Property(name = "batchMaxBytes", intValue = DEFAULT_BATCH_MAX_BYTES,
+            label = "Payload bytes after which a batch is flushed immediately")
+    protected volatile int batchMaxBytes = DEFAULT_BATCH_MAX_BYTES;
+
+    private static final String METRICS_COMPONENT = "NettyMessaging";
+    private static final String METRICS_FEATURE = "Batching";
+    private static final String BATCH_MESSAGES = "MessagesPerBatch";
+    private static final String BATCH_BYTES = "BytesPerBatch";
+
     private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
     private final Logger log = LoggerFactory.getLogger(getClass());
@@ -157,10 +198,81 @@ public class NettyMessagingManager implements MessagingService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterMetadataService clusterMetadataService;
 
+    // These must be optional to avoid cyclic dependencies
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY,
+               bind = "bindComponentConfigService",
+               unbind = "unbindComponentConfigService",
+               policy = ReferencePolicy.DYNAMIC)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY,
+               bind = "bindMetricsService",
+               unbind = "unbindMetricsService",
+               policy = ReferencePolicy.DYNAMIC)
+    protected MetricsService metricsService;
+
+    private final Histogram batchMessages = new Histogram(new ExponentiallyDecayingReservoir());
+    private final Histogram batchBytes = new Histogram(new ExponentiallyDecayingReservoir());
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+
+    /**
+     * Hook for wiring up optional reference to a service.
+     *
+     * @param service service being announced
+     */
+    protected void bindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == null) {
+            cfgService = service;
+            cfgService.registerProperties(getClass());
+        }
+    }
+
+    /**
+     * Hook for unwiring optional reference to a service.
+     *
+     * @param service service being withdrawn
+     */
+    protected void unbindComponentConfigService(ComponentConfigService service) {
+        if (cfgService == service) {
+            cfgService.unregisterProperties(getClass(), false);
+            cfgService = null;
+        }
+    }
+
+    /**
+     * Hook for wiring up optional reference to a service.
+     *
+     * @param service service being announced
+     */
+    protected void bindMetricsService(MetricsService service) {
+        if (metricsService == null) {
+            metricsService = service;
+            metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+            metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+            metricsService.registerMetric(metricsComponent, metricsFeature, BATCH_MESSAGES, batchMessages);
+            metricsService.registerMetric(metricsComponent, metricsFeature, BATCH_BYTES, batchBytes);
+        }
+    }
+
+    /**
+     * Hook for unwiring optional reference to a service.
+     *
+     * @param service service being withdrawn
+     */
+    protected void unbindMetricsService(MetricsService service) {
+        if (metricsService == service) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, BATCH_MESSAGES);
+            metricsService.removeMetric(metricsComponent, metricsFeature, BATCH_BYTES);
+            metricsService = null;
+        }
+    }
+
     @Activate
-    public void activate() throws Exception {
+    public void activate(ComponentContext context) throws Exception {
         ControllerNode localNode = clusterMetadataService.getLocalNode();
         getTlsParameters();
+        modified(context);
 
         if (started.get()) {
             log.warn("Already running at local endpoint: {}", localEndpoint);
@@ -190,6 +302,31 @@ public class NettyMessagingManager implements MessagingService {
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            log.info("Default config. Batching is {}; window {} us, max {} bytes",
+                     batchingEnabled ? "enabled" : "disabled", batchWindowMicros, batchMaxBytes);
+            return;
+        }
+
+        readConfiguration(context.getProperties());
+    }
+
+    /**
+     * Reads the batching configuration; malformed values keep their default.
+     *
+     * @param properties component properties
+     */
+    void readConfiguration(Dictionary<?, ?> properties) {
+        String s = get(properties, "batchingEnabled");
+        batchingEnabled = isNullOrEmpty(s) ? DEFAULT_BATCHING_ENABLED : Boolean.parseBoolean(s);
+        batchWindowMicros = getIntegerProperty(properties, "batchWindowMicros", DEFAULT_BATCH_WINDOW_MICROS);
+        batchMaxBytes = getIntegerProperty(properties, "batchMaxBytes", DEFAULT_BATCH_MAX_BYTES);
+        log.info("Configured. Batching is {}; window {} us, max {} bytes",
+                 batchingEnabled ? "enabled" : "disabled", batchWindowMicros, batchMaxBytes);
+    }
+
     private void getTlsParameters() {
         // default is TLS enabled unless key stores cannot be loaded
         enableNettyTls = Boolean.parseBoolean(System.getProperty("enableNettyTLS", Boolean.toString(TLS_ENABLED)));
@@ -324,6 +461,60 @@ public class NettyMessagingManager implements MessagingService {
         return executeOnPooledConnection(ep, type, c -> c.sendAndReceive(message), executor);
     }
 
+    @Override
+    public CompletableFuture<Void> sendAsync(Endpoint ep, String type, Consumer<OutputStream> payloadWriter) {
+        checkPermission(CLUSTER_WRITE);
+        ByteBuf content;
+        try {
+            content = writePayload(payloadWriter);
+        } catch (RuntimeException e) {
+            return Tools.exceptionalFuture(e);
+        }
+        InternalMessage message = new InternalMessage(preamble,
+                clockService.timeNow(),
+                messageIdGenerator.incrementAndGet(),
+                localEndpoint,
+                type,
+                content,
+                null);
+        return executeOnPooledConnection(ep, message, c -> c.sendAsync(message), MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, Consumer<OutputStream> payloadWriter,
+                                                    Executor executor) {
+        checkPermission(CLUSTER_WRITE);
+        ByteBuf content;
+        try {
+            content = writePayload(payloadWriter);
+        } catch (RuntimeException e) {
+            return Tools.exceptionalFuture(e);
+        }
+        InternalMessage message = new InternalMessage(preamble,
+                clockService.timeNow(),
+                messageIdGenerator.incrementAndGet(),
+                localEndpoint,
+                type,
+                content,
+                null);
+        return executeOnPooledConnection(ep, message, c -> c.sendAndReceive(message), executor);
+    }
+
+    /**
+     * Serializes a payload into a pooled direct buffer, which is written to
+     * the channel as is by the message encoder.
+     */
+    private ByteBuf writePayload(Consumer<OutputStream> payloadWriter) {
+        ByteBuf content = PooledByteBufAllocator.DEFAULT.directBuffer();
+        try {
+            payloadWriter.accept(new ByteBufOutputStream(content));
+            return content;
+        } catch (RuntimeException e) {
+            content.release();
+            throw e;
+        }
+    }
+
     private List<CompletableFuture<Channel>> getChannelPool(Endpoint endpoint) {
         return channels.computeIfAbsent(endpoint, e -> {
             List<CompletableFuture<Channel>> defaultList = new ArrayList<>(CHANNEL_POOL_SIZE);
@@ -399,6 +590,25 @@ public class NettyMessagingManager implements MessagingService {
         return future;
     }
 
+    // Sends a buffer backed message, which is released if it never gets handed over to a connection
+    private <T> CompletableFuture<T> executeOnPooledConnection(
+            Endpoint endpoint,
+            InternalMessage message,
+            Function<ClientConnection, CompletableFuture<T>> callback,
+            Executor executor) {
+        AtomicBoolean handedOver = new AtomicBoolean();
+        CompletableFuture<T> future = executeOnPooledConnection(endpoint, message.type(), connection -> {
+            handedOver.set(true);
+            return callback.apply(connection);
+        }, executor);
+        future.whenComplete((result, error) -> {
+            if (!handedOver.get()) {
+                message.release();
+            }
+        });
+        return future;
+    }
+
     private <T> void executeOnPooledConnection(
             Endpoint endpoint,
             String type,
@@ -435,18 +645,47 @@ public class NettyMessagingManager implements MessagingService {
     @Override
     public void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor) {
         checkPermission(CLUSTER_WRITE);
-        handlers.put(type, (message, connection) -> executor.execute(() ->
-                handler.accept(message.sender(), message.payload())));
+        handlers.put(type, (message, connection) -> {
+            byte[] payload = message.payload();
+            executor.execute(() -> handler.accept(message.sender(), payload));
+        });
+    }
+
+    @Override
+    public void registerStreamHandler(String type, BiConsumer<Endpoint, ByteBuffer> handler, Executor executor) {
+        checkPermission(CLUSTER_WRITE);
+        handlers.put(type, (message, connection) -> executeRetained(message, executor, () ->
+                handler.accept(message.sender(), message.payloadBuffer())));
     }
 
     @Override
     public void registerHandler(String type, BiFunction<Endpoint, byte[], byte[]> handler, Executor executor) {
         checkPermission(CLUSTER_WRITE);
-        handlers.put(type, (message, connection) -> executor.execute(() -> {
+        handlers.put(type, (message, connection) -> {
+            byte[] payload = message.payload();
+            executor.execute(() -> {
+                byte[] responsePayload = null;
+                Status status = Status.OK;
+                try {
+                    responsePayload = handler.apply(message.sender(), payload);
+                } catch (Exception e) {
+                    log.debug("An error occurred in a message handler: {}", e);
+                    status = Status.ERROR_HANDLER_EXCEPTION;
+                }
+                connection.reply(message, status, Optional.ofNullable(responsePayload));
+            });
+        });
+    }
+
+    @Override
+    public void registerStreamHandler(String type, BiFunction<Endpoint, ByteBuffer, byte[]> handler,
+                                      Executor executor) {
+        checkPermission(CLUSTER_WRITE);
+        handlers.put(type, (message, connection) -> executeRetained(message, executor, () -> {
             byte[] responsePayload = null;
             Status status = Status.OK;
             try {
-                responsePayload = handler.apply(message.sender(), message.payload());
+                responsePayload = handler.apply(message.sender(), message.payloadBuffer());
             } catch (Exception e) {
                 log.debug("An error occurred in a message handler: {}", e);
                 status = Status.ERROR_HANDLER_EXCEPTION;
@@ -455,6 +694,26 @@ public class NettyMessagingManager implements MessagingService {
         }));
     }
 
+    /**
+     * Runs a task reading the payload of a message on an executor, keeping
+     * the payload buffer from being released until the task is done.
+     */
+    private void executeRetained(InternalMessage message, Executor executor, Runnable task) {
+        message.retain();
+        try {
+            executor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    message.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            message.release();
+            throw e;
+        }
+    }
+
     @Override
     public void registerHandler(String type, BiFunction<Endpoint, byte[], CompletableFuture<byte[]>> handler) {
         checkPermission(CLUSTER_WRITE);
@@ -544,12 +803,20 @@ public class NettyMessagingManager implements MessagingService {
         return retFuture;
     }
 
+    private ChannelHandler newEncoder() {
+        return new MessageEncoder(preamble, () -> batchingEnabled);
+    }
+
+    private MessageBatcher newBatcher(Channel channel) {
+        return new MessageBatcher(channel, () -> batchWindowMicros, () -> batchMaxBytes,
+                                  batchMessages, batchBytes);
+    }
+
     /**
      * Channel initializer for TLS servers.
      */
     private class SslServerCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
@@ -565,7 +832,7 @@ public class NettyMessagingManager implements MessagingService {
             serverSslEngine.setEnableSessionCreation(true);
 
             channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(serverSslEngine))
-                    .addLast("encoder", encoder)
+                    .addLast("encoder", newEncoder())
                     .addLast("decoder", new MessageDecoder())
                     .addLast("handler", dispatcher);
         }
@@ -576,7 +843,6 @@ public class NettyMessagingManager implements MessagingService {
      */
     private class SslClientCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
@@ -591,7 +857,7 @@ public class NettyMessagingManager implements MessagingService {
             clientSslEngine.setEnableSessionCreation(true);
 
             channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(clientSslEngine))
-                    .addLast("encoder", encoder)
+                    .addLast("encoder", newEncoder())
                     .addLast("decoder", new MessageDecoder())
                     .addLast("handler", dispatcher);
         }
@@ -602,12 +868,11 @@ public class NettyMessagingManager implements MessagingService {
      */
     private class BasicChannelInitializer extends ChannelInitializer<SocketChannel> {
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
             channel.pipeline()
-                    .addLast("encoder", encoder)
+                    .addLast("encoder", newEncoder())
                     .addLast("decoder", new MessageDecoder())
                     .addLast("handler", dispatcher);
         }
@@ -747,10 +1012,14 @@ public class NettyMessagingManager implements MessagingService {
         @Override
         public CompletableFuture<Void> sendAsync(InternalMessage message) {
             BiConsumer<InternalMessage, ServerConnection> handler = handlers.get(message.type());
-            if (handler != null) {
-                handler.accept(message, localServerConnection);
-            } else {
-                log.debug("No handler for message type {} from {}", message.type(), message.sender());
+            try {
+                if (handler != null) {
+                    handler.accept(message, localServerConnection);
+                } else {
+                    log.debug("No handler for message type {} from {}", message.type(), message.sender());
+                }
+            } finally {
+                message.release();
             }
             return CompletableFuture.completedFuture(null);
         }
@@ -759,11 +1028,15 @@ public class NettyMessagingManager implements MessagingService {
         public CompletableFuture<byte[]> sendAndReceive(InternalMessage message) {
             CompletableFuture<byte[]> future = new CompletableFuture<>();
             BiConsumer<InternalMessage, ServerConnection> handler = handlers.get(message.type());
-            if (handler != null) {
-                handler.accept(message, new LocalServerConnection(future));
-            } else {
-                log.debug("No handler for message type {} from {}", message.type(), message.sender());
-                new LocalServerConnection(future).reply(message, Status.ERROR_NO_HANDLER, Optional.empty());
+            try {
+                if (handler != null) {
+                    handler.accept(message, new LocalServerConnection(future));
+                } else {
+                    log.debug("No handler for message type {} from {}", message.type(), message.sender());
+                    new LocalServerConnection(future).reply(message, Status.ERROR_NO_HANDLER, Optional.empty());
+                }
+            } finally {
+                message.release();
             }
             return future;
         }
@@ -806,8 +1079,11 @@ public class NettyMessagingManager implements MessagingService {
                 .expireAfterAccess(HISTORY_EXPIRE_MILLIS, TimeUnit.MILLISECONDS)
                 .build();
 
+        private final MessageBatcher batcher;
+
         RemoteClientConnection(Channel channel) {
             this.channel = channel;
+            this.batcher = newBatcher(channel);
         }
 
         /**
@@ -846,7 +1122,7 @@ public class NettyMessagingManager implements MessagingService {
         @Override
         public CompletableFuture<Void> sendAsync(InternalMessage message) {
             CompletableFuture<Void> future = new CompletableFuture<>();
-            channel.writeAndFlush(message).addListener(channelFuture -> {
+            write(message).addListener(channelFuture -> {
                 if (!channelFuture.isSuccess()) {
                     future.completeExceptionally(channelFuture.cause());
                 } else {
@@ -861,7 +1137,7 @@ public class NettyMessagingManager implements MessagingService {
             CompletableFuture<byte[]> future = new CompletableFuture<>();
             Callback callback = new Callback(message.type(), future);
             futures.put(message.id(), callback);
-            channel.writeAndFlush(message).addListener(channelFuture -> {
+            write(message).addListener(channelFuture -> {
                 if (!channelFuture.isSuccess()) {
                     futures.remove(message.id());
                     callback.completeExceptionally(channelFuture.cause());
@@ -870,6 +1146,10 @@ public class NettyMessagingManager implements MessagingService {
             return future;
         }
 
+        private ChannelFuture write(InternalMessage message) {
+            return batchingEnabled ? batcher.write(message) : channel.writeAndFlush(message);
+        }
+
         /**
          * Dispatches a message to a local handler.
          *
@@ -925,8 +1205,11 @@ public class NettyMessagingManager implements MessagingService {
     private final class RemoteServerConnection implements ServerConnection {
         private final Channel channel;
 
+        private final MessageBatcher batcher;
+
         RemoteServerConnection(Channel channel) {
             this.channel = channel;
+            this.batcher = newBatcher(channel);
         }
 
         /**
@@ -960,7 +1243,11 @@ public class NettyMessagingManager implements MessagingService {
                     localEndpoint,
                     payload.orElse(EMPTY_PAYLOAD),
                     status);
-            channel.writeAndFlush(response);
+            if (batchingEnabled) {
+                batcher.write(response);
+            } else {
+                channel.writeAndFlush(response);
+            }
         }
     }
 
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -28,6 +29,7 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -40,11 +42,15 @@ import org.apache.commons.lang3.RandomUtils;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.ChassisId;
 import org.onlab.util.KryoNamespace;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -85,6 +91,7 @@ import org.onosproject.store.service.EventuallyConsistentMapListener;
 import org.onosproject.store.service.MultiValuedTimestamp;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.WallClockTimestamp;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import com.google.common.collect.FluentIterable;
@@ -110,6 +117,8 @@ import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_REMOVED;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_REMOVE_REQ;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_UPDATE;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_DELTA_STATS_REQUEST;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_REQUEST;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_UPDATE;
 import static org.onosproject.store.service.EventuallyConsistentMapEvent.Type.PUT;
@@ -145,6 +154,25 @@ public class GossipDeviceStore
     private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>>
             portStatsListener = new InternalPortStatsListener();
 
+    // port statistics kept by the master of each device when not replicated
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>>
+            localPortStats = Maps.newConcurrentMap();
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>>
+            localPortDeltaStats = Maps.newConcurrentMap();
+    // port statistics last fetched from the master, served when it does not reply
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>>
+            remotePortStats = Maps.newConcurrentMap();
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>>
+            remotePortDeltaStats = Maps.newConcurrentMap();
+
+    private static final boolean DEFAULT_REPLICATE_PORT_STATS = true;
+    @Property(name = "replicatePortStats", boolValue = DEFAULT_REPLICATE_PORT_STATS,
+            label = "Indicates whether port statistics should be replicated to all nodes; " +
+                    "otherwise they are kept by the master of each device and fetched from it on " +
+                    "each read, which waits up to 1 second for the master before falling back to " +
+                    "the statistics last fetched from it")
+    private volatile boolean replicatePortStats = DEFAULT_REPLICATE_PORT_STATS;
+
     // to be updated under Device lock
     private final Map<DeviceId, Timestamp> offline = Maps.newHashMap();
     private final Map<DeviceId, Timestamp> removalRequest = Maps.newHashMap();
@@ -170,6 +198,9 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MastershipTermService termService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService configService;
+
 
     protected static final StoreSerializer SERIALIZER = StoreSerializer.using(KryoNamespace.newBuilder()
                     .register(DistributedStoreSerializers.STORE_COMMON)
@@ -193,7 +224,8 @@ public class GossipDeviceStore
     private long periodSec = 5;
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        configService.registerProperties(getClass());
         executor = newCachedThreadPool(groupedThreads("onos/device", "fg-%d", log));
 
         backgroundExecutor =
@@ -206,6 +238,10 @@ public class GossipDeviceStore
         addSubscriber(PORT_UPDATE, this::handlePortEvent);
         addSubscriber(PORT_STATUS_UPDATE, this::handlePortStatusEvent);
         addSubscriber(DEVICE_ADVERTISE, this::handleDeviceAdvertisement);
+        clusterCommunicator.<DeviceId, long[]>addSubscriber(PORT_STATS_REQUEST, SERIALIZER::decode,
+                deviceId -> encodePortStats(localPortStats.get(deviceId)), SERIALIZER::encode, executor);
+        clusterCommunicator.<DeviceId, long[]>addSubscriber(PORT_DELTA_STATS_REQUEST, SERIALIZER::decode,
+                deviceId -> encodePortStats(localPortDeltaStats.get(deviceId)), SERIALIZER::encode, executor);
 
         // start anti-entropy thread
         backgroundExecutor.scheduleAtFixedRate(new SendAdvertisementTask(),
@@ -233,6 +269,7 @@ public class GossipDeviceStore
                 .withTombstonesDisabled()
                 .build();
         devicePortStats.addListener(portStatsListener);
+        modified(context);
         log.info("Started");
     }
 
@@ -242,6 +279,7 @@ public class GossipDeviceStore
 
     @Deactivate
     public void deactivate() {
+        configService.unregisterProperties(getClass(), false);
         devicePortStats.removeListener(portStatsListener);
         devicePortStats.destroy();
         devicePortDeltaStats.destroy();
@@ -267,9 +305,44 @@ public class GossipDeviceStore
         clusterCommunicator.removeSubscriber(PORT_UPDATE);
         clusterCommunicator.removeSubscriber(PORT_STATUS_UPDATE);
         clusterCommunicator.removeSubscriber(DEVICE_ADVERTISE);
+        clusterCommunicator.removeSubscriber(PORT_STATS_REQUEST);
+        clusterCommunicator.removeSubscriber(PORT_DELTA_STATS_REQUEST);
+        clearPortStatsCaches();
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            log.info("Default config: replicatePortStats={}", replicatePortStats);
+            return;
+        }
+        readConfiguration(context.getProperties());
+    }
+
+    /**
+     * Applies the given component configuration properties.
+     *
+     * @param properties configuration properties
+     */
+    void readConfiguration(Dictionary<?, ?> properties) {
+        boolean newReplicatePortStats = Tools.isPropertyEnabled(properties, "replicatePortStats",
+                                                                DEFAULT_REPLICATE_PORT_STATS);
+        if (newReplicatePortStats != replicatePortStats) {
+            replicatePortStats = newReplicatePortStats;
+            // statistics are repopulated by the next poll
+            clearPortStatsCaches();
+        }
+        log.info("Settings: replicatePortStats={}", replicatePortStats);
+    }
+
+    private void clearPortStatsCaches() {
+        localPortStats.clear();
+        localPortDeltaStats.clear();
+        remotePortStats.clear();
+        remotePortDeltaStats.clear();
+    }
+
     @Override
     public int getDeviceCount() {
         return devices.size();
@@ -874,7 +947,9 @@ public class GossipDeviceStore
     public DeviceEvent updatePortStatistics(ProviderId providerId, DeviceId deviceId,
                                             Collection<PortStatistics> newStatsCollection) {
 
-        Map<PortNumber, PortStatistics> prvStatsMap = devicePortStats.get(deviceId);
+        boolean replicate = replicatePortStats;
+        Map<PortNumber, PortStatistics> prvStatsMap = replicate ?
+                devicePortStats.get(deviceId) : localPortStats.get(deviceId);
         Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMap();
         Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMap();
 
@@ -896,6 +971,12 @@ public class GossipDeviceStore
                 newStatsMap.put(port, newStats);
             }
         }
+        if (!replicate) {
+            localPortDeltaStats.put(deviceId, deltaStatsMap);
+            localPortStats.put(deviceId, newStatsMap);
+            Device device = devices.get(deviceId);
+            return device == null ? null : new DeviceEvent(PORT_STATS_UPDATED, device);
+        }
         devicePortDeltaStats.put(deviceId, deltaStatsMap);
         devicePortStats.put(deviceId, newStatsMap);
         // DeviceEvent returns null because of InternalPortStatsListener usage
@@ -939,7 +1020,7 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
+        Map<PortNumber, PortStatistics> portStats = portStatsMap(deviceId, false);
         if (portStats == null) {
             return Collections.emptyList();
         }
@@ -948,7 +1029,7 @@ public class GossipDeviceStore
 
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortStats.get(deviceId);
+        Map<PortNumber, PortStatistics> portStatsMap = portStatsMap(deviceId, false);
         if (portStatsMap == null) {
             return null;
         }
@@ -958,7 +1039,7 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
+        Map<PortNumber, PortStatistics> portStats = portStatsMap(deviceId, true);
         if (portStats == null) {
             return Collections.emptyList();
         }
@@ -967,7 +1048,7 @@ public class GossipDeviceStore
 
     @Override
     public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortDeltaStats.get(deviceId);
+        Map<PortNumber, PortStatistics> portStatsMap = portStatsMap(deviceId, true);
         if (portStatsMap == null) {
             return null;
         }
@@ -975,6 +1056,41 @@ public class GossipDeviceStore
         return portStats;
     }
 
+    /**
+     * Returns the port statistics of the given device; when they are not
+     * replicated, they are fetched from the master of the device, falling
+     * back to those last fetched if the master does not reply in time.
+     *
+     * @param deviceId device identifier
+     * @param delta    true for the delta statistics
+     * @return port statistics keyed by port number, or null if unknown
+     */
+    private Map<PortNumber, PortStatistics> portStatsMap(DeviceId deviceId, boolean delta) {
+        if (replicatePortStats) {
+            return delta ? devicePortDeltaStats.get(deviceId) : devicePortStats.get(deviceId);
+        }
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return delta ? localPortDeltaStats.get(deviceId) : localPortStats.get(deviceId);
+        }
+        CompletableFuture<long[]> response = clusterCommunicator.sendAndReceive(
+                deviceId, delta ? PORT_DELTA_STATS_REQUEST : PORT_STATS_REQUEST,
+                SERIALIZER::encode, SERIALIZER::decode, master);
+        long[] encoded = Tools.futureGetOrElse(response, REMOTE_MASTER_TIMEOUT, TimeUnit.MILLISECONDS, null);
+        Map<DeviceId, Map<PortNumber, PortStatistics>> fetched = delta ? remotePortDeltaStats : remotePortStats;
+        if (encoded == null) {
+            log.debug("Failed to fetch port statistics of {} from {}", deviceId, master);
+            return fetched.get(deviceId);
+        }
+        Map<PortNumber, PortStatistics> portStats = PortStatisticsEncoding.decode(deviceId, encoded);
+        fetched.put(deviceId, portStats);
+        return portStats;
+    }
+
+    private static long[] encodePortStats(Map<PortNumber, PortStatistics> portStats) {
+        return PortStatisticsEncoding.encode(portStats == null ? Collections.emptyList() : portStats.values());
+    }
+
     @Override
     public Port getPort(DeviceId deviceId, PortNumber portNumber) {
         Map<PortNumber, Port> ports = devicePorts.get(deviceId);
@@ -1078,6 +1194,10 @@ public class GossipDeviceStore
             removalRequest.put(deviceId, timestamp);
 
             Device device = devices.remove(deviceId);
+            localPortStats.remove(deviceId);
+            localPortDeltaStats.remove(deviceId);
+            remotePortStats.remove(deviceId);
+            remotePortDeltaStats.remove(deviceId);
             // should DEVICE_REMOVED carry removed ports?
             Map<PortNumber, Port> ports = devicePorts.get(deviceId);
             if (ports != null) {
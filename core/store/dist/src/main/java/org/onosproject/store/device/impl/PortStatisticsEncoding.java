@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact encoding of the port statistics of a device as an array of longs,
+ * holding a fixed number of fields per port.
+ */
+final class PortStatisticsEncoding {
+
+    private static final int FIELDS = 11;
+
+    // avoid instantiation
+    private PortStatisticsEncoding() {
+    }
+
+    /**
+     * Encodes the given port statistics.
+     *
+     * @param stats port statistics of a device
+     * @return encoded statistics
+     */
+    static long[] encode(Collection<PortStatistics> stats) {
+        long[] encoded = new long[stats.size() * FIELDS];
+        int i = 0;
+        for (PortStatistics s : stats) {
+            encoded[i++] = s.port();
+            encoded[i++] = s.packetsReceived();
+            encoded[i++] = s.packetsSent();
+            encoded[i++] = s.bytesReceived();
+            encoded[i++] = s.bytesSent();
+            encoded[i++] = s.packetsRxDropped();
+            encoded[i++] = s.packetsTxDropped();
+            encoded[i++] = s.packetsRxErrors();
+            encoded[i++] = s.packetsTxErrors();
+            encoded[i++] = s.durationSec();
+            encoded[i++] = s.durationNano();
+        }
+        return encoded;
+    }
+
+    /**
+     * Decodes the port statistics of the given device.
+     *
+     * @param deviceId device identifier
+     * @param encoded  encoded statistics
+     * @return port statistics keyed by port number
+     */
+    static Map<PortNumber, PortStatistics> decode(DeviceId deviceId, long[] encoded) {
+        Map<PortNumber, PortStatistics> stats = new HashMap<>();
+        for (int i = 0; i + FIELDS <= encoded.length; i += FIELDS) {
+            int port = (int) encoded[i];
+            stats.put(PortNumber.portNumber(port), DefaultPortStatistics.builder()
+                    .setDeviceId(deviceId)
+                    .setPort(port)
+                    .setPacketsReceived(encoded[i + 1])
+                    .setPacketsSent(encoded[i + 2])
+                    .setBytesReceived(encoded[i + 3])
+                    .setBytesSent(encoded[i + 4])
+                    .setPacketsRxDropped(encoded[i + 5])
+                    .setPacketsTxDropped(encoded[i + 6])
+                    .setPacketsRxErrors(encoded[i + 7])
+                    .setPacketsTxErrors(encoded[i + 8])
+                    .setDurationSec(encoded[i + 9])
+                    .setDurationNano(encoded[i + 10])
+                    .build());
+        }
+        return stats;
+    }
+}
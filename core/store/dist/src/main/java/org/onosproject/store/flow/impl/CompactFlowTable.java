@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Flow table of a device keyed by the primitive value of the flow IDs.
+ * <p>
+ * Entries live in two parallel arrays under open addressing with linear
+ * probing, so a flow ID costs a long and a reference instead of a hash
+ * node, a FlowId and a boxed Long. The table is synchronized; iteration
+ * and the collection views work on a snapshot of the table.
+ * </p>
+ */
+final class CompactFlowTable extends AbstractMap<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long MIX = 0x9E3779B97F4A7C15L;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns an empty map of the entries of a flow ID, sized for the single
+     * entry most flow IDs hold.
+     *
+     * @return concurrent map of flow entries
+     */
+    static Map<StoredFlowEntry, StoredFlowEntry> newFlowEntries() {
+        return new ConcurrentHashMap<>(1);
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        return key instanceof FlowId && values[slot(((FlowId) key).value())] != null;
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> get(Object key) {
+        return key instanceof FlowId ? valueAt(slot(((FlowId) key).value())) : null;
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> put(FlowId key,
+                                                                  Map<StoredFlowEntry, StoredFlowEntry> value) {
+        int i = slot(key.value());
+        Map<StoredFlowEntry, StoredFlowEntry> previous = valueAt(i);
+        if (previous == null) {
+            keys[i] = key.value();
+            size++;
+        }
+        values[i] = value;
+        if (previous == null && size * 4 > keys.length * 3) {
+            resize(keys.length * 2);
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> remove(Object key) {
+        if (!(key instanceof FlowId)) {
+            return null;
+        }
+        int i = slot(((FlowId) key).value());
+        Map<StoredFlowEntry, StoredFlowEntry> previous = valueAt(i);
+        if (previous != null) {
+            removeAt(i);
+            size--;
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> computeIfAbsent(
+            FlowId key, Function<? super FlowId, ? extends Map<StoredFlowEntry, StoredFlowEntry>> mappingFunction) {
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> computeIfPresent(
+            FlowId key, BiFunction<? super FlowId, ? super Map<StoredFlowEntry, StoredFlowEntry>,
+            ? extends Map<StoredFlowEntry, StoredFlowEntry>> remappingFunction) {
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> compute(
+            FlowId key, BiFunction<? super FlowId, ? super Map<StoredFlowEntry, StoredFlowEntry>,
+            ? extends Map<StoredFlowEntry, StoredFlowEntry>> remappingFunction) {
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized Map<StoredFlowEntry, StoredFlowEntry> putIfAbsent(
+            FlowId key, Map<StoredFlowEntry, StoredFlowEntry> value) {
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super FlowId, ? super Map<StoredFlowEntry, StoredFlowEntry>> action) {
+        snapshot().forEach(action);
+    }
+
+    @Override
+    public Set<Entry<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>> entrySet() {
+        return snapshot().entrySet();
+    }
+
+    private synchronized Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> snapshot() {
+        ImmutableMap.Builder<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> snapshot = ImmutableMap.builder();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                snapshot.put(FlowId.valueOf(keys[i]), valueAt(i));
+            }
+        }
+        return snapshot.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<StoredFlowEntry, StoredFlowEntry> valueAt(int i) {
+        return (Map<StoredFlowEntry, StoredFlowEntry>) values[i];
+    }
+
+    private int home(long key) {
+        return (int) ((key * MIX) >>> 32) & (keys.length - 1);
+    }
+
+    // Slot holding the key, or the free slot it would be stored in
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int i = home(key);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // Empties a slot, shifting back the entries of the probe sequence behind it
+    private void removeAt(int free) {
+        int mask = keys.length - 1;
+        int i = (free + 1) & mask;
+        while (values[i] != null) {
+            int home = home(keys[i]);
+            // the entry may move to the free slot unless its home lies cyclically in (free, i]
+            if (((i - home) & mask) >= ((i - free) & mask)) {
+                keys[free] = keys[i];
+                values[free] = values[i];
+                free = i;
+            }
+            i = (i + 1) & mask;
+        }
+        values[free] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
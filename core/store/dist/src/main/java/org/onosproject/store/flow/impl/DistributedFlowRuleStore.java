@@ -22,12 +22,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Streams;
@@ -43,7 +47,9 @@ import org.onlab.util.KryoNamespace;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
+import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
+import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreService;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.mastership.MastershipService;
@@ -65,6 +71,7 @@ import org.onosproject.net.flow.FlowRuleEvent.Type;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flow.FlowRuleStore;
 import org.onosproject.net.flow.FlowRuleStoreDelegate;
+import org.onosproject.net.flow.FlowTableDigest;
 import org.onosproject.net.flow.StoredFlowEntry;
 import org.onosproject.net.flow.TableStatisticsEntry;
 import org.onosproject.persistence.PersistenceService;
@@ -72,11 +79,13 @@ import org.onosproject.store.AbstractStore;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.ClusterMessage;
 import org.onosproject.store.cluster.messaging.ClusterMessageHandler;
+import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.flow.ReplicaInfoEvent;
 import org.onosproject.store.flow.ReplicaInfoEventListener;
 import org.onosproject.store.flow.ReplicaInfoService;
 import org.onosproject.store.impl.MastershipBasedTimestamp;
 import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.serializers.StoreSerializer;
 import org.onosproject.store.service.EventuallyConsistentMap;
 import org.onosproject.store.service.EventuallyConsistentMapEvent;
 import org.onosproject.store.service.EventuallyConsistentMapListener;
@@ -88,6 +97,7 @@ import org.slf4j.Logger;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
@@ -99,8 +109,10 @@ import static org.onosproject.net.flow.FlowRuleEvent.Type.RULE_REMOVED;
 import static org.onosproject.store.flow.ReplicaInfoEvent.Type.MASTER_CHANGED;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.APPLY_BATCH_FLOWS;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.FLOW_TABLE_BACKUP;
+import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.GET_APP_FLOW_ENTRIES;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.GET_DEVICE_FLOW_ENTRIES;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.GET_FLOW_ENTRY;
+import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.GET_GROUP_FLOW_ENTRIES;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.REMOTE_APPLY_COMPLETED;
 import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.REMOVE_FLOW_ENTRY;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -119,6 +131,7 @@ public class DistributedFlowRuleStore
     private static final int MESSAGE_HANDLER_THREAD_POOL_SIZE = 8;
     private static final int DEFAULT_MAX_BACKUP_COUNT = 2;
     private static final boolean DEFAULT_PERSISTENCE_ENABLED = false;
+    private static final boolean DEFAULT_COMPACT_STORAGE = false;
     private static final int DEFAULT_BACKUP_PERIOD_MILLIS = 2000;
     private static final long FLOW_RULE_STORE_TIMEOUT_MILLIS = 5000;
     // number of devices whose flow entries will be backed up in one communication round
@@ -139,6 +152,13 @@ public class DistributedFlowRuleStore
             label = "Max number of backup copies for each device")
     private volatile int backupCount = DEFAULT_MAX_BACKUP_COUNT;
 
+    @Property(name = "compactStorage", boolValue = DEFAULT_COMPACT_STORAGE,
+            label = "Indicates whether flow tables should use the compact in-memory representation; " +
+                    "applies to the flow tables of devices created afterwards")
+    private volatile boolean compactStorage = DEFAULT_COMPACT_STORAGE;
+
+    private final FlowRuleInterner ruleInterner = new FlowRuleInterner();
+
     private InternalFlowTable flowTable = new InternalFlowTable();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
@@ -180,7 +200,11 @@ public class DistributedFlowRuleStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected StorageService storageService;
 
-    protected final Serializer serializer = Serializer.using(KryoNamespaces.API);
+    protected final StoreSerializer serializer = StoreSerializer.using(
+            KryoNamespace.newBuilder()
+                    .register(KryoNamespaces.API)
+                    .register(FlowTableBackup.class)
+                    .build("FlowRuleStore"));
 
     protected final KryoNamespace.Builder serializerBuilder = KryoNamespace.newBuilder()
             .register(KryoNamespaces.API)
@@ -250,6 +274,7 @@ public class DistributedFlowRuleStore
         int newPoolSize;
         int newBackupPeriod;
         int newBackupCount;
+        boolean newCompactStorage;
         try {
             String s = get(properties, "msgHandlerPoolSize");
             newPoolSize = isNullOrEmpty(s) ? msgHandlerPoolSize : Integer.parseInt(s.trim());
@@ -259,10 +284,14 @@ public class DistributedFlowRuleStore
 
             s = get(properties, "backupCount");
             newBackupCount = isNullOrEmpty(s) ? backupCount : Integer.parseInt(s.trim());
+
+            s = get(properties, "compactStorage");
+            newCompactStorage = isNullOrEmpty(s) ? compactStorage : Boolean.parseBoolean(s.trim());
         } catch (NumberFormatException | ClassCastException e) {
             newPoolSize = MESSAGE_HANDLER_THREAD_POOL_SIZE;
             newBackupPeriod = DEFAULT_BACKUP_PERIOD_MILLIS;
             newBackupCount = DEFAULT_MAX_BACKUP_COUNT;
+            newCompactStorage = DEFAULT_COMPACT_STORAGE;
         }
 
         boolean restartBackupTask = false;
@@ -295,6 +324,7 @@ public class DistributedFlowRuleStore
         if (backupCount != newBackupCount) {
             backupCount = newBackupCount;
         }
+        compactStorage = newCompactStorage;
         logConfig("Reconfigured");
     }
 
@@ -308,14 +338,23 @@ public class DistributedFlowRuleStore
         clusterCommunicator.addSubscriber(
                 GET_DEVICE_FLOW_ENTRIES, serializer::decode, flowTable::getFlowEntries, serializer::encode, executor);
         clusterCommunicator.addSubscriber(
-                REMOVE_FLOW_ENTRY, serializer::decode, this::removeFlowRuleInternal, serializer::encode, executor);
+                GET_APP_FLOW_ENTRIES, serializer::decode, flowTable::getFlowEntriesByAppId,
+                serializer::encode, executor);
         clusterCommunicator.addSubscriber(
+                GET_GROUP_FLOW_ENTRIES, serializer::decode, flowTable::getFlowEntriesByGroupKey,
+                serializer::encode, executor);
+        clusterCommunicator.addSubscriber(
+                REMOVE_FLOW_ENTRY, serializer::decode, this::removeFlowRuleInternal, serializer::encode, executor);
+        // flow table backups are (de)serialized directly from/to the messaging buffers
+        clusterCommunicator.addStreamSubscriber(
                 FLOW_TABLE_BACKUP, serializer::decode, flowTable::onBackupReceipt, serializer::encode, executor);
     }
 
     private void unregisterMessageHandlers() {
         clusterCommunicator.removeSubscriber(REMOVE_FLOW_ENTRY);
         clusterCommunicator.removeSubscriber(GET_DEVICE_FLOW_ENTRIES);
+        clusterCommunicator.removeSubscriber(GET_APP_FLOW_ENTRIES);
+        clusterCommunicator.removeSubscriber(GET_GROUP_FLOW_ENTRIES);
         clusterCommunicator.removeSubscriber(GET_FLOW_ENTRY);
         clusterCommunicator.removeSubscriber(APPLY_BATCH_FLOWS);
         clusterCommunicator.removeSubscriber(REMOTE_APPLY_COMPLETED);
@@ -323,8 +362,8 @@ public class DistributedFlowRuleStore
     }
 
     private void logConfig(String prefix) {
-        log.info("{} with msgHandlerPoolSize = {}; backupPeriod = {}, backupCount = {}",
-                 prefix, msgHandlerPoolSize, backupPeriod, backupCount);
+        log.info("{} with msgHandlerPoolSize = {}; backupPeriod = {}, backupCount = {}, compactStorage = {}",
+                 prefix, msgHandlerPoolSize, backupPeriod, backupCount, compactStorage);
     }
 
     // This is not a efficient operation on a distributed sharded
@@ -389,6 +428,60 @@ public class DistributedFlowRuleStore
                                Collections.emptyList());
     }
 
+    @Override
+    public FlowTableDigest getFlowTableDigest(DeviceId deviceId) {
+        if (Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
+            return flowTable.getFlowTableDigest(deviceId);
+        }
+        return FlowRuleStore.super.getFlowTableDigest(deviceId);
+    }
+
+    @Override
+    public Iterable<FlowEntry> getFlowEntries(DeviceId deviceId, Set<Integer> buckets) {
+        if (Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
+            return flowTable.getFlowEntriesInBuckets(deviceId, buckets);
+        }
+        return FlowRuleStore.super.getFlowEntries(deviceId, buckets);
+    }
+
+    @Override
+    public Iterable<FlowEntry> getFlowEntriesByAppId(ApplicationId appId) {
+        return getFlowEntriesFromAllNodes(appId.id(), GET_APP_FLOW_ENTRIES,
+                                          flowTable::getFlowEntriesByAppId);
+    }
+
+    @Override
+    public Iterable<FlowEntry> getFlowEntriesByGroupId(ApplicationId appId, short groupId) {
+        // mirrors the upper 32 bits of the flow ID; mask off the sign extension of the shorts
+        long groupKey = ((appId.id() & 0xffffL) << 16) | (groupId & 0xffffL);
+        return getFlowEntriesFromAllNodes(groupKey, GET_GROUP_FLOW_ENTRIES,
+                                          flowTable::getFlowEntriesByGroupKey);
+    }
+
+    // Each node answers from its index for the devices it is the master of,
+    // so the query is fanned out to every active node and the answers merged.
+    private <K> Iterable<FlowEntry> getFlowEntriesFromAllNodes(K key, MessageSubject subject,
+                                                               Function<K, Set<FlowEntry>> localLookup) {
+        List<CompletableFuture<Set<FlowEntry>>> futures = clusterService.getNodes().stream()
+                .map(ControllerNode::id)
+                .filter(nodeId -> !Objects.equals(local, nodeId))
+                .filter(nodeId -> clusterService.getState(nodeId).isActive())
+                .map(nodeId -> clusterCommunicator.<K, Set<FlowEntry>>sendAndReceive(key,
+                                                                                   subject,
+                                                                                   serializer::encode,
+                                                                                   serializer::decode,
+                                                                                   nodeId))
+                .collect(Collectors.toList());
+
+        Set<FlowEntry> flowEntries = Sets.newHashSet(localLookup.apply(key));
+        futures.forEach(future -> flowEntries.addAll(
+                Tools.futureGetOrElse(future,
+                                      FLOW_RULE_STORE_TIMEOUT_MILLIS,
+                                      TimeUnit.MILLISECONDS,
+                                      Collections.emptySet())));
+        return flowEntries;
+    }
+
     @Override
     public void storeFlowRule(FlowRule rule) {
         storeBatch(new FlowRuleBatchOperation(
@@ -470,7 +563,8 @@ public class DistributedFlowRuleStore
                     StoredFlowEntry entry;
                     switch (op.operator()) {
                         case ADD:
-                            entry = new DefaultFlowEntry(op.target());
+                            entry = new DefaultFlowEntry(
+                                    compactStorage ? ruleInterner.intern(op.target()) : op.target());
                             // always add requested FlowRule
                             // Note: 2 equal FlowEntry may have different treatment
                             flowTable.remove(entry.deviceId(), entry);
@@ -482,6 +576,7 @@ public class DistributedFlowRuleStore
                             if (entry != null) {
                                 //FIXME modification of "stored" flow entry outside of flow table
                                 entry.setState(FlowEntryState.PENDING_REMOVE);
+                                flowTable.updated(entry);
                                 log.debug("Setting state of rule to pending remove: {}", entry);
                                 return op;
                             }
@@ -514,6 +609,7 @@ public class DistributedFlowRuleStore
             if (stored != null &&
                     stored.state() != FlowEntryState.PENDING_ADD) {
                 stored.setState(FlowEntryState.PENDING_ADD);
+                flowTable.updated(stored);
                 return new FlowRuleEvent(Type.RULE_UPDATED, rule);
             }
         }
@@ -544,8 +640,10 @@ public class DistributedFlowRuleStore
             stored.setLastSeen();
             if (stored.state() == FlowEntryState.PENDING_ADD) {
                 stored.setState(FlowEntryState.ADDED);
+                flowTable.updated(stored);
                 return new FlowRuleEvent(Type.RULE_ADDED, rule);
             }
+            flowTable.updated(stored);
             return new FlowRuleEvent(Type.RULE_UPDATED, rule);
         }
 
@@ -641,29 +739,16 @@ public class DistributedFlowRuleStore
         }
     }
 
-    private class BackupOperation {
-        private final NodeId nodeId;
-        private final DeviceId deviceId;
+    /**
+     * Version of a backup flow table, within the epoch of its master.
+     */
+    private static final class ReplicaVersion {
+        private final long epoch;
+        private final long version;
 
-        public BackupOperation(NodeId nodeId, DeviceId deviceId) {
-            this.nodeId = nodeId;
-            this.deviceId = deviceId;
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(nodeId, deviceId);
-        }
-
-        @Override
-        public boolean equals(Object other) {
-            if (other != null && other instanceof BackupOperation) {
-                BackupOperation that = (BackupOperation) other;
-                return this.nodeId.equals(that.nodeId) &&
-                        this.deviceId.equals(that.deviceId);
-            } else {
-                return false;
-            }
+        private ReplicaVersion(long epoch, long version) {
+            this.epoch = epoch;
+            this.version = version;
         }
     }
 
@@ -673,8 +758,19 @@ public class DistributedFlowRuleStore
         private final Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
                 flowEntries = Maps.newConcurrentMap();
 
-        private final Map<BackupOperation, Long> lastBackupTimes = Maps.newConcurrentMap();
-        private final Map<DeviceId, Long> lastUpdateTimes = Maps.newConcurrentMap();
+        // secondary indexes over flowEntries: application ID or application/group
+        // prefix of the flow ID (upper 32 bits) -> device -> flow IDs; updated
+        // along with the flow table of the device, under its lock
+        private final Map<Short, Map<DeviceId, Set<FlowId>>> flowIdsByAppId = Maps.newConcurrentMap();
+        private final Map<Long, Map<DeviceId, Set<FlowId>>> flowIdsByGroupKey = Maps.newConcurrentMap();
+
+        // per-bucket digests of each device flow table, see FlowTableDigest
+        private final Map<DeviceId, AtomicLongArray> flowTableDigests = Maps.newConcurrentMap();
+
+        // change logs of the flow tables mastered by the local node
+        private final Map<DeviceId, FlowTableBackupLog> backupLogs = Maps.newConcurrentMap();
+        // versions of the backup flow tables held by the local node
+        private final Map<DeviceId, ReplicaVersion> replicaVersions = Maps.newConcurrentMap();
 
         @Override
         public void event(ReplicaInfoEvent event) {
@@ -684,50 +780,61 @@ public class DistributedFlowRuleStore
         private void handleEvent(ReplicaInfoEvent event) {
             DeviceId deviceId = event.subject();
             if (!mastershipService.isLocalMaster(deviceId)) {
+                if (event.type() == MASTER_CHANGED) {
+                    backupLogs.remove(deviceId);
+                }
                 return;
             }
             if (event.type() == MASTER_CHANGED) {
-                lastUpdateTimes.put(deviceId, System.currentTimeMillis());
+                // a new mastership term starts a new epoch: backup nodes are sent the full table
+                backupLogs.put(deviceId, new FlowTableBackupLog(deviceId));
+                replicaVersions.remove(deviceId);
             }
             backupSenderExecutor.schedule(this::backup, 0, TimeUnit.SECONDS);
         }
 
-        private void sendBackups(NodeId nodeId, Set<DeviceId> deviceIds) {
+        private void logChange(DeviceId deviceId, FlowId flowId) {
+            backupLogs.computeIfAbsent(deviceId, FlowTableBackupLog::new).changed(flowId);
+        }
+
+        private void sendBackups(NodeId nodeId, List<FlowTableBackup> backups) {
             // split up the devices into smaller batches and send them separately.
-            Iterables.partition(deviceIds, FLOW_TABLE_BACKUP_BATCH_SIZE)
-                     .forEach(ids -> backupFlowEntries(nodeId, Sets.newHashSet(ids)));
+            Iterables.partition(backups, FLOW_TABLE_BACKUP_BATCH_SIZE)
+                     .forEach(batch -> backupFlowEntries(nodeId, Lists.newArrayList(batch)));
         }
 
-        private void backupFlowEntries(NodeId nodeId, Set<DeviceId> deviceIds) {
-            if (deviceIds.isEmpty()) {
-                return;
-            }
-            log.debug("Sending flowEntries for devices {} to {} for backup.", deviceIds, nodeId);
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    deviceFlowEntries = Maps.newConcurrentMap();
-            deviceIds.forEach(id -> deviceFlowEntries.put(id, getFlowTableCopy(id)));
-            clusterCommunicator.<Map<DeviceId,
-                                 Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>,
-                                 Set<DeviceId>>
-                    sendAndReceive(deviceFlowEntries,
-                                   FLOW_TABLE_BACKUP,
-                                   serializer::encode,
-                                   serializer::decode,
-                                   nodeId)
+        private void backupFlowEntries(NodeId nodeId, List<FlowTableBackup> backups) {
+            log.debug("Sending flow table backups {} to {}", backups, nodeId);
+            clusterCommunicator.<List<FlowTableBackup>, Set<DeviceId>>
+                    sendAndReceiveStream(backups,
+                                         FLOW_TABLE_BACKUP,
+                                         serializer::encode,
+                                         serializer::decode,
+                                         nodeId)
                     .whenComplete((backedupDevices, error) -> {
-                        Set<DeviceId> devicesNotBackedup = error != null ?
-                            deviceFlowEntries.keySet() :
-                            Sets.difference(deviceFlowEntries.keySet(), backedupDevices);
+                        Set<DeviceId> devicesNotBackedup = backups.stream()
+                                .map(FlowTableBackup::deviceId)
+                                .filter(id -> error != null || !backedupDevices.contains(id))
+                                .collect(Collectors.toSet());
                         if (devicesNotBackedup.size() > 0) {
                             log.warn("Failed to backup devices: {}. Reason: {}, Node: {}",
-                                     devicesNotBackedup, error != null ? error.getMessage() : "none",
+                                     devicesNotBackedup, error != null ? error.getMessage() : "out of sync",
                                      nodeId);
                         }
-                        if (backedupDevices != null) {
-                            backedupDevices.forEach(id -> {
-                                lastBackupTimes.put(new BackupOperation(nodeId, id), System.currentTimeMillis());
-                            });
-                        }
+                        backups.forEach(backup -> {
+                            FlowTableBackupLog changeLog = backupLogs.get(backup.deviceId());
+                            if (changeLog == null || changeLog.epoch() != backup.epoch()) {
+                                // superseded by a new mastership term
+                                return;
+                            }
+                            if (error != null) {
+                                changeLog.fail(nodeId);
+                            } else if (backedupDevices.contains(backup.deviceId())) {
+                                changeLog.acknowledge(nodeId, backup);
+                            } else {
+                                changeLog.reject(nodeId);
+                            }
+                        });
                     });
         }
 
@@ -739,54 +846,40 @@ public class DistributedFlowRuleStore
          */
         private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> getFlowTable(DeviceId deviceId) {
             if (persistenceEnabled) {
-                return flowEntries.computeIfAbsent(deviceId, id -> persistenceService
-                        .<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>persistentMapBuilder()
-                        .withName("FlowTable:" + deviceId.toString())
-                        .withSerializer(new Serializer() {
-                            @Override
-                            public <T> byte[] encode(T object) {
-                                return serializer.encode(object);
-                            }
-
-                            @Override
-                            public <T> T decode(byte[] bytes) {
-                                return serializer.decode(bytes);
-                            }
-                        })
-                        .build());
+                return flowEntries.computeIfAbsent(deviceId, this::createPersistentFlowTable);
             } else {
-                return flowEntries.computeIfAbsent(deviceId, id -> Maps.newConcurrentMap());
+                return flowEntries.computeIfAbsent(deviceId, id -> compactStorage ?
+                        new CompactFlowTable() : Maps.newConcurrentMap());
             }
         }
 
-        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> getFlowTableCopy(DeviceId deviceId) {
-            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> copy = Maps.newHashMap();
-            if (persistenceEnabled) {
-                return flowEntries.computeIfAbsent(deviceId, id -> persistenceService
-                        .<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>persistentMapBuilder()
-                        .withName("FlowTable:" + deviceId.toString())
-                        .withSerializer(new Serializer() {
-                            @Override
-                            public <T> byte[] encode(T object) {
-                                return serializer.encode(object);
-                            }
+        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> createPersistentFlowTable(DeviceId deviceId) {
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = persistenceService
+                    .<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>persistentMapBuilder()
+                    .withName("FlowTable:" + deviceId.toString())
+                    .withSerializer(new Serializer() {
+                        @Override
+                        public <T> byte[] encode(T object) {
+                            return serializer.encode(object);
+                        }
 
-                            @Override
-                            public <T> T decode(byte[] bytes) {
-                                return serializer.decode(bytes);
-                            }
-                        })
-                        .build());
-            } else {
-                flowEntries.computeIfAbsent(deviceId, id -> Maps.newConcurrentMap()).forEach((k, v) -> {
-                    copy.put(k, Maps.newHashMap(v));
-                });
-                return copy;
-            }
+                        @Override
+                        public <T> T decode(byte[] bytes) {
+                            return serializer.decode(bytes);
+                        }
+                    })
+                    .build();
+            // entries restored from disk have to be made visible to the indexes and digests
+            flowTable.values().forEach(m -> m.keySet().forEach(entry -> {
+                index(entry);
+                updateDigest(entry.deviceId(), null, entry);
+            }));
+            return flowTable;
         }
 
         private Map<StoredFlowEntry, StoredFlowEntry> getFlowEntriesInternal(DeviceId deviceId, FlowId flowId) {
-            return getFlowTable(deviceId).computeIfAbsent(flowId, id -> Maps.newConcurrentMap());
+            return getFlowTable(deviceId).computeIfAbsent(flowId, id -> compactStorage ?
+                    CompactFlowTable.newFlowEntries() : Maps.newConcurrentMap());
         }
 
         private StoredFlowEntry getFlowEntryInternal(FlowRule rule) {
@@ -807,38 +900,178 @@ public class DistributedFlowRuleStore
             return getFlowEntriesInternal(deviceId);
         }
 
+        public FlowTableDigest getFlowTableDigest(DeviceId deviceId) {
+            AtomicLongArray digests = flowTableDigests.get(deviceId);
+            long[] snapshot = new long[FlowTableDigest.NUM_BUCKETS];
+            if (digests != null) {
+                for (int i = 0; i < snapshot.length; i++) {
+                    snapshot[i] = digests.get(i);
+                }
+            }
+            return FlowTableDigest.of(snapshot);
+        }
+
+        public Set<FlowEntry> getFlowEntriesInBuckets(DeviceId deviceId, Set<Integer> buckets) {
+            Set<FlowEntry> result = Sets.newHashSet();
+            getFlowTable(deviceId).forEach((flowId, entries) -> {
+                if (buckets.contains(FlowTableDigest.bucket(flowId))) {
+                    result.addAll(entries.values());
+                }
+            });
+            return result;
+        }
+
+        private void updateDigest(DeviceId deviceId, FlowEntry removed, FlowEntry added) {
+            AtomicLongArray digests = flowTableDigests.computeIfAbsent(
+                    deviceId, id -> new AtomicLongArray(FlowTableDigest.NUM_BUCKETS));
+            if (removed != null) {
+                digests.addAndGet(FlowTableDigest.bucket(removed.id()), -FlowTableDigest.hash(removed));
+            }
+            if (added != null) {
+                digests.addAndGet(FlowTableDigest.bucket(added.id()), FlowTableDigest.hash(added));
+            }
+        }
+
+        public Set<FlowEntry> getFlowEntriesByAppId(Short appId) {
+            return getIndexedFlowEntries(flowIdsByAppId, appId, entry -> entry.appId() == appId);
+        }
+
+        public Set<FlowEntry> getFlowEntriesByGroupKey(Long groupKey) {
+            return getIndexedFlowEntries(flowIdsByGroupKey, groupKey, entry -> groupKey(entry.id()) == groupKey);
+        }
+
+        /**
+         * Returns the indexed flow entries of the devices the local node is
+         * the master of.
+         *
+         * @param index index to look up
+         * @param key index key
+         * @param matcher predicate the returned entries must satisfy
+         * @param <K> type of the index key
+         * @return set of matching flow entries
+         */
+        private <K> Set<FlowEntry> getIndexedFlowEntries(Map<K, Map<DeviceId, Set<FlowId>>> index, K key,
+                                                         Predicate<FlowEntry> matcher) {
+            Set<FlowEntry> result = Sets.newHashSet();
+            index.getOrDefault(key, Collections.emptyMap()).forEach((deviceId, flowIds) -> {
+                // tables of devices mastered elsewhere are backups, their master answers for them
+                if (!Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
+                    return;
+                }
+                Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = getFlowTable(deviceId);
+                flowIds.forEach(flowId -> {
+                    Map<StoredFlowEntry, StoredFlowEntry> entries = flowTable.get(flowId);
+                    if (entries != null) {
+                        entries.values().stream().filter(matcher).forEach(result::add);
+                    }
+                });
+            });
+            return result;
+        }
+
+        private long groupKey(FlowId flowId) {
+            return flowId.value() >>> 32;
+        }
+
+        private void index(FlowEntry rule) {
+            index(flowIdsByAppId, rule.appId(), rule.deviceId(), rule.id());
+            index(flowIdsByGroupKey, groupKey(rule.id()), rule.deviceId(), rule.id());
+        }
+
+        private <K> void index(Map<K, Map<DeviceId, Set<FlowId>>> index, K key, DeviceId deviceId, FlowId flowId) {
+            index.compute(key, (k, flowIds) -> {
+                Map<DeviceId, Set<FlowId>> deviceFlowIds = flowIds != null ? flowIds : Maps.newConcurrentMap();
+                deviceFlowIds.computeIfAbsent(deviceId, id -> Sets.newConcurrentHashSet()).add(flowId);
+                return deviceFlowIds;
+            });
+        }
+
+        // to be called under the lock of the device flow table, along with the change of the table
+        private void unindex(DeviceId deviceId, FlowEntry rule) {
+            // several entries may share a flow ID; keep it indexed while any of them is left
+            Map<StoredFlowEntry, StoredFlowEntry> remaining = getFlowTable(deviceId).get(rule.id());
+            if (remaining == null || remaining.isEmpty()) {
+                unindex(flowIdsByAppId, rule.appId(), deviceId, rule.id());
+                unindex(flowIdsByGroupKey, groupKey(rule.id()), deviceId, rule.id());
+            }
+        }
+
+        private <K> void unindex(Map<K, Map<DeviceId, Set<FlowId>>> index, K key, DeviceId deviceId, FlowId flowId) {
+            index.computeIfPresent(key, (k, deviceFlowIds) -> {
+                deviceFlowIds.computeIfPresent(deviceId, (id, flowIds) -> {
+                    flowIds.remove(flowId);
+                    return flowIds.isEmpty() ? null : flowIds;
+                });
+                return deviceFlowIds.isEmpty() ? null : deviceFlowIds;
+            });
+        }
+
+        private void unindex(DeviceId deviceId) {
+            unindex(flowIdsByAppId, deviceId);
+            unindex(flowIdsByGroupKey, deviceId);
+        }
+
+        private <K> void unindex(Map<K, Map<DeviceId, Set<FlowId>>> index, DeviceId deviceId) {
+            index.keySet().forEach(key -> index.computeIfPresent(key, (k, deviceFlowIds) -> {
+                deviceFlowIds.remove(deviceId);
+                return deviceFlowIds.isEmpty() ? null : deviceFlowIds;
+            }));
+        }
+
         public void add(FlowEntry rule) {
-            getFlowEntriesInternal(rule.deviceId(), rule.id())
-                    .compute((StoredFlowEntry) rule, (k, stored) -> {
-                        //TODO compare stored and rule timestamps
-                        //TODO the key is not updated
-                        return (StoredFlowEntry) rule;
-                    });
-            lastUpdateTimes.put(rule.deviceId(), System.currentTimeMillis());
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = getFlowTable(rule.deviceId());
+            synchronized (flowTable) {
+                getFlowEntriesInternal(rule.deviceId(), rule.id())
+                        .compute((StoredFlowEntry) rule, (k, stored) -> {
+                            //TODO compare stored and rule timestamps
+                            //TODO the key is not updated
+                            updateDigest(rule.deviceId(), stored, rule);
+                            return (StoredFlowEntry) rule;
+                        });
+                index(rule);
+            }
+            logChange(rule.deviceId(), rule.id());
+        }
+
+        /**
+         * Records an update made in place to the state or statistics of a
+         * stored flow entry, so that the next delta backup carries it.
+         *
+         * @param entry updated flow entry
+         */
+        public void updated(StoredFlowEntry entry) {
+            logChange(entry.deviceId(), entry.id());
         }
 
         public FlowEntry remove(DeviceId deviceId, FlowEntry rule) {
             final AtomicReference<FlowEntry> removedRule = new AtomicReference<>();
-            getFlowEntriesInternal(rule.deviceId(), rule.id())
-                .computeIfPresent((StoredFlowEntry) rule, (k, stored) -> {
-                    if (rule instanceof DefaultFlowEntry) {
-                        DefaultFlowEntry toRemove = (DefaultFlowEntry) rule;
-                        if (stored instanceof DefaultFlowEntry) {
-                            DefaultFlowEntry storedEntry = (DefaultFlowEntry) stored;
-                            if (toRemove.created() < storedEntry.created()) {
-                                log.debug("Trying to remove more recent flow entry {} (stored: {})",
-                                          toRemove, stored);
-                                // the key is not updated, removedRule remains null
-                                return stored;
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = getFlowTable(rule.deviceId());
+            synchronized (flowTable) {
+                getFlowEntriesInternal(rule.deviceId(), rule.id())
+                    .computeIfPresent((StoredFlowEntry) rule, (k, stored) -> {
+                        if (rule instanceof DefaultFlowEntry) {
+                            DefaultFlowEntry toRemove = (DefaultFlowEntry) rule;
+                            if (stored instanceof DefaultFlowEntry) {
+                                DefaultFlowEntry storedEntry = (DefaultFlowEntry) stored;
+                                if (toRemove.created() < storedEntry.created()) {
+                                    log.debug("Trying to remove more recent flow entry {} (stored: {})",
+                                              toRemove, stored);
+                                    // the key is not updated, removedRule remains null
+                                    return stored;
+                                }
                             }
                         }
-                    }
-                    removedRule.set(stored);
-                    return null;
-                });
+                        removedRule.set(stored);
+                        return null;
+                    });
+                if (removedRule.get() != null) {
+                    unindex(deviceId, removedRule.get());
+                }
+            }
 
             if (removedRule.get() != null) {
-                lastUpdateTimes.put(deviceId, System.currentTimeMillis());
+                updateDigest(deviceId, removedRule.get(), null);
+                logChange(deviceId, rule.id());
                 return removedRule.get();
             } else {
                 return null;
@@ -846,11 +1079,26 @@ public class DistributedFlowRuleStore
         }
 
         public void purgeFlowRule(DeviceId deviceId) {
-            flowEntries.remove(deviceId);
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = flowEntries.remove(deviceId);
+            flowTableDigests.remove(deviceId);
+            if (flowTable != null) {
+                synchronized (flowTable) {
+                    unindex(deviceId);
+                }
+            } else {
+                unindex(deviceId);
+            }
+            backupLogs.remove(deviceId);
+            replicaVersions.remove(deviceId);
         }
 
         public void purgeFlowRules() {
             flowEntries.clear();
+            flowIdsByAppId.clear();
+            flowIdsByGroupKey.clear();
+            flowTableDigests.clear();
+            backupLogs.clear();
+            replicaVersions.clear();
         }
 
         private List<NodeId> getBackupNodes(DeviceId deviceId) {
@@ -862,45 +1110,97 @@ public class DistributedFlowRuleStore
 
         private void backup() {
             try {
-                // compute a mapping from node to the set of devices whose flow entries it should backup
-                Map<NodeId, Set<DeviceId>> devicesToBackupByNode = Maps.newHashMap();
-                flowEntries.keySet().forEach(deviceId -> {
+                // compute the backups each node should be sent from the change logs of the device flow tables
+                Map<NodeId, List<FlowTableBackup>> backupsByNode = Maps.newHashMap();
+                backupLogs.forEach((deviceId, changeLog) -> {
+                    if (!mastershipService.isLocalMaster(deviceId)) {
+                        backupLogs.remove(deviceId, changeLog);
+                        return;
+                    }
                     List<NodeId> backupNodes = getBackupNodes(deviceId);
+                    changeLog.retain(backupNodes);
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = getFlowTable(deviceId);
                     backupNodes.forEach(backupNode -> {
-                            if (lastBackupTimes.getOrDefault(new BackupOperation(backupNode, deviceId), 0L)
-                                    < lastUpdateTimes.getOrDefault(deviceId, 0L)) {
-                                devicesToBackupByNode.computeIfAbsent(backupNode,
-                                                                      nodeId -> Sets.newHashSet()).add(deviceId);
-                            }
+                        FlowTableBackup backup = changeLog.nextBackup(backupNode, flowTable);
+                        if (backup != null) {
+                            backupsByNode.computeIfAbsent(backupNode, nodeId -> Lists.newArrayList()).add(backup);
+                        }
                     });
                 });
-                // send the device flow entries to their respective backup nodes
-                devicesToBackupByNode.forEach(this::sendBackups);
+                // send the backups to their respective backup nodes
+                backupsByNode.forEach(this::sendBackups);
             } catch (Exception e) {
                 log.error("Backup failed.", e);
             }
         }
 
-        private Set<DeviceId> onBackupReceipt(Map<DeviceId,
-                Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>> flowTables) {
-            log.debug("Received flowEntries for {} to backup", flowTables.keySet());
+        private Set<DeviceId> onBackupReceipt(List<FlowTableBackup> backups) {
+            log.debug("Received flow table backups {}", backups);
             Set<DeviceId> backedupDevices = Sets.newHashSet();
             try {
-                flowTables.forEach((deviceId, deviceFlowTable) -> {
+                backups.forEach(backup -> {
+                    DeviceId deviceId = backup.deviceId();
                     // Only process those devices are that not managed by the local node.
-                    if (!Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
-                        Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> backupFlowTable =
-                                getFlowTable(deviceId);
-                        backupFlowTable.clear();
-                        backupFlowTable.putAll(deviceFlowTable);
-                        backedupDevices.add(deviceId);
+                    if (Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
+                        return;
                     }
+                    ReplicaVersion replica = replicaVersions.get(deviceId);
+                    if (backup.isFull()) {
+                        applyFullBackup(backup);
+                        replicaVersions.put(deviceId, new ReplicaVersion(backup.epoch(), backup.version()));
+                    } else if (replica != null && replica.epoch == backup.epoch()
+                            && replica.version >= backup.baseVersion()) {
+                        // the changes are the current entries of each flow ID, so they can be re-applied
+                        applyDeltaBackup(backup);
+                        replicaVersions.put(deviceId, new ReplicaVersion(
+                                backup.epoch(), Math.max(replica.version, backup.version())));
+                    } else {
+                        log.debug("Backup of {} is out of sync, awaiting a full backup", deviceId);
+                        return;
+                    }
+                    backedupDevices.add(deviceId);
                 });
             } catch (Exception e) {
                 log.warn("Failure processing backup request", e);
             }
             return backedupDevices;
         }
+
+        private void applyFullBackup(FlowTableBackup backup) {
+            DeviceId deviceId = backup.deviceId();
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> backupFlowTable = getFlowTable(deviceId);
+            synchronized (backupFlowTable) {
+                backupFlowTable.clear();
+                unindex(deviceId);
+                flowTableDigests.remove(deviceId);
+                backupFlowTable.putAll(backup.flowEntries());
+                backup.flowEntries().values().forEach(m -> m.keySet().forEach(entry -> {
+                    index(entry);
+                    updateDigest(deviceId, null, entry);
+                }));
+            }
+        }
+
+        private void applyDeltaBackup(FlowTableBackup backup) {
+            DeviceId deviceId = backup.deviceId();
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> backupFlowTable = getFlowTable(deviceId);
+            synchronized (backupFlowTable) {
+                backup.flowEntries().forEach((flowId, entries) -> {
+                    Map<StoredFlowEntry, StoredFlowEntry> previous = entries.isEmpty() ?
+                            backupFlowTable.remove(flowId) : backupFlowTable.put(flowId, entries);
+                    if (previous != null) {
+                        previous.keySet().forEach(entry -> {
+                            updateDigest(deviceId, entry, null);
+                            unindex(deviceId, entry);
+                        });
+                    }
+                    entries.keySet().forEach(entry -> {
+                        index(entry);
+                        updateDigest(deviceId, null, entry);
+                    });
+                });
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.onosproject.net.flow.criteria.Criterion;
+
+import java.util.Objects;
+
+/**
+ * Shares the selectors and treatments of stored flow rules, as large flow
+ * tables hold many rules with equal treatments, and selectors which differ
+ * in a few of their criteria.
+ * <p>
+ * Interned instances are weakly held, so they are released along with the
+ * last rule using them.
+ * </p>
+ */
+final class FlowRuleInterner {
+
+    private static final GroupId NO_GROUP = new GroupId(0);
+
+    private final Interner<Criterion> criteria = Interners.newWeakInterner();
+    private final Interner<TrafficSelector> selectors = Interners.newWeakInterner();
+    private final Interner<TrafficTreatment> treatments = Interners.newWeakInterner();
+
+    /**
+     * Returns a rule equal to the given one, using the interned instances
+     * of its selector, of the criteria of the selector, and of its
+     * treatment. Third-party rules carrying a payload or a group are
+     * returned as is.
+     *
+     * @param rule flow rule
+     * @return flow rule sharing its selector and treatment
+     */
+    FlowRule intern(FlowRule rule) {
+        if (rule.payLoad() != null || !NO_GROUP.equals(rule.groupId())) {
+            return rule;
+        }
+        TrafficSelector selector = intern(rule.selector());
+        TrafficTreatment treatment = intern(rule.treatment());
+        if (selector == rule.selector() && treatment == rule.treatment()) {
+            return rule;
+        }
+        FlowRule.Builder builder = DefaultFlowRule.builder()
+                .withCookie(rule.id().value())
+                .forDevice(rule.deviceId())
+                .forTable(rule.table())
+                .withPriority(rule.priority())
+                .withSelector(selector)
+                .withTreatment(treatment)
+                .withReason(rule.reason());
+        // the hard timeout also sets the idle timeout, which is set last
+        if (rule.hardTimeout() != 0) {
+            builder.withHardTimeout(rule.hardTimeout());
+        }
+        if (rule.isPermanent()) {
+            builder.makePermanent();
+        } else {
+            builder.makeTemporary(rule.timeout());
+        }
+        return builder.build();
+    }
+
+    private TrafficSelector intern(TrafficSelector selector) {
+        TrafficSelector.Builder builder = DefaultTrafficSelector.builder();
+        selector.criteria().forEach(criterion -> builder.add(criteria.intern(criterion)));
+        return selectors.intern(builder.build());
+    }
+
+    private TrafficTreatment intern(TrafficTreatment treatment) {
+        if (treatment == null) {
+            return null;
+        }
+        TrafficTreatment interned = treatments.intern(treatment);
+        // treatment equality ignores the meter and clear deferred instructions
+        if (interned.clearedDeferred() != treatment.clearedDeferred()
+                || !Objects.equals(interned.metered(), treatment.metered())) {
+            return treatment;
+        }
+        return interned;
+    }
+}
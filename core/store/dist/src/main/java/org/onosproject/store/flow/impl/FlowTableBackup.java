@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+
+import java.util.Map;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Backup of the flow table of a device, sent by the master of the device to
+ * its backup nodes.
+ * <p>
+ * A backup is either the full flow table or a delta holding the current
+ * entries of the flow IDs changed since a base version of the table; flow
+ * IDs with no entries left were removed. Versions are only meaningful within
+ * an epoch, which identifies the change log of one mastership term.
+ * </p>
+ */
+final class FlowTableBackup {
+
+    /**
+     * Base version of full backups.
+     */
+    static final long FULL = -1;
+
+    private final DeviceId deviceId;
+    private final long epoch;
+    private final long baseVersion;
+    private final long version;
+    private final Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowEntries;
+
+    /**
+     * Creates a flow table backup.
+     *
+     * @param deviceId    device identifier
+     * @param epoch       epoch of the flow table versions
+     * @param baseVersion version the backup applies to, or {@link #FULL}
+     * @param version     version of the flow table once applied
+     * @param flowEntries entries of the backed up flow IDs
+     */
+    FlowTableBackup(DeviceId deviceId, long epoch, long baseVersion, long version,
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowEntries) {
+        this.deviceId = deviceId;
+        this.epoch = epoch;
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.flowEntries = flowEntries;
+    }
+
+    DeviceId deviceId() {
+        return deviceId;
+    }
+
+    long epoch() {
+        return epoch;
+    }
+
+    long baseVersion() {
+        return baseVersion;
+    }
+
+    long version() {
+        return version;
+    }
+
+    boolean isFull() {
+        return baseVersion == FULL;
+    }
+
+    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowEntries() {
+        return flowEntries;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("deviceId", deviceId)
+                .add("epoch", epoch)
+                .add("baseVersion", baseVersion)
+                .add("version", version)
+                .add("flowIds", flowEntries.size())
+                .toString();
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.Maps;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.onosproject.store.flow.impl.FlowTableBackup.FULL;
+
+/**
+ * Versioned change log of the flow table of a device mastered by the local
+ * node, from which the backups sent to each backup node are computed.
+ * <p>
+ * Every change to the flow table bumps its version and records it against
+ * the changed flow ID. A backup node which has acknowledged a version is
+ * sent the entries of the flow IDs changed since then; a node with no
+ * acknowledged version, or whose replica turned out to be out of sync, is
+ * sent the full table. Changes are forgotten once all backup nodes have
+ * acknowledged them. At most one backup is in flight per backup node.
+ * </p>
+ */
+final class FlowTableBackupLog {
+
+    private final DeviceId deviceId;
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+
+    private long version;
+    // flow ID -> version of its latest change
+    private final Map<FlowId, Long> changes = Maps.newHashMap();
+    // backup node -> flow table version it holds
+    private final Map<NodeId, Long> acknowledged = Maps.newHashMap();
+    // backup node -> version of the backup being sent to it
+    private final Map<NodeId, Long> inFlight = Maps.newHashMap();
+
+    /**
+     * Creates an empty change log for the flow table of the given device.
+     *
+     * @param deviceId device identifier
+     */
+    FlowTableBackupLog(DeviceId deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Returns the epoch of the flow table versions.
+     *
+     * @return epoch
+     */
+    long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the current version of the flow table.
+     *
+     * @return flow table version
+     */
+    synchronized long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of changes not yet acknowledged by all backup nodes.
+     *
+     * @return number of changed flow IDs in the log
+     */
+    synchronized int size() {
+        return changes.size();
+    }
+
+    /**
+     * Records a change to the entries of a flow ID. Must be called after the
+     * flow table has been updated.
+     *
+     * @param flowId changed flow ID
+     */
+    synchronized void changed(FlowId flowId) {
+        changes.put(flowId, ++version);
+    }
+
+    /**
+     * Returns the backup to send to the given node.
+     *
+     * @param nodeId    backup node identifier
+     * @param flowTable flow table of the device
+     * @return flow table backup, or null if the node is up to date or a
+     * backup is already in flight to it
+     */
+    synchronized FlowTableBackup nextBackup(NodeId nodeId,
+                                            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable) {
+        Long base = acknowledged.get(nodeId);
+        if ((base != null && base == version) || inFlight.containsKey(nodeId)) {
+            return null;
+        }
+        Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowEntries = Maps.newHashMap();
+        if (base == null) {
+            flowTable.forEach((flowId, entries) -> flowEntries.put(flowId, Maps.newHashMap(entries)));
+        } else {
+            changes.forEach((flowId, changeVersion) -> {
+                if (changeVersion > base) {
+                    Map<StoredFlowEntry, StoredFlowEntry> entries = flowTable.get(flowId);
+                    flowEntries.put(flowId, entries != null ? Maps.newHashMap(entries) : Maps.newHashMap());
+                }
+            });
+        }
+        inFlight.put(nodeId, version);
+        return new FlowTableBackup(deviceId, epoch, base != null ? base : FULL, version, flowEntries);
+    }
+
+    /**
+     * Records that a backup node has applied a backup.
+     *
+     * @param nodeId backup node identifier
+     * @param backup applied backup
+     */
+    synchronized void acknowledge(NodeId nodeId, FlowTableBackup backup) {
+        inFlight.remove(nodeId);
+        acknowledged.merge(nodeId, backup.version(), Math::max);
+        prune();
+    }
+
+    /**
+     * Records that a backup node rejected a backup as its replica is out of
+     * sync; the node is sent the full table next.
+     *
+     * @param nodeId backup node identifier
+     */
+    synchronized void reject(NodeId nodeId) {
+        inFlight.remove(nodeId);
+        acknowledged.remove(nodeId);
+    }
+
+    /**
+     * Records that a backup could not be delivered; the node is sent the
+     * changes since its last acknowledged version next.
+     *
+     * @param nodeId backup node identifier
+     */
+    synchronized void fail(NodeId nodeId) {
+        inFlight.remove(nodeId);
+    }
+
+    /**
+     * Forgets the nodes which are no longer backup nodes of the device, along
+     * with the changes all remaining backup nodes hold.
+     *
+     * @param backupNodes current backup nodes
+     */
+    synchronized void retain(Collection<NodeId> backupNodes) {
+        acknowledged.keySet().retainAll(backupNodes);
+        inFlight.keySet().retainAll(backupNodes);
+        prune();
+    }
+
+    // Drops the changes every known backup node holds or is being sent
+    private void prune() {
+        long floor = version;
+        for (long acked : acknowledged.values()) {
+            floor = Math.min(floor, acked);
+        }
+        for (long sending : inFlight.values()) {
+            floor = Math.min(floor, sending);
+        }
+        final long prunable = floor;
+        changes.values().removeIf(changeVersion -> changeVersion <= prunable);
+    }
+}
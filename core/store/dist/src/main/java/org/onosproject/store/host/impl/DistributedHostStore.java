@@ -16,6 +16,7 @@
 package org.onosproject.store.host.impl;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 import org.apache.felix.scr.annotations.Activate;
@@ -51,7 +52,6 @@ import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.DistributedPrimitive.Status;
 import org.slf4j.Logger;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
@@ -60,8 +60,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -88,6 +87,10 @@ public class DistributedHostStore
     private ConsistentMap<HostId, DefaultHost> hostsConsistentMap;
     private Map<HostId, DefaultHost> hosts;
     private Map<IpAddress, Set<Host>> hostsByIp;
+    private Map<MacAddress, Map<HostId, Host>> hostsByMac;
+    private Map<VlanId, Map<HostId, Host>> hostsByVlan;
+    private Map<ConnectPoint, Map<HostId, Host>> hostsByLocation;
+    private Map<DeviceId, Map<HostId, Host>> hostsByDevice;
 
     private MapEventListener<HostId, DefaultHost> hostLocationTracker =
             new HostLocationTracker();
@@ -115,11 +118,11 @@ public class DistributedHostStore
         executor = newSingleThreadScheduledExecutor(groupedThreads("onos/hosts", "store", log));
         statusChangeListener = status -> {
             if (status == Status.ACTIVE) {
-                executor.execute(this::loadHostsByIp);
+                executor.execute(this::loadHostIndexes);
             }
         };
         hostsConsistentMap.addStatusChangeListener(statusChangeListener);
-        loadHostsByIp();
+        loadHostIndexes();
         log.info("Started");
     }
 
@@ -130,8 +133,12 @@ public class DistributedHostStore
         log.info("Stopped");
     }
 
-    private void loadHostsByIp() {
+    private void loadHostIndexes() {
         hostsByIp = new ConcurrentHashMap<IpAddress, Set<Host>>();
+        hostsByMac = new ConcurrentHashMap<>();
+        hostsByVlan = new ConcurrentHashMap<>();
+        hostsByLocation = new ConcurrentHashMap<>();
+        hostsByDevice = new ConcurrentHashMap<>();
         hostsConsistentMap.asJavaMap().values().forEach(host -> {
             host.ipAddresses().forEach(ip -> {
                 Set<Host> existingHosts = hostsByIp.get(ip);
@@ -141,6 +148,7 @@ public class DistributedHostStore
                     existingHosts.add(host);
                 }
             });
+            updateHostIndexes(null, host);
         });
     }
 
@@ -302,12 +310,12 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getHosts(VlanId vlanId) {
-        return filter(hosts.values(), host -> Objects.equals(host.vlan(), vlanId));
+        return lookup(hostsByVlan, vlanId);
     }
 
     @Override
     public Set<Host> getHosts(MacAddress mac) {
-        return filter(hosts.values(), host -> Objects.equals(host.mac(), mac));
+        return lookup(hostsByMac, mac);
     }
 
     @Override
@@ -318,25 +326,17 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getConnectedHosts(ConnectPoint connectPoint) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().locations().contains(connectPoint))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return lookup(hostsByLocation, connectPoint);
     }
 
     @Override
     public Set<Host> getConnectedHosts(DeviceId deviceId) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().locations().stream()
-                        .map(HostLocation::deviceId).anyMatch(dpid -> dpid.equals(deviceId)))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return lookup(hostsByDevice, deviceId);
     }
 
-    private Set<Host> filter(Collection<DefaultHost> collection, Predicate<DefaultHost> predicate) {
-        return collection.stream().filter(predicate).collect(Collectors.toSet());
+    private <K> Set<Host> lookup(Map<K, Map<HostId, Host>> index, K key) {
+        Map<HostId, Host> indexed = index.get(key);
+        return indexed != null ? ImmutableSet.copyOf(indexed.values()) : ImmutableSet.of();
     }
 
     private Set<Host> addHosts(Host host) {
@@ -391,6 +391,41 @@ public class DistributedHostStore
         hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host));
     }
 
+    /**
+     * Updates the MAC, VLAN, location and device indexes for a host that
+     * changed from the previous to the current version.
+     *
+     * @param prevHost previous version of the host; null if the host is new
+     * @param host     current version of the host; null if the host was removed
+     */
+    private void updateHostIndexes(Host prevHost, Host host) {
+        updateHostIndex(hostsByMac, prevHost, host, h -> ImmutableSet.of(h.mac()));
+        updateHostIndex(hostsByVlan, prevHost, host, h -> ImmutableSet.of(h.vlan()));
+        updateHostIndex(hostsByLocation, prevHost, host, h -> ImmutableSet.copyOf(h.locations()));
+        updateHostIndex(hostsByDevice, prevHost, host, h -> h.locations().stream()
+                .map(HostLocation::deviceId)
+                .collect(ImmutableSet.toImmutableSet()));
+    }
+
+    private static <K> void updateHostIndex(Map<K, Map<HostId, Host>> index,
+                                            Host prevHost, Host host,
+                                            Function<Host, Set<? extends K>> keysOf) {
+        Set<? extends K> keys = host != null ? keysOf.apply(host) : ImmutableSet.of();
+        if (prevHost != null) {
+            keysOf.apply(prevHost).stream()
+                    .filter(key -> !keys.contains(key))
+                    .forEach(key -> index.computeIfPresent(key, (k, indexed) -> {
+                        indexed.remove(prevHost.id());
+                        return indexed.isEmpty() ? null : indexed;
+                    }));
+        }
+        keys.forEach(key -> index.compute(key, (k, indexed) -> {
+            Map<HostId, Host> result = indexed != null ? indexed : Maps.newConcurrentMap();
+            result.put(host.id(), host);
+            return result;
+        }));
+    }
+
     private class HostLocationTracker implements MapEventListener<HostId, DefaultHost> {
         @Override
         public void event(MapEvent<HostId, DefaultHost> event) {
@@ -398,11 +433,13 @@ public class DistributedHostStore
             switch (event.type()) {
                 case INSERT:
                     updateHostsByIp(host);
+                    updateHostIndexes(null, host);
                     notifyDelegate(new HostEvent(HOST_ADDED, host));
                     break;
                 case UPDATE:
                     updateHostsByIp(host);
                     DefaultHost prevHost = checkNotNull(event.oldValue().value());
+                    updateHostIndexes(prevHost, host);
                     if (!Objects.equals(prevHost.locations(), host.locations())) {
                         notifyDelegate(new HostEvent(HOST_MOVED, host, prevHost));
                     } else if (!Objects.equals(prevHost, host)) {
@@ -411,6 +448,7 @@ public class DistributedHostStore
                     break;
                 case REMOVE:
                     removeHostsByIp(host);
+                    updateHostIndexes(host, null);
                     notifyDelegate(new HostEvent(HOST_REMOVED, host));
                     break;
                 default:
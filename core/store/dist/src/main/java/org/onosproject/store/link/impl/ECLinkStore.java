@@ -15,12 +15,10 @@
  */
 package org.onosproject.store.link.impl;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.felix.scr.annotations.Activate;
@@ -117,6 +115,12 @@ public class ECLinkStore
 
     private final Map<LinkKey, Link> links = Maps.newConcurrentMap();
     private final Map<LinkKey, Set<ProviderId>> linkProviders = Maps.newConcurrentMap();
+
+    // Indexes of the keys of the links in the cache by their end-points
+    private final Map<DeviceId, Set<LinkKey>> egressLinksByDevice = Maps.newConcurrentMap();
+    private final Map<DeviceId, Set<LinkKey>> ingressLinksByDevice = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> egressLinksByPoint = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> ingressLinksByPoint = Maps.newConcurrentMap();
     private EventuallyConsistentMap<Provided<LinkKey>, LinkDescription> linkDescriptions;
 
 
@@ -200,7 +204,7 @@ public class ECLinkStore
         linkDescriptions.removeListener(linkTracker);
         linkDescriptions.destroy();
         linkProviders.clear();
-        links.clear();
+        clearLinkCache();
         clusterCommunicator.removeSubscriber(LINK_INJECT_MESSAGE);
         netCfgService.removeListener(cfgListener);
         netCfgService.unregisterConfigFactory(factory);
@@ -220,12 +224,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getDeviceEgressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.src().deviceId()));
+        return lookup(egressLinksByDevice, deviceId);
     }
 
     @Override
     public Set<Link> getDeviceIngressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.dst().deviceId()));
+        return lookup(ingressLinksByDevice, deviceId);
     }
 
     @Override
@@ -235,12 +239,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getEgressLinks(ConnectPoint src) {
-        return filter(links.values(), link -> src.equals(link.src()));
+        return lookup(egressLinksByPoint, src);
     }
 
     @Override
     public Set<Link> getIngressLinks(ConnectPoint dst) {
-        return filter(links.values(), link -> dst.equals(link.dst()));
+        return lookup(ingressLinksByPoint, dst);
     }
 
     @Override
@@ -322,10 +326,14 @@ public class ECLinkStore
         Link link = links.compute(linkKey, (key, existingLink) -> {
             Link newLink = composeLink(linkKey);
             if (newLink == null) {
+                if (existingLink != null) {
+                    unindexLink(key);
+                }
                 return null;
             }
             if (existingLink == null) {
                 eventType.set(LINK_ADDED);
+                indexLink(key);
                 return newLink;
             } else if (existingLink.state() != newLink.state() ||
                     existingLink.isExpected() != newLink.isExpected() ||
@@ -417,7 +425,12 @@ public class ECLinkStore
                 (oldLink.type() == INDIRECT && newLink.type() == DIRECT) ||
                 !AnnotationsUtil.isEqual(oldLink.annotations(), newLink.annotations())) {
 
-            links.put(key, newLink);
+            links.compute(key, (k, existingLink) -> {
+                if (existingLink == null) {
+                    indexLink(k);
+                }
+                return newLink;
+            });
             return new LinkEvent(LINK_UPDATED, newLink);
         }
         return null;
@@ -464,7 +477,13 @@ public class ECLinkStore
     }
 
     private LinkEvent purgeLinkCache(LinkKey linkKey) {
-        Link removedLink = links.remove(linkKey);
+        AtomicReference<Link> removed = new AtomicReference<>();
+        links.computeIfPresent(linkKey, (key, existingLink) -> {
+            unindexLink(key);
+            removed.set(existingLink);
+            return null;
+        });
+        Link removedLink = removed.get();
         if (removedLink != null) {
             getAllProviders(linkKey).forEach(p -> linkDescriptions.remove(new Provided<>(linkKey, p)));
             linkProviders.remove(linkKey);
@@ -473,8 +492,54 @@ public class ECLinkStore
         return null;
     }
 
-    private Set<Link> filter(Collection<Link> links, Predicate<Link> predicate) {
-        return links.stream().filter(predicate).collect(Collectors.toSet());
+    // Guarded by the links map entry of the link key
+    private void indexLink(LinkKey linkKey) {
+        addToIndex(egressLinksByDevice, linkKey.src().deviceId(), linkKey);
+        addToIndex(ingressLinksByDevice, linkKey.dst().deviceId(), linkKey);
+        addToIndex(egressLinksByPoint, linkKey.src(), linkKey);
+        addToIndex(ingressLinksByPoint, linkKey.dst(), linkKey);
+    }
+
+    // Guarded by the links map entry of the link key
+    private void unindexLink(LinkKey linkKey) {
+        removeFromIndex(egressLinksByDevice, linkKey.src().deviceId(), linkKey);
+        removeFromIndex(ingressLinksByDevice, linkKey.dst().deviceId(), linkKey);
+        removeFromIndex(egressLinksByPoint, linkKey.src(), linkKey);
+        removeFromIndex(ingressLinksByPoint, linkKey.dst(), linkKey);
+    }
+
+    private static <K> void addToIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.compute(key, (k, keys) -> {
+            Set<LinkKey> result = keys == null ? Sets.newConcurrentHashSet() : keys;
+            result.add(linkKey);
+            return result;
+        });
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.computeIfPresent(key, (k, keys) -> {
+            keys.remove(linkKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private <K> Set<Link> lookup(Map<K, Set<LinkKey>> index, K key) {
+        Set<LinkKey> linkKeys = index.get(key);
+        if (linkKeys == null) {
+            return Sets.newHashSet();
+        }
+        return linkKeys.stream()
+                .map(links::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void clearLinkCache() {
+        links.clear();
+        egressLinksByDevice.clear();
+        ingressLinksByDevice.clear();
+        egressLinksByPoint.clear();
+        ingressLinksByPoint.clear();
     }
 
     private LinkEvent injectLink(Provided<LinkDescription> linkInjectRequest) {
@@ -521,7 +586,7 @@ public class ECLinkStore
                     linkDescriptions.clear();
                 }
                 if (links != null) {
-                    links.clear();
+                    clearLinkCache();
                 }
             }
             log.debug("config set link discovery mode to {}",
@@ -106,6 +106,7 @@ public class ConsistentDeviceMastershipStore
 
     private static final String NODE_ID_NULL = "Node ID cannot be null";
     private static final String DEVICE_ID_NULL = "Device ID cannot be null";
+    private static final String MASTERS_NULL = "Masters cannot be null";
     private static final int WAIT_BEFORE_MASTERSHIP_HANDOFF_MILLIS = 3000;
 
     public static final StoreSerializer SERIALIZER = StoreSerializer.using(
@@ -235,6 +236,22 @@ public class ConsistentDeviceMastershipStore
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    public CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+        checkArgument(masters != null, MASTERS_NULL);
+
+        // Topics of a partition are promoted, and later handed off, by a single elector operation
+        Map<String, NodeId> candidates = Maps.newHashMap();
+        masters.forEach((deviceId, nodeId) -> candidates.put(createDeviceMastershipTopic(deviceId), nodeId));
+        Set<String> promoted = leadershipAdminService.promoteToTopOfCandidateList(candidates);
+        if (!promoted.isEmpty()) {
+            Map<String, NodeId> leaders = Maps.newHashMap(Maps.filterKeys(candidates, promoted::contains));
+            transferExecutor.schedule(() -> leadershipAdminService.transferLeadership(leaders),
+                    WAIT_BEFORE_MASTERSHIP_HANDOFF_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return CompletableFuture.completedFuture(ImmutableList.of());
+    }
+
     @Override
     public MastershipTerm getTermFor(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
@@ -23,13 +23,17 @@ import org.onosproject.net.resource.DiscreteResourceId;
 import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.store.service.ConsistentMap;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
 import org.onosproject.store.service.Versioned;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -123,6 +127,37 @@ class ConsistentContinuousResourceSubStore implements ConsistentResourceSubStore
         return allocation.value().hasEnoughResource(resource);
     }
 
+    /**
+     * Records in the given snapshot the volume left of the specified
+     * resources, reading the registrations and the allocations at once.
+     *
+     * @param ids      IDs of the resources
+     * @param snapshot snapshot builder
+     */
+    // computational complexity: O(n + m) where n is the number of registered continuous resources
+    // and m is the number of allocations for all continuous resources
+    void snapshot(Collection<ContinuousResourceId> ids, ResourceSnapshot.Builder snapshot) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Map<ContinuousResourceId, Double> registered = new HashMap<>();
+        childMap.values().forEach(children -> children.value()
+                .forEach(child -> registered.put(child.id(), child.value())));
+        Map<ContinuousResourceId, ContinuousResourceAllocation> allocations = new HashMap<>();
+        consumers.entrySet().forEach(entry -> allocations.put(entry.getKey(), entry.getValue().value()));
+
+        for (ContinuousResourceId id : ids) {
+            Double capacity = registered.get(id);
+            if (capacity == null) {
+                snapshot.unavailable(id);
+                continue;
+            }
+            ContinuousResourceAllocation allocation = allocations.get(id);
+            snapshot.available(id, allocation == null ? capacity : Math.min(capacity, allocation.available()));
+        }
+    }
+
     @Override
     public Stream<ContinuousResource> getAllocatedResources(DiscreteResourceId parent, Class<?> cls) {
         Set<ContinuousResource> children = getChildResources(parent);
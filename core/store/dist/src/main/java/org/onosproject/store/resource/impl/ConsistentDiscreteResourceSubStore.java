@@ -22,15 +22,20 @@ import org.onosproject.net.resource.DiscreteResourceId;
 import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.resource.Resources;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.MapEvent;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
 import org.onosproject.store.service.Versioned;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static org.onosproject.store.resource.impl.ConsistentResourceStore.SERIALIZER;
@@ -42,6 +47,8 @@ class ConsistentDiscreteResourceSubStore implements ConsistentResourceSubStore
         <DiscreteResourceId, DiscreteResource, TransactionalDiscreteResourceSubStore> {
     private ConsistentMap<DiscreteResourceId, ResourceConsumerId> consumers;
     private ConsistentMap<DiscreteResourceId, DiscreteResources> childMap;
+    // local inverted view of the consumers map, kept up to date by its events
+    private final Map<ResourceConsumerId, Set<DiscreteResourceId>> consumerIndex = new ConcurrentHashMap<>();
 
     ConsistentDiscreteResourceSubStore(StorageService service) {
         this.consumers = service.<DiscreteResourceId, ResourceConsumerId>consistentMapBuilder()
@@ -54,6 +61,48 @@ class ConsistentDiscreteResourceSubStore implements ConsistentResourceSubStore
                 .build();
 
         childMap.putIfAbsent(Resource.ROOT.id(), DiscreteResources.empty());
+
+        // listen before loading, so that no allocation is missed in between
+        consumers.addListener(this::updateIndex);
+        consumers.entrySet().forEach(x -> index(x.getValue().value(), x.getKey()));
+    }
+
+    private void updateIndex(MapEvent<DiscreteResourceId, ResourceConsumerId> event) {
+        if (event.oldValue() != null) {
+            unindex(event.oldValue().value(), event.key());
+        }
+        if (event.newValue() != null) {
+            index(event.newValue().value(), event.key());
+        }
+    }
+
+    /**
+     * Records in the local index that the specified resource is allocated
+     * to the specified consumer.
+     *
+     * @param consumerId consumer ID
+     * @param id         ID of the allocated resource
+     */
+    void index(ResourceConsumerId consumerId, DiscreteResourceId id) {
+        consumerIndex.compute(consumerId, (k, ids) -> {
+            Set<DiscreteResourceId> value = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            value.add(id);
+            return value;
+        });
+    }
+
+    /**
+     * Removes from the local index the allocation of the specified resource
+     * to the specified consumer.
+     *
+     * @param consumerId consumer ID
+     * @param id         ID of the released resource
+     */
+    void unindex(ResourceConsumerId consumerId, DiscreteResourceId id) {
+        consumerIndex.computeIfPresent(consumerId, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
     }
 
     @Override
@@ -99,6 +148,29 @@ class ConsistentDiscreteResourceSubStore implements ConsistentResourceSubStore
         return getResourceAllocations(resource.id()).isEmpty();
     }
 
+    /**
+     * Records in the given snapshot the availability of the specified
+     * resources, reading the allocated resources at once.
+     *
+     * @param ids      IDs of the resources
+     * @param snapshot snapshot builder
+     */
+    // computational complexity: O(n) where n is the number of allocated discrete resources
+    void snapshot(Collection<DiscreteResourceId> ids, ResourceSnapshot.Builder snapshot) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Set<DiscreteResourceId> allocated = new HashSet<>(consumers.keySet());
+        for (DiscreteResourceId id : ids) {
+            if (allocated.contains(id)) {
+                snapshot.unavailable(id);
+            } else {
+                snapshot.available(id);
+            }
+        }
+    }
+
     @Override
     public Stream<DiscreteResource> getAllocatedResources(DiscreteResourceId parent, Class<?> cls) {
         Set<DiscreteResource> children = getChildResources(parent);
@@ -111,11 +183,26 @@ class ConsistentDiscreteResourceSubStore implements ConsistentResourceSubStore
                 .filter(x -> consumers.containsKey(x.id()));
     }
 
+    // computational complexity: O(n) where n is the number of resources allocated to the consumer
     @Override
     public Stream<DiscreteResource> getResources(ResourceConsumerId consumerId) {
-        return consumers.entrySet().stream()
-                .filter(x -> x.getValue().value().equals(consumerId))
-                .map(Map.Entry::getKey)
+        Set<DiscreteResourceId> ids = consumerIndex.get(consumerId);
+        if (ids == null) {
+            return Stream.of();
+        }
+
+        // the index may lag behind the map, so confirm each of its entries
+        return ImmutableList.copyOf(ids).stream()
+                .filter(x -> isAllocatedTo(x, consumerId))
                 .map(x -> Resources.discrete(x).resource());
     }
+
+    private boolean isAllocatedTo(DiscreteResourceId id, ResourceConsumerId consumerId) {
+        Versioned<ResourceConsumerId> allocated = consumers.get(id);
+        if (allocated == null || !allocated.value().equals(consumerId)) {
+            unindex(consumerId, id);
+            return false;
+        }
+        return true;
+    }
 }
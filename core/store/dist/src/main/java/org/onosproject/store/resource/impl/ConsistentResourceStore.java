@@ -48,6 +48,7 @@ import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceConsumerId;
 import org.onosproject.net.resource.ResourceEvent;
 import org.onosproject.net.resource.ResourceId;
+import org.onosproject.net.resource.ResourceSnapshot;
 import org.onosproject.net.resource.ResourceStore;
 import org.onosproject.net.resource.ResourceStoreDelegate;
 import org.onosproject.net.resource.Resources;
@@ -249,6 +250,11 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
 
             try {
                 if (commitTransaction(tx) == CommitStatus.SUCCESS) {
+                    // index right away rather than on the map events, so
+                    // the consumer finds its allocations once this returns
+                    resources.stream()
+                            .filter(x -> x instanceof DiscreteResource)
+                            .forEach(x -> discreteStore.index(consumer.consumerId(), (DiscreteResourceId) x.id()));
                     return true;
                 }
             } catch (InterruptedException | ExecutionException | TimeoutException e) {
@@ -285,6 +291,10 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
 
             try {
                 if (commitTransaction(tx) == CommitStatus.SUCCESS) {
+                    allocations.stream()
+                            .filter(x -> x.resource() instanceof DiscreteResource)
+                            .forEach(x -> discreteStore.unindex(x.consumerId(),
+                                                                (DiscreteResourceId) x.resource().id()));
                     return true;
                 }
             } catch (InterruptedException | ExecutionException | TimeoutException e) {
@@ -310,13 +320,33 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         }
     }
 
-    // computational complexity: O(n + m) where n is the number of entries in discreteConsumers
-    // and m is the number of allocations for all continuous resources
+    // reads each of the consumer maps once, rather than once per resource
+    @Override
+    public ResourceSnapshot getSnapshot(Collection<? extends ResourceId> ids) {
+        checkNotNull(ids);
+
+        List<DiscreteResourceId> discreteIds = ids.stream()
+                .filter(x -> x instanceof DiscreteResourceId)
+                .map(x -> (DiscreteResourceId) x)
+                .collect(Collectors.toList());
+        List<ContinuousResourceId> continuousIds = ids.stream()
+                .filter(x -> x instanceof ContinuousResourceId)
+                .map(x -> (ContinuousResourceId) x)
+                .collect(Collectors.toList());
+
+        ResourceSnapshot.Builder snapshot = ResourceSnapshot.builder();
+        discreteStore.snapshot(discreteIds, snapshot);
+        continuousStore.snapshot(continuousIds, snapshot);
+        return snapshot.build();
+    }
+
+    // computational complexity: O(n + m) where n is the number of discrete resources allocated
+    // to the consumer and m is the number of allocations for all continuous resources
     @Override
     public Collection<Resource> getResources(ResourceConsumer consumer) {
         checkNotNull(consumer);
 
-        // NOTE: getting all entries may become performance bottleneck
+        // NOTE: getting all continuous entries may become performance bottleneck
         // TODO: revisit for better backend data structure
         Stream<DiscreteResource> discrete = discreteStore.getResources(consumer.consumerId());
         Stream<ContinuousResource> continuous = continuousStore.getResources(consumer.consumerId());
@@ -55,13 +55,22 @@ final class ContinuousResourceAllocation {
      */
     // computational complexity: O(n) where n is the number of allocations
     boolean hasEnoughResource(ContinuousResource request) {
+        return request.value() <= available();
+    }
+
+    /**
+     * Returns the resource volume which is not allocated yet.
+     *
+     * @return resource volume left
+     */
+    // computational complexity: O(n) where n is the number of allocations
+    double available() {
         double allocated = allocations.stream()
                 .filter(x -> x.resource() instanceof ContinuousResource)
                 .map(x -> (ContinuousResource) x.resource())
                 .mapToDouble(ContinuousResource::value)
                 .sum();
-        double left = original.value() - allocated;
-        return request.value() <= left;
+        return original.value() - allocated;
     }
 
     ImmutableList<ResourceAllocation> allocations() {
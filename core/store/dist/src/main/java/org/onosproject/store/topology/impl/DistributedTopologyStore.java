@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.topology.impl;
 
+import com.codahale.metrics.Gauge;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -22,8 +23,13 @@ import org.apache.felix.scr.annotations.Modified;
 import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
+import org.apache.felix.scr.annotations.ReferencePolicy;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.graph.GraphPathSearch;
+import org.onlab.graph.IndexedDijkstraGraphSearch;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.common.DefaultTopology;
@@ -62,6 +68,7 @@ import org.onosproject.store.service.StorageService;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.List;
@@ -73,6 +80,8 @@ import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.getIntegerProperty;
+import static org.onlab.util.Tools.isPropertyEnabled;
 import static org.onlab.util.Tools.isNullOrEmpty;
 import static org.onosproject.net.topology.AdapterLinkWeigher.adapt;
 import static org.onosproject.net.topology.TopologyEvent.Type.TOPOLOGY_CHANGED;
@@ -93,7 +102,13 @@ public class DistributedTopologyStore
 
     private final Logger log = getLogger(getClass());
 
-    private static final String FORMAT = "Settings: linkWeightFunction={}";
+    private static final String FORMAT = "Settings: linkWeightFunction={}, incrementalTopology={}, " +
+            "pathCacheSize={}, pathTreeCacheSize={}, indexedPathSearch={}";
+
+    private static final String METRICS_COMPONENT = "Topology";
+    private static final String METRICS_FEATURE = "PathCache";
+    private static final String CACHE_HITS = "Hits";
+    private static final String CACHE_MISSES = "Misses";
 
     private volatile DefaultTopology current =
             new DefaultTopology(ProviderId.NONE,
@@ -125,6 +140,41 @@ public class DistributedTopologyStore
             label = "Default link-weight function: hopCount, linkMetric, geoDistance")
     private String linkWeightFunction = DEFAULT_LINK_WEIGHT_FUNCTION;
 
+    private static final boolean DEFAULT_INCREMENTAL_TOPOLOGY = false;
+    @Property(name = "incrementalTopology", boolValue = DEFAULT_INCREMENTAL_TOPOLOGY,
+            label = "Indicates whether new topologies should be derived from the current one, " +
+                    "searching again only the clusters affected by the changes")
+    private volatile boolean incrementalTopology = DEFAULT_INCREMENTAL_TOPOLOGY;
+
+    private static final int DEFAULT_PATH_CACHE_SIZE = 0;
+    @Property(name = "pathCacheSize", intValue = DEFAULT_PATH_CACHE_SIZE,
+            label = "Maximum number of shortest path sets cached per topology; 0 disables the cache")
+    private int pathCacheSize = DEFAULT_PATH_CACHE_SIZE;
+
+    private static final int DEFAULT_PATH_TREE_CACHE_SIZE = 0;
+    @Property(name = "pathTreeCacheSize", intValue = DEFAULT_PATH_TREE_CACHE_SIZE,
+            label = "Maximum number of single-source shortest path trees cached per topology, " +
+                    "each serving the searches towards all destinations; 0 disables the cache")
+    private int pathTreeCacheSize = DEFAULT_PATH_TREE_CACHE_SIZE;
+
+    private static final boolean DEFAULT_INDEXED_PATH_SEARCH = false;
+    @Property(name = "indexedPathSearch", boolValue = DEFAULT_INDEXED_PATH_SEARCH,
+            label = "Indicates whether paths should be searched over an indexed copy " +
+                    "of the topology graph rather than over the graph itself")
+    private boolean indexedPathSearch = DEFAULT_INDEXED_PATH_SEARCH;
+
+    // Optional to avoid cyclic dependencies
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY,
+            bind = "bindMetricsService",
+            unbind = "unbindMetricsService",
+            policy = ReferencePolicy.DYNAMIC)
+    protected MetricsService metricsService;
+
+    private final Gauge<Long> cacheHits = DefaultTopology::pathCacheHits;
+    private final Gauge<Long> cacheMisses = DefaultTopology::pathCacheMisses;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+
     // Cluster root to broadcast points bindings to allow convergence to
     // a shared broadcast tree; node that is the master of the cluster root
     // is the primary.
@@ -170,7 +220,56 @@ public class DistributedTopologyStore
                             new GeoDistanceLinkWeight(deviceService) : null;
             setDefaultLinkWeight(weight);
         }
-        log.info(FORMAT, linkWeightFunction);
+
+        incrementalTopology = isPropertyEnabled(properties, "incrementalTopology",
+                                                DEFAULT_INCREMENTAL_TOPOLOGY);
+
+        int newPathCacheSize = Math.max(0, getIntegerProperty(properties, "pathCacheSize",
+                                                              DEFAULT_PATH_CACHE_SIZE));
+        int newPathTreeCacheSize = Math.max(0, getIntegerProperty(properties, "pathTreeCacheSize",
+                                                                  DEFAULT_PATH_TREE_CACHE_SIZE));
+        if (newPathCacheSize != pathCacheSize || newPathTreeCacheSize != pathTreeCacheSize) {
+            pathCacheSize = newPathCacheSize;
+            pathTreeCacheSize = newPathTreeCacheSize;
+            DefaultTopology.setPathCacheSize(pathCacheSize, pathTreeCacheSize);
+        }
+
+        boolean newIndexedPathSearch = isPropertyEnabled(properties, "indexedPathSearch",
+                                                         DEFAULT_INDEXED_PATH_SEARCH);
+        if (newIndexedPathSearch != indexedPathSearch) {
+            indexedPathSearch = newIndexedPathSearch;
+            setDefaultGraphPathSearch(indexedPathSearch ? new IndexedDijkstraGraphSearch<>() : null);
+        }
+        log.info(FORMAT, linkWeightFunction, incrementalTopology, pathCacheSize, pathTreeCacheSize,
+                 indexedPathSearch);
+    }
+
+    /**
+     * Hook for wiring up optional reference to a service.
+     *
+     * @param service service being announced
+     */
+    protected void bindMetricsService(MetricsService service) {
+        if (metricsService == null) {
+            metricsService = service;
+            metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+            metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+            metricsService.registerMetric(metricsComponent, metricsFeature, CACHE_HITS, cacheHits);
+            metricsService.registerMetric(metricsComponent, metricsFeature, CACHE_MISSES, cacheMisses);
+        }
+    }
+
+    /**
+     * Hook for unwiring optional reference to a service.
+     *
+     * @param service service being withdrawn
+     */
+    protected void unbindMetricsService(MetricsService service) {
+        if (metricsService == service) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, CACHE_HITS);
+            metricsService.removeMetric(metricsComponent, metricsFeature, CACHE_MISSES);
+            metricsService = null;
+        }
     }
 
     @Override
@@ -226,6 +325,18 @@ public class DistributedTopologyStore
         return defaultTopology(topology).getPaths(src, dst, weigher);
     }
 
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsTo(Topology topology, Collection<DeviceId> srcs,
+                                               DeviceId dst, LinkWeigher weigher) {
+        return defaultTopology(topology).getPathsTo(srcs, dst, weigher);
+    }
+
+    @Override
+    public Map<DeviceId, Set<Path>> getPathsFrom(Topology topology, DeviceId src,
+                                                 Collection<DeviceId> dsts, LinkWeigher weigher) {
+        return defaultTopology(topology).getPathsFrom(src, dsts, weigher);
+    }
+
     @Override
     public Set<Path> getKShortestPaths(Topology topology,
                                        DeviceId src, DeviceId dst,
@@ -308,8 +419,10 @@ public class DistributedTopologyStore
     public TopologyEvent updateTopology(ProviderId providerId,
                                         GraphDescription graphDescription,
                                         List<Event> reasons) {
-        // Have the default topology construct self from the description data.
-        DefaultTopology newTopology =
+        // Have the default topology construct self from the description data,
+        // or derive self from the current topology.
+        DefaultTopology newTopology = incrementalTopology ?
+                new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint, current) :
                 new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint);
         updateBroadcastPoints(newTopology);
 
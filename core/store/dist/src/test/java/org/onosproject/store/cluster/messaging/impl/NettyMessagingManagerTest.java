@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.cluster.messaging.impl;
 
+import com.codahale.metrics.Histogram;
+import com.google.common.base.Strings;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Uninterruptibles;
@@ -22,6 +24,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
 import org.onlab.packet.IpAddress;
 import org.onosproject.cluster.ClusterMetadata;
 import org.onosproject.cluster.ClusterMetadataEventListener;
@@ -33,8 +36,17 @@ import org.onosproject.core.HybridLogicalTime;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.cluster.messaging.Endpoint;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -45,6 +57,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 
 import static org.junit.Assert.assertEquals;
@@ -87,13 +100,13 @@ public class NettyMessagingManagerTest {
         netty1 = new NettyMessagingManager();
         netty1.clusterMetadataService = dummyMetadataService(DUMMY_NAME, IP_STRING, ep1);
         netty1.clockService = testClockService;
-        netty1.activate();
+        netty1.activate(null);
 
         ep2 = new Endpoint(IpAddress.valueOf("127.0.0.1"), findAvailablePort(5003));
         netty2 = new NettyMessagingManager();
         netty2.clusterMetadataService = dummyMetadataService(DUMMY_NAME, IP_STRING, ep2);
         netty2.clockService = testClockService;
-        netty2.activate();
+        netty2.activate(null);
     }
 
     /**
@@ -173,6 +186,104 @@ public class NettyMessagingManagerTest {
         }
     }
 
+    /**
+     * Tests request-reply exchanges with batching and message type interning enabled.
+     */
+    @Test
+    public void testSendAndReceiveBatched() {
+        MetricsManager metrics = new MetricsManager();
+        netty1.bindMetricsService(metrics);
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put("batchingEnabled", " true ");
+        properties.put("batchWindowMicros", " 100 ");
+        properties.put("batchMaxBytes", "64k");
+        netty1.readConfiguration(properties);
+        netty2.readConfiguration(properties);
+        assertTrue(netty1.batchingEnabled);
+        assertEquals(100, netty1.batchWindowMicros);
+        // malformed values keep the default
+        assertEquals(64 * 1024, netty1.batchMaxBytes);
+
+        String subject1 = nextSubject();
+        String subject2 = nextSubject();
+        BiFunction<Endpoint, byte[], byte[]> echo = (ep, data) -> data;
+        BiFunction<Endpoint, byte[], byte[]> reply = (ep, data) -> "reply".getBytes();
+        netty2.registerHandler(subject1, echo, MoreExecutors.directExecutor());
+        netty2.registerHandler(subject2, reply, MoreExecutors.directExecutor());
+
+        List<CompletableFuture<byte[]>> responses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            responses.add(netty1.sendAndReceive(ep2, i % 2 == 0 ? subject1 : subject2,
+                                                Integer.toString(i).getBytes()));
+        }
+        for (int i = 0; i < 100; i++) {
+            byte[] expected = i % 2 == 0 ? Integer.toString(i).getBytes() : "reply".getBytes();
+            assertTrue(Arrays.equals(expected, responses.get(i).join()));
+        }
+
+        Histogram batchMessages = metrics.getHistograms((name, metric) -> name.contains("MessagesPerBatch"))
+                .values().iterator().next();
+        assertTrue(batchMessages.getCount() > 0);
+        assertTrue(batchMessages.getSnapshot().getMax() <= 100);
+
+        netty1.unbindMetricsService(metrics);
+        assertTrue(metrics.getMetrics().isEmpty());
+    }
+
+    /**
+     * Tests sending payloads written to and read from the messaging buffers.
+     */
+    @Test
+    public void testSendStreamed() {
+        String subject1 = nextSubject();
+        String subject2 = nextSubject();
+        AtomicReference<String> received = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        BiConsumer<Endpoint, ByteBuffer> consumer = (ep, buffer) -> {
+            received.set(StandardCharsets.UTF_8.decode(buffer).toString());
+            latch.countDown();
+        };
+        BiFunction<Endpoint, ByteBuffer, byte[]> echo = (ep, buffer) -> {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return bytes;
+        };
+        netty2.registerStreamHandler(subject1, consumer, MoreExecutors.directExecutor());
+        netty2.registerStreamHandler(subject2, echo, MoreExecutors.directExecutor());
+
+        netty1.sendAsync(ep2, subject1, out -> write(out, "hello world")).join();
+        Uninterruptibles.awaitUninterruptibly(latch);
+        assertEquals("hello world", received.get());
+
+        byte[] reply = netty1.sendAndReceive(ep2, subject2, out -> write(out, "hello there"),
+                                             MoreExecutors.directExecutor()).join();
+        assertTrue(Arrays.equals("hello there".getBytes(StandardCharsets.UTF_8), reply));
+
+        // payloads above the copy threshold are read from a slice of the inbound buffer
+        String large = Strings.repeat("x", MessageDecoder.MAX_COPIED_CONTENT_LENGTH + 1);
+        reply = netty1.sendAndReceive(ep2, subject2, out -> write(out, large),
+                                      MoreExecutors.directExecutor()).join();
+        assertTrue(Arrays.equals(large.getBytes(StandardCharsets.UTF_8), reply));
+
+        // payload writer failures fail the send
+        try {
+            netty1.sendAsync(ep2, subject1, out -> {
+                throw new IllegalStateException();
+            }).join();
+            fail();
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static void write(OutputStream out, String value) {
+        try {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /*
      * Supplies executors when registering a handler and calling sendAndReceive and verifies the request handling
      * and response completion occurs on the expected thread.
@@ -27,6 +27,7 @@ import org.junit.Test;
 import org.onlab.packet.ChassisId;
 import org.onlab.packet.IpAddress;
 import org.onlab.util.KryoNamespace;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
@@ -42,6 +43,7 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.SparseAnnotations;
 import org.onosproject.net.device.DefaultDeviceDescription;
 import org.onosproject.net.device.DefaultPortDescription;
+import org.onosproject.net.device.DefaultPortStatistics;
 import org.onosproject.net.device.DeviceClockService;
 import org.onosproject.net.device.DeviceClockServiceAdapter;
 import org.onosproject.net.device.DeviceDescription;
@@ -49,6 +51,7 @@ import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
+import org.onosproject.net.device.PortStatistics;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.StaticClusterService;
@@ -63,13 +66,16 @@ import org.onosproject.store.service.StorageService;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -97,6 +103,7 @@ import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_ADDED;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_AVAILABILITY_CHANGED;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_REMOVED;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_UPDATED;
+import static org.onosproject.net.device.DeviceEvent.Type.PORT_STATS_UPDATED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_ADDED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_REMOVED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_UPDATED;
@@ -178,6 +185,7 @@ public class GossipDeviceStoreTest {
 
         testGossipDeviceStore = new TestGossipDeviceStore(deviceClockService, clusterService, clusterCommunicator);
         testGossipDeviceStore.mastershipService = new TestMastershipService();
+        testGossipDeviceStore.configService = new ComponentConfigAdapter();
 
         ecMapBuilder = createNiceMock(EventuallyConsistentMapBuilder.class);
         expect(ecMapBuilder.withName(anyObject(String.class))).andReturn(ecMapBuilder).anyTimes();
@@ -197,7 +205,7 @@ public class GossipDeviceStoreTest {
         testGossipDeviceStore.deviceClockService = deviceClockService;
 
         gossipDeviceStore = testGossipDeviceStore;
-        gossipDeviceStore.activate();
+        gossipDeviceStore.activate(null);
         deviceStore = gossipDeviceStore;
         verify(clusterCommunicator);
         reset(clusterCommunicator);
@@ -888,6 +896,84 @@ public class GossipDeviceStoreTest {
         assertTrue("Remove event fired", removeLatch.await(1, TimeUnit.SECONDS));
     }
 
+    private static PortStatistics portStats(int port, long bytesReceived, long durationSec) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(DID1)
+                .setPort(port)
+                .setBytesReceived(bytesReceived)
+                .setPacketsReceived(bytesReceived / 100)
+                .setDurationSec(durationSec)
+                .build();
+    }
+
+    @Test
+    public final void testLocalPortStatistics() throws Exception {
+        disablePortStatsReplication();
+        putDevice(DID1, SW1);
+
+        DeviceEvent event = deviceStore.updatePortStatistics(PID, DID1,
+                asList(portStats(1, 1000, 10), portStats(2, 2000, 10)));
+        assertEquals(PORT_STATS_UPDATED, event.type());
+        event = deviceStore.updatePortStatistics(PID, DID1,
+                asList(portStats(1, 1500, 15), portStats(2, 2600, 15)));
+        assertEquals(PORT_STATS_UPDATED, event.type());
+
+        assertEquals(2, deviceStore.getPortStatistics(DID1).size());
+        assertEquals(1500, deviceStore.getStatisticsForPort(DID1, P1).bytesReceived());
+        PortStatistics delta = deviceStore.getDeltaStatisticsForPort(DID1, P2);
+        assertEquals(600, delta.bytesReceived());
+        assertEquals(6, delta.packetsReceived());
+        assertEquals(5, delta.durationSec());
+    }
+
+    @Test
+    public final void testPortStatisticsFromMaster() throws Exception {
+        disablePortStatsReplication();
+        testGossipDeviceStore.mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public NodeId getMasterFor(DeviceId deviceId) {
+                return NID2;
+            }
+        };
+        PortStatistics stats = portStats(1, 1000, 10);
+        Capture<DeviceId> request = new Capture<>();
+        Capture<MessageSubject> subject = new Capture<>();
+        reset(clusterCommunicator);
+        expect(clusterCommunicator.<DeviceId, long[]>sendAndReceive(
+                capture(request), capture(subject), anyObject(Function.class),
+                anyObject(Function.class), anyObject(NodeId.class)))
+                .andReturn(CompletableFuture.completedFuture(
+                        PortStatisticsEncoding.encode(asList(stats))));
+        replay(clusterCommunicator);
+
+        PortStatistics fetched = deviceStore.getStatisticsForPort(DID1, P1);
+        verify(clusterCommunicator);
+        assertEquals(DID1, request.getValue());
+        assertEquals(GossipDeviceStoreMessageSubjects.PORT_STATS_REQUEST, subject.getValue());
+        assertEquals(stats.toString(), fetched.toString());
+        assertEquals(10, fetched.durationSec());
+
+        // the statistics last fetched are served when the master does not reply
+        CompletableFuture<long[]> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new TimeoutException());
+        reset(clusterCommunicator);
+        expect(clusterCommunicator.<DeviceId, long[]>sendAndReceive(
+                anyObject(DeviceId.class), anyObject(MessageSubject.class), anyObject(Function.class),
+                anyObject(Function.class), anyObject(NodeId.class)))
+                .andReturn(failed);
+        replay(clusterCommunicator);
+
+        fetched = deviceStore.getStatisticsForPort(DID1, P1);
+        verify(clusterCommunicator);
+        assertEquals(stats.toString(), fetched.toString());
+    }
+
+    private void disablePortStatsReplication() {
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put("replicatePortStats", " false ");
+        gossipDeviceStore.readConfiguration(properties);
+    }
+
     private final class TestMastershipService extends MastershipServiceAdapter {
         @Override
         public NodeId getMasterFor(DeviceId deviceId) {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.Maps;
+import org.junit.Test;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Unit tests for the compact flow table.
+ */
+public class CompactFlowTableTest {
+
+    private final CompactFlowTable table = new CompactFlowTable();
+
+    /**
+     * Tests basic updates and lookups.
+     */
+    @Test
+    public void testPutGetRemove() {
+        Map<StoredFlowEntry, StoredFlowEntry> entries1 = CompactFlowTable.newFlowEntries();
+        Map<StoredFlowEntry, StoredFlowEntry> entries2 = CompactFlowTable.newFlowEntries();
+
+        assertThat(table.put(FlowId.valueOf(1), entries1), is(nullValue()));
+        assertThat(table.computeIfAbsent(FlowId.valueOf(1), id -> entries2), sameInstance(entries1));
+        assertThat(table.computeIfAbsent(FlowId.valueOf(0), id -> entries2), sameInstance(entries2));
+        assertThat(table.size(), is(2));
+        assertThat(table.get(FlowId.valueOf(0)), sameInstance(entries2));
+        assertThat(table.get(FlowId.valueOf(2)), is(nullValue()));
+        assertThat(table.get("1"), is(nullValue()));
+
+        assertThat(table.remove(FlowId.valueOf(1)), sameInstance(entries1));
+        assertThat(table.remove(FlowId.valueOf(1)), is(nullValue()));
+        assertThat(table.keySet(), is(Collections.singleton(FlowId.valueOf(0))));
+
+        table.clear();
+        assertThat(table.isEmpty(), is(true));
+    }
+
+    /**
+     * Tests the table against a hash map under random updates which make
+     * the probe sequences collide, grow and shrink.
+     */
+    @Test
+    public void testRandomUpdates() {
+        Random random = new Random(42);
+        Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> expected = Maps.newHashMap();
+        for (int i = 0; i < 20000; i++) {
+            FlowId flowId = FlowId.valueOf(random.nextInt(2000) * 0x10000L);
+            if (random.nextInt(3) == 0) {
+                assertThat(table.remove(flowId), is(expected.remove(flowId)));
+            } else {
+                Map<StoredFlowEntry, StoredFlowEntry> entries = CompactFlowTable.newFlowEntries();
+                assertThat(table.put(flowId, entries), is(expected.put(flowId, entries)));
+            }
+        }
+        assertThat(table.size(), is(expected.size()));
+        expected.forEach((flowId, entries) -> assertThat(table.get(flowId), sameInstance(entries)));
+        assertThat(table.entrySet(), is(expected.entrySet()));
+    }
+}
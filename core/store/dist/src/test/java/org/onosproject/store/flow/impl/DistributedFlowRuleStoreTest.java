@@ -16,6 +16,9 @@
 package org.onosproject.store.flow.impl;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimap;
 import org.junit.After;
 import org.junit.Before;
@@ -35,15 +38,34 @@ import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleBatchEntry;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowEntry.FlowEntryState;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.FlowRuleBatchOperation;
+import org.onosproject.net.flow.FlowTableDigest;
 import org.onosproject.net.intent.IntentTestsMocks;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.flow.ReplicaInfo;
+import org.onosproject.store.flow.ReplicaInfoEventListener;
+import org.onosproject.store.flow.ReplicaInfoService;
 import org.onosproject.store.persistence.PersistenceServiceAdapter;
 import org.onosproject.store.service.TestStorageService;
 
 import org.onlab.packet.Ip4Address;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.osgi.service.component.ComponentContext;
 
 import static org.easymock.EasyMock.createMock;
@@ -54,8 +76,11 @@ import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
 import static org.onosproject.net.NetTestTools.APP_ID;
 import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.FLOW_TABLE_BACKUP;
 
 /**
  * Test class for DistributedFlowRuleStore.
@@ -131,25 +156,33 @@ public class DistributedFlowRuleStoreTest {
 
     @Before
     public void setUp() throws Exception {
-        flowStoreImpl = new DistributedFlowRuleStore();
-        flowStoreImpl.storageService = new TestStorageService();
-        flowStoreImpl.replicaInfoManager = new ReplicaInfoManager();
         mockClusterService = createMock(ClusterService.class);
-        flowStoreImpl.clusterService = mockClusterService;
         nodeId = new NodeId("1");
         mockControllerNode = new MockControllerNode(nodeId);
 
         expect(mockClusterService.getLocalNode())
                 .andReturn(mockControllerNode).anyTimes();
+        expect(mockClusterService.getNodes())
+                .andReturn(ImmutableSet.of(mockControllerNode)).anyTimes();
         replay(mockClusterService);
 
-        flowStoreImpl.clusterCommunicator = new ClusterCommunicationServiceAdapter();
-        flowStoreImpl.mastershipService = new MasterOfAll();
-        flowStoreImpl.deviceService = new DeviceServiceAdapter();
-        flowStoreImpl.coreService = new CoreServiceAdapter();
-        flowStoreImpl.configService = new ComponentConfigAdapter();
-        flowStoreImpl.persistenceService = new PersistenceServiceAdapter();
-        flowStoreImpl.activate(context);
+        flowStoreImpl = createStore(new ClusterCommunicationServiceAdapter(), new ReplicaInfoManager());
+    }
+
+    private DistributedFlowRuleStore createStore(ClusterCommunicationService clusterCommunicator,
+                                                 ReplicaInfoService replicaInfoService) {
+        DistributedFlowRuleStore store = new DistributedFlowRuleStore();
+        store.storageService = new TestStorageService();
+        store.replicaInfoManager = replicaInfoService;
+        store.clusterService = mockClusterService;
+        store.clusterCommunicator = clusterCommunicator;
+        store.mastershipService = new MasterOfAll();
+        store.deviceService = new DeviceServiceAdapter();
+        store.coreService = new CoreServiceAdapter();
+        store.configService = new ComponentConfigAdapter();
+        store.persistenceService = new PersistenceServiceAdapter();
+        store.activate(context);
+        return store;
     }
 
     @After
@@ -213,6 +246,60 @@ public class DistributedFlowRuleStoreTest {
         assertThat(flowStoreImpl.getTableStatistics(deviceId), notNullValue());
     }
 
+    /**
+     * Tests that the state transitions of a stored flow entry are carried by
+     * delta backups.
+     */
+    @Test
+    public void testBackupStateTransition() {
+        List<FlowTableBackup> backups = new CopyOnWriteArrayList<>();
+        ClusterCommunicationService communicator = new ClusterCommunicationServiceAdapter() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <M, R> CompletableFuture<R> sendAndReceive(M message, MessageSubject subject,
+                                                              Function<M, byte[]> encoder,
+                                                              Function<byte[], R> decoder, NodeId toNodeId) {
+                if (!subject.equals(FLOW_TABLE_BACKUP)) {
+                    return new CompletableFuture<>();
+                }
+                List<FlowTableBackup> sent = (List<FlowTableBackup>) message;
+                backups.addAll(sent);
+                return CompletableFuture.completedFuture(
+                        (R) sent.stream().map(FlowTableBackup::deviceId).collect(Collectors.toSet()));
+            }
+        };
+        ReplicaInfoService replicaInfoService = new ReplicaInfoService() {
+            @Override
+            public ReplicaInfo getReplicaInfoFor(DeviceId deviceId) {
+                return new ReplicaInfo(nodeId, ImmutableList.of(new NodeId("2")));
+            }
+
+            @Override
+            public void addListener(ReplicaInfoEventListener listener) {
+            }
+
+            @Override
+            public void removeListener(ReplicaInfoEventListener listener) {
+            }
+        };
+        DistributedFlowRuleStore store = createStore(communicator, replicaInfoService);
+        try {
+            store.storeBatch(new FlowRuleBatchOperation(
+                    ImmutableList.of(new FlowRuleBatchEntry(FlowRuleBatchEntry.FlowRuleOperation.ADD, flowRule)),
+                    deviceId, 1));
+            assertAfter(5000, () -> assertTrue(backups.stream().anyMatch(
+                    backup -> backup.isFull() && backup.flowEntries().containsKey(flowRule.id()))));
+
+            backups.clear();
+            store.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule));
+            assertAfter(5000, () -> assertTrue(backups.stream().anyMatch(
+                    backup -> !backup.isFull() && backup.flowEntries().containsKey(flowRule.id()))));
+            assertThat(store.getFlowEntry(flowRule).state(), is(FlowEntryState.ADDED));
+        } finally {
+            store.deactivate(context);
+        }
+    }
+
     /**
      * Tests flow removal.
      */
@@ -262,4 +349,85 @@ public class DistributedFlowRuleStoreTest {
         }
         assertThat(sum3, is(0));
     }
+
+    /**
+     * Tests looking up flows by application and group through the store indexes.
+     */
+    @Test
+    public void testGetFlowEntriesByAppAndGroup() {
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(APP_ID), is(emptyIterable()));
+
+        flowStoreImpl.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule));
+        flowStoreImpl.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule1));
+        assertThat(Iterables.size(flowStoreImpl.getFlowEntriesByAppId(APP_ID)), is(2));
+        assertThat(Iterables.size(flowStoreImpl.getFlowEntriesByGroupId(APP_ID, (short) 0)), is(2));
+        assertThat(flowStoreImpl.getFlowEntriesByGroupId(APP_ID, (short) 1), is(emptyIterable()));
+
+        flowStoreImpl.removeFlowRule(new DefaultFlowEntry(flowRule));
+        assertThat(Iterables.size(flowStoreImpl.getFlowEntriesByAppId(APP_ID)), is(1));
+        assertThat(Iterables.size(flowStoreImpl.getFlowEntriesByGroupId(APP_ID, (short) 0)), is(1));
+
+        flowStoreImpl.purgeFlowRule(deviceId);
+        assertThat(flowStoreImpl.getFlowEntriesByAppId(APP_ID), is(emptyIterable()));
+        assertThat(flowStoreImpl.getFlowEntriesByGroupId(APP_ID, (short) 0), is(emptyIterable()));
+    }
+
+    /**
+     * Tests that the indexes still match the flow table after the same flow
+     * is added and removed concurrently.
+     *
+     * @throws Exception if the concurrent updates fail
+     */
+    @Test
+    public void testIndexesUnderConcurrentAddAndRemove() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 5000; i++) {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> add = executor.submit(() -> {
+                    start.await();
+                    flowStoreImpl.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule));
+                    return null;
+                });
+                Future<?> remove = executor.submit(() -> {
+                    start.await();
+                    flowStoreImpl.removeFlowRule(new DefaultFlowEntry(flowRule));
+                    return null;
+                });
+                start.countDown();
+                add.get(5, TimeUnit.SECONDS);
+                remove.get(5, TimeUnit.SECONDS);
+
+                Set<FlowEntry> stored = ImmutableSet.copyOf(flowStoreImpl.getFlowEntries(deviceId));
+                assertEquals(stored, ImmutableSet.copyOf(flowStoreImpl.getFlowEntriesByAppId(APP_ID)));
+                assertEquals(stored, ImmutableSet.copyOf(
+                        flowStoreImpl.getFlowEntriesByGroupId(APP_ID, (short) 0)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that the flow table digest tracks the stored flows.
+     */
+    @Test
+    public void testFlowTableDigest() {
+        FlowEntry flowEntry = new DefaultFlowEntry(flowRule);
+        FlowEntry flowEntry1 = new DefaultFlowEntry(flowRule1);
+        flowStoreImpl.addOrUpdateFlowRule(flowEntry);
+        flowStoreImpl.addOrUpdateFlowRule(flowEntry1);
+        assertEquals(FlowTableDigest.of(ImmutableSet.of(flowEntry, flowEntry1)),
+                     flowStoreImpl.getFlowTableDigest(deviceId));
+        assertThat(Iterables.size(flowStoreImpl.getFlowEntries(
+                deviceId, ImmutableSet.of(FlowTableDigest.bucket(flowRule.id())))), is(1));
+
+        flowStoreImpl.removeFlowRule(new DefaultFlowEntry(flowRule1));
+        assertEquals(FlowTableDigest.of(ImmutableSet.of(flowEntry)),
+                     flowStoreImpl.getFlowTableDigest(deviceId));
+
+        flowStoreImpl.purgeFlowRule(deviceId);
+        assertEquals(FlowTableDigest.of(ImmutableSet.of()),
+                     flowStoreImpl.getFlowTableDigest(deviceId));
+    }
 }
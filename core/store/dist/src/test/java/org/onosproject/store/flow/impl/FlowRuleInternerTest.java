@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import org.junit.Test;
+import org.onlab.packet.Ethernet;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficTreatment;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.net.PortNumber.portNumber;
+import static org.onosproject.net.flow.criteria.Criterion.Type.ETH_TYPE;
+
+/**
+ * Unit tests for the flow rule interner.
+ */
+public class FlowRuleInternerTest {
+
+    private final FlowRuleInterner interner = new FlowRuleInterner();
+
+    private static FlowRule rule(int port, TrafficTreatment treatment) {
+        return DefaultFlowRule.builder()
+                .forDevice(did("device1"))
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(portNumber(port))
+                                      .matchEthType(Ethernet.TYPE_IPV4)
+                                      .build())
+                .withTreatment(treatment)
+                .withPriority(100)
+                .withHardTimeout(60)
+                .makeTemporary(10)
+                .forTable(2)
+                .fromApp(APP_ID)
+                .build();
+    }
+
+    private static TrafficTreatment output(int port) {
+        return DefaultTrafficTreatment.builder().setOutput(portNumber(port)).build();
+    }
+
+    /**
+     * Tests that interned rules are exact copies sharing equal treatments.
+     */
+    @Test
+    public void testIntern() {
+        FlowRule rule1 = rule(1, output(3));
+        FlowRule rule2 = rule(2, output(3));
+
+        FlowRule interned1 = interner.intern(rule1);
+        FlowRule interned2 = interner.intern(rule2);
+        assertThat(interned1.exactMatch(rule1), is(true));
+        assertThat(interned2.exactMatch(rule2), is(true));
+        assertThat(interned2.id(), is(rule2.id()));
+        assertThat(interned2.timeout(), is(10));
+        assertThat(interned2.hardTimeout(), is(60));
+        assertThat(interned2.isPermanent(), is(false));
+        assertThat(interned2.treatment(), sameInstance(interned1.treatment()));
+        assertThat(interned2.selector().getCriterion(ETH_TYPE),
+                   sameInstance(interned1.selector().getCriterion(ETH_TYPE)));
+
+        assertThat(interner.intern(rule(1, output(3))).selector(), sameInstance(interned1.selector()));
+    }
+
+    /**
+     * Tests that treatments differing in what their equality ignores are
+     * not shared.
+     */
+    @Test
+    public void testTreatmentsNotMerged() {
+        FlowRule rule1 = interner.intern(rule(1, output(3)));
+        TrafficTreatment cleared = DefaultTrafficTreatment.builder()
+                .setOutput(portNumber(3)).wipeDeferred().build();
+        FlowRule rule2 = interner.intern(rule(2, cleared));
+        assertThat(rule2.treatment(), not(sameInstance(rule1.treatment())));
+        assertThat(rule2.treatment().clearedDeferred(), is(true));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.net.intent.IntentTestsMocks;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+
+/**
+ * Unit tests for the flow table backup change log.
+ */
+public class FlowTableBackupLogTest {
+
+    private static final DeviceId DID = did("device1");
+    private static final NodeId NODE1 = new NodeId("node1");
+    private static final NodeId NODE2 = new NodeId("node2");
+
+    private final Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = Maps.newHashMap();
+    private final FlowTableBackupLog changeLog = new FlowTableBackupLog(DID);
+
+    private FlowId add(int priority) {
+        StoredFlowEntry entry = new DefaultFlowEntry(DefaultFlowRule.builder()
+                .forDevice(DID)
+                .withSelector(new IntentTestsMocks.MockSelector())
+                .withTreatment(new IntentTestsMocks.MockTreatment())
+                .withPriority(priority)
+                .makePermanent()
+                .fromApp(APP_ID)
+                .build());
+        flowTable.computeIfAbsent(entry.id(), id -> Maps.newHashMap()).put(entry, entry);
+        changeLog.changed(entry.id());
+        return entry.id();
+    }
+
+    private void remove(FlowId flowId) {
+        flowTable.remove(flowId);
+        changeLog.changed(flowId);
+    }
+
+    /**
+     * Tests that a backup node is sent the full table first, then only the
+     * flow IDs changed since its acknowledged version.
+     */
+    @Test
+    public void testDeltas() {
+        FlowId flow1 = add(1);
+        FlowId flow2 = add(2);
+
+        FlowTableBackup full = changeLog.nextBackup(NODE1, flowTable);
+        assertThat(full.isFull(), is(true));
+        assertThat(full.version(), is(2L));
+        assertThat(full.flowEntries().keySet(), is(ImmutableSet.of(flow1, flow2)));
+        // one backup in flight per node
+        assertThat(changeLog.nextBackup(NODE1, flowTable), is(nullValue()));
+        changeLog.acknowledge(NODE1, full);
+        assertThat(changeLog.nextBackup(NODE1, flowTable), is(nullValue()));
+
+        FlowId flow3 = add(3);
+        remove(flow1);
+        FlowTableBackup delta = changeLog.nextBackup(NODE1, flowTable);
+        assertThat(delta.isFull(), is(false));
+        assertThat(delta.epoch(), is(full.epoch()));
+        assertThat(delta.baseVersion(), is(2L));
+        assertThat(delta.version(), is(4L));
+        assertThat(delta.flowEntries().keySet(), is(ImmutableSet.of(flow1, flow3)));
+        assertThat(delta.flowEntries().get(flow1).isEmpty(), is(true));
+
+        // undelivered backups are retried from the acknowledged version
+        changeLog.fail(NODE1);
+        assertThat(changeLog.nextBackup(NODE1, flowTable).baseVersion(), is(2L));
+
+        // rejected backups are followed by a full resync
+        changeLog.reject(NODE1);
+        FlowTableBackup resync = changeLog.nextBackup(NODE1, flowTable);
+        assertThat(resync.isFull(), is(true));
+        assertThat(resync.flowEntries().keySet(), is(ImmutableSet.of(flow2, flow3)));
+    }
+
+    /**
+     * Tests that changes are only forgotten once held by all backup nodes.
+     */
+    @Test
+    public void testPruning() {
+        add(1);
+        add(2);
+        changeLog.acknowledge(NODE1, changeLog.nextBackup(NODE1, flowTable));
+        FlowTableBackup full2 = changeLog.nextBackup(NODE2, flowTable);
+        add(3);
+        changeLog.acknowledge(NODE1, changeLog.nextBackup(NODE1, flowTable));
+        // node2 is being sent version 2, so change 3 is kept
+        assertThat(changeLog.size(), is(1));
+
+        changeLog.acknowledge(NODE2, full2);
+        assertThat(changeLog.nextBackup(NODE2, flowTable).flowEntries().size(), is(1));
+        changeLog.retain(ImmutableList.of(NODE1));
+        assertThat(changeLog.size(), is(0));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.Maps;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.onosproject.net.DeviceId.deviceId;
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Measures the heap retained per rule by the flow tables of the distributed
+ * flow rule store, in their default and compact representations.
+ * <p>
+ * Each invocation fills the flow tables of ten devices with the given
+ * number of rules, and the heap retained per rule is reported as the
+ * {@code bytesPerRule} secondary result; the time score is dominated by the
+ * construction of the rules. Rules forward to one of 48 ports, so their
+ * treatments repeat while their selectors are unique.
+ * </p>
+ * <p>
+ * The flow tables are not part of the public API of the store, so the
+ * benchmark lives with the tests of the store and is run with
+ * {@code org.openjdk.jmh.Main FlowTableHeapBenchmark} on its test classpath.
+ * </p>
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class FlowTableHeapBenchmark {
+
+    private static final int DEVICES = 10;
+    private static final int PORTS = 48;
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.benchmarks");
+
+    @Param({"1000000"})
+    public int rules;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    private Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>> flowTables;
+    private FlowRuleInterner interner;
+
+    /**
+     * Heap retained per rule by the last invocation of the iteration,
+     * reported by JMH as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long bytesPerRule;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerRule = 0;
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void release() {
+        flowTables = null;
+        interner = null;
+    }
+
+    @Benchmark
+    public void fill(HeapCounters counters) {
+        // drop the tables of the previous invocation before measuring
+        flowTables = null;
+        interner = null;
+        long before = usedHeap();
+        flowTables = Maps.newConcurrentMap();
+        interner = new FlowRuleInterner();
+        for (int i = 0; i < rules; i++) {
+            FlowRule rule = flowRule(i);
+            StoredFlowEntry entry = new DefaultFlowEntry(compact ? interner.intern(rule) : rule);
+            flowTables.computeIfAbsent(entry.deviceId(), id -> compact ?
+                    new CompactFlowTable() : Maps.newConcurrentMap())
+                    .computeIfAbsent(entry.id(), id -> compact ?
+                            CompactFlowTable.newFlowEntries() : Maps.newConcurrentMap())
+                    .put(entry, entry);
+        }
+        counters.bytesPerRule = (usedHeap() - before) / rules;
+    }
+
+    private static FlowRule flowRule(int n) {
+        int port = n % PORTS + 1;
+        return DefaultFlowRule.builder()
+                .forDevice(deviceId(String.format("of:%016x", n % DEVICES)))
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(portNumber(port))
+                                      .matchEthType(Ethernet.TYPE_IPV4)
+                                      .matchIPDst(IpPrefix.valueOf(0x0a000000 + n, 32))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder().setOutput(portNumber(port % PORTS + 1)).build())
+                .withPriority(40000)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -20,14 +20,19 @@ import org.junit.Before;
 import org.junit.Test;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.MacAddress;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DeviceId;
 import org.onosproject.net.Host;
 import org.onosproject.net.HostId;
 import org.onosproject.net.HostLocation;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.host.DefaultHostDescription;
 import org.onosproject.net.host.HostDescription;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.service.TestStorageService;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
 import java.util.HashSet;
@@ -146,6 +151,47 @@ public class DistributedHostStoreTest {
         assertEquals(PID2, hostInStore.providerId());
     }
 
+    /**
+     * Tests the MAC, VLAN, connect point and device lookups as hosts are
+     * added, moved and removed.
+     */
+    @Test
+    public void testIndexedLookups() {
+        DeviceId did1 = DeviceId.deviceId("of:1");
+        DeviceId did2 = DeviceId.deviceId("of:2");
+        HostLocation loc1 = new HostLocation(did1, PortNumber.portNumber(1), 0);
+        HostLocation loc2 = new HostLocation(did2, PortNumber.portNumber(2), 0);
+        ConnectPoint cp1 = new ConnectPoint(did1, PortNumber.portNumber(1));
+        VlanId vlan = VlanId.vlanId((short) 10);
+        HostId hostId = HostId.hostId(HOSTID.mac(), vlan);
+        HostId hostId1 = HostId.hostId(HOSTID1.mac(), vlan);
+
+        ecXHostStore.createOrUpdateHost(PID, hostId, createHostDesc(hostId, loc1), false);
+        ecXHostStore.createOrUpdateHost(PID, hostId1, createHostDesc(hostId1, loc1), false);
+        Host host = ecXHostStore.getHost(hostId);
+
+        assertEquals(ImmutableSet.of(host), ecXHostStore.getHosts(HOSTID.mac()));
+        assertEquals(2, ecXHostStore.getHosts(vlan).size());
+        assertEquals(2, ecXHostStore.getConnectedHosts(cp1).size());
+        assertEquals(2, ecXHostStore.getConnectedHosts(did1).size());
+        assertTrue(ecXHostStore.getHosts(VlanId.NONE).isEmpty());
+
+        // move the first host to the second device
+        ecXHostStore.createOrUpdateHost(PID, hostId, createHostDesc(hostId, loc2), false);
+        assertEquals(ImmutableSet.of(ecXHostStore.getHost(hostId1)), ecXHostStore.getConnectedHosts(cp1));
+        assertEquals(ImmutableSet.of(ecXHostStore.getHost(hostId)), ecXHostStore.getConnectedHosts(did2));
+        assertEquals(2, ecXHostStore.getHosts(vlan).size());
+
+        ecXHostStore.removeHost(hostId);
+        assertTrue(ecXHostStore.getHosts(HOSTID.mac()).isEmpty());
+        assertTrue(ecXHostStore.getConnectedHosts(did2).isEmpty());
+        assertEquals(1, ecXHostStore.getHosts(vlan).size());
+    }
+
+    private static HostDescription createHostDesc(HostId hostId, HostLocation location) {
+        return new DefaultHostDescription(hostId.mac(), hostId.vlanId(), location, ImmutableSet.of());
+    }
+
     private static HostDescription createHostDesc(HostId hostId, Set<IpAddress> ips) {
         return createHostDesc(hostId, ips, false);
     }
@@ -307,6 +307,33 @@ public class ECLinkStoreTest {
         assertLink(linkId2, DIRECT, links2.iterator().next());
     }
 
+    @Test
+    public final void testEndpointLookupsAfterRemoval() {
+        final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
+        final ConnectPoint d2P2 = new ConnectPoint(DID2, P2);
+        LinkKey linkId1 = LinkKey.linkKey(d1P1, d2P2);
+        LinkKey linkId2 = LinkKey.linkKey(new ConnectPoint(DID1, P2), new ConnectPoint(DID2, P3));
+
+        putLink(linkId1, DIRECT);
+        putLink(linkId2, DIRECT);
+        linkStore.removeLink(d1P1, d2P2);
+
+        assertTrue(linkStore.getEgressLinks(d1P1).isEmpty());
+        assertTrue(linkStore.getIngressLinks(d2P2).isEmpty());
+
+        Set<Link> egress = linkStore.getDeviceEgressLinks(DID1);
+        assertEquals(1, egress.size());
+        assertLink(linkId2, DIRECT, egress.iterator().next());
+
+        Set<Link> ingress = linkStore.getDeviceIngressLinks(DID2);
+        assertEquals(1, ingress.size());
+        assertLink(linkId2, DIRECT, ingress.iterator().next());
+
+        linkStore.removeLink(linkId2.src(), linkId2.dst());
+        assertTrue(linkStore.getDeviceEgressLinks(DID1).isEmpty());
+        assertTrue(linkStore.getDeviceIngressLinks(DID2).isEmpty());
+    }
+
     @Test
     public final void testGetIngressLinks() {
         final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.DiscreteResourceId;
+import org.onosproject.net.resource.ResourceConsumerId;
+import org.onosproject.net.resource.Resources;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.TestConsistentMap;
+import org.onosproject.store.service.TestStorageService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for the consumer lookups of ConsistentDiscreteResourceSubStore.
+ */
+public class ConsistentDiscreteResourceSubStoreTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("a");
+    private static final PortNumber PN1 = PortNumber.portNumber(1);
+
+    private static final DiscreteResource VLAN1 = Resources.discrete(DID, PN1, VlanId.vlanId((short) 100)).resource();
+    private static final DiscreteResource VLAN2 = Resources.discrete(DID, PN1, VlanId.vlanId((short) 200)).resource();
+    private static final DiscreteResource VLAN3 = Resources.discrete(DID, PN1, VlanId.vlanId((short) 300)).resource();
+
+    private static final ResourceConsumerId CONSUMER1 = IntentId.valueOf(1).consumerId();
+    private static final ResourceConsumerId CONSUMER2 = IntentId.valueOf(2).consumerId();
+
+    private SharedMapStorageService service;
+    private ConsistentMap<DiscreteResourceId, ResourceConsumerId> consumers;
+
+    @Before
+    public void setUp() {
+        service = new SharedMapStorageService();
+        consumers = service.map(MapNames.DISCRETE_CONSUMER_MAP);
+    }
+
+    @Test
+    public void testAllocationsBeforeCreation() {
+        consumers.put(VLAN1.id(), CONSUMER1);
+        consumers.put(VLAN2.id(), CONSUMER2);
+
+        ConsistentDiscreteResourceSubStore sut = new ConsistentDiscreteResourceSubStore(service);
+
+        assertThat(sut.getResources(CONSUMER1).collect(Collectors.toList()), containsInAnyOrder(VLAN1));
+        assertThat(sut.getResources(CONSUMER2).collect(Collectors.toList()), containsInAnyOrder(VLAN2));
+    }
+
+    @Test
+    public void testAllocationsAfterCreation() {
+        ConsistentDiscreteResourceSubStore sut = new ConsistentDiscreteResourceSubStore(service);
+
+        consumers.put(VLAN1.id(), CONSUMER1);
+        consumers.put(VLAN2.id(), CONSUMER1);
+        consumers.put(VLAN3.id(), CONSUMER2);
+        assertThat(sut.getResources(CONSUMER1).collect(Collectors.toList()), containsInAnyOrder(VLAN1, VLAN2));
+
+        consumers.remove(VLAN1.id());
+        consumers.put(VLAN3.id(), CONSUMER1);
+        assertThat(sut.getResources(CONSUMER1).collect(Collectors.toList()), containsInAnyOrder(VLAN2, VLAN3));
+        assertThat(sut.getResources(CONSUMER2).collect(Collectors.toList()), is(empty()));
+    }
+
+    @Test
+    public void testStaleIndexEntries() {
+        ConsistentDiscreteResourceSubStore sut = new ConsistentDiscreteResourceSubStore(service);
+
+        consumers.put(VLAN1.id(), CONSUMER1);
+        sut.index(CONSUMER1, VLAN2.id());
+        sut.index(CONSUMER2, VLAN1.id());
+
+        assertThat(sut.getResources(CONSUMER1).collect(Collectors.toList()), containsInAnyOrder(VLAN1));
+        assertThat(sut.getResources(CONSUMER2).collect(Collectors.toList()), is(empty()));
+    }
+
+    /**
+     * Storage service handing out the same map for the same name.
+     */
+    private static class SharedMapStorageService extends TestStorageService {
+        private final Map<String, ConsistentMap<?, ?>> maps = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        <K, V> ConsistentMap<K, V> map(String name) {
+            return (ConsistentMap<K, V>) maps.computeIfAbsent(name, n -> {
+                TestConsistentMap.Builder<K, V> builder = new TestConsistentMap.Builder<>();
+                builder.withName(n);
+                return builder.build();
+            });
+        }
+
+        @Override
+        public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+            return new TestConsistentMap.Builder<K, V>() {
+                @Override
+                public ConsistentMap<K, V> build() {
+                    return map(name());
+                }
+            };
+        }
+    }
+}
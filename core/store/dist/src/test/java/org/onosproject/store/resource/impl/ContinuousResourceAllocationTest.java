@@ -182,4 +182,18 @@ public class ContinuousResourceAllocationTest {
                 .stream()
                 .allMatch(x -> x.equals(new ResourceAllocation(allocated, consumer))), is(true));
     }
+
+    @Test
+    public void testAvailable() {
+        ContinuousResource original =
+                Resources.continuous(DID, PN1, Bandwidth.class).resource(Bandwidth.gbps(1).bps());
+        ContinuousResource allocated =
+                Resources.continuous(DID, PN1, Bandwidth.class).resource(Bandwidth.mbps(300).bps());
+        ResourceConsumer consumer = IntentId.valueOf(1);
+
+        ContinuousResourceAllocation sut = new ContinuousResourceAllocation(original,
+                ImmutableList.of(new ResourceAllocation(allocated, consumer)));
+
+        assertThat(sut.available(), is(Bandwidth.mbps(700).bps()));
+    }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import com.google.common.base.MoreObjects;
+import org.onosproject.cluster.NodeId;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Anti-entropy advertisement message for eventually consistent map carrying
+ * one hash per bucket of map entries instead of a digest per entry.
+ */
+public class AntiEntropyBucketAdvertisement {
+
+    private final NodeId sender;
+    private final long[] bucketHashes;
+
+    /**
+     * Creates a new bucket anti-entropy advertisement message.
+     *
+     * @param sender       the sender's node ID
+     * @param bucketHashes hash of the entries of each bucket
+     */
+    public AntiEntropyBucketAdvertisement(NodeId sender, long[] bucketHashes) {
+        this.sender = checkNotNull(sender);
+        this.bucketHashes = Arrays.copyOf(checkNotNull(bucketHashes), bucketHashes.length);
+    }
+
+    /**
+     * Returns the sender's node ID.
+     *
+     * @return the sender's node ID
+     */
+    public NodeId sender() {
+        return sender;
+    }
+
+    /**
+     * Returns the hash of the entries of each bucket.
+     *
+     * @return array of bucket hashes, indexed by bucket
+     */
+    public long[] bucketHashes() {
+        return Arrays.copyOf(bucketHashes, bucketHashes.length);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(getClass())
+                .add("sender", sender)
+                .add("totalBuckets", bucketHashes.length)
+                .toString();
+    }
+}
@@ -21,6 +21,8 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import org.apache.commons.lang3.tuple.Pair;
 import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.KryoNamespace;
@@ -62,6 +64,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -98,6 +101,7 @@ public class EventuallyConsistentMapImpl<K, V>
     private final MessageSubject initializeMessageSubject;
     private final MessageSubject updateMessageSubject;
     private final MessageSubject antiEntropyAdvertisementSubject;
+    private final MessageSubject antiEntropyBucketSubject;
     private final MessageSubject updateRequestSubject;
 
     private final Set<EventuallyConsistentMapListener<K, V>> listeners
@@ -125,6 +129,15 @@ public class EventuallyConsistentMapImpl<K, V>
     private final long initialDelaySec = 5;
     private final boolean lightweightAntiEntropy;
     private final boolean tombstonesDisabled;
+    private final boolean bucketedAntiEntropy;
+
+    // number of buckets entries are hashed into for bucketed anti-entropy
+    private static final int ANTI_ENTROPY_BUCKETS = 1024;
+    private static final HashFunction BUCKET_HASH = Hashing.murmur3_32();
+    private static final HashFunction ENTRY_HASH = Hashing.murmur3_128();
+    // maintained on every write when bucketed anti-entropy is enabled
+    private final Map<K, EntryHash> entryHashes;
+    private final AtomicLongArray bucketHashes;
 
     private static final int WINDOW_SIZE = 5;
     private static final int HIGH_LOAD_THRESHOLD = 2;
@@ -158,9 +171,12 @@ public class EventuallyConsistentMapImpl<K, V>
      * @param antiEntropyPeriod     period that the anti-entropy task should run
      * @param antiEntropyTimeUnit   time unit for anti-entropy period
      * @param convergeFaster        make anti-entropy try to converge faster
+     * @param bucketedAntiEntropy   advertise bucket hashes first and entry
+     *                              digests only for the buckets that differ
      * @param persistent            persist data to disk
      * @param persistenceService    persistence service
      */
+    // CHECKSTYLE IGNORE ParameterNumber FOR NEXT 1 LINES
     EventuallyConsistentMapImpl(String mapName,
                                 ClusterService clusterService,
                                 ClusterCommunicationService clusterCommunicator,
@@ -174,6 +190,7 @@ public class EventuallyConsistentMapImpl<K, V>
                                 long antiEntropyPeriod,
                                 TimeUnit antiEntropyTimeUnit,
                                 boolean convergeFaster,
+                                boolean bucketedAntiEntropy,
                                 boolean persistent,
                                 PersistenceService persistenceService) {
         this.mapName = mapName;
@@ -189,6 +206,14 @@ public class EventuallyConsistentMapImpl<K, V>
         } else {
             items = Maps.newConcurrentMap();
         }
+        if (bucketedAntiEntropy) {
+            entryHashes = Maps.newConcurrentMap();
+            bucketHashes = new AtomicLongArray(ANTI_ENTROPY_BUCKETS);
+            items.forEach(this::updateBucketHash);
+        } else {
+            entryHashes = null;
+            bucketHashes = null;
+        }
         senderPending = Maps.newConcurrentMap();
         destroyedMessage = mapName + ERROR_DESTROYED;
 
@@ -266,6 +291,15 @@ public class EventuallyConsistentMapImpl<K, V>
                                           serializer::encode,
                                           this.backgroundExecutor);
 
+        antiEntropyBucketSubject = new MessageSubject("ecm-" + mapName + "-anti-entropy-buckets");
+        if (bucketedAntiEntropy) {
+            clusterCommunicator.addSubscriber(antiEntropyBucketSubject,
+                                              serializer::decode,
+                                              this::handleAntiEntropyBucketAdvertisement,
+                                              serializer::encode,
+                                              this.backgroundExecutor);
+        }
+
         updateRequestSubject = new MessageSubject("ecm-" + mapName + "-update-request");
         clusterCommunicator.addSubscriber(updateRequestSubject,
                                           serializer::decode,
@@ -282,6 +316,7 @@ public class EventuallyConsistentMapImpl<K, V>
 
         this.tombstonesDisabled = tombstonesDisabled;
         this.lightweightAntiEntropy = !convergeFaster;
+        this.bucketedAntiEntropy = bucketedAntiEntropy;
 
         // Initiate first round of Gossip
         this.bootstrap();
@@ -302,6 +337,7 @@ public class EventuallyConsistentMapImpl<K, V>
                          .register(MapValue.class)
                          .register(MapValue.Digest.class)
                          .register(UpdateRequest.class)
+                         .register(AntiEntropyBucketAdvertisement.class)
                          .build(name() + "-ecmap"));
     }
 
@@ -418,7 +454,7 @@ public class EventuallyConsistentMapImpl<K, V>
             }
             if (updated.get()) {
                 previousValue.set(existing);
-                return tombstone.orElse(null);
+                return updateBucketHash(k, tombstone.orElse(null));
             } else {
                 return existing;
             }
@@ -446,7 +482,7 @@ public class EventuallyConsistentMapImpl<K, V>
                 updated.set(true);
                 // We return a copy to ensure updates to peers can be serialized.
                 // This prevents replica divergence due to serialization failures.
-                return serializer.copy(newValue);
+                return updateBucketHash(k, serializer.copy(newValue));
             } else {
                 return mv;
             }
@@ -517,7 +553,7 @@ public class EventuallyConsistentMapImpl<K, V>
         items.compute(key, (k, existing) -> {
             if (existing == null || newValue.isNewerThan(existing)) {
                 updated.set(true);
-                return newValue;
+                return updateBucketHash(k, newValue);
             }
             return existing;
         });
@@ -558,6 +594,9 @@ public class EventuallyConsistentMapImpl<K, V>
         clusterCommunicator.removeSubscriber(updateMessageSubject);
         clusterCommunicator.removeSubscriber(updateRequestSubject);
         clusterCommunicator.removeSubscriber(antiEntropyAdvertisementSubject);
+        if (bucketedAntiEntropy) {
+            clusterCommunicator.removeSubscriber(antiEntropyBucketSubject);
+        }
         return CompletableFuture.completedFuture(null);
     }
 
@@ -588,7 +627,11 @@ public class EventuallyConsistentMapImpl<K, V>
             if (underHighLoad() || destroyed) {
                 return;
             }
-            pickRandomActivePeer().ifPresent(this::sendAdvertisementToPeer);
+            if (bucketedAntiEntropy) {
+                pickRandomActivePeer().ifPresent(this::sendBucketAdvertisementToPeer);
+            } else {
+                pickRandomActivePeer().ifPresent(this::sendAdvertisementToPeer);
+            }
         } catch (Exception e) {
             // Catch all exceptions to avoid scheduled task being suppressed.
             log.error("Exception thrown while sending advertisement", e);
@@ -607,8 +650,11 @@ public class EventuallyConsistentMapImpl<K, V>
     }
 
     private void sendAdvertisementToPeer(NodeId peer) {
+        sendAdvertisementToPeer(peer, createAdvertisement());
+    }
+
+    private void sendAdvertisementToPeer(NodeId peer, AntiEntropyAdvertisement<K> ad) {
         long adCreationTime = System.currentTimeMillis();
-        AntiEntropyAdvertisement<K> ad = createAdvertisement();
         clusterCommunicator.sendAndReceive(ad,
                 antiEntropyAdvertisementSubject,
                 serializer::encode,
@@ -638,11 +684,138 @@ public class EventuallyConsistentMapImpl<K, V>
                 });
     }
 
+    private void sendBucketAdvertisementToPeer(NodeId peer) {
+        long adCreationTime = System.currentTimeMillis();
+        AntiEntropyBucketAdvertisement ad =
+                new AntiEntropyBucketAdvertisement(localNodeId, currentBucketHashes());
+        clusterCommunicator.sendAndReceive(ad,
+                antiEntropyBucketSubject,
+                serializer::encode,
+                serializer::decode,
+                peer)
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.debug("Failed to send anti-entropy bucket advertisement to {}: {}",
+                                peer, error.getMessage());
+                    } else if (result == AntiEntropyResponse.PROCESSED) {
+                        antiEntropyTimes.put(peer, adCreationTime);
+                    }
+                });
+    }
+
     private AntiEntropyAdvertisement<K> createAdvertisement() {
         return new AntiEntropyAdvertisement<>(localNodeId,
                 ImmutableMap.copyOf(Maps.transformValues(items, MapValue::digest)));
     }
 
+    private AntiEntropyAdvertisement<K> createAdvertisement(Set<Integer> buckets) {
+        Map<K, MapValue.Digest> digest = Maps.newHashMap();
+        items.forEach((key, value) -> {
+            if (buckets.contains(bucketOf(key))) {
+                digest.put(key, value.digest());
+            }
+        });
+        return new AntiEntropyAdvertisement<>(localNodeId, digest, buckets);
+    }
+
+    /*
+     * Entries are bucketed and hashed by their serialized form, as the
+     * hashCode() of keys and timestamps is not necessarily the same on all
+     * nodes. Bucket hashes are sums of entry hashes, so they do not depend
+     * on the iteration order of the map.
+     */
+    private int bucketOf(byte[] key) {
+        return BUCKET_HASH.hashBytes(key).asInt() & (ANTI_ENTROPY_BUCKETS - 1);
+    }
+
+    private int bucketOf(K key) {
+        EntryHash entryHash = entryHashes == null ? null : entryHashes.get(key);
+        return entryHash != null ? entryHash.bucket : bucketOf(serializer.encode(key));
+    }
+
+    /*
+     * Updates the hash of the bucket the key falls into for the new value of
+     * the entry. Must be called from within the items.compute() that writes
+     * the value, so that updates of the same key are applied in order.
+     */
+    private MapValue<V> updateBucketHash(K key, MapValue<V> value) {
+        if (entryHashes == null) {
+            return value;
+        }
+        EntryHash previous;
+        if (value == null) {
+            previous = entryHashes.remove(key);
+            if (previous != null) {
+                bucketHashes.addAndGet(previous.bucket, -previous.hash);
+            }
+            return null;
+        }
+        byte[] keyBytes = serializer.encode(key);
+        EntryHash entryHash = new EntryHash(bucketOf(keyBytes), ENTRY_HASH.newHasher()
+                .putBytes(keyBytes)
+                .putBytes(serializer.encode(value.digest()))
+                .hash()
+                .asLong());
+        previous = entryHashes.put(key, entryHash);
+        bucketHashes.addAndGet(entryHash.bucket, entryHash.hash - (previous == null ? 0 : previous.hash));
+        return value;
+    }
+
+    private long[] currentBucketHashes() {
+        long[] hashes = new long[bucketHashes.length()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = bucketHashes.get(i);
+        }
+        return hashes;
+    }
+
+    private static final class EntryHash {
+        private final int bucket;
+        private final long hash;
+
+        private EntryHash(int bucket, long hash) {
+            this.bucket = bucket;
+            this.hash = hash;
+        }
+    }
+
+    /**
+     * Compares the bucket hashes of a peer with the local ones and, for the
+     * buckets that differ, sends the peer an advertisement with the digests
+     * of the local entries in those buckets. The regular anti-entropy
+     * handling on the peer then pushes and pulls the entries that differ.
+     */
+    private AntiEntropyResponse handleAntiEntropyBucketAdvertisement(AntiEntropyBucketAdvertisement ad) {
+        if (destroyed || underHighLoad()) {
+            return AntiEntropyResponse.IGNORED;
+        }
+        try {
+            long[] remoteHashes = ad.bucketHashes();
+            long[] localHashes = currentBucketHashes();
+            if (remoteHashes.length != localHashes.length) {
+                log.warn("Bucket count mismatch in anti-entropy advertisement from {}", ad.sender());
+                return AntiEntropyResponse.FAILED;
+            }
+            Set<Integer> buckets = new HashSet<>();
+            for (int i = 0; i < localHashes.length; i++) {
+                if (localHashes[i] != remoteHashes[i]) {
+                    buckets.add(i);
+                }
+            }
+            if (log.isTraceEnabled()) {
+                log.trace("Received anti-entropy bucket advertisement from {} for {} with {} differing buckets",
+                        ad.sender(), mapName, buckets.size());
+            }
+            if (!buckets.isEmpty()) {
+                sendAdvertisementToPeer(ad.sender(), createAdvertisement(buckets));
+            }
+        } catch (Exception e) {
+            log.warn("Error handling anti-entropy bucket advertisement", e);
+            return AntiEntropyResponse.FAILED;
+        }
+        return AntiEntropyResponse.PROCESSED;
+    }
+
     private AntiEntropyResponse handleAntiEntropyAdvertisement(AntiEntropyAdvertisement<K> ad) {
         if (destroyed || underHighLoad()) {
             return AntiEntropyResponse.IGNORED;
@@ -675,6 +848,9 @@ public class EventuallyConsistentMapImpl<K, V>
         Set<K> locallyUnknown = new HashSet<>(ad.digest().keySet());
 
         items.forEach((key, localValue) -> {
+            if (!ad.coversAll() && !ad.covers(bucketOf(key))) {
+                return;
+            }
             locallyUnknown.remove(key);
             MapValue.Digest remoteValueDigest = ad.digest().get(key);
             if (remoteValueDigest == null || localValue.isNewerThan(remoteValueDigest.timestamp())) {
@@ -737,7 +913,8 @@ public class EventuallyConsistentMapImpl<K, V>
                                           .filter(e -> e.getValue().creationTime() <= currentSafeTombstonePurgeTime)
                                           .collect(Collectors.toList());
         previousTombstonePurgeTime = currentSafeTombstonePurgeTime;
-        tombStonesToDelete.forEach(entry -> items.remove(entry.getKey(), entry.getValue()));
+        tombStonesToDelete.forEach(entry -> items.computeIfPresent(entry.getKey(), (k, existing) ->
+                existing.equals(entry.getValue()) ? updateBucketHash(k, null) : existing));
     }
 
     private void processUpdates(Collection<UpdateEntry<K, V>> updates) {
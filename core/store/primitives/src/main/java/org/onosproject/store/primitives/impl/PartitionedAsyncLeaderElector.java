@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -29,6 +30,7 @@ import org.onosproject.cluster.PartitionId;
 import org.onosproject.event.Change;
 import org.onosproject.store.service.AsyncLeaderElector;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * {@link AsyncLeaderElector} that has its topics partitioned horizontally across
@@ -68,11 +70,31 @@ public class PartitionedAsyncLeaderElector implements AsyncLeaderElector {
         return getLeaderElector(topic).anoint(topic, nodeId);
     }
 
+    @Override
+    public CompletableFuture<Set<String>> anoint(Map<String, NodeId> leaders) {
+        Set<String> anointed = Sets.newConcurrentHashSet();
+        return CompletableFuture.allOf(partition(leaders).entrySet().stream()
+                                               .map(e -> e.getKey().anoint(e.getValue())
+                                                          .thenAccept(anointed::addAll))
+                                               .toArray(CompletableFuture[]::new))
+                                .thenApply(v -> anointed);
+    }
+
     @Override
     public CompletableFuture<Boolean> promote(String topic, NodeId nodeId) {
         return getLeaderElector(topic).promote(topic, nodeId);
     }
 
+    @Override
+    public CompletableFuture<Set<String>> promote(Map<String, NodeId> candidates) {
+        Set<String> promoted = Sets.newConcurrentHashSet();
+        return CompletableFuture.allOf(partition(candidates).entrySet().stream()
+                                               .map(e -> e.getKey().promote(e.getValue())
+                                                          .thenAccept(promoted::addAll))
+                                               .toArray(CompletableFuture[]::new))
+                                .thenApply(v -> promoted);
+    }
+
     @Override
     public CompletableFuture<Void> evict(NodeId nodeId) {
         return CompletableFuture.allOf(getLeaderElectors().stream()
@@ -118,6 +140,18 @@ public class PartitionedAsyncLeaderElector implements AsyncLeaderElector {
         return partitions.get(topicHasher.hash(topic));
     }
 
+    /**
+     * Splits a topic to node mapping by the leaderElector (partition) to which the topics map.
+     * @param nodeIds topic to node mapping
+     * @return topic to node mappings by leaderElector
+     */
+    private Map<AsyncLeaderElector, Map<String, NodeId>> partition(Map<String, NodeId> nodeIds) {
+        Map<AsyncLeaderElector, Map<String, NodeId>> partitioned = Maps.newHashMap();
+        nodeIds.forEach((topic, nodeId) ->
+                partitioned.computeIfAbsent(getLeaderElector(topic), le -> Maps.newHashMap()).put(topic, nodeId));
+        return partitioned;
+    }
+
     /**
      * Returns all the constituent leader electors.
      * @return collection of leader electors.
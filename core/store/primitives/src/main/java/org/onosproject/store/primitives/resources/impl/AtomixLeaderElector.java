@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.primitives.resources.impl;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -31,9 +32,11 @@ import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Anoint;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.AnointAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GetElectedTopics;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GetLeadership;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Promote;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PromoteAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Run;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Withdraw;
 import org.onosproject.store.serializers.KryoNamespaces;
@@ -43,11 +46,13 @@ import org.onosproject.store.service.Serializer;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorEvents.CHANGE;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ADD_LISTENER;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ANOINT;
+import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ANOINT_ALL;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.EVICT;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_ALL_LEADERSHIPS;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_ELECTED_TOPICS;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_LEADERSHIP;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PROMOTE;
+import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PROMOTE_ALL;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.REMOVE_LISTENER;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.RUN;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.WITHDRAW;
@@ -126,6 +131,16 @@ public class AtomixLeaderElector extends AbstractRaftPrimitive implements AsyncL
                 .whenComplete((r, e) -> cache.invalidate(topic));
     }
 
+    @Override
+    public CompletableFuture<Set<String>> anoint(Map<String, NodeId> leaders) {
+        if (leaders.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+        return proxy.<AnointAll, Set<String>>invoke(
+                ANOINT_ALL, SERIALIZER::encode, new AnointAll(leaders), SERIALIZER::decode)
+                .whenComplete((r, e) -> cache.invalidateAll(leaders.keySet()));
+    }
+
     @Override
     public CompletableFuture<Boolean> promote(String topic, NodeId nodeId) {
         return proxy.<Promote, Boolean>invoke(
@@ -133,6 +148,16 @@ public class AtomixLeaderElector extends AbstractRaftPrimitive implements AsyncL
                 .whenComplete((r, e) -> cache.invalidate(topic));
     }
 
+    @Override
+    public CompletableFuture<Set<String>> promote(Map<String, NodeId> candidates) {
+        if (candidates.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+        return proxy.<PromoteAll, Set<String>>invoke(
+                PROMOTE_ALL, SERIALIZER::encode, new PromoteAll(candidates), SERIALIZER::decode)
+                .whenComplete((r, e) -> cache.invalidateAll(candidates.keySet()));
+    }
+
     @Override
     public CompletableFuture<Void> evict(NodeId nodeId) {
         return proxy.invoke(EVICT, SERIALIZER::encode, new AtomixLeaderElectorOperations.Evict(nodeId));
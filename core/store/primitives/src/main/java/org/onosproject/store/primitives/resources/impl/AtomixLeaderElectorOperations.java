@@ -15,7 +15,10 @@
  */
 package org.onosproject.store.primitives.resources.impl;
 
+import java.util.Map;
+
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.Maps;
 import io.atomix.protocols.raft.operation.OperationId;
 import io.atomix.protocols.raft.operation.OperationType;
 import org.onlab.util.KryoNamespace;
@@ -35,6 +38,8 @@ public enum AtomixLeaderElectorOperations implements OperationId {
     WITHDRAW("withdraw", OperationType.COMMAND),
     ANOINT("anoint", OperationType.COMMAND),
     PROMOTE("promote", OperationType.COMMAND),
+    ANOINT_ALL("anointAll", OperationType.COMMAND),
+    PROMOTE_ALL("promoteAll", OperationType.COMMAND),
     EVICT("evict", OperationType.COMMAND),
     GET_LEADERSHIP("getLeadership", OperationType.QUERY),
     GET_ALL_LEADERSHIPS("getAllLeaderships", OperationType.QUERY),
@@ -68,6 +73,8 @@ public enum AtomixLeaderElectorOperations implements OperationId {
             .register(Evict.class)
             .register(GetLeadership.class)
             .register(GetElectedTopics.class)
+            .register(AnointAll.class)
+            .register(PromoteAll.class)
             .build("AtomixLeaderElectorOperations");
 
     /**
@@ -300,6 +307,66 @@ public enum AtomixLeaderElectorOperations implements OperationId {
         }
     }
 
+    /**
+     * Command for administratively changing the leadership state of several topics.
+     */
+    @SuppressWarnings("serial")
+    public abstract static class BatchElectionChangeOperation extends ElectionOperation {
+        private Map<String, NodeId> nodeIds;
+
+        BatchElectionChangeOperation() {
+            nodeIds = null;
+        }
+
+        public BatchElectionChangeOperation(Map<String, NodeId> nodeIds) {
+            this.nodeIds = Maps.newHashMap(checkNotNull(nodeIds));
+        }
+
+        /**
+         * Returns the nodeIds by topic.
+         *
+         * @return topic to nodeId mapping
+         */
+        public Map<String, NodeId> nodeIds() {
+            return nodeIds;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("nodeIds", nodeIds)
+                    .toString();
+        }
+    }
+
+    /**
+     * Command for administratively anoint nodes as leaders of several topics.
+     */
+    @SuppressWarnings("serial")
+    public static class AnointAll extends BatchElectionChangeOperation {
+
+        private AnointAll() {
+        }
+
+        public AnointAll(Map<String, NodeId> nodeIds) {
+            super(nodeIds);
+        }
+    }
+
+    /**
+     * Command for administratively promote nodes as top candidates of several topics.
+     */
+    @SuppressWarnings("serial")
+    public static class PromoteAll extends BatchElectionChangeOperation {
+
+        private PromoteAll() {
+        }
+
+        public PromoteAll(Map<String, NodeId> nodeIds) {
+            super(nodeIds);
+        }
+    }
+
     /**
      * Command for administratively evicting a node from all leadership topics.
      */
@@ -46,10 +46,12 @@ import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Anoint;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.AnointAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Evict;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GetElectedTopics;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GetLeadership;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Promote;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PromoteAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Run;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.Withdraw;
 import org.onosproject.store.service.Serializer;
@@ -57,11 +59,13 @@ import org.onosproject.store.service.Serializer;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorEvents.CHANGE;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ADD_LISTENER;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ANOINT;
+import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.ANOINT_ALL;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.EVICT;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_ALL_LEADERSHIPS;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_ELECTED_TOPICS;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.GET_LEADERSHIP;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PROMOTE;
+import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.PROMOTE_ALL;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.REMOVE_LISTENER;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.RUN;
 import static org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorOperations.WITHDRAW;
@@ -112,6 +116,8 @@ public class AtomixLeaderElectorService extends AbstractRaftService {
         executor.register(WITHDRAW, SERIALIZER::decode, this::withdraw);
         executor.register(ANOINT, SERIALIZER::decode, this::anoint, SERIALIZER::encode);
         executor.register(PROMOTE, SERIALIZER::decode, this::promote, SERIALIZER::encode);
+        executor.register(ANOINT_ALL, SERIALIZER::decode, this::anointAll, SERIALIZER::encode);
+        executor.register(PROMOTE_ALL, SERIALIZER::decode, this::promoteAll, SERIALIZER::encode);
         executor.register(EVICT, SERIALIZER::decode, this::evict);
         // Queries
         executor.register(GET_LEADERSHIP, SERIALIZER::decode, this::getLeadership, SERIALIZER::encode);
@@ -208,24 +214,53 @@ public class AtomixLeaderElectorService extends AbstractRaftService {
      */
     public boolean anoint(Commit<? extends Anoint> commit) {
         try {
-            String topic = commit.value().topic();
-            NodeId nodeId = commit.value().nodeId();
-            Leadership oldLeadership = leadership(topic);
-            ElectionState electionState = elections.computeIfPresent(topic,
-                    (k, v) -> v.transferLeadership(nodeId, termCounter(topic)));
-            Leadership newLeadership = leadership(topic);
-            if (!Objects.equal(oldLeadership, newLeadership)) {
-                notifyLeadershipChange(oldLeadership, newLeadership);
-            }
-            return (electionState != null &&
-                    electionState.leader() != null &&
-                    commit.value().nodeId().equals(electionState.leader().nodeId()));
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            boolean anointed = anointLeader(commit.value().topic(), commit.value().nodeId(), changes);
+            notifyLeadershipChanges(changes);
+            return anointed;
+        } catch (Exception e) {
+            getLogger().error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Applies an {@link AtomixLeaderElectorOperations.AnointAll} commit.
+     * <p>
+     * The changes of all topics are published to listeners as a single event.
+     * @param commit anoint all commit
+     * @return topics for which the transfer occurred
+     */
+    public Set<String> anointAll(Commit<? extends AnointAll> commit) {
+        try {
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            Set<String> anointed = Sets.newHashSet();
+            commit.value().nodeIds().forEach((topic, nodeId) -> {
+                if (anointLeader(topic, nodeId, changes)) {
+                    anointed.add(topic);
+                }
+            });
+            notifyLeadershipChanges(changes);
+            return anointed;
         } catch (Exception e) {
             getLogger().error("State machine operation failed", e);
             throw Throwables.propagate(e);
         }
     }
 
+    private boolean anointLeader(String topic, NodeId nodeId, List<Change<Leadership>> changes) {
+        Leadership oldLeadership = leadership(topic);
+        ElectionState electionState = elections.computeIfPresent(topic,
+                (k, v) -> v.transferLeadership(nodeId, termCounter(topic)));
+        Leadership newLeadership = leadership(topic);
+        if (!Objects.equal(oldLeadership, newLeadership)) {
+            changes.add(new Change<>(oldLeadership, newLeadership));
+        }
+        return (electionState != null &&
+                electionState.leader() != null &&
+                nodeId.equals(electionState.leader().nodeId()));
+    }
+
     /**
      * Applies an {@link AtomixLeaderElectorOperations.Promote} commit.
      * @param commit promote commit
@@ -233,24 +268,53 @@ public class AtomixLeaderElectorService extends AbstractRaftService {
      */
     public boolean promote(Commit<? extends Promote> commit) {
         try {
-            String topic = commit.value().topic();
-            NodeId nodeId = commit.value().nodeId();
-            Leadership oldLeadership = leadership(topic);
-            if (oldLeadership == null || !oldLeadership.candidates().contains(nodeId)) {
-                return false;
-            }
-            elections.computeIfPresent(topic, (k, v) -> v.promote(nodeId));
-            Leadership newLeadership = leadership(topic);
-            if (!Objects.equal(oldLeadership, newLeadership)) {
-                notifyLeadershipChange(oldLeadership, newLeadership);
-            }
-            return true;
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            boolean promoted = promoteCandidate(commit.value().topic(), commit.value().nodeId(), changes);
+            notifyLeadershipChanges(changes);
+            return promoted;
+        } catch (Exception e) {
+            getLogger().error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        }
+    }
+
+    /**
+     * Applies an {@link AtomixLeaderElectorOperations.PromoteAll} commit.
+     * <p>
+     * The changes of all topics are published to listeners as a single event.
+     * @param commit promote all commit
+     * @return topics for which the desired end state is achieved
+     */
+    public Set<String> promoteAll(Commit<? extends PromoteAll> commit) {
+        try {
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            Set<String> promoted = Sets.newHashSet();
+            commit.value().nodeIds().forEach((topic, nodeId) -> {
+                if (promoteCandidate(topic, nodeId, changes)) {
+                    promoted.add(topic);
+                }
+            });
+            notifyLeadershipChanges(changes);
+            return promoted;
         } catch (Exception e) {
             getLogger().error("State machine operation failed", e);
             throw Throwables.propagate(e);
         }
     }
 
+    private boolean promoteCandidate(String topic, NodeId nodeId, List<Change<Leadership>> changes) {
+        Leadership oldLeadership = leadership(topic);
+        if (oldLeadership == null || !oldLeadership.candidates().contains(nodeId)) {
+            return false;
+        }
+        elections.computeIfPresent(topic, (k, v) -> v.promote(nodeId));
+        Leadership newLeadership = leadership(topic);
+        if (!Objects.equal(oldLeadership, newLeadership)) {
+            changes.add(new Change<>(oldLeadership, newLeadership));
+        }
+        return true;
+    }
+
     /**
      * Applies an {@link AtomixLeaderElectorOperations.Evict} commit.
      * @param commit evict commit
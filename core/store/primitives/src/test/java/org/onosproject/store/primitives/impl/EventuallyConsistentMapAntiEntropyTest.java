@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.ControllerNode;
+import org.onosproject.cluster.DefaultControllerNode;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.store.LogicalTimestamp;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.persistence.TestPersistenceService;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.EventuallyConsistentMap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Unit tests for the bucketed anti-entropy mode of the eventually consistent map.
+ */
+public class EventuallyConsistentMapAntiEntropyTest {
+
+    private static final String MAP_NAME = "test";
+    private static final MessageSubject ANTI_ENTROPY_SUBJECT =
+            new MessageSubject("ecm-" + MAP_NAME + "-anti-entropy");
+    private static final MessageSubject ANTI_ENTROPY_BUCKET_SUBJECT =
+            new MessageSubject("ecm-" + MAP_NAME + "-anti-entropy-buckets");
+
+    private final ControllerNode node1 =
+            new DefaultControllerNode(new NodeId("node1"), IpAddress.valueOf(1));
+    private final ControllerNode node2 =
+            new DefaultControllerNode(new NodeId("node2"), IpAddress.valueOf(2));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<NodeId, TestClusterCommunicationService> network = Maps.newConcurrentMap();
+    private final List<MessageSubject> sent = Lists.newCopyOnWriteArrayList();
+
+    private TestScheduledExecutor background1;
+    private EventuallyConsistentMap<String, String> map1;
+    private EventuallyConsistentMap<String, String> map2;
+
+    @Before
+    public void setUp() {
+        background1 = new TestScheduledExecutor();
+        map1 = createMap(node1, background1);
+        map2 = createMap(node2, new TestScheduledExecutor());
+    }
+
+    @After
+    public void tearDown() {
+        map1.destroy();
+        map2.destroy();
+    }
+
+    private EventuallyConsistentMap<String, String> createMap(ControllerNode node,
+                                                              TestScheduledExecutor background) {
+        TestClusterCommunicationService communicator = new TestClusterCommunicationService(node.id());
+        network.put(node.id(), communicator);
+        return new EventuallyConsistentMapBuilderImpl<String, String>(
+                new TestClusterService(node), communicator, new TestPersistenceService())
+                .withName(MAP_NAME)
+                .withSerializer(KryoNamespace.newBuilder().register(KryoNamespaces.API))
+                .withTimestampProvider((k, v) -> new LogicalTimestamp(clock.incrementAndGet()))
+                // replicate through anti-entropy only
+                .withPeerUpdateFunction((k, v) -> ImmutableList.of())
+                .withCommunicationExecutor(MoreExecutors.newDirectExecutorService())
+                .withBackgroundExecutor(background)
+                .withBucketedAntiEntropy()
+                .build();
+    }
+
+    /**
+     * Tests that diverged replicas converge through bucketed anti-entropy,
+     * and that replicas in sync only exchange bucket hashes.
+     */
+    @Test
+    public void testBucketedAntiEntropy() {
+        map2.put("a", "0");
+        map2.put("c", "3");
+        map1.put("a", "4");
+        map1.put("b", "2");
+
+        background1.runAntiEntropy();
+        assertThat(sent.contains(ANTI_ENTROPY_SUBJECT), is(true));
+
+        assertAfter(2000, () -> {
+            assertThat(map1.keySet(), is(ImmutableSet.of("a", "b", "c")));
+            assertThat(map2.keySet(), is(ImmutableSet.of("a", "b", "c")));
+            assertThat(map2.get("a"), is("4"));
+        });
+
+        // anti-entropy is skipped while the map is under high update load
+        assertAfter(5000, () -> {
+            sent.clear();
+            background1.runAntiEntropy();
+            assertThat(sent, contains(ANTI_ENTROPY_BUCKET_SUBJECT));
+        });
+
+        // removals change the bucket hashes and are propagated as tombstones
+        map1.remove("b");
+        assertAfter(5000, () -> {
+            background1.runAntiEntropy();
+            assertThat(map2.keySet(), is(ImmutableSet.of("a", "c")));
+        });
+        assertAfter(5000, () -> {
+            sent.clear();
+            background1.runAntiEntropy();
+            assertThat(sent, contains(ANTI_ENTROPY_BUCKET_SUBJECT));
+        });
+    }
+
+    /**
+     * Scheduled executor which runs the anti-entropy task on demand.
+     */
+    private static class TestScheduledExecutor extends ScheduledThreadPoolExecutor {
+        private Runnable antiEntropyTask;
+
+        TestScheduledExecutor() {
+            super(1);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay,
+                                                      long period, TimeUnit unit) {
+            antiEntropyTask = command;
+            return null;
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay,
+                                                         long delay, TimeUnit unit) {
+            return null;
+        }
+
+        void runAntiEntropy() {
+            antiEntropyTask.run();
+        }
+    }
+
+    /**
+     * Cluster service of a two node cluster.
+     */
+    private class TestClusterService extends ClusterServiceAdapter {
+        private final ControllerNode local;
+
+        TestClusterService(ControllerNode local) {
+            this.local = local;
+        }
+
+        @Override
+        public ControllerNode getLocalNode() {
+            return local;
+        }
+
+        @Override
+        public Set<ControllerNode> getNodes() {
+            return ImmutableSet.of(node1, node2);
+        }
+
+        @Override
+        public ControllerNode.State getState(NodeId nodeId) {
+            return ControllerNode.State.ACTIVE;
+        }
+    }
+
+    /**
+     * Cluster communication service delivering messages synchronously to the
+     * subscribers of the other test nodes.
+     */
+    private class TestClusterCommunicationService extends ClusterCommunicationServiceAdapter {
+        private final NodeId localNodeId;
+        private final Map<MessageSubject, Function<byte[], byte[]>> subscribers = Maps.newConcurrentMap();
+
+        TestClusterCommunicationService(NodeId localNodeId) {
+            this.localNodeId = localNodeId;
+        }
+
+        private byte[] deliver(MessageSubject subject, byte[] payload, NodeId toNodeId) {
+            sent.add(subject);
+            Function<byte[], byte[]> subscriber = network.get(toNodeId).subscribers.get(subject);
+            if (subscriber == null) {
+                throw new IllegalStateException("No subscriber for " + subject + " on " + toNodeId);
+            }
+            return subscriber.apply(payload);
+        }
+
+        @Override
+        public <M> CompletableFuture<Void> unicast(M message, MessageSubject subject,
+                                                   Function<M, byte[]> encoder, NodeId toNodeId) {
+            deliver(subject, encoder.apply(message), toNodeId);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public <M, R> CompletableFuture<R> sendAndReceive(M message, MessageSubject subject,
+                                                          Function<M, byte[]> encoder,
+                                                          Function<byte[], R> decoder, NodeId toNodeId) {
+            CompletableFuture<R> future = new CompletableFuture<>();
+            try {
+                future.complete(decoder.apply(deliver(subject, encoder.apply(message), toNodeId)));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject, Function<byte[], M> decoder,
+                                         Function<M, R> handler, Function<R, byte[]> encoder,
+                                         Executor executor) {
+            subscribers.put(subject, bytes -> encoder.apply(handler.apply(decoder.apply(bytes))));
+        }
+
+        @Override
+        public <M> void addSubscriber(MessageSubject subject, Function<byte[], M> decoder,
+                                      Consumer<M> handler, Executor executor) {
+            subscribers.put(subject, bytes -> {
+                handler.accept(decoder.apply(bytes));
+                return null;
+            });
+        }
+
+        @Override
+        public void removeSubscriber(MessageSubject subject) {
+            subscribers.remove(subject);
+        }
+    }
+}
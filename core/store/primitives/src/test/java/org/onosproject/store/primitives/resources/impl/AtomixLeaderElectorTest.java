@@ -16,10 +16,13 @@
 package org.onosproject.store.primitives.resources.impl;
 
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.atomix.protocols.raft.proxy.RaftProxy;
 import io.atomix.protocols.raft.service.RaftService;
 import org.junit.Test;
@@ -220,6 +223,50 @@ public class AtomixLeaderElectorTest extends AtomixTestBase<AtomixLeaderElector>
         }).join();
     }
 
+    @Test
+    public void testBatchChanges() throws Throwable {
+        leaderElectorBatchChangeTests();
+    }
+
+    private void leaderElectorBatchChangeTests() throws Throwable {
+        AtomixLeaderElector elector1 = newPrimitive("test-elector-batch");
+        AtomixLeaderElector elector2 = newPrimitive("test-elector-batch");
+        AtomixLeaderElector elector3 = newPrimitive("test-elector-batch");
+        elector1.run("foo", node1).join();
+        elector1.run("bar", node1).join();
+        elector1.run("baz", node1).join();
+        elector2.run("foo", node2).join();
+        elector2.run("bar", node2).join();
+        elector3.run("foo", node3).join();
+        long fooTerm = elector1.getLeadership("foo").join().leader().term();
+
+        LeaderEventListener listener = new LeaderEventListener();
+        elector2.addChangeListener(listener).join();
+
+        Map<String, NodeId> nodeIds = ImmutableMap.of("foo", node3, "bar", node2, "baz", node2);
+        assertEquals(ImmutableSet.of("foo", "bar"), elector2.promote(nodeIds).join());
+        Leadership foo = elector2.getLeadership("foo").join();
+        assertEquals(node1, foo.leaderNodeId());
+        assertEquals(node3, foo.candidates().get(0));
+        assertEquals(node2, elector2.getLeadership("bar").join().candidates().get(0));
+        assertEquals(node1, elector2.getLeadership("baz").join().candidates().get(0));
+
+        assertEquals(ImmutableSet.of("foo", "bar"), elector2.anoint(nodeIds).join());
+        foo = elector2.getLeadership("foo").join();
+        assertEquals(node3, foo.leaderNodeId());
+        assertEquals(fooTerm + 1, foo.leader().term());
+        assertEquals(node2, elector2.getLeadership("bar").join().leaderNodeId());
+        assertEquals(node1, elector2.getLeadership("baz").join().leaderNodeId());
+
+        assertEquals(ImmutableSet.of(), elector2.anoint(ImmutableMap.of()).join());
+
+        // four changes, two per batch
+        for (int i = 0; i < 4; i++) {
+            listener.nextEvent().join();
+        }
+        assertFalse(listener.hasEvent());
+    }
+
     @Test
     public void testLeaderSessionClose() throws Throwable {
         leaderElectorLeaderSessionCloseTests();
@@ -16,6 +16,9 @@
 
 package org.onosproject.incubator.store.routing.impl;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpPrefix;
 import org.onlab.util.KryoNamespace;
@@ -36,6 +39,7 @@ import org.onosproject.store.service.Versioned;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
@@ -53,6 +57,7 @@ public class DefaultRouteTable implements RouteTable {
     private final RouteStoreDelegate delegate;
     private final ExecutorService executor;
     private final RouteTableListener listener = new RouteTableListener();
+    private final Map<IpAddress, Set<Route>> routesByNextHop = Maps.newConcurrentMap();
 
     private final Consumer<DistributedPrimitive.Status> statusChangeListener;
 
@@ -73,14 +78,19 @@ public class DefaultRouteTable implements RouteTable {
 
         statusChangeListener = status -> {
             if (status.equals(DistributedPrimitive.Status.ACTIVE)) {
-                executor.execute(this::notifyExistingRoutes);
+                executor.execute(() -> {
+                    indexExistingRoutes();
+                    notifyExistingRoutes();
+                });
             }
         };
         routes.addStatusChangeListener(statusChangeListener);
 
-        notifyExistingRoutes();
-
+        // Register the listener before indexing, so that no update is missed
         routes.addListener(listener);
+
+        indexExistingRoutes();
+        notifyExistingRoutes();
     }
 
     private void notifyExistingRoutes() {
@@ -90,6 +100,32 @@ public class DefaultRouteTable implements RouteTable {
                 .forEach(delegate::notify);
     }
 
+    // The index is rebuilt and updated from map events under the same lock,
+    // so that a rebuild does not interleave with an event being applied.
+    private void indexExistingRoutes() {
+        synchronized (routesByNextHop) {
+            routesByNextHop.clear();
+            routes.values().forEach(v -> v.value().forEach(this::indexRoute));
+        }
+    }
+
+    private void indexRoute(Route route) {
+        routesByNextHop.compute(route.nextHop(), (nextHop, set) -> {
+            if (set == null) {
+                set = Sets.newConcurrentHashSet();
+            }
+            set.add(route);
+            return set;
+        });
+    }
+
+    private void unindexRoute(Route route) {
+        routesByNextHop.computeIfPresent(route.nextHop(), (nextHop, set) -> {
+            set.remove(route);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
     private ConsistentMap<IpPrefix, Set<Route>> buildRouteMap(StorageService storageService) {
         KryoNamespace routeTableSerializer = KryoNamespace.newBuilder()
                 .register(KryoNamespaces.API)
@@ -112,6 +148,7 @@ public class DefaultRouteTable implements RouteTable {
     public void shutdown() {
         routes.removeStatusChangeListener(statusChangeListener);
         routes.removeListener(listener);
+        routesByNextHop.clear();
     }
 
     @Override
@@ -123,11 +160,9 @@ public class DefaultRouteTable implements RouteTable {
     @Override
     public void update(Route route) {
         routes.compute(route.prefix(), (prefix, set) -> {
-            if (set == null) {
-                set = new HashSet<>();
-            }
-            set.add(route);
-            return set;
+            Set<Route> updated = (set == null) ? new HashSet<>() : new HashSet<>(set);
+            updated.add(route);
+            return updated;
         });
     }
 
@@ -135,11 +170,12 @@ public class DefaultRouteTable implements RouteTable {
     public void remove(Route route) {
         routes.compute(route.prefix(), (prefix, set) -> {
             if (set != null) {
-                set.remove(route);
-                if (set.isEmpty()) {
+                Set<Route> updated = new HashSet<>(set);
+                updated.remove(route);
+                if (updated.isEmpty()) {
                     return null;
                 }
-                return set;
+                return updated;
             }
             return null;
         });
@@ -164,11 +200,8 @@ public class DefaultRouteTable implements RouteTable {
 
     @Override
     public Collection<Route> getRoutesForNextHop(IpAddress nextHop) {
-        // TODO index
-        return routes.values().stream()
-                .flatMap(v -> v.value().stream())
-                .filter(r -> r.nextHop().equals(nextHop))
-                .collect(Collectors.toSet());
+        Set<Route> nextHopRoutes = routesByNextHop.get(nextHop);
+        return nextHopRoutes == null ? ImmutableSet.of() : ImmutableSet.copyOf(nextHopRoutes);
     }
 
     private class RouteTableListener
@@ -181,8 +214,24 @@ public class DefaultRouteTable implements RouteTable {
             return new InternalRouteEvent(type, new RouteSet(id, event.key(), currentRoutes));
         }
 
+        private Set<Route> routes(Versioned<Set<Route>> value) {
+            return (value == null) ? Collections.emptySet() : value.value();
+        }
+
+        // Applies the routes added to and removed from a prefix to the next hop index
+        private void updateNextHopIndex(MapEvent<IpPrefix, Set<Route>> event) {
+            Set<Route> oldRoutes = routes(event.oldValue());
+            Set<Route> newRoutes = routes(event.newValue());
+            synchronized (routesByNextHop) {
+                oldRoutes.stream().filter(r -> !newRoutes.contains(r)).forEach(DefaultRouteTable.this::unindexRoute);
+                newRoutes.stream().filter(r -> !oldRoutes.contains(r)).forEach(DefaultRouteTable.this::indexRoute);
+            }
+        }
+
         @Override
         public void event(MapEvent<IpPrefix, Set<Route>> event) {
+            updateNextHopIndex(event);
+
             InternalRouteEvent ire = null;
             switch (event.type()) {
             case INSERT:
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.incubator.store.routing.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.incubator.net.routing.Route;
+import org.onosproject.incubator.net.routing.RouteTableId;
+import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapAdapter;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.DistributedPrimitive;
+import org.onosproject.store.service.MapEventListener;
+import org.onosproject.store.service.TestStorageService;
+import org.onosproject.store.service.Versioned;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the next hop index of the default route table.
+ */
+public class DefaultRouteTableTest {
+
+    private static final IpPrefix PREFIX1 = IpPrefix.valueOf("10.1.0.0/16");
+    private static final IpPrefix PREFIX2 = IpPrefix.valueOf("10.2.0.0/16");
+    private static final IpAddress NEXT_HOP1 = IpAddress.valueOf("192.168.1.1");
+    private static final IpAddress NEXT_HOP2 = IpAddress.valueOf("192.168.2.1");
+
+    private static final Route ROUTE1 = new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP1);
+    private static final Route ROUTE2 = new Route(Route.Source.STATIC, PREFIX2, NEXT_HOP1);
+    private static final Route ROUTE3 = new Route(Route.Source.STATIC, PREFIX1, NEXT_HOP2);
+
+    private TestRouteMap routeMap;
+    private DefaultRouteTable table;
+
+    @Before
+    public void setUp() {
+        routeMap = new TestRouteMap();
+        table = new DefaultRouteTable(new RouteTableId("ipv4"), event -> { },
+                new TestStorageService() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+                        return new ConsistentMapBuilder<K, V>() {
+                            @Override
+                            public ConsistentMap<K, V> build() {
+                                return (ConsistentMap<K, V>) routeMap;
+                            }
+
+                            @Override
+                            public AsyncConsistentMap<K, V> buildAsyncMap() {
+                                throw new UnsupportedOperationException();
+                            }
+                        };
+                    }
+                }, MoreExecutors.newDirectExecutorService());
+    }
+
+    @After
+    public void tearDown() {
+        table.shutdown();
+    }
+
+    /**
+     * Tests that routes are found by next hop once added.
+     */
+    @Test
+    public void testLookupAfterUpdate() {
+        table.update(ROUTE1);
+        table.update(ROUTE2);
+        table.update(ROUTE3);
+
+        assertEquals(ImmutableSet.of(ROUTE1, ROUTE2), table.getRoutesForNextHop(NEXT_HOP1));
+        assertEquals(ImmutableSet.of(ROUTE3), table.getRoutesForNextHop(NEXT_HOP2));
+    }
+
+    /**
+     * Tests that routes are no longer found by next hop once removed.
+     */
+    @Test
+    public void testLookupAfterRemove() {
+        table.update(ROUTE1);
+        table.update(ROUTE2);
+        table.update(ROUTE3);
+
+        table.remove(ROUTE1);
+        assertEquals(ImmutableSet.of(ROUTE2), table.getRoutesForNextHop(NEXT_HOP1));
+        assertEquals(ImmutableSet.of(ROUTE3), table.getRoutesForNextHop(NEXT_HOP2));
+
+        table.remove(ROUTE3);
+        assertTrue(table.getRoutesForNextHop(NEXT_HOP2).isEmpty());
+    }
+
+    /**
+     * Tests that the index is rebuilt with the updates missed while the map
+     * was not active.
+     */
+    @Test
+    public void testLookupAfterStatusChange() {
+        table.update(ROUTE1);
+
+        routeMap.suspended = true;
+        table.update(ROUTE2);
+        table.remove(ROUTE1);
+        assertEquals(ImmutableSet.of(ROUTE1), table.getRoutesForNextHop(NEXT_HOP1));
+
+        routeMap.suspended = false;
+        routeMap.statusChanged(DistributedPrimitive.Status.ACTIVE);
+        assertEquals(ImmutableSet.of(ROUTE2), table.getRoutesForNextHop(NEXT_HOP1));
+    }
+
+    /**
+     * Route map which can drop its events, as when the map is suspended, and
+     * which notifies status changes on demand.
+     */
+    private static class TestRouteMap extends ConsistentMapAdapter<IpPrefix, Set<Route>> {
+        private final ConsistentMap<IpPrefix, Set<Route>> map =
+                new TestStorageService().<IpPrefix, Set<Route>>consistentMapBuilder()
+                        .withName("routes").build();
+        private final Map<MapEventListener<IpPrefix, Set<Route>>,
+                MapEventListener<IpPrefix, Set<Route>>> listeners = Maps.newConcurrentMap();
+        private final List<Consumer<DistributedPrimitive.Status>> statusListeners =
+                new CopyOnWriteArrayList<>();
+        private volatile boolean suspended;
+
+        void statusChanged(DistributedPrimitive.Status status) {
+            statusListeners.forEach(listener -> listener.accept(status));
+        }
+
+        @Override
+        public Versioned<Set<Route>> compute(IpPrefix key,
+                BiFunction<? super IpPrefix, ? super Set<Route>, ? extends Set<Route>> remappingFunction) {
+            // the test map keeps null values, so remove entries explicitly
+            Set<Route> value = remappingFunction.apply(key, Versioned.valueOrNull(map.get(key)));
+            if (value == null) {
+                if (map.containsKey(key)) {
+                    map.remove(key);
+                }
+                return null;
+            }
+            return map.putAndGet(key, value);
+        }
+
+        @Override
+        public Versioned<Set<Route>> get(IpPrefix key) {
+            return map.get(key);
+        }
+
+        @Override
+        public Collection<Versioned<Set<Route>>> values() {
+            return map.values();
+        }
+
+        @Override
+        public Set<Map.Entry<IpPrefix, Versioned<Set<Route>>>> entrySet() {
+            return map.entrySet();
+        }
+
+        @Override
+        public void addListener(MapEventListener<IpPrefix, Set<Route>> listener) {
+            MapEventListener<IpPrefix, Set<Route>> unlessSuspended = event -> {
+                if (!suspended) {
+                    listener.event(event);
+                }
+            };
+            listeners.put(listener, unlessSuspended);
+            map.addListener(unlessSuspended);
+        }
+
+        @Override
+        public void removeListener(MapEventListener<IpPrefix, Set<Route>> listener) {
+            MapEventListener<IpPrefix, Set<Route>> unlessSuspended = listeners.remove(listener);
+            if (unlessSuspended != null) {
+                map.removeListener(unlessSuspended);
+            }
+        }
+
+        @Override
+        public void addStatusChangeListener(Consumer<DistributedPrimitive.Status> listener) {
+            statusListeners.add(listener);
+        }
+
+        @Override
+        public void removeStatusChangeListener(Consumer<DistributedPrimitive.Status> listener) {
+            statusListeners.remove(listener);
+        }
+    }
+}
@@ -15,128 +15,57 @@
  */
 package org.onosproject.lisp.ctl.impl.tree;
 
-import com.google.common.collect.Lists;
-import com.googlecode.concurrenttrees.radix.ConcurrentRadixTree;
-import com.googlecode.concurrenttrees.radix.RadixTree;
-import com.googlecode.concurrenttrees.radix.node.concrete.DefaultCharArrayNodeFactory;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpAddress.Version;
 import org.onlab.packet.IpPrefix;
+import org.onlab.util.IpPrefixTrie;
 
 import java.util.List;
-
-import static org.onosproject.lisp.ctl.impl.util.LispMapUtil.getParentPrefix;
-import static org.onosproject.lisp.ctl.impl.util.LispMapUtil.getPrefixString;
+import java.util.stream.Collectors;
 
 /**
  * Implements current radix tree that stores IP address as a key.
  */
 public class IpConcurrentRadixTree<V> implements IpRadixTree<V> {
 
-    private RadixTree<V> ipv4Tree =
-            new ConcurrentRadixTree<>(new DefaultCharArrayNodeFactory());
-    private RadixTree<V> ipv6Tree =
-            new ConcurrentRadixTree<>(new DefaultCharArrayNodeFactory());
+    private final IpPrefixTrie<V> ipv4Tree = new IpPrefixTrie<>(Version.INET);
+    private final IpPrefixTrie<V> ipv6Tree = new IpPrefixTrie<>(Version.INET6);
 
     @Override
     public V put(IpPrefix prefix, V value) {
-
-        String prefixString = getPrefixString(prefix);
-
-        if (prefix.isIp4()) {
-            return ipv4Tree.put(prefixString, value);
-        }
-        if (prefix.isIp6()) {
-            return ipv6Tree.put(prefixString, value);
-        }
-
-        return null;
+        return tree(prefix).put(prefix, value);
     }
 
     @Override
     public V putIfAbsent(IpPrefix prefix, V value) {
-
-        String prefixString = getPrefixString(prefix);
-
-        if (prefix.isIp4()) {
-            return ipv4Tree.put(prefixString, value);
-        }
-
-        if (prefix.isIp6()) {
-            return ipv6Tree.put(prefixString, value);
-        }
-
-        return null;
+        return tree(prefix).putIfAbsent(prefix, value);
     }
 
     @Override
     public boolean remove(IpPrefix prefix) {
-
-        String prefixString = getPrefixString(prefix);
-
-        if (prefix.isIp4()) {
-            return ipv4Tree.remove(prefixString);
-        }
-
-        if (prefix.isIp6()) {
-            return ipv6Tree.remove(prefixString);
-        }
-
-        return false;
+        return tree(prefix).remove(prefix) != null;
     }
 
     @Override
     public V getValueForExactAddress(IpPrefix prefix) {
-
-        String prefixString = getPrefixString(prefix);
-
-        if (prefix.isIp4()) {
-            return ipv4Tree.getValueForExactKey(prefixString);
-        }
-
-        if (prefix.isIp6()) {
-            return ipv6Tree.getValueForExactKey(prefixString);
-        }
-
-        return null;
+        return tree(prefix).get(prefix);
     }
 
     @Override
     public V getValueForClosestParentAddress(IpPrefix prefix) {
-
-        if (prefix.isIp4()) {
-            return getValueForClosestParentAddress(prefix, ipv4Tree);
-        }
-
-        if (prefix.isIp6()) {
-            return getValueForClosestParentAddress(prefix, ipv6Tree);
-        }
-
-        return null;
+        return tree(prefix).longestPrefixMatch(prefix);
     }
 
     @Override
     public List<IpAddress> getAddressesStartingWith(IpPrefix prefix) {
-
-        // TODO: implement later
-
-        return null;
+        return tree(prefix).prefixesCoveredBy(prefix).stream()
+                .map(IpPrefix::address)
+                .collect(Collectors.toList());
     }
 
     @Override
     public List<V> getValuesForAddressesStartingWith(IpPrefix prefix) {
-
-        String prefixString = getPrefixString(prefix);
-
-        if (prefix.isIp4()) {
-            return Lists.newArrayList(ipv4Tree.getValuesForKeysStartingWith(prefixString));
-        }
-
-        if (prefix.isIp6()) {
-            return Lists.newArrayList(ipv6Tree.getValuesForKeysStartingWith(prefixString));
-        }
-
-        return null;
+        return tree(prefix).valuesCoveredBy(prefix);
     }
 
     @Override
@@ -155,30 +84,18 @@ public class IpConcurrentRadixTree<V> implements IpRadixTree<V> {
 
     @Override
     public void clear() {
-        ipv4Tree = new ConcurrentRadixTree<>(new DefaultCharArrayNodeFactory());
-        ipv6Tree = new ConcurrentRadixTree<>(new DefaultCharArrayNodeFactory());
+        ipv4Tree.clear();
+        ipv6Tree.clear();
     }
 
     /**
-     * Returns the value associated with the closest parent address from a
-     * given radix tree, or returns null if no such value is associated
-     * with the address.
+     * Returns the tree holding the prefixes of the IP version of the given
+     * prefix.
      *
      * @param prefix IP prefix
-     * @param tree a radix tree
-     * @return A value associated with the closest parent address, or
-     * null if no value was associated with the address
+     * @return prefix tree
      */
-    private V getValueForClosestParentAddress(IpPrefix prefix, RadixTree<V> tree) {
-
-        while (prefix != null && prefix.prefixLength() > 0) {
-            V value = tree.getValueForExactKey(getPrefixString(prefix));
-            if (value != null) {
-                return value;
-            }
-            prefix = getParentPrefix(prefix);
-        }
-
-        return null;
+    private IpPrefixTrie<V> tree(IpPrefix prefix) {
+        return prefix.isIp4() ? ipv4Tree : ipv6Tree;
     }
-}
\ No newline at end of file
+}
@@ -26,6 +26,7 @@ import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.CoreService;
 import org.onosproject.net.device.DeviceEvent;
@@ -72,6 +73,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -83,7 +85,12 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.Device.Type.CONTROLLER;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_REMOVED;
@@ -98,6 +105,9 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     private static final String APP_ID = "org.onosproject.openflow-base";
     private static final String DEFAULT_OFPORT = "6633,6653";
     private static final int DEFAULT_WORKER_THREADS = 0;
+    private static final int DEFAULT_PACKET_IN_THREADS = 4;
+    private static final int DEFAULT_PACKET_IN_QUEUE_SIZE = 1024;
+    private static final String DEFAULT_PACKET_IN_DROP_POLICY = "tail-drop";
 
     private static final Logger log =
             LoggerFactory.getLogger(OpenFlowControllerImpl.class);
@@ -114,6 +124,8 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected DeviceService deviceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
 
     @Property(name = "openflowPorts", value = DEFAULT_OFPORT,
             label = "Port numbers (comma separated) used by OpenFlow protocol; default is 6633,6653")
@@ -123,6 +135,23 @@ public class OpenFlowControllerImpl implements OpenFlowController {
             label = "Number of controller worker threads")
     private int workerThreads = DEFAULT_WORKER_THREADS;
 
+    @Property(name = "packetInThreads", intValue = DEFAULT_PACKET_IN_THREADS,
+            label = "Number of threads handling packet-ins off the I/O threads; " +
+                    "0 handles packet-ins on the I/O threads")
+    private int packetInThreads = DEFAULT_PACKET_IN_THREADS;
+
+    @Property(name = "packetInQueueSize", intValue = DEFAULT_PACKET_IN_QUEUE_SIZE,
+            label = "Maximum number of packet-ins queued per device")
+    private int packetInQueueSize = DEFAULT_PACKET_IN_QUEUE_SIZE;
+
+    @Property(name = "packetInDropPolicy", value = DEFAULT_PACKET_IN_DROP_POLICY,
+            label = "Packet-in drop policy when a device queue is full; " +
+                    "tail-drop or drop-oldest")
+    private String packetInDropPolicy = DEFAULT_PACKET_IN_DROP_POLICY;
+
+    // null when packet-ins are handled on the I/O threads
+    protected volatile PacketInDispatcher packetInDispatcher;
+
     protected ExecutorService executorMsgs =
         Executors.newFixedThreadPool(32, groupedThreads("onos/of", "event-stats-%d", log));
 
@@ -186,7 +215,9 @@ public class OpenFlowControllerImpl implements OpenFlowController {
         coreService.registerApplication(APP_ID, this::cleanup);
         cfgService.registerProperties(getClass());
         deviceService.addListener(listener);
-        ctrl.setConfigParams(context.getProperties());
+        Dictionary<?, ?> properties = context.getProperties();
+        ctrl.setConfigParams(properties);
+        readPacketInConfiguration(properties);
         ctrl.start(agent, driverService);
     }
 
@@ -204,16 +235,68 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     public void deactivate() {
         deviceService.removeListener(listener);
         cleanup();
+        setPacketInDispatcher(null);
         cfgService.unregisterProperties(getClass(), false);
     }
 
     @Modified
     public void modified(ComponentContext context) {
         ctrl.stop();
-        ctrl.setConfigParams(context.getProperties());
+        Dictionary<?, ?> properties = context.getProperties();
+        ctrl.setConfigParams(properties);
+        readPacketInConfiguration(properties);
         ctrl.start(agent, driverService);
     }
 
+    private void readPacketInConfiguration(Dictionary<?, ?> properties) {
+        int newThreads = getIntegerProperty(properties, "packetInThreads", packetInThreads);
+        int newQueueSize = getIntegerProperty(properties, "packetInQueueSize", packetInQueueSize);
+
+        String s = get(properties, "packetInDropPolicy");
+        String newDropPolicy = isNullOrEmpty(s) ? packetInDropPolicy : s.trim();
+        PacketInDispatcher.DropPolicy dropPolicy;
+        try {
+            dropPolicy = PacketInDispatcher.DropPolicy.of(newDropPolicy);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown packet-in drop policy {}; using {}", newDropPolicy, packetInDropPolicy);
+            newDropPolicy = packetInDropPolicy;
+            dropPolicy = PacketInDispatcher.DropPolicy.of(newDropPolicy);
+        }
+
+        if (newQueueSize <= 0) {
+            log.warn("Invalid packet-in queue size {}; using {}", newQueueSize, packetInQueueSize);
+            newQueueSize = packetInQueueSize;
+        }
+
+        boolean changed = newThreads != packetInThreads || newQueueSize != packetInQueueSize ||
+                !newDropPolicy.equals(packetInDropPolicy);
+        packetInThreads = newThreads;
+        packetInQueueSize = newQueueSize;
+        packetInDropPolicy = newDropPolicy;
+        log.info("Settings: packetInThreads={}, packetInQueueSize={}, packetInDropPolicy={}",
+                 packetInThreads, packetInQueueSize, packetInDropPolicy);
+
+        if (changed || (packetInDispatcher == null && packetInThreads > 0)) {
+            // Shut the old dispatcher down first, as it holds the metrics
+            // the new one registers under the same names.
+            setPacketInDispatcher(null);
+            setPacketInDispatcher(packetInThreads <= 0 ? null :
+                    new PacketInDispatcher(IntStream.range(0, packetInThreads)
+                            .mapToObj(i -> Executors.newSingleThreadExecutor(
+                                    groupedThreads("onos/of", "packet-in-" + i, log)))
+                            .collect(Collectors.toList()),
+                    packetInQueueSize, dropPolicy, metricsService));
+        }
+    }
+
+    private void setPacketInDispatcher(PacketInDispatcher dispatcher) {
+        PacketInDispatcher old = packetInDispatcher;
+        packetInDispatcher = dispatcher;
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+
     @Override
     public Iterable<OpenFlowSwitch> getSwitches() {
         return connectedSwitches.values();
@@ -335,8 +418,11 @@ public class OpenFlowControllerImpl implements OpenFlowController {
             }
             OpenFlowPacketContext pktCtx = DefaultOpenFlowPacketContext
                 .packetContextFromPacketIn(sw, (OFPacketIn) msg);
-            for (PacketListener p : ofPacketListener.values()) {
-                p.handlePacket(pktCtx);
+            PacketInDispatcher dispatcher = packetInDispatcher;
+            if (dispatcher != null) {
+                dispatcher.dispatch(dpid, () -> handlePacketIn(pktCtx));
+            } else {
+                handlePacketIn(pktCtx);
             }
             break;
         // TODO: Consider using separate threadpool for sensitive messages.
@@ -393,6 +479,12 @@ public class OpenFlowControllerImpl implements OpenFlowController {
         }
     }
 
+    private void handlePacketIn(OpenFlowPacketContext pktCtx) {
+        for (PacketListener p : ofPacketListener.values()) {
+            p.handlePacket(pktCtx);
+        }
+    }
+
     private void processStatsReply(Dpid dpid, OFStatsReply reply) {
         switch (reply.getStatsType()) {
             case QUEUE:
@@ -751,6 +843,10 @@ public class OpenFlowControllerImpl implements OpenFlowController {
                 log.debug("sw was null for {}", dpid);
                 sw = activeEqualSwitches.remove(dpid);
             }
+            PacketInDispatcher dispatcher = packetInDispatcher;
+            if (dispatcher != null) {
+                dispatcher.removeDevice(dpid);
+            }
             for (OpenFlowSwitchListener l : ofSwitchListener) {
                 l.switchRemoved(dpid);
             }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onosproject.openflow.controller.Dpid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Hands packet-ins over from the channel I/O threads to a pool of workers.
+ * <p>
+ * Packet-ins are buffered in a bounded queue per device. Each device is
+ * pinned to one worker, so packet-ins of a device are handled in the order
+ * they were received, while a busy device cannot starve the devices served
+ * by the other workers. When the queue of a device is full, packet-ins are
+ * dropped according to the configured {@link DropPolicy}.
+ * </p>
+ */
+final class PacketInDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(PacketInDispatcher.class);
+
+    private static final String COMPONENT = "OpenFlowController";
+    private static final String FEATURE = "PacketIn";
+    private static final String QUEUE_DEPTH = "QueueDepth";
+    private static final String DROPPED = "Dropped";
+
+    // packet-ins handled per device before yielding the worker to other devices
+    private static final int DRAIN_BATCH = 64;
+
+    /**
+     * Policy applied when the packet-in queue of a device is full.
+     */
+    enum DropPolicy {
+        /**
+         * Drops the newly received packet-in.
+         */
+        TAIL_DROP,
+
+        /**
+         * Drops the oldest queued packet-in to make room for the new one.
+         */
+        DROP_OLDEST;
+
+        /**
+         * Returns the policy with the given configuration name, e.g.
+         * "tail-drop" or "drop-oldest".
+         *
+         * @param name policy name
+         * @return drop policy
+         * @throws IllegalArgumentException if the name is not a known policy
+         */
+        static DropPolicy of(String name) {
+            return valueOf(name.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private final List<ExecutorService> workers;
+    private final int queueSize;
+    private final DropPolicy dropPolicy;
+    private final ConcurrentMap<Dpid, DeviceQueue> queues = new ConcurrentHashMap<>();
+
+    private final MetricsService metricsService;
+    private final MetricsComponent metricsComponent;
+    private final MetricsFeature metricsFeature;
+    private final Counter dropped = new Counter();
+
+    /**
+     * Creates a packet-in dispatcher.
+     *
+     * @param workers        single-threaded executors the devices are sharded across
+     * @param queueSize      capacity of the packet-in queue of each device
+     * @param dropPolicy     policy applied when a device queue is full
+     * @param metricsService metrics service to export the queue depth and
+     *                       drop counter to; may be null
+     */
+    PacketInDispatcher(List<ExecutorService> workers, int queueSize,
+                       DropPolicy dropPolicy, MetricsService metricsService) {
+        checkArgument(!workers.isEmpty(), "At least one worker is required");
+        checkArgument(queueSize > 0, "Queue size must be positive");
+        this.workers = ImmutableList.copyOf(workers);
+        this.queueSize = queueSize;
+        this.dropPolicy = dropPolicy;
+        this.metricsService = metricsService;
+        if (metricsService != null) {
+            metricsComponent = metricsService.registerComponent(COMPONENT);
+            metricsFeature = metricsComponent.registerFeature(FEATURE);
+            metricsService.registerMetric(metricsComponent, metricsFeature,
+                                          QUEUE_DEPTH, (Gauge<Integer>) this::queueDepth);
+            metricsService.registerMetric(metricsComponent, metricsFeature, DROPPED, dropped);
+        } else {
+            metricsComponent = null;
+            metricsFeature = null;
+        }
+    }
+
+    /**
+     * Queues a packet-in handler for execution by the worker of the device.
+     *
+     * @param dpid    device the packet-in was received from
+     * @param handler packet-in handler
+     */
+    void dispatch(Dpid dpid, Runnable handler) {
+        DeviceQueue queue = queues.computeIfAbsent(dpid, k -> new DeviceQueue(worker(k)));
+        queue.enqueue(handler);
+    }
+
+    /**
+     * Discards the packet-ins queued for a device.
+     *
+     * @param dpid device identifier
+     */
+    void removeDevice(Dpid dpid) {
+        DeviceQueue queue = queues.remove(dpid);
+        if (queue != null) {
+            queue.pending.clear();
+        }
+    }
+
+    /**
+     * Returns the total number of packet-ins waiting to be handled.
+     *
+     * @return queue depth
+     */
+    int queueDepth() {
+        return queues.values().stream().mapToInt(q -> q.pending.size()).sum();
+    }
+
+    /**
+     * Returns the number of packet-ins dropped because a device queue was full.
+     *
+     * @return drop count
+     */
+    long droppedCount() {
+        return dropped.getCount();
+    }
+
+    /**
+     * Stops the workers and unregisters the metrics of the dispatcher.
+     * Packet-ins already handed to a worker are still handled.
+     */
+    void shutdown() {
+        workers.forEach(ExecutorService::shutdown);
+        queues.clear();
+        if (metricsService != null) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+            metricsService.removeMetric(metricsComponent, metricsFeature, DROPPED);
+        }
+    }
+
+    private ExecutorService worker(Dpid dpid) {
+        return workers.get((int) Long.remainderUnsigned(dpid.value(), workers.size()));
+    }
+
+    /**
+     * Bounded packet-in queue of a single device.
+     */
+    private final class DeviceQueue implements Runnable {
+
+        private final ExecutorService worker;
+        private final ArrayBlockingQueue<Runnable> pending = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private DeviceQueue(ExecutorService worker) {
+            this.worker = worker;
+        }
+
+        private void enqueue(Runnable handler) {
+            if (!pending.offer(handler)) {
+                if (dropPolicy == DropPolicy.TAIL_DROP) {
+                    dropped.inc();
+                    return;
+                }
+                while (!pending.offer(handler)) {
+                    if (pending.poll() != null) {
+                        dropped.inc();
+                    }
+                }
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    worker.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // dispatcher is shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Runnable handler = pending.poll();
+                if (handler == null) {
+                    break;
+                }
+                try {
+                    handler.run();
+                } catch (Exception e) {
+                    log.warn("Unable to handle packet-in", e);
+                }
+            }
+            scheduled.set(false);
+            // packet-ins queued while draining, or left over from a full batch
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
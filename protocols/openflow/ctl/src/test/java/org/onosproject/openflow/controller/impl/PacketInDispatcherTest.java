@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onosproject.openflow.ExecutorServiceAdapter;
+import org.onosproject.openflow.controller.Dpid;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.onosproject.openflow.controller.impl.PacketInDispatcher.DropPolicy.DROP_OLDEST;
+import static org.onosproject.openflow.controller.impl.PacketInDispatcher.DropPolicy.TAIL_DROP;
+
+/**
+ * Unit tests for the packet-in dispatcher.
+ */
+public class PacketInDispatcherTest {
+
+    private static final Dpid DPID1 = new Dpid(1);
+    private static final Dpid DPID2 = new Dpid(2);
+
+    private ManualExecutorService worker1;
+    private ManualExecutorService worker2;
+    private MetricsManager metricsService;
+    private List<String> handled;
+
+    /**
+     * Mock executor service that runs its tasks on demand.
+     */
+    private static class ManualExecutorService extends ExecutorServiceAdapter {
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    @Before
+    public void setUp() {
+        worker1 = new ManualExecutorService();
+        worker2 = new ManualExecutorService();
+        metricsService = new MetricsManager();
+        handled = new ArrayList<>();
+    }
+
+    private PacketInDispatcher dispatcher(PacketInDispatcher.DropPolicy policy) {
+        return new PacketInDispatcher(ImmutableList.of(worker1, worker2), 2, policy, metricsService);
+    }
+
+    private void dispatch(PacketInDispatcher dispatcher, Dpid dpid, String packet) {
+        dispatcher.dispatch(dpid, () -> handled.add(packet));
+    }
+
+    /**
+     * Tests that packet-ins are handled in order by the worker of their device.
+     */
+    @Test
+    public void testDispatch() {
+        PacketInDispatcher dispatcher = dispatcher(TAIL_DROP);
+        dispatch(dispatcher, DPID1, "a");
+        dispatch(dispatcher, DPID2, "b");
+        dispatch(dispatcher, DPID1, "c");
+
+        assertThat(dispatcher.queueDepth(), is(3));
+        assertThat(worker1.tasks, hasSize(1));
+        assertThat(worker2.tasks, hasSize(1));
+
+        worker2.runAll();
+        assertThat(handled, contains("a", "c"));
+        worker1.runAll();
+        assertThat(handled, contains("a", "c", "b"));
+        assertThat(dispatcher.queueDepth(), is(0));
+        assertThat(dispatcher.droppedCount(), is(0L));
+    }
+
+    /**
+     * Tests that new packet-ins are dropped when the queue is full.
+     */
+    @Test
+    public void testTailDrop() {
+        PacketInDispatcher dispatcher = dispatcher(TAIL_DROP);
+        dispatch(dispatcher, DPID1, "a");
+        dispatch(dispatcher, DPID1, "b");
+        dispatch(dispatcher, DPID1, "c");
+
+        worker2.runAll();
+        assertThat(handled, contains("a", "b"));
+        assertThat(dispatcher.droppedCount(), is(1L));
+        assertThat(metricsService.getCounters((name, metric) -> name.contains("PacketIn"))
+                           .values().iterator().next().getCount(), is(1L));
+    }
+
+    /**
+     * Tests that the oldest packet-ins are dropped when the queue is full.
+     */
+    @Test
+    public void testDropOldest() {
+        PacketInDispatcher dispatcher = dispatcher(DROP_OLDEST);
+        dispatch(dispatcher, DPID1, "a");
+        dispatch(dispatcher, DPID1, "b");
+        dispatch(dispatcher, DPID1, "c");
+
+        worker2.runAll();
+        assertThat(handled, contains("b", "c"));
+        assertThat(dispatcher.droppedCount(), is(1L));
+    }
+
+    /**
+     * Tests that the packet-ins of a removed device are discarded.
+     */
+    @Test
+    public void testRemoveDevice() {
+        PacketInDispatcher dispatcher = dispatcher(TAIL_DROP);
+        dispatch(dispatcher, DPID1, "a");
+        dispatcher.removeDevice(DPID1);
+
+        worker2.runAll();
+        assertThat(handled, is(empty()));
+        assertThat(dispatcher.queueDepth(), is(0));
+
+        dispatcher.shutdown();
+        assertThat(metricsService.getMetrics().keySet(), is(empty()));
+    }
+
+    /**
+     * Tests that a dispatcher replacing one which was shut down registers
+     * the same metrics anew.
+     */
+    @Test
+    public void testReplaceDispatcher() {
+        PacketInDispatcher old = dispatcher(TAIL_DROP);
+        old.shutdown();
+
+        PacketInDispatcher dispatcher = dispatcher(DROP_OLDEST);
+        assertThat(metricsService.getMetrics().keySet(), hasSize(2));
+        dispatcher.shutdown();
+        assertThat(metricsService.getMetrics().keySet(), is(empty()));
+    }
+
+    /**
+     * Tests parsing of the configured drop policy names.
+     */
+    @Test
+    public void testDropPolicyNames() {
+        assertThat(PacketInDispatcher.DropPolicy.of("tail-drop"), is(TAIL_DROP));
+        assertThat(PacketInDispatcher.DropPolicy.of(" drop-oldest"), is(DROP_OLDEST));
+    }
+}
@@ -41,6 +41,7 @@ import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -54,6 +55,11 @@ import static org.slf4j.LoggerFactory.getLogger;
  * fast. Every probeRate milliseconds, loop over all fast ports and send an
  * LLDP, send an LLDP for a single slow port. Based on FlowVisor topology
  * discovery implementation.
+ * <p>
+ * Probes are copied from per-device templates, and the probe rounds of the
+ * devices are spread over the probe interval rather than all starting at
+ * once.
+ * </p>
  */
 public class LinkDiscovery implements TimerTask {
 
@@ -62,8 +68,8 @@ public class LinkDiscovery implements TimerTask {
     private final Device device;
     private final LinkDiscoveryContext context;
 
-    private final Ethernet ethPacket;
-    private final Ethernet bddpEth;
+    private final ProbeTemplate lldpTemplate;
+    private final ProbeTemplate bddpTemplate;
 
     private Timeout timeout;
     private volatile boolean isStopped;
@@ -71,9 +77,9 @@ public class LinkDiscovery implements TimerTask {
     private final Set<Long> ports = Sets.newConcurrentHashSet();
 
     /**
-     * Instantiates discovery manager for the given physical switch. Creates a
-     * generic LLDP packet that will be customized for the port it is sent out on.
-     * Starts the the timer for the discovery process.
+     * Instantiates discovery manager for the given physical switch. Creates
+     * generic LLDP and BDDP packets that will be customized for the port they
+     * are sent out on. Starts the the timer for the discovery process.
      *
      * @param device  the physical switch
      * @param context discovery context
@@ -82,15 +88,17 @@ public class LinkDiscovery implements TimerTask {
         this.device = device;
         this.context = context;
 
-        ethPacket = new Ethernet();
+        Ethernet ethPacket = new Ethernet();
         ethPacket.setEtherType(Ethernet.TYPE_LLDP);
         ethPacket.setDestinationMACAddress(MacAddress.ONOS_LLDP);
         ethPacket.setPad(true);
+        lldpTemplate = new ProbeTemplate(device, ethPacket, context.fingerprint());
 
-        bddpEth = new Ethernet();
+        Ethernet bddpEth = new Ethernet();
         bddpEth.setEtherType(Ethernet.TYPE_BSN);
         bddpEth.setDestinationMACAddress(MacAddress.BROADCAST);
         bddpEth.setPad(true);
+        bddpTemplate = new ProbeTemplate(device, bddpEth, context.fingerprint());
 
         isStopped = true;
         start();
@@ -110,7 +118,10 @@ public class LinkDiscovery implements TimerTask {
     public synchronized void start() {
         if (isStopped) {
             isStopped = false;
-            timeout = Timer.newTimeout(this, 0, MILLISECONDS);
+            // new ports are probed as they are added, so the first round can
+            // start anywhere within the interval
+            long delay = ThreadLocalRandom.current().nextLong(Math.max(context.probeRate(), 1));
+            timeout = Timer.newTimeout(this, delay, MILLISECONDS);
         } else {
             log.warn("LinkDiscovery started multiple times?");
         }
@@ -233,11 +244,9 @@ public class LinkDiscovery implements TimerTask {
         if (port == null) {
             return null;
         }
-        ONOSLLDP lldp = getLinkProbe(port);
-        ethPacket.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
         return new DefaultOutboundPacket(device.id(),
                                          builder().setOutput(portNumber(port)).build(),
-                                         ByteBuffer.wrap(ethPacket.serialize()));
+                                         ByteBuffer.wrap(lldpTemplate.probe(port, context.fingerprint())));
     }
 
     /**
@@ -250,15 +259,9 @@ public class LinkDiscovery implements TimerTask {
         if (port == null) {
             return null;
         }
-        ONOSLLDP lldp = getLinkProbe(port);
-        bddpEth.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
         return new DefaultOutboundPacket(device.id(),
                                          builder().setOutput(portNumber(port)).build(),
-                                         ByteBuffer.wrap(bddpEth.serialize()));
-    }
-
-    private ONOSLLDP getLinkProbe(Long port) {
-        return ONOSLLDP.onosLLDP(device.id().toString(), device.chassisId(), port.intValue());
+                                         ByteBuffer.wrap(bddpTemplate.probe(port, context.fingerprint())));
     }
 
     private void sendProbes(Long portNumber) {
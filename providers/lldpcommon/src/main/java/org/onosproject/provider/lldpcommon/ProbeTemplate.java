@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.lldpcommon;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.ONOSLLDP;
+import org.onosproject.net.Device;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serialized link probe of a device, from which the probes sent out of each
+ * of its ports are copied, patching only their port and source address.
+ */
+final class ProbeTemplate {
+
+    // Length of the untagged Ethernet header
+    private static final int ETH_HEADER_LENGTH = 14;
+    // Offset of the source address within the Ethernet header
+    private static final int SRC_MAC_OFFSET = 6;
+    // Length of a TLV header
+    private static final int TLV_HEADER_LENGTH = 2;
+    // Length of the port TLV subtype preceding the port number
+    private static final int PORT_SUBTYPE_LENGTH = 1;
+
+    private final byte[] frame;
+    private final int portOffset;
+    private String fingerprint;
+
+    /**
+     * Creates the probe template of a device.
+     *
+     * @param device      device sending the probes
+     * @param eth         Ethernet frame carrying the probes, with its
+     *                    destination and type set
+     * @param fingerprint source address of the probes
+     */
+    ProbeTemplate(Device device, Ethernet eth, String fingerprint) {
+        ONOSLLDP lldp = ONOSLLDP.onosLLDP(device.id().toString(), device.chassisId(), 0);
+        eth.setSourceMACAddress(fingerprint).setPayload(lldp);
+        this.frame = eth.serialize();
+        this.fingerprint = fingerprint;
+        // the port TLV follows the chassis TLV, which leads the LLDPDU
+        this.portOffset = ETH_HEADER_LENGTH + TLV_HEADER_LENGTH + lldp.getChassisId().getLength() +
+                TLV_HEADER_LENGTH + PORT_SUBTYPE_LENGTH;
+    }
+
+    /**
+     * Returns the serialized probe to be sent out of the given port.
+     *
+     * @param port        port number
+     * @param fingerprint source address of the probe
+     * @return serialized probe
+     */
+    synchronized byte[] probe(long port, String fingerprint) {
+        if (!fingerprint.equals(this.fingerprint)) {
+            System.arraycopy(MacAddress.valueOf(fingerprint).toBytes(), 0,
+                             frame, SRC_MAC_OFFSET, MacAddress.MAC_ADDRESS_LENGTH);
+            this.fingerprint = fingerprint;
+        }
+        byte[] data = frame.clone();
+        ByteBuffer.wrap(data).putInt(portOffset, (int) port);
+        return data;
+    }
+}
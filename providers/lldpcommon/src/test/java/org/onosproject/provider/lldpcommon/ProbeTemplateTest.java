@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.lldpcommon;
+
+import org.junit.Test;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.ONOSLLDP;
+import org.onosproject.net.Device;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.onosproject.net.NetTestTools.device;
+
+/**
+ * Unit tests for the link probe templates.
+ */
+public class ProbeTemplateTest {
+
+    private static final String MAC1 = "a4:23:05:00:00:01";
+    private static final String MAC2 = "a4:23:05:00:00:02";
+
+    private final Device device = device("of:0000000000000001");
+
+    private static Ethernet lldpFrame() {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(Ethernet.TYPE_LLDP);
+        eth.setDestinationMACAddress(MacAddress.ONOS_LLDP);
+        eth.setPad(true);
+        return eth;
+    }
+
+    // Serializes the probe the way it was built for each port.
+    private byte[] expected(int port, String fingerprint) {
+        ONOSLLDP lldp = ONOSLLDP.onosLLDP(device.id().toString(), device.chassisId(), port);
+        return lldpFrame().setSourceMACAddress(fingerprint).setPayload(lldp).serialize();
+    }
+
+    /**
+     * Tests that probes copied from the template match the built ones.
+     */
+    @Test
+    public void testProbe() throws Exception {
+        ProbeTemplate template = new ProbeTemplate(device, lldpFrame(), MAC1);
+        assertArrayEquals(expected(1, MAC1), template.probe(1, MAC1));
+        assertArrayEquals(expected(48, MAC1), template.probe(48, MAC1));
+        assertArrayEquals(expected(0xfffffff0, MAC1), template.probe(0xfffffff0L, MAC1));
+
+        Ethernet parsed = Ethernet.deserializer().deserialize(template.probe(7, MAC1), 0, expected(7, MAC1).length);
+        assertEquals(7, ONOSLLDP.parseONOSLLDP(parsed).getPort().intValue());
+    }
+
+    /**
+     * Tests that a change of fingerprint is patched into the template.
+     */
+    @Test
+    public void testFingerprintChange() {
+        ProbeTemplate template = new ProbeTemplate(device, lldpFrame(), MAC1);
+        template.probe(1, MAC1);
+        assertArrayEquals(expected(2, MAC2), template.probe(2, MAC2));
+        assertArrayEquals(expected(3, MAC2), template.probe(3, MAC2));
+    }
+}
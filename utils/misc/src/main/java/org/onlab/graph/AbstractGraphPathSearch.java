@@ -206,7 +206,7 @@ public abstract class AbstractGraphPathSearch<V extends Vertex, E extends Edge<V
             for (V v : destinations) {
                 // Ignore the source, if it is among the destinations.
                 if (!v.equals(src)) {
-                    buildAllPaths(this, src, v, maxPaths);
+                    buildAllPaths(parents, costs, paths, src, v, maxPaths);
                 }
             }
         }
@@ -218,21 +218,28 @@ public abstract class AbstractGraphPathSearch<V extends Vertex, E extends Edge<V
      * graph search result by applying breadth-first search through the parent
      * edges and vertex costs.
      *
-     * @param result   graph search result
+     * @param parents  parent edges of the vertexes reached by the search
+     * @param costs    costs of the vertexes reached by the search
+     * @param paths    set to which the paths are added
      * @param src      source vertex
      * @param dst      destination vertex
-     * @param maxPaths limit on the number of paths built;
+     * @param maxPaths limit on the size of the set of paths;
      *                 {@link GraphPathSearch#ALL_PATHS} if no limit
+     * @param <V>      vertex type
+     * @param <E>      edge type
      */
-    private void buildAllPaths(DefaultResult result, V src, V dst, int maxPaths) {
+    static <V extends Vertex, E extends Edge<V>> void buildAllPaths(Map<V, Set<E>> parents,
+                                                                    Map<V, Weight> costs,
+                                                                    Set<Path<V, E>> paths,
+                                                                    V src, V dst, int maxPaths) {
         DefaultMutablePath<V, E> basePath = new DefaultMutablePath<>();
-        basePath.setCost(result.cost(dst));
+        basePath.setCost(costs.get(dst));
 
         Set<DefaultMutablePath<V, E>> pendingPaths = new HashSet<>();
         pendingPaths.add(basePath);
 
         while (!pendingPaths.isEmpty() &&
-                (maxPaths == ALL_PATHS || result.paths.size() < maxPaths)) {
+                (maxPaths == ALL_PATHS || paths.size() < maxPaths)) {
             Set<DefaultMutablePath<V, E>> frontier = new HashSet<>();
 
             for (DefaultMutablePath<V, E> path : pendingPaths) {
@@ -243,15 +250,15 @@ public abstract class AbstractGraphPathSearch<V extends Vertex, E extends Edge<V
                 // If the first vertex is our expected source, we have reached
                 // the beginning, so add the this path to the result paths.
                 if (firstVertex.equals(src)) {
-                    path.setCost(result.cost(dst));
-                    result.paths.add(new DefaultPath<>(path.edges(), path.cost()));
+                    path.setCost(costs.get(dst));
+                    paths.add(new DefaultPath<>(path.edges(), path.cost()));
 
                 } else {
                     // If we have not reached the beginning, i.e. the source,
                     // fetch the set of edges leading to the first vertex of
                     // this pending path; if there are none, abandon processing
                     // this path for good.
-                    Set<E> firstVertexParents = result.parents.get(firstVertex);
+                    Set<E> firstVertexParents = parents.get(firstVertex);
                     if (firstVertexParents == null || firstVertexParents.isEmpty()) {
                         break;
                     }
@@ -288,13 +295,14 @@ public abstract class AbstractGraphPathSearch<V extends Vertex, E extends Edge<V
      * @param path path to test
      * @return true if the edge.src() is a vertex in the path already
      */
-    private boolean isInPath(E edge, DefaultMutablePath<V, E> path) {
+    private static <V extends Vertex, E extends Edge<V>> boolean isInPath(E edge,
+                                                                          DefaultMutablePath<V, E> path) {
         return path.edges().stream().anyMatch(e -> edge.src().equals(e.dst()));
     }
 
     // Returns the first vertex of the specified path. This is either the source
     // of the first edge or, if there are no edges yet, the given destination.
-    private V firstVertex(Path<V, E> path, V dst) {
+    private static <V extends Vertex, E extends Edge<V>> V firstVertex(Path<V, E> path, V dst) {
         return path.edges().isEmpty() ? dst : path.edges().get(0).src();
     }
 
@@ -15,9 +15,11 @@
  */
 package org.onlab.graph;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.ImmutableSetMultimap;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -36,8 +38,8 @@ public class AdjacencyListsGraph<V extends Vertex, E extends Edge<V>>
     private final Set<V> vertexes;
     private final Set<E> edges;
 
-    private final ImmutableSetMultimap<V, E> sources;
-    private final ImmutableSetMultimap<V, E> destinations;
+    private final ImmutableMap<V, ImmutableSet<E>> sources;
+    private final ImmutableMap<V, ImmutableSet<E>> destinations;
 
     /**
      * Creates a graph comprising of the specified vertexes and edges.
@@ -46,21 +48,41 @@ public class AdjacencyListsGraph<V extends Vertex, E extends Edge<V>>
      * @param edges    set of graph edges
      */
     public AdjacencyListsGraph(Set<V> vertexes, Set<E> edges) {
+        this(null, vertexes, edges, null);
+    }
+
+    /**
+     * Creates a graph comprising of the specified vertexes and edges, sharing
+     * the adjacency lists of the given graph for the vertexes whose ingress
+     * and egress edges are unchanged.
+     *
+     * @param graph    graph whose adjacency lists to share; null to share none
+     * @param vertexes set of graph vertexes
+     * @param edges    set of graph edges
+     * @param changed  vertexes whose ingress or egress edges differ from those
+     *                 they have in the given graph
+     */
+    protected AdjacencyListsGraph(AdjacencyListsGraph<V, E> graph,
+                                  Set<V> vertexes, Set<E> edges, Set<V> changed) {
         checkNotNull(vertexes, "Vertex set cannot be null");
         checkNotNull(edges, "Edge set cannot be null");
 
-        // Record ingress/egress edges for each vertex.
-        ImmutableSetMultimap.Builder<V, E> srcMap = ImmutableSetMultimap.builder();
-        ImmutableSetMultimap.Builder<V, E> dstMap = ImmutableSetMultimap.builder();
+        // Record ingress/egress edges for each vertex not taken from the graph.
+        Map<V, ImmutableSet.Builder<E>> srcMap = new HashMap<>();
+        Map<V, ImmutableSet.Builder<E>> dstMap = new HashMap<>();
 
         // Also make sure that all edge end-points are added as vertexes
         ImmutableSet.Builder<V> actualVertexes = ImmutableSet.builder();
         actualVertexes.addAll(vertexes);
 
         for (E edge : edges) {
-            srcMap.put(edge.src(), edge);
+            if (graph == null || changed.contains(edge.src())) {
+                srcMap.computeIfAbsent(edge.src(), v -> ImmutableSet.builder()).add(edge);
+            }
             actualVertexes.add(edge.src());
-            dstMap.put(edge.dst(), edge);
+            if (graph == null || changed.contains(edge.dst())) {
+                dstMap.computeIfAbsent(edge.dst(), v -> ImmutableSet.builder()).add(edge);
+            }
             actualVertexes.add(edge.dst());
         }
 
@@ -69,8 +91,29 @@ public class AdjacencyListsGraph<V extends Vertex, E extends Edge<V>>
         this.vertexes = actualVertexes.build();
 
         // Build immutable copies of sources and destinations edge maps
-        sources = srcMap.build();
-        destinations = dstMap.build();
+        sources = adjacencyLists(srcMap, graph == null ? null : graph.sources, changed);
+        destinations = adjacencyLists(dstMap, graph == null ? null : graph.destinations, changed);
+    }
+
+    // Builds the adjacency lists of the graph vertexes, from the given
+    // builders or from the shared lists of unchanged vertexes.
+    private ImmutableMap<V, ImmutableSet<E>> adjacencyLists(Map<V, ImmutableSet.Builder<E>> builders,
+                                                          ImmutableMap<V, ImmutableSet<E>> shared,
+                                                          Set<V> changed) {
+        ImmutableMap.Builder<V, ImmutableSet<E>> lists = ImmutableMap.builder();
+        for (V vertex : vertexes) {
+            ImmutableSet<E> list;
+            if (shared == null || changed.contains(vertex)) {
+                ImmutableSet.Builder<E> builder = builders.get(vertex);
+                list = builder == null ? null : builder.build();
+            } else {
+                list = shared.get(vertex);
+            }
+            if (list != null) {
+                lists.put(vertex, list);
+            }
+        }
+        return lists.build();
     }
 
     @Override
@@ -85,12 +128,14 @@ public class AdjacencyListsGraph<V extends Vertex, E extends Edge<V>>
 
     @Override
     public Set<E> getEdgesFrom(V src) {
-        return sources.get(src);
+        Set<E> edges = sources.get(src);
+        return edges != null ? edges : ImmutableSet.of();
     }
 
     @Override
     public Set<E> getEdgesTo(V dst) {
-        return destinations.get(dst);
+        Set<E> edges = destinations.get(dst);
+        return edges != null ? edges : ImmutableSet.of();
     }
 
     @Override
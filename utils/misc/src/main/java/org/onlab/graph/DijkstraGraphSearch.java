@@ -33,13 +33,39 @@ public class DijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
         // Use the default result to remember cumulative costs and parent
         // edges to each each respective vertex.
         DefaultResult result = new DefaultResult(src, dst, maxPaths);
+        search(graph, src, dst, weigher, result);
 
+        // Now construct a set of paths from the results.
+        result.buildPaths();
+        return result;
+    }
+
+    /**
+     * Searches the shortest paths from the source to all the vertexes it
+     * reaches, without building the paths. The returned tree yields the
+     * paths to any of the vertexes, so a single search serves all of them.
+     *
+     * @param graph   graph to be searched
+     * @param src     source vertex
+     * @param weigher optional edge weigher; if null, {@link DefaultEdgeWeigher} is used
+     * @return shortest path tree rooted at the source
+     */
+    public PathTree<V, E> searchTree(Graph<V, E> graph, V src, EdgeWeigher<V, E> weigher) {
+        checkArguments(graph, src, null);
+        DefaultResult result = new DefaultResult(src, null, ALL_PATHS);
+        search(graph, src, null, weigher != null ? weigher : new DefaultEdgeWeigher<>(), result);
+        return new PathTree<>(src, result.costs(), result.parents());
+    }
+
+    // Records in the result the costs and parent edges of the vertexes
+    // reached from the source, up to the destination if one is given.
+    private void search(Graph<V, E> graph, V src, V dst,
+                        EdgeWeigher<V, E> weigher, DefaultResult result) {
         // Cost to reach the source vertex is 0 of course.
         result.updateVertex(src, null, weigher.getInitialWeight(), false);
 
         if (graph.getEdges().isEmpty()) {
-            result.buildPaths();
-            return result;
+            return;
         }
 
         // Use the min priority queue to progressively find each nearest
@@ -67,10 +93,6 @@ public class DijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
             // Re-prioritize the min queue.
             minQueue.heapify();
         }
-
-        // Now construct a set of paths from the results.
-        result.buildPaths();
-        return result;
     }
 
     // Compares path weights using their accrued costs; used for sorting the
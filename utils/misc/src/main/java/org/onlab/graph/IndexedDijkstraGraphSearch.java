@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.math.DoubleMath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dijkstra shortest-path graph search algorithm finding the same paths as
+ * {@link DijkstraGraphSearch}, but over an {@link IndexedGraph indexed copy}
+ * of the graph, with the vertex costs kept in an array and the nearest
+ * vertex found through a heap with decrease-key.
+ * <p>
+ * The indexed copies of immutable {@link AdjacencyListsGraph adjacency lists
+ * graphs} are kept for as long as the graphs are in use, so repeated
+ * searches of a graph index it once. Edge weights must be
+ * {@link ScalarWeight scalar}; searches with other weights are carried out
+ * by {@link DijkstraGraphSearch}.
+ * </p>
+ */
+public class IndexedDijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
+        extends DijkstraGraphSearch<V, E> {
+
+    private static final int NONE = -1;
+
+    private final Cache<Graph<V, E>, IndexedGraph<V, E>> indexedGraphs =
+            CacheBuilder.newBuilder().weakKeys().build();
+
+    @Override
+    protected Result<V, E> internalSearch(Graph<V, E> graph, V src, V dst,
+                                          EdgeWeigher<V, E> weigher, int maxPaths) {
+        Labels labels = label(graph, src, dst, weigher, maxPaths);
+        if (labels == null) {
+            return super.internalSearch(graph, src, dst, weigher, maxPaths);
+        }
+        DefaultResult result = new DefaultResult(src, dst, maxPaths);
+        labels.export(result.costs(), result.parents());
+        result.buildPaths();
+        return result;
+    }
+
+    @Override
+    public PathTree<V, E> searchTree(Graph<V, E> graph, V src, EdgeWeigher<V, E> weigher) {
+        checkArguments(graph, src, null);
+        EdgeWeigher<V, E> ew = weigher != null ? weigher : new DefaultEdgeWeigher<>();
+        Labels labels = label(graph, src, null, ew, ALL_PATHS);
+        if (labels == null) {
+            return super.searchTree(graph, src, ew);
+        }
+        Map<V, Weight> costs = new HashMap<>();
+        Map<V, Set<E>> parents = new HashMap<>();
+        labels.export(costs, parents);
+        return new PathTree<>(src, costs, parents);
+    }
+
+    // Returns the indexed copy of the given graph, reusing that of an
+    // immutable graph.
+    private IndexedGraph<V, E> indexed(Graph<V, E> graph) {
+        if (!(graph instanceof AdjacencyListsGraph)) {
+            return IndexedGraph.of(graph);
+        }
+        IndexedGraph<V, E> indexed = indexedGraphs.getIfPresent(graph);
+        if (indexed == null) {
+            indexed = IndexedGraph.of(graph);
+            indexedGraphs.put(graph, indexed);
+        }
+        return indexed;
+    }
+
+    // Labels the vertexes reached from the source with their costs and
+    // parent edges, up to the destination if one is given; returns null if
+    // any of the weights is not scalar.
+    private Labels label(Graph<V, E> graph, V src, V dst,
+                         EdgeWeigher<V, E> weigher, int maxPaths) {
+        Weight initial = weigher.getInitialWeight();
+        if (!(initial instanceof ScalarWeight)) {
+            return null;
+        }
+        IndexedGraph<V, E> indexed = indexed(graph);
+        Labels labels = new Labels(indexed, maxPaths);
+        int source = indexed.index(src);
+        labels.reach(source, ((ScalarWeight) initial).value());
+        if (indexed.edgeCount() == 0) {
+            return labels;
+        }
+
+        int target = dst != null ? indexed.index(dst) : NONE;
+        double threshold = ScalarWeight.samenessThreshold();
+        IndexedHeap minQueue = new IndexedHeap(indexed.vertexCount());
+        minQueue.offer(source, labels.costs[source]);
+        while (!minQueue.isEmpty()) {
+            int nearest = minQueue.extractMin();
+            if (nearest == target) {
+                break;
+            }
+
+            // Relax all egress edges of the nearest vertex.
+            double cost = labels.costs[nearest];
+            for (int i = indexed.edgesStart(nearest), end = indexed.edgesEnd(nearest); i < end; i++) {
+                Weight hopCost = weigher.weight(indexed.edge(i));
+                if (!(hopCost instanceof ScalarWeight)) {
+                    return null;
+                }
+                if (!hopCost.isViable() || hopCost.isNegative()) {
+                    continue;
+                }
+                double newCost = cost + ((ScalarWeight) hopCost).value();
+                int v = indexed.target(i);
+                int compareResult = labels.reached(v) ? compare(newCost, labels.costs[v], threshold) : -1;
+                if (compareResult <= 0) {
+                    labels.update(v, i, newCost, compareResult < 0);
+                    if (compareResult < 0 && v < indexed.vertexCount()) {
+                        minQueue.offer(v, newCost);
+                    }
+                }
+            }
+        }
+        return labels;
+    }
+
+    // Compares costs the way scalar weights do.
+    private static int compare(double a, double b, double threshold) {
+        return DoubleMath.fuzzyEquals(a, b, threshold) ? 0 : Double.compare(a, b);
+    }
+
+    // Costs and parent edges of the indexed vertexes; the parent edges of
+    // each vertex form a list linked through the edge positions.
+    private final class Labels {
+        private final IndexedGraph<V, E> graph;
+        private final int maxPaths;
+        private final double[] costs;
+        private final int[] firstParent;
+        private final int[] parentCount;
+        private final int[] nextParent;
+
+        private Labels(IndexedGraph<V, E> graph, int maxPaths) {
+            this.graph = graph;
+            this.maxPaths = maxPaths;
+            this.costs = new double[graph.size()];
+            this.firstParent = new int[graph.size()];
+            this.parentCount = new int[graph.size()];
+            this.nextParent = new int[graph.edgeCount()];
+            Arrays.fill(costs, Double.NaN);
+            Arrays.fill(firstParent, NONE);
+        }
+
+        private boolean reached(int v) {
+            return !Double.isNaN(costs[v]);
+        }
+
+        private void reach(int v, double cost) {
+            costs[v] = cost;
+        }
+
+        // Mirrors the cost and parent updates of the default result.
+        private void update(int v, int edge, double cost, boolean replace) {
+            costs[v] = cost;
+            if (replace) {
+                firstParent[v] = NONE;
+                parentCount[v] = 0;
+            }
+            if (maxPaths == ALL_PATHS || parentCount[v] < maxPaths) {
+                nextParent[edge] = firstParent[v];
+                firstParent[v] = edge;
+                parentCount[v]++;
+            }
+        }
+
+        // Adds the costs and parent edges of the reached vertexes to the
+        // given maps.
+        private void export(Map<V, Weight> costMap, Map<V, Set<E>> parentMap) {
+            for (int v = 0; v < costs.length; v++) {
+                if (!reached(v)) {
+                    continue;
+                }
+                V vertex = graph.vertex(v);
+                costMap.put(vertex, new ScalarWeight(costs[v]));
+                if (firstParent[v] != NONE) {
+                    Set<E> edges = new HashSet<>();
+                    for (int e = firstParent[v]; e != NONE; e = nextParent[e]) {
+                        edges.add(graph.edge(e));
+                    }
+                    parentMap.put(vertex, edges);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Compact, immutable copy of the adjacency of a graph, with the vertexes
+ * numbered from 0 and the egress edges of each vertex laid out contiguously
+ * in the compressed sparse row format.
+ * <p>
+ * The vertexes of the graph come first; the destinations of edges which are
+ * missing from the vertexes of the graph follow, and have no egress edges.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ */
+public final class IndexedGraph<V extends Vertex, E extends Edge<V>> {
+
+    private final List<V> vertexes;
+    private final Map<V, Integer> indexes;
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final List<E> edges;
+
+    private IndexedGraph(List<V> vertexes, Map<V, Integer> indexes, int vertexCount,
+                         int[] offsets, int[] targets, List<E> edges) {
+        this.vertexes = vertexes;
+        this.indexes = indexes;
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.edges = edges;
+    }
+
+    /**
+     * Creates the indexed copy of the given graph.
+     *
+     * @param graph graph to be indexed
+     * @param <V>   vertex type
+     * @param <E>   edge type
+     * @return indexed graph
+     */
+    public static <V extends Vertex, E extends Edge<V>> IndexedGraph<V, E> of(Graph<V, E> graph) {
+        checkNotNull(graph, "Graph cannot be null");
+        Set<V> graphVertexes = graph.getVertexes();
+        List<V> vertexes = new ArrayList<>(graphVertexes);
+        Map<V, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < vertexes.size(); i++) {
+            indexes.put(vertexes.get(i), i);
+        }
+        int vertexCount = vertexes.size();
+
+        int[] offsets = new int[vertexCount + 1];
+        List<E> edges = new ArrayList<>();
+        List<Integer> targetList = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            offsets[i] = edges.size();
+            for (E edge : graph.getEdgesFrom(vertexes.get(i))) {
+                Integer target = indexes.get(edge.dst());
+                if (target == null) {
+                    target = vertexes.size();
+                    vertexes.add(edge.dst());
+                    indexes.put(edge.dst(), target);
+                }
+                edges.add(edge);
+                targetList.add(target);
+            }
+        }
+        offsets[vertexCount] = edges.size();
+
+        int[] targets = new int[targetList.size()];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = targetList.get(i);
+        }
+        return new IndexedGraph<>(vertexes, indexes, vertexCount, offsets, targets, edges);
+    }
+
+    /**
+     * Returns the number of indexed vertexes, including the destinations of
+     * edges which are missing from the vertexes of the graph.
+     *
+     * @return number of indexed vertexes
+     */
+    public int size() {
+        return vertexes.size();
+    }
+
+    /**
+     * Returns the number of vertexes of the graph; these have the lowest
+     * indexes.
+     *
+     * @return number of graph vertexes
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns the number of edges.
+     *
+     * @return number of edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the index of the given vertex.
+     *
+     * @param vertex vertex
+     * @return vertex index, or -1 if the vertex is not indexed
+     */
+    public int index(V vertex) {
+        Integer index = indexes.get(vertex);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Returns the vertex with the given index.
+     *
+     * @param index vertex index
+     * @return vertex
+     */
+    public V vertex(int index) {
+        return vertexes.get(index);
+    }
+
+    /**
+     * Returns the position of the first egress edge of the given vertex.
+     *
+     * @param index vertex index
+     * @return position of the first egress edge
+     */
+    public int edgesStart(int index) {
+        return index < vertexCount ? offsets[index] : 0;
+    }
+
+    /**
+     * Returns the position following the last egress edge of the given
+     * vertex.
+     *
+     * @param index vertex index
+     * @return position past the last egress edge
+     */
+    public int edgesEnd(int index) {
+        return index < vertexCount ? offsets[index + 1] : 0;
+    }
+
+    /**
+     * Returns the edge at the given position.
+     *
+     * @param position edge position
+     * @return edge
+     */
+    public E edge(int position) {
+        return edges.get(position);
+    }
+
+    /**
+     * Returns the index of the destination of the edge at the given position.
+     *
+     * @param position edge position
+     * @return destination vertex index
+     */
+    public int target(int position) {
+        return targets[position];
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("vertexes", vertexCount)
+                .add("edges", targets.length)
+                .toString();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of the integers from 0 to a fixed capacity, keyed by
+ * doubles, which tracks the position of each item so that its key can be
+ * decreased in logarithmic time.
+ * <p>
+ * Items may be added only once; an item which was extracted stays out.
+ * This class is not thread-safe.
+ * </p>
+ */
+final class IndexedHeap {
+
+    private static final int ABSENT = -1;
+    private static final int EXTRACTED = -2;
+
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap for the items from 0 to the given capacity.
+     *
+     * @param capacity number of items
+     */
+    IndexedHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Indicates whether the heap is empty.
+     *
+     * @return true if no item is on the heap
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Indicates whether the given item was extracted from the heap.
+     *
+     * @param item item
+     * @return true if the item was extracted
+     */
+    boolean isExtracted(int item) {
+        return positions[item] == EXTRACTED;
+    }
+
+    /**
+     * Adds the given item to the heap, or lowers its key if it is already
+     * on the heap; items which were extracted are ignored, as are keys
+     * higher than the current one.
+     *
+     * @param item item
+     * @param key  item key
+     */
+    void offer(int item, double key) {
+        int position = positions[item];
+        if (position == EXTRACTED) {
+            return;
+        }
+        if (position == ABSENT) {
+            position = size++;
+            heap[position] = item;
+            positions[item] = position;
+        } else if (key >= keys[item]) {
+            return;
+        }
+        keys[item] = key;
+        siftUp(position);
+    }
+
+    /**
+     * Removes and returns the item with the lowest key.
+     *
+     * @return item with the lowest key
+     * @throws NoSuchElementException if the heap is empty
+     */
+    int extractMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int min = heap[0];
+        positions[min] = EXTRACTED;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int position) {
+        int item = heap[position];
+        double key = keys[item];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(item, position);
+    }
+
+    private void siftDown(int position) {
+        int item = heap[position];
+        double key = keys[item];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(item, position);
+    }
+
+    private void move(int item, int position) {
+        heap[position] = item;
+        positions[item] = position;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Shortest path tree rooted at a source vertex, as found by a single-source
+ * graph search. The tree yields the shortest paths from the source to any
+ * of the vertexes it reaches.
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ */
+public class PathTree<V extends Vertex, E extends Edge<V>> {
+
+    private final V src;
+    private final Map<V, Weight> costs;
+    private final Map<V, Set<E>> parents;
+
+    /**
+     * Creates a shortest path tree from the results of a single-source search.
+     *
+     * @param src     source vertex
+     * @param costs   costs of the vertexes reached from the source
+     * @param parents edges through which the vertexes are reached at their cost
+     */
+    public PathTree(V src, Map<V, Weight> costs, Map<V, Set<E>> parents) {
+        this.src = checkNotNull(src, "Source cannot be null");
+        this.costs = checkNotNull(costs, "Costs cannot be null");
+        this.parents = checkNotNull(parents, "Parents cannot be null");
+    }
+
+    /**
+     * Returns the source vertex of the tree.
+     *
+     * @return source vertex
+     */
+    public V src() {
+        return src;
+    }
+
+    /**
+     * Returns the cost of the shortest paths to the given vertex.
+     *
+     * @param dst destination vertex
+     * @return cost of the paths; null if the vertex is not reached
+     */
+    public Weight cost(V dst) {
+        return costs.get(dst);
+    }
+
+    /**
+     * Returns the shortest paths from the source to the given vertex. If
+     * returning all the paths would exceed {@code maxPaths}, an arbitrary
+     * subset of them is returned.
+     *
+     * @param dst      destination vertex
+     * @param maxPaths limit on the number of paths;
+     *                 {@link GraphPathSearch#ALL_PATHS} if no limit
+     * @return set of shortest paths; empty if the vertex is the source or
+     * is not reached
+     */
+    public Set<Path<V, E>> paths(V dst, int maxPaths) {
+        if (dst.equals(src) || !costs.containsKey(dst)) {
+            return ImmutableSet.of();
+        }
+        Set<Path<V, E>> paths = new HashSet<>();
+        AbstractGraphPathSearch.buildAllPaths(parents, costs, paths, src, dst, maxPaths);
+        return paths;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("src", src)
+                .add("vertexes", costs.size())
+                .toString();
+    }
+}
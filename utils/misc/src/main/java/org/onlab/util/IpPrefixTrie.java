@@ -0,0 +1,397 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import com.google.common.collect.ImmutableList;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Binary Patricia trie mapping IP prefixes of a single IP version to values.
+ * <p>
+ * Prefixes are keyed by their bits rather than by a string rendering, and
+ * branches without values are path-compressed, so the trie holds at most
+ * two nodes per stored prefix. Nodes are immutable: updates copy the path
+ * from the root to the modified node and publish the new root, so lookups
+ * are lock-free and always see a consistent snapshot, while updates are
+ * serialized on the trie.
+ * </p>
+ *
+ * @param <V> type of the values
+ */
+public final class IpPrefixTrie<V> {
+
+    private final IpAddress.Version version;
+    private final int bitLength;
+
+    private volatile Node<V> root;
+    private volatile int size;
+
+    /**
+     * Creates an empty trie for prefixes of the given IP version.
+     *
+     * @param version IP version of the stored prefixes
+     */
+    public IpPrefixTrie(IpAddress.Version version) {
+        this.version = checkNotNull(version);
+        this.bitLength = IpAddress.byteLength(version) * Byte.SIZE;
+    }
+
+    /**
+     * Returns the IP version of the prefixes in the trie.
+     *
+     * @return IP version
+     */
+    public IpAddress.Version version() {
+        return version;
+    }
+
+    /**
+     * Associates the value with the prefix, replacing any previous value.
+     *
+     * @param prefix IP prefix
+     * @param value  value; not null
+     * @return previous value of the prefix, or null if there was none
+     */
+    public synchronized V put(IpPrefix prefix, V value) {
+        checkNotNull(value);
+        Key key = key(prefix);
+        V previous = get(root, key);
+        root = insert(root, key, value);
+        if (previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Associates the value with the prefix unless the prefix already has a
+     * value.
+     *
+     * @param prefix IP prefix
+     * @param value  value; not null
+     * @return existing value of the prefix, or null if the value was stored
+     */
+    public synchronized V putIfAbsent(IpPrefix prefix, V value) {
+        checkNotNull(value);
+        Key key = key(prefix);
+        V existing = get(root, key);
+        if (existing == null) {
+            root = insert(root, key, value);
+            size++;
+        }
+        return existing;
+    }
+
+    /**
+     * Removes the value of the prefix.
+     *
+     * @param prefix IP prefix
+     * @return removed value, or null if the prefix had no value
+     */
+    public synchronized V remove(IpPrefix prefix) {
+        Key key = key(prefix);
+        V previous = get(root, key);
+        if (previous != null) {
+            root = delete(root, key);
+            size--;
+        }
+        return previous;
+    }
+
+    /**
+     * Removes all prefixes from the trie.
+     */
+    public synchronized void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the value of the prefix (exact match).
+     *
+     * @param prefix IP prefix
+     * @return value, or null if the prefix has no value
+     */
+    public V get(IpPrefix prefix) {
+        return get(root, key(prefix));
+    }
+
+    /**
+     * Returns the value of the most specific prefix containing the address.
+     *
+     * @param address IP address
+     * @return value of the longest matching prefix, or null if no prefix
+     * contains the address
+     */
+    public V longestPrefixMatch(IpAddress address) {
+        return longestPrefixMatch(root, key(address, bitLength));
+    }
+
+    /**
+     * Returns the value of the most specific prefix containing the given
+     * prefix, including the prefix itself.
+     *
+     * @param prefix IP prefix
+     * @return value of the longest matching prefix, or null if no prefix
+     * contains the given prefix
+     */
+    public V longestPrefixMatch(IpPrefix prefix) {
+        return longestPrefixMatch(root, key(prefix));
+    }
+
+    /**
+     * Returns the values of all prefixes, ordered by prefix bits with
+     * shorter prefixes first.
+     *
+     * @return list of values
+     */
+    public List<V> values() {
+        ImmutableList.Builder<V> values = ImmutableList.builder();
+        forEach(root, (key, value) -> values.add(value));
+        return values.build();
+    }
+
+    /**
+     * Returns the values of the prefixes contained in the given prefix,
+     * including the prefix itself, in the order of {@link #values()}.
+     *
+     * @param prefix IP prefix
+     * @return list of values
+     */
+    public List<V> valuesCoveredBy(IpPrefix prefix) {
+        ImmutableList.Builder<V> values = ImmutableList.builder();
+        forEach(subtree(root, key(prefix)), (key, value) -> values.add(value));
+        return values.build();
+    }
+
+    /**
+     * Returns the prefixes contained in the given prefix, including the
+     * prefix itself, in the order of {@link #values()}.
+     *
+     * @param prefix IP prefix
+     * @return list of prefixes
+     */
+    public List<IpPrefix> prefixesCoveredBy(IpPrefix prefix) {
+        ImmutableList.Builder<IpPrefix> prefixes = ImmutableList.builder();
+        forEach(subtree(root, key(prefix)), (key, value) -> prefixes.add(toPrefix(key)));
+        return prefixes.build();
+    }
+
+    /**
+     * Returns the number of prefixes in the trie.
+     *
+     * @return number of prefixes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the trie is empty.
+     *
+     * @return true if the trie holds no prefixes
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Key key(IpPrefix prefix) {
+        checkArgument(prefix.version() == version, "Expected an %s prefix: %s", version, prefix);
+        return key(prefix.address(), prefix.prefixLength());
+    }
+
+    private Key key(IpAddress address, int length) {
+        checkArgument(address.version() == version, "Expected an %s address: %s", version, address);
+        if (address.isIp4()) {
+            return new Key(((long) address.getIp4Address().toInt()) << Integer.SIZE, 0, length);
+        }
+        ByteBuffer octets = ByteBuffer.wrap(address.toOctets());
+        return new Key(octets.getLong(), octets.getLong(), length);
+    }
+
+    private IpPrefix toPrefix(Key key) {
+        if (version == IpAddress.Version.INET) {
+            return IpPrefix.valueOf((int) (key.high >>> Integer.SIZE), key.length);
+        }
+        byte[] octets = ByteBuffer.allocate(IpAddress.INET6_BYTE_LENGTH)
+                .putLong(key.high).putLong(key.low).array();
+        return IpPrefix.valueOf(version, octets, key.length);
+    }
+
+    private static <V> V get(Node<V> node, Key key) {
+        while (node != null && node.contains(key)) {
+            if (node.length == key.length) {
+                return node.value;
+            }
+            node = node.child(key.bit(node.length));
+        }
+        return null;
+    }
+
+    private static <V> V longestPrefixMatch(Node<V> node, Key key) {
+        V match = null;
+        while (node != null && node.contains(key)) {
+            if (node.value != null) {
+                match = node.value;
+            }
+            if (node.length == key.length) {
+                break;
+            }
+            node = node.child(key.bit(node.length));
+        }
+        return match;
+    }
+
+    // Topmost node whose prefix is contained in the given one
+    private static <V> Node<V> subtree(Node<V> node, Key key) {
+        while (node != null && !key.contains(node)) {
+            if (!node.contains(key)) {
+                return null;
+            }
+            node = node.child(key.bit(node.length));
+        }
+        return node;
+    }
+
+    private static <V> void forEach(Node<V> node, BiConsumer<Key, V> consumer) {
+        if (node == null) {
+            return;
+        }
+        if (node.value != null) {
+            consumer.accept(node, node.value);
+        }
+        forEach(node.left, consumer);
+        forEach(node.right, consumer);
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Key key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int common = Math.min(node.commonLength(key), Math.min(node.length, key.length));
+        if (common == node.length && common == key.length) {
+            return new Node<>(node, value, node.left, node.right);
+        }
+        if (common == node.length) {
+            int bit = key.bit(common);
+            return node.withChild(bit, insert(node.child(bit), key, value));
+        }
+        if (common == key.length) {
+            return node.bit(common) == 0 ?
+                    new Node<>(key, value, node, null) : new Node<>(key, value, null, node);
+        }
+        Node<V> leaf = new Node<>(key, value, null, null);
+        Key branch = key.truncate(common);
+        return key.bit(common) == 0 ?
+                new Node<>(branch, null, leaf, node) : new Node<>(branch, null, node, leaf);
+    }
+
+    // Removes the value of a prefix known to be in the trie
+    private static <V> Node<V> delete(Node<V> node, Key key) {
+        if (node.length == key.length) {
+            return compact(new Node<>(node, null, node.left, node.right));
+        }
+        int bit = key.bit(node.length);
+        return compact(node.withChild(bit, delete(node.child(bit), key)));
+    }
+
+    // Drops branch nodes which no longer separate two sub-tries
+    private static <V> Node<V> compact(Node<V> node) {
+        if (node.value != null || (node.left != null && node.right != null)) {
+            return node;
+        }
+        return node.left != null ? node.left : node.right;
+    }
+
+    /**
+     * Prefix bits left-aligned in two longs, along with the prefix length.
+     */
+    private static class Key {
+        final long high;
+        final long low;
+        final int length;
+
+        Key(long high, long low, int length) {
+            this.high = high;
+            this.low = low;
+            this.length = length;
+        }
+
+        int bit(int index) {
+            return index < Long.SIZE ?
+                    (int) (high >>> (Long.SIZE - 1 - index)) & 1 :
+                    (int) (low >>> (2 * Long.SIZE - 1 - index)) & 1;
+        }
+
+        // Number of leading bits the two keys have in common, ignoring lengths
+        int commonLength(Key other) {
+            long diff = high ^ other.high;
+            if (diff != 0) {
+                return Long.numberOfLeadingZeros(diff);
+            }
+            return Long.SIZE + Long.numberOfLeadingZeros(low ^ other.low);
+        }
+
+        // Whether this prefix contains the other one
+        boolean contains(Key other) {
+            return length <= other.length && commonLength(other) >= length;
+        }
+
+        Key truncate(int newLength) {
+            return new Key(mask(high, newLength), mask(low, newLength - Long.SIZE), newLength);
+        }
+
+        private static long mask(long bits, int length) {
+            if (length <= 0) {
+                return 0;
+            }
+            return length >= Long.SIZE ? bits : bits & (-1L << (Long.SIZE - length));
+        }
+    }
+
+    /**
+     * Immutable trie node, holding its prefix bits inline; a null value
+     * marks a branch node.
+     */
+    private static final class Node<V> extends Key {
+        private final V value;
+        private final Node<V> left;
+        private final Node<V> right;
+
+        private Node(Key key, V value, Node<V> left, Node<V> right) {
+            super(key.high, key.low, key.length);
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+
+        private Node<V> child(int bit) {
+            return bit == 0 ? left : right;
+        }
+
+        private Node<V> withChild(int bit, Node<V> child) {
+            return bit == 0 ? new Node<>(this, value, child, right) : new Node<>(this, value, left, child);
+        }
+    }
+}
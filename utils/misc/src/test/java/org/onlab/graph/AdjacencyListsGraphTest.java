@@ -22,6 +22,7 @@ import org.junit.Test;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests of the graph implementation.
@@ -71,4 +72,21 @@ public class AdjacencyListsGraphTest {
         assertEquals("incorrect egress edge count", 2, graph.getEdgesFrom(B).size());
         assertEquals("incorrect ingress edge count", 2, graph.getEdgesTo(D).size());
     }
+
+    @Test
+    public void sharedAdjacencyLists() {
+        Set<TestVertex> vertexes = ImmutableSet.of(A, B, C, D, E, F);
+        AdjacencyListsGraph<TestVertex, TestEdge> graph = new AdjacencyListsGraph<>(vertexes, edges);
+
+        Set<TestEdge> edges2 = ImmutableSet.<TestEdge>builder()
+                .addAll(edges).add(new TestEdge(E, F)).build();
+        AdjacencyListsGraph<TestVertex, TestEdge> derived =
+                new AdjacencyListsGraph<>(graph, vertexes, edges2, ImmutableSet.of(E, F));
+        assertEquals("incorrect derived graph", new AdjacencyListsGraph<>(vertexes, edges2), derived);
+        assertEquals("incorrect egress edge count", 1, derived.getEdgesFrom(E).size());
+        assertEquals("incorrect ingress edge count", 1, derived.getEdgesTo(F).size());
+        assertEquals("incorrect ingress edge count", 0, derived.getEdgesTo(E).size());
+        assertSame("adjacency list not shared", graph.getEdgesFrom(B), derived.getEdgesFrom(B));
+        assertSame("adjacency list not shared", graph.getEdgesTo(D), derived.getEdgesTo(D));
+    }
 }
@@ -76,6 +76,22 @@ public class DijkstraGraphSearchTest extends BreadthFirstSearchTest {
         assertEquals("incorrect path cost", new TestDoubleWeight(1.0), paths.iterator().next().cost());
     }
 
+    @Test
+    public void pathTree() {
+        graph = new AdjacencyListsGraph<>(vertexes(), edges());
+        DijkstraGraphSearch<TestVertex, TestEdge> gs = new DijkstraGraphSearch<>();
+        PathTree<TestVertex, TestEdge> tree = gs.searchTree(graph, A, weigher);
+        assertEquals("incorrect tree source", A, tree.src());
+        for (TestVertex v : vertexes()) {
+            GraphPathSearch.Result<TestVertex, TestEdge> result =
+                    gs.search(graph, A, v, weigher, GraphPathSearch.ALL_PATHS);
+            assertEquals("incorrect paths", result.paths(), tree.paths(v, GraphPathSearch.ALL_PATHS));
+            assertEquals("incorrect path cost", result.costs().get(v), tree.cost(v));
+            assertEquals("incorrect paths count", Math.min(1, result.paths().size()),
+                         tree.paths(v, 1).size());
+        }
+    }
+
     @Test
     public void exceptions() {
         graph = new AdjacencyListsGraph<>(of(A, B, C, D),
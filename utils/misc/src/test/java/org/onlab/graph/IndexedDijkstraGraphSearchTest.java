@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableSet.of;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test of the Dijkstra algorithm over indexed graphs.
+ */
+public class IndexedDijkstraGraphSearchTest extends DijkstraGraphSearchTest {
+
+    private static final ScalarWeight S0 = new ScalarWeight(0);
+    private static final ScalarWeight S1 = new ScalarWeight(1);
+    private static final ScalarWeight S2 = new ScalarWeight(2);
+
+    private final EdgeWeigher<TestVertex, TestEdge> scalarWeigher =
+            new EdgeWeigher<TestVertex, TestEdge>() {
+                @Override
+                public Weight weight(TestEdge edge) {
+                    return edge.weight();
+                }
+
+                @Override
+                public Weight getInitialWeight() {
+                    return S0;
+                }
+
+                @Override
+                public Weight getNonViableWeight() {
+                    return ScalarWeight.NON_VIABLE_WEIGHT;
+                }
+            };
+
+    @Override
+    protected AbstractGraphPathSearch<TestVertex, TestEdge> graphSearch() {
+        return new IndexedDijkstraGraphSearch<>();
+    }
+
+    @Test
+    public void scalarMultiplePath() {
+        graph = new AdjacencyListsGraph<>(of(A, B, C, D),
+                of(new TestEdge(A, B, S1),
+                        new TestEdge(A, C, S1),
+                        new TestEdge(B, D, S1),
+                        new TestEdge(C, D, S1),
+                        new TestEdge(D, E, S1),
+                        new TestEdge(A, E, ScalarWeight.NON_VIABLE_WEIGHT),
+                        new TestEdge(A, D, new ScalarWeight(-1))));
+        executeSearch(graphSearch(), graph, A, D, scalarWeigher, 2, S2);
+        executeSinglePathSearch(graphSearch(), graph, A, D, scalarWeigher, 1, S2);
+        executeSearch(graphSearch(), graph, A, E, scalarWeigher, 2, new ScalarWeight(3));
+        executeSearch(graphSearch(), graph, D, A, scalarWeigher, 0, null);
+    }
+
+    @Test
+    public void randomGraphs() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            List<TestVertex> vertexes = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                vertexes.add(new TestVertex("v" + i));
+            }
+            Set<TestEdge> edges = new HashSet<>();
+            for (int i = 0; i < 120; i++) {
+                TestVertex src = vertexes.get(random.nextInt(vertexes.size()));
+                TestVertex dst = vertexes.get(random.nextInt(vertexes.size()));
+                edges.add(new TestEdge(src, dst, new ScalarWeight(1 + random.nextInt(4))));
+            }
+            graph = new AdjacencyListsGraph<>(new HashSet<>(vertexes), edges);
+
+            DijkstraGraphSearch<TestVertex, TestEdge> expected = new DijkstraGraphSearch<>();
+            IndexedDijkstraGraphSearch<TestVertex, TestEdge> actual = new IndexedDijkstraGraphSearch<>();
+            TestVertex src = vertexes.get(random.nextInt(vertexes.size()));
+            PathTree<TestVertex, TestEdge> tree = actual.searchTree(graph, src, scalarWeigher);
+            for (TestVertex dst : vertexes) {
+                GraphPathSearch.Result<TestVertex, TestEdge> result =
+                        expected.search(graph, src, dst, scalarWeigher, GraphPathSearch.ALL_PATHS);
+                assertEquals("incorrect paths", result.paths(),
+                             actual.search(graph, src, dst, scalarWeigher, GraphPathSearch.ALL_PATHS).paths());
+                assertEquals("incorrect paths count", Math.min(1, result.paths().size()),
+                             actual.search(graph, src, dst, scalarWeigher, 1).paths().size());
+                assertEquals("incorrect tree paths", result.paths(),
+                             tree.paths(dst, GraphPathSearch.ALL_PATHS));
+                assertEquals("incorrect tree cost", result.costs().get(dst), tree.cost(dst));
+            }
+        }
+    }
+}
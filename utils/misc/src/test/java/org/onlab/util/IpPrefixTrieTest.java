@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.util;
+
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit tests for the IP prefix trie.
+ */
+public class IpPrefixTrieTest {
+
+    private final IpPrefixTrie<String> trie4 = new IpPrefixTrie<>(IpAddress.Version.INET);
+    private final IpPrefixTrie<String> trie6 = new IpPrefixTrie<>(IpAddress.Version.INET6);
+
+    private static IpPrefix prefix(String prefix) {
+        return IpPrefix.valueOf(prefix);
+    }
+
+    private static IpAddress address(String address) {
+        return IpAddress.valueOf(address);
+    }
+
+    /**
+     * Tests exact match lookups and updates.
+     */
+    @Test
+    public void testPutGetRemove() {
+        assertThat(trie4.put(prefix("10.1.0.0/16"), "a"), is(nullValue()));
+        assertThat(trie4.put(prefix("10.1.2.0/24"), "b"), is(nullValue()));
+        assertThat(trie4.put(prefix("10.1.0.0/16"), "c"), is("a"));
+        assertThat(trie4.putIfAbsent(prefix("10.1.0.0/16"), "d"), is("c"));
+        assertThat(trie4.size(), is(2));
+
+        assertThat(trie4.get(prefix("10.1.0.0/16")), is("c"));
+        assertThat(trie4.get(prefix("10.1.0.0/17")), is(nullValue()));
+        assertThat(trie4.get(prefix("10.0.0.0/8")), is(nullValue()));
+
+        assertThat(trie4.remove(prefix("10.0.0.0/8")), is(nullValue()));
+        assertThat(trie4.remove(prefix("10.1.0.0/16")), is("c"));
+        assertThat(trie4.get(prefix("10.1.2.0/24")), is("b"));
+        assertThat(trie4.size(), is(1));
+
+        trie4.clear();
+        assertThat(trie4.isEmpty(), is(true));
+        assertThat(trie4.values(), is(empty()));
+    }
+
+    /**
+     * Tests longest prefix matching of IPv4 addresses.
+     */
+    @Test
+    public void testLongestPrefixMatch4() {
+        trie4.put(prefix("0.0.0.0/0"), "default");
+        trie4.put(prefix("10.0.0.0/8"), "a");
+        trie4.put(prefix("10.1.2.0/24"), "b");
+        trie4.put(prefix("10.1.2.128/25"), "c");
+        trie4.put(prefix("192.168.1.1/32"), "d");
+
+        assertThat(trie4.longestPrefixMatch(address("10.1.2.200")), is("c"));
+        assertThat(trie4.longestPrefixMatch(address("10.1.2.100")), is("b"));
+        assertThat(trie4.longestPrefixMatch(address("10.1.20.1")), is("a"));
+        assertThat(trie4.longestPrefixMatch(address("192.168.1.1")), is("d"));
+        assertThat(trie4.longestPrefixMatch(address("192.168.1.2")), is("default"));
+        assertThat(trie4.longestPrefixMatch(prefix("10.1.2.0/24")), is("b"));
+        assertThat(trie4.longestPrefixMatch(prefix("10.1.0.0/16")), is("a"));
+
+        trie4.remove(prefix("0.0.0.0/0"));
+        assertThat(trie4.longestPrefixMatch(address("192.168.1.2")), is(nullValue()));
+    }
+
+    /**
+     * Tests longest prefix matching of IPv6 addresses, across the boundary
+     * of the two 64 bit halves of the key.
+     */
+    @Test
+    public void testLongestPrefixMatch6() {
+        trie6.put(prefix("2001:db8::/32"), "a");
+        trie6.put(prefix("2001:db8:0:1::/64"), "b");
+        trie6.put(prefix("2001:db8:0:1:8000::/65"), "c");
+        trie6.put(prefix("2001:db8:0:1::1/128"), "d");
+
+        assertThat(trie6.longestPrefixMatch(address("2001:db8:0:1::1")), is("d"));
+        assertThat(trie6.longestPrefixMatch(address("2001:db8:0:1::2")), is("b"));
+        assertThat(trie6.longestPrefixMatch(address("2001:db8:0:1:8000::2")), is("c"));
+        assertThat(trie6.longestPrefixMatch(address("2001:db8:ffff::1")), is("a"));
+        assertThat(trie6.longestPrefixMatch(address("2001:db9::1")), is(nullValue()));
+    }
+
+    /**
+     * Tests the ordered iteration of values and sub-tries.
+     */
+    @Test
+    public void testCoveredBy() {
+        trie4.put(prefix("10.1.20.0/24"), "e");
+        trie4.put(prefix("10.1.2.2/32"), "d");
+        trie4.put(prefix("10.1.2.1/32"), "c");
+        trie4.put(prefix("10.1.2.0/24"), "b");
+        trie4.put(prefix("10.1.0.0/16"), "a");
+
+        assertThat(trie4.values(), contains("a", "b", "c", "d", "e"));
+        assertThat(trie4.valuesCoveredBy(prefix("10.1.2.0/24")), contains("b", "c", "d"));
+        assertThat(trie4.valuesCoveredBy(prefix("10.1.2.0/30")), contains("c", "d"));
+        assertThat(trie4.valuesCoveredBy(prefix("10.1.3.0/24")), is(empty()));
+        assertThat(trie4.prefixesCoveredBy(prefix("10.1.2.0/31")),
+                   contains(prefix("10.1.2.1/32")));
+        assertThat(trie6.prefixesCoveredBy(prefix("::/0")), is(empty()));
+    }
+
+    /**
+     * Tests that snapshots taken before an update are not affected by it.
+     */
+    @Test
+    public void testSnapshots() {
+        trie4.put(prefix("10.0.0.0/8"), "a");
+        Iterable<String> before = trie4.values();
+        trie4.put(prefix("10.1.0.0/16"), "b");
+        trie4.remove(prefix("10.0.0.0/8"));
+        assertThat(before, contains("a"));
+        assertThat(trie4.values(), contains("b"));
+    }
+
+    /**
+     * Tests the trie against a brute force longest prefix match of random
+     * prefixes.
+     */
+    @Test
+    public void testRandomPrefixes() {
+        Random random = new Random(42);
+        Map<IpPrefix, String> routes = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            IpPrefix prefix = IpPrefix.valueOf(random.nextInt(), random.nextInt(33));
+            routes.put(prefix, prefix.toString());
+            trie4.put(prefix, prefix.toString());
+        }
+        for (int i = 0; i < 500; i++) {
+            IpPrefix prefix = IpPrefix.valueOf(random.nextInt(), random.nextInt(33));
+            assertThat(trie4.remove(prefix), is(routes.remove(prefix)));
+        }
+        assertThat(trie4.size(), is(routes.size()));
+
+        for (int i = 0; i < 2000; i++) {
+            IpAddress ip = IpAddress.valueOf(random.nextInt());
+            String expected = routes.keySet().stream()
+                    .filter(p -> p.contains(ip))
+                    .max((a, b) -> Integer.compare(a.prefixLength(), b.prefixLength()))
+                    .map(IpPrefix::toString)
+                    .orElse(null);
+            assertThat(trie4.longestPrefixMatch(ip), is(expected));
+        }
+    }
+
+    /**
+     * Tests that prefixes of the wrong IP version are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testVersionMismatch() {
+        trie4.put(prefix("2001:db8::/32"), "a");
+    }
+}
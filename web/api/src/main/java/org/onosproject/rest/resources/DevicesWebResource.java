@@ -27,6 +27,7 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.util.List;
@@ -45,16 +46,20 @@ public class DevicesWebResource extends AbstractWebResource {
 
     /**
      * Gets all infrastructure devices.
-     * Returns array of all discovered infrastructure devices.
+     * Returns array of all discovered infrastructure devices, optionally
+     * paged through with the given offset and limit.
      *
+     * @param offset number of devices to skip; none if absent
+     * @param limit  maximum number of devices returned; no limit if absent
      * @return 200 OK with a collection of devices
      * @onos.rsModel DevicesGet
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getDevices() {
+    public Response getDevices(@QueryParam("offset") Integer offset,
+                               @QueryParam("limit") Integer limit) {
         Iterable<Device> devices = get(DeviceService.class).getDevices();
-        return ok(encodeArray(Device.class, "devices", devices)).build();
+        return ok(streamArray(Device.class, "devices", page(devices, offset, limit))).build();
     }
 
     /**
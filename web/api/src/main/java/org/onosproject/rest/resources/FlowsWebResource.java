@@ -19,6 +19,8 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.app.ApplicationService;
@@ -48,6 +50,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.StreamSupport;
 
 import static org.onlab.util.Tools.nullIsIllegal;
@@ -76,25 +79,58 @@ public class FlowsWebResource extends AbstractWebResource {
     private final ArrayNode flowsNode = root.putArray(FLOWS);
 
     /**
-     * Gets all flow entries. Returns array of all flow rules in the system.
+     * Gets all flow entries. Returns array of all flow rules in the system,
+     * optionally narrowed down to those matching the given filters, and
+     * paged through with the given offset and limit. The entries are
+     * written out as they are read from the flow rule service.
      *
+     * @param deviceId device identifier of the flows; all devices if absent
+     * @param appId    application name of the flows; all applications if absent
+     * @param state    state of the flows, e.g. ADDED; all states if absent
+     * @param tableId  table identifier of the flows; all tables if absent
+     * @param offset   number of matching flows to skip; none if absent
+     * @param limit    maximum number of flows returned; no limit if absent
      * @return 200 OK with a collection of flows
      * @onos.rsModel FlowEntries
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getFlows() {
-        final Iterable<Device> devices = get(DeviceService.class).getDevices();
-        for (final Device device : devices) {
-            final Iterable<FlowEntry> flowEntries = service.getFlowEntries(device.id());
-            if (flowEntries != null) {
-                for (final FlowEntry entry : flowEntries) {
-                    flowsNode.add(codec(FlowEntry.class).encode(entry, this));
-                }
-            }
+    public Response getFlows(@QueryParam("deviceId") String deviceId,
+                             @QueryParam("appId") String appId,
+                             @QueryParam("state") String state,
+                             @QueryParam("tableId") Integer tableId,
+                             @QueryParam("offset") Integer offset,
+                             @QueryParam("limit") Integer limit) {
+        final ApplicationId app = appId == null ? null :
+                nullIsNotFound(get(ApplicationService.class).getId(appId), APP_ID_NOT_FOUND);
+
+        List<Predicate<FlowEntry>> filters = new ArrayList<>();
+        Iterable<FlowEntry> flowEntries;
+        if (deviceId != null) {
+            flowEntries = service.getFlowEntries(DeviceId.deviceId(deviceId));
+        } else if (app != null) {
+            flowEntries = service.getFlowEntriesById(app);
+        } else {
+            Iterable<Device> devices = get(DeviceService.class).getDevices();
+            flowEntries = Iterables.concat(Iterables.transform(devices, device -> {
+                Iterable<FlowEntry> entries = service.getFlowEntries(device.id());
+                return entries != null ? entries : ImmutableList.of();
+            }));
+        }
+        if (app != null) {
+            filters.add(entry -> entry.appId() == app.id());
+        }
+        if (state != null) {
+            FlowEntry.FlowEntryState flowState = FlowEntry.FlowEntryState.valueOf(state.toUpperCase());
+            filters.add(entry -> entry.state() == flowState);
+        }
+        if (tableId != null) {
+            filters.add(entry -> entry.tableId() == tableId);
         }
 
-        return ok(root).build();
+        Iterable<FlowEntry> matching = flowEntries == null ? ImmutableList.of() :
+                Iterables.filter(flowEntries, entry -> filters.stream().allMatch(f -> f.test(entry)));
+        return ok(streamArray(FlowEntry.class, FLOWS, page(matching, offset, limit))).build();
     }
 
     /**
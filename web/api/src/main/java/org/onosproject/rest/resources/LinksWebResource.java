@@ -45,13 +45,17 @@ public class LinksWebResource extends AbstractWebResource {
      * @param deviceId  (optional) device identifier
      * @param port      (optional) port number
      * @param direction (optional) direction qualifier
+     * @param offset    (optional) number of links to skip
+     * @param limit     (optional) maximum number of links returned
      * @return 200 OK with array of all links, or links for the specified device or port
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     public Response getLinks(@QueryParam("device") String deviceId,
                              @QueryParam("port") String port,
-                             @QueryParam("direction") String direction) {
+                             @QueryParam("direction") String direction,
+                             @QueryParam("offset") Integer offset,
+                             @QueryParam("limit") Integer limit) {
         LinkService service = get(LinkService.class);
         Iterable<Link> links;
 
@@ -64,7 +68,7 @@ public class LinksWebResource extends AbstractWebResource {
         } else {
             links = service.getLinks();
         }
-        return ok(encodeArray(Link.class, "links", links)).build();
+        return ok(streamArray(Link.class, "links", page(links, offset, limit))).build();
     }
 
     private Iterable<Link> getConnectPointLinks(ConnectPoint point,
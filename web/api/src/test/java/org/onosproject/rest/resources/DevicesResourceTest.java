@@ -45,7 +45,9 @@ import org.onosproject.net.driver.TestBehaviourTwoImpl;
 
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
 
+import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -419,4 +421,39 @@ public class DevicesResourceTest extends ResourceTest {
                     containsString("HTTP 404 Not Found"));
         }
     }
+
+    /**
+     * Tests paging through the devices with the rest api GET.
+     */
+    @Test
+    public void testDevicesPaged() {
+        Device device1 = device("dev1");
+        Device device2 = device("dev2");
+        Device device3 = device("dev3");
+
+        expect(mockDeviceService.getDevices())
+                .andReturn(ImmutableList.of(device1, device2, device3))
+                .anyTimes();
+        replay(mockDeviceService);
+
+        expect(mockDriverService.getDriver(isA(DeviceId.class)))
+                .andReturn(driver)
+                .anyTimes();
+        replay(mockDriverService);
+
+        WebTarget wt = target();
+        String response = wt.path("devices").queryParam("offset", 1).queryParam("limit", 1)
+                .request().get(String.class);
+        JsonArray jsonDevices = Json.parse(response).asObject().get("devices").asArray();
+        assertThat(jsonDevices.size(), is(1));
+        assertThat(jsonDevices, hasDevice(device2));
+
+        response = wt.path("devices").queryParam("offset", 3).request().get(String.class);
+        assertThat(response, is("{\"devices\":[]}"));
+
+        Response badOffset = wt.path("devices").queryParam("offset", -1).request().get();
+        assertThat(badOffset.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+        Response badLimit = wt.path("devices").queryParam("limit", -1).request().get();
+        assertThat(badLimit.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+    }
 }
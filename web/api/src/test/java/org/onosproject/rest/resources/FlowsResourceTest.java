@@ -659,6 +659,46 @@ public class FlowsResourceTest extends ResourceTest {
         assertThat(jsonFlows, hasFlow(flow4));
     }
 
+    /**
+     * Tests filtering and paging through the flows with the rest api GET.
+     */
+    @Test
+    public void testFlowsFilteredAndPaged() {
+        setupMockFlows();
+        expect(mockDeviceService.getDevices())
+                .andReturn(ImmutableSet.of(device1, device2)).anyTimes();
+        replay(mockFlowService);
+        replay(mockDeviceService);
+        final WebTarget wt = target();
+
+        String response = wt.path("flows").queryParam("deviceId", deviceId2.toString())
+                .request().get(String.class);
+        JsonArray jsonFlows = Json.parse(response).asObject().get("flows").asArray();
+        assertThat(jsonFlows.size(), is(2));
+        assertThat(jsonFlows, hasFlow(flow3));
+        assertThat(jsonFlows, hasFlow(flow4));
+
+        response = wt.path("flows").queryParam("state", "pending_add")
+                .request().get(String.class);
+        assertThat(response, is("{\"flows\":[]}"));
+
+        response = wt.path("flows").queryParam("tableId", 0).queryParam("state", "ADDED")
+                .request().get(String.class);
+        assertThat(Json.parse(response).asObject().get("flows").asArray().size(), is(4));
+
+        response = wt.path("flows").queryParam("tableId", 1)
+                .request().get(String.class);
+        assertThat(response, is("{\"flows\":[]}"));
+
+        response = wt.path("flows").queryParam("offset", 1).queryParam("limit", 2)
+                .request().get(String.class);
+        assertThat(Json.parse(response).asObject().get("flows").asArray().size(), is(2));
+
+        response = wt.path("flows").queryParam("offset", 3)
+                .request().get(String.class);
+        assertThat(Json.parse(response).asObject().get("flows").asArray().size(), is(1));
+    }
+
     /**
      * Tests the result of a rest api GET for a device.
      */
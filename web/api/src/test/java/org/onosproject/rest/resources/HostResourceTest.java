@@ -66,6 +66,7 @@ import static org.easymock.EasyMock.verify;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
@@ -429,5 +430,40 @@ public class HostResourceTest extends ResourceTest {
                 .delete();
         assertThat(response.getStatus(), is(HttpURLConnection.HTTP_NO_CONTENT));
     }
-}
 
+    /**
+     * Tests paging through the hosts with the rest api GET.
+     */
+    @Test
+    public void testHostsPaged() {
+        replay(mockHostService);
+        final ProviderId pid = new ProviderId("of", "foo");
+        hosts.add(new DefaultHost(pid, HostId.hostId(MacAddress.valueOf("00:00:11:00:00:01")),
+                                  valueOf(1), vlanId((short) 1),
+                                  new HostLocation(DeviceId.deviceId("1"), portNumber(11), 1),
+                                  ImmutableSet.of(IpAddress.valueOf("10.0.0.1"))));
+        hosts.add(new DefaultHost(pid, HostId.hostId(MacAddress.valueOf("00:00:11:00:00:02")),
+                                  valueOf(2), vlanId((short) 2),
+                                  new HostLocation(DeviceId.deviceId("2"), portNumber(22), 2),
+                                  ImmutableSet.of(IpAddress.valueOf("10.0.0.2"))));
+
+        final WebTarget wt = target();
+        String response = wt.path("hosts").queryParam("limit", 1).request().get(String.class);
+        final JsonArray firstPage = Json.parse(response).asObject().get("hosts").asArray();
+        response = wt.path("hosts").queryParam("offset", 1).queryParam("limit", 1)
+                .request().get(String.class);
+        final JsonArray secondPage = Json.parse(response).asObject().get("hosts").asArray();
+        assertThat(firstPage.size(), is(1));
+        assertThat(secondPage.size(), is(1));
+        assertThat(firstPage.get(0).asObject().get("id"),
+                   not(secondPage.get(0).asObject().get("id")));
+
+        response = wt.path("hosts").queryParam("offset", 2).request().get(String.class);
+        assertThat(response, is("{\"hosts\":[]}"));
+
+        Response badOffset = wt.path("hosts").queryParam("offset", -1).request().get();
+        assertThat(badOffset.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+        Response badLimit = wt.path("hosts").queryParam("limit", -1).request().get();
+        assertThat(badLimit.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+    }
+}
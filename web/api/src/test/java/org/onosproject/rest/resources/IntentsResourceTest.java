@@ -83,6 +83,7 @@ import java.util.concurrent.TimeUnit;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.easymock.EasyMock.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.onosproject.net.intent.IntentTestsMocks.MockIntent;
@@ -1116,4 +1117,32 @@ public class IntentsResourceTest extends ResourceTest {
         assertThat(response.getStatus(), is(HttpURLConnection.HTTP_NO_CONTENT));
     }
 
+    /**
+     * Tests paging through the intents with the rest api GET.
+     */
+    @Test
+    public void testIntentsPaged() {
+        replay(mockIntentService);
+        intents.add(new MockIntent(1L, Collections.emptyList()));
+        intents.add(new MockIntent(2L, Collections.emptyList()));
+
+        final WebTarget wt = target();
+        String response = wt.path("intents").queryParam("limit", 1).request().get(String.class);
+        final JsonArray firstPage = Json.parse(response).asObject().get("intents").asArray();
+        response = wt.path("intents").queryParam("offset", 1).queryParam("limit", 1)
+                .request().get(String.class);
+        final JsonArray secondPage = Json.parse(response).asObject().get("intents").asArray();
+        assertThat(firstPage.size(), is(1));
+        assertThat(secondPage.size(), is(1));
+        assertNotEquals(firstPage.get(0).asObject().get("id"),
+                        secondPage.get(0).asObject().get("id"));
+
+        response = wt.path("intents").queryParam("offset", 2).request().get(String.class);
+        assertThat(response, is("{\"intents\":[]}"));
+
+        Response badOffset = wt.path("intents").queryParam("offset", -1).request().get();
+        assertThat(badOffset.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+        Response badLimit = wt.path("intents").queryParam("limit", -1).request().get();
+        assertThat(badLimit.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+    }
 }
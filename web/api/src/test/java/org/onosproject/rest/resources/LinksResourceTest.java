@@ -36,6 +36,8 @@ import org.onosproject.net.Link;
 import org.onosproject.net.link.LinkService;
 
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+import java.net.HttpURLConnection;
 
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
@@ -353,4 +355,30 @@ public class LinksResourceTest extends ResourceTest {
 
         assertThat(jsonLinks, hasLink(link2));
     }
+
+    /**
+     * Tests paging through the links with the rest api GET.
+     */
+    @Test
+    public void testLinksPaged() {
+        expect(mockLinkService.getLinks())
+                .andReturn(ImmutableList.of(link1, link2, link3))
+                .anyTimes();
+        replay(mockLinkService);
+
+        WebTarget wt = target();
+        String response = wt.path("links").queryParam("offset", 1).queryParam("limit", 1)
+                .request().get(String.class);
+        JsonArray jsonLinks = Json.parse(response).asObject().get("links").asArray();
+        assertThat(jsonLinks.size(), is(1));
+        assertThat(jsonLinks, hasLink(link2));
+
+        response = wt.path("links").queryParam("offset", 3).request().get(String.class);
+        assertThat(response, is("{\"links\":[]}"));
+
+        Response badOffset = wt.path("links").queryParam("offset", -1).request().get();
+        assertThat(badOffset.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+        Response badLimit = wt.path("links").queryParam("limit", -1).request().get();
+        assertThat(badLimit.getStatus(), is(HttpURLConnection.HTTP_BAD_REQUEST));
+    }
 }